@@ -27,6 +27,12 @@ dependencies {
     compileOnly(libs.jda)
     compileOnly(libs.authme)
     compileOnly(libs.coreprotect)
+
+    testCompileOnly(libs.jetbrains.annotations)
+    testImplementation(libs.coreprotect)
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly(libs.junit.launcher)
 }
 
 sourceSets {
@@ -51,10 +57,20 @@ tasks {
         options.compilerArgs.add("-Xlint:deprecation")
     }
 
+    compileTestJava {
+        options.encoding = utf8
+
+        options.release.set(17)
+    }
+
     javadoc {
         options.encoding = utf8
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     processResources {
         filteringCharset = utf8
         val props = mapOf(
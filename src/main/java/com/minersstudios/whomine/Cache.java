@@ -3,9 +3,7 @@ package com.minersstudios.whomine;
 import com.google.gson.JsonElement;
 import com.minersstudios.whomine.chat.ChatBuffer;
 import com.minersstudios.whomine.collection.DiggingMap;
-import com.minersstudios.whomine.collection.StepMap;
 import com.minersstudios.whomine.custom.anomaly.Anomaly;
-import com.minersstudios.whomine.custom.anomaly.AnomalyAction;
 import com.minersstudios.whomine.custom.block.CustomBlockData;
 import com.minersstudios.whomine.custom.item.renameable.RenameableItem;
 import com.minersstudios.whomine.discord.BotHandler;
@@ -14,23 +12,25 @@ import com.minersstudios.whomine.player.PlayerInfo;
 import com.minersstudios.whomine.player.collection.IDMap;
 import com.minersstudios.whomine.player.collection.MuteMap;
 import com.minersstudios.whomine.player.collection.PlayerInfoMap;
+import com.minersstudios.whomine.player.collection.PlayerStateMap;
+import com.minersstudios.whomine.scheduler.ExpiryQueue;
+import com.minersstudios.whomine.scheduler.ScheduledTask;
+import com.minersstudios.whomine.scheduler.task.BanExpiryTask;
 import com.minersstudios.whomine.status.StatusHandler;
 import com.minersstudios.whomine.world.WorldDark;
+import com.minersstudios.whomine.world.sound.FootstepEngine;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.NamespacedKey;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.Player;
-import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Recipe;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public final class Cache {
@@ -40,20 +40,19 @@ public final class Cache {
     public List<Recipe> customDecorRecipes;
     public List<Recipe> customItemRecipes;
     public List<Recipe> customBlockRecipes;
-    private StepMap stepMap;
+    private FootstepEngine footstepEngine;
     private DiggingMap diggingMap;
-    private Map<Player, EquipmentSlot> dosimeterPlayers;
     private List<RenameableItem> renameableMenuItems;
     private List<Map.Entry<CustomBlockData, JsonElement>> blockDataRecipes;
     private PlayerInfoMap playerInfoMap;
+    private PlayerStateMap playerStateMap;
     private MuteMap muteMap;
+    private ExpiryQueue<UUID> banExpiryQueue;
     private DiscordMap discordMap;
     private IDMap idMap;
-    private Map<Player, ArmorStand> seats;
     private Map<NamespacedKey, Anomaly> anomalies;
-    private Map<Player, Map<AnomalyAction, Long>> playerAnomalyActionMap;
     private ChatBuffer chatBuffer;
-    private List<BukkitTask> bukkitTasks;
+    private List<ScheduledTask> scheduledTasks;
     private Long2ObjectMap<BotHandler> botHandlers;
     PlayerInfo consolePlayerInfo;
     WorldDark worldDark;
@@ -66,18 +65,14 @@ public final class Cache {
         return this.plugin;
     }
 
-    public @UnknownNullability StepMap getStepMap() {
-        return this.stepMap;
+    public @UnknownNullability FootstepEngine getFootstepEngine() {
+        return this.footstepEngine;
     }
 
     public @UnknownNullability DiggingMap getDiggingMap() {
         return this.diggingMap;
     }
 
-    public @UnknownNullability Map<Player, EquipmentSlot> getDosimeterPlayers() {
-        return this.dosimeterPlayers;
-    }
-
     public @UnknownNullability List<RenameableItem> getRenameableMenuItems() {
         return this.renameableMenuItems;
     }
@@ -91,10 +86,18 @@ public final class Cache {
         return this.playerInfoMap;
     }
 
+    public @UnknownNullability PlayerStateMap getPlayerStateMap() {
+        return this.playerStateMap;
+    }
+
     public @UnknownNullability MuteMap getMuteMap() {
         return this.muteMap;
     }
 
+    public @UnknownNullability ExpiryQueue<UUID> getBanExpiryQueue() {
+        return this.banExpiryQueue;
+    }
+
     public @UnknownNullability DiscordMap getDiscordMap() {
         return this.discordMap;
     }
@@ -103,24 +106,16 @@ public final class Cache {
         return this.idMap;
     }
 
-    public @UnknownNullability Map<Player, ArmorStand> getSeats() {
-        return this.seats;
-    }
-
     public @UnknownNullability Map<NamespacedKey, Anomaly> getAnomalies() {
         return this.anomalies;
     }
 
-    public @UnknownNullability Map<Player, Map<AnomalyAction, Long>> getPlayerAnomalyActionMap() {
-        return this.playerAnomalyActionMap;
-    }
-
     public @UnknownNullability ChatBuffer getChatBuffer() {
         return this.chatBuffer;
     }
 
-    public @UnknownNullability List<BukkitTask> getBukkitTasks() {
-        return this.bukkitTasks;
+    public @UnknownNullability List<ScheduledTask> getScheduledTasks() {
+        return this.scheduledTasks;
     }
 
     public @UnknownNullability Long2ObjectMap<BotHandler> getBotHandlers() {
@@ -157,20 +152,19 @@ public final class Cache {
         this.customDecorRecipes = new ObjectArrayList<>();
         this.customItemRecipes = new ObjectArrayList<>();
         this.customBlockRecipes = new ObjectArrayList<>();
-        this.stepMap = new StepMap();
+        this.footstepEngine = new FootstepEngine();
         this.diggingMap = new DiggingMap();
-        this.dosimeterPlayers = new ConcurrentHashMap<>();
         this.renameableMenuItems = new ObjectArrayList<>();
         this.blockDataRecipes = new ObjectArrayList<>();
         this.playerInfoMap = new PlayerInfoMap(this.plugin);
+        this.playerStateMap = new PlayerStateMap();
         this.muteMap = new MuteMap(this.plugin);
+        this.banExpiryQueue = new ExpiryQueue<>(this.plugin.getLogger(), new BanExpiryTask(this.plugin));
         this.discordMap = new DiscordMap(this.plugin);
         this.idMap = new IDMap(this.plugin);
-        this.seats = new ConcurrentHashMap<>();
         this.anomalies = new ConcurrentHashMap<>();
-        this.playerAnomalyActionMap = new ConcurrentHashMap<>();
         this.chatBuffer = new ChatBuffer(this.plugin);
-        this.bukkitTasks = new ObjectArrayList<>();
+        this.scheduledTasks = new ObjectArrayList<>();
         this.botHandlers = new Long2ObjectOpenHashMap<>();
 
         statusHandler.assignStatus(
@@ -187,27 +181,26 @@ public final class Cache {
 
         this.isLoaded = false;
 
-        for (final var task : this.bukkitTasks) {
+        for (final var task : this.scheduledTasks) {
             task.cancel();
         }
 
         this.customDecorRecipes = null;
         this.customItemRecipes = null;
         this.customBlockRecipes = null;
-        this.stepMap = null;
+        this.footstepEngine = null;
         this.diggingMap = null;
-        this.dosimeterPlayers = null;
         this.renameableMenuItems = null;
         this.blockDataRecipes = null;
         this.playerInfoMap = null;
+        this.playerStateMap = null;
         this.muteMap = null;
+        this.banExpiryQueue = null;
         this.discordMap = null;
         this.idMap = null;
-        this.seats = null;
         this.anomalies = null;
-        this.playerAnomalyActionMap = null;
         this.chatBuffer = null;
-        this.bukkitTasks = null;
+        this.scheduledTasks = null;
         this.botHandlers = null;
     }
 }
@@ -1,11 +1,15 @@
 package com.minersstudios.whomine;
 
 import com.google.common.base.Joiner;
+import com.google.gson.JsonParseException;
 import com.minersstudios.whomine.custom.anomaly.Anomaly;
 import com.minersstudios.whomine.custom.anomaly.task.AnomalyParticleTask;
 import com.minersstudios.whomine.custom.anomaly.task.MainAnomalyActionTask;
+import com.minersstudios.whomine.custom.block.CraftMatcher;
 import com.minersstudios.whomine.custom.block.CustomBlockData;
 import com.minersstudios.whomine.custom.block.CustomBlockRegistry;
+import com.minersstudios.whomine.custom.decor.CustomDecorType;
+import com.minersstudios.whomine.custom.item.CustomItemType;
 import com.minersstudios.whomine.custom.item.renameable.RenameableItem;
 import com.minersstudios.whomine.custom.item.renameable.RenameableItemRegistry;
 import com.minersstudios.whomine.locale.LanguageFile;
@@ -13,10 +17,14 @@ import com.minersstudios.whomine.locale.TranslationRegistry;
 import com.minersstudios.whomine.menu.CraftsMenu;
 import com.minersstudios.whomine.menu.RenamesMenu;
 import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.state.PlayerStateKeys;
+import com.minersstudios.whomine.resource.bundle.ContentBundle;
 import com.minersstudios.whomine.resourcepack.ResourcePack;
 import com.minersstudios.whomine.resourcepack.throwable.FatalPackLoadException;
+import com.minersstudios.whomine.scheduler.TickScheduler;
+import com.minersstudios.whomine.status.LoadGraph;
+import com.minersstudios.whomine.status.LoadReport;
 import com.minersstudios.whomine.status.StatusHandler;
-import com.minersstudios.whomine.status.StatusWatcher;
 import com.minersstudios.whomine.throwable.ConfigurationException;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.MSLogger;
@@ -38,12 +46,16 @@ import org.jetbrains.annotations.UnknownNullability;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,6 +66,8 @@ public final class Config {
     private final File file;
     private final YamlConfiguration yaml;
     private final Logger logger;
+    private final CompletableFuture<Void> enableFuture;
+    private volatile ContentBundle contentBundle;
 
     private long dosimeterCheckRate;
     private String woodSoundPlace;
@@ -79,6 +93,21 @@ public final class Config {
     private Locale defaultLocale;
     private List<Locale> locales;
 
+    private static final int LOAD_PARALLELISM = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    //<editor-fold desc="Content load stages" defaultstate="collapsed">
+    public static final String STAGE_ENABLE =              "enable";
+    public static final String STAGE_CONTENT_BUNDLE =      "content-bundle";
+    public static final String STAGE_DECORATIONS =         "decorations";
+    public static final String STAGE_ITEMS =               "items";
+    public static final String STAGE_BLOCKS =              "blocks";
+    public static final String STAGE_ANOMALIES =           "anomalies";
+    public static final String STAGE_RESOURCE_PACKS =      "resource-packs";
+    public static final String STAGE_RENAMES =             "renames";
+    public static final String STAGE_RECIPES =             "recipes";
+    public static final String STAGE_CONTENT_BUNDLE_SAVE = "content-bundle-save";
+    //</editor-fold>
+
     //<editor-fold desc="File paths" defaultstate="collapsed">
     private static final String JSON_EXTENSION = ".json";
     private static final String YAML_EXTENSION = ".yml";
@@ -95,6 +124,9 @@ public final class Config {
     /** The anomaly configurations folder */
     public static final String ANOMALIES_FOLDER = "anomalies";
 
+    /** The content bundle file name */
+    public static final String CONTENT_BUNDLE_FILE_NAME = "content.bundle";
+
     /** The console player data file name */
     public static final String CONSOLE_FILE_NAME = "console" + YAML_EXTENSION;
 
@@ -170,6 +202,7 @@ public final class Config {
         this.file = plugin.getConfigFile();
         this.yaml = new YamlConfiguration();
         this.logger = Logger.getLogger(this.getClass().getSimpleName());
+        this.enableFuture = new CompletableFuture<>();
     }
 
     public @NotNull File getFile() {
@@ -233,45 +266,61 @@ public final class Config {
         final Cache cache = this.plugin.getCache();
 
         if (cache.isLoaded()) {
-            for (final var task : cache.getBukkitTasks()) {
+            for (final var task : cache.getScheduledTasks()) {
                 task.cancel();
             }
 
-            cache.getBukkitTasks().clear();
-            cache.getPlayerAnomalyActionMap().clear();
+            cache.getScheduledTasks().clear();
+            cache.getPlayerStateMap().removeAll(PlayerStateKeys.ANOMALY_ACTIONS);
             cache.getAnomalies().clear();
+            this.plugin.runTaskAsync(() -> this.loadRenames(ContentBundle.read(this.plugin.getLogger(), this.getContentBundlePath())));
         }
+    }
 
-        this.plugin.getStatusHandler().addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        WhoMine.LOADED_BLOCKS,
-                        WhoMine.LOADED_ITEMS,
-                        WhoMine.LOADED_DECORATIONS
-                )
-                .successRunnable(
-                        () -> {
-                            this.plugin.runTaskAsync(this::loadRenames);
-                            this.plugin.runTask(() -> {
-                                final var list = this.plugin.getCache().getBlockDataRecipes();
-
-                                for (final var entry : list) {
-                                    entry.getKey().registerRecipes(
-                                            this.plugin,
-                                            entry.getValue()
-                                    );
-                                }
-
-                                list.clear();
-                                CraftsMenu.putCrafts(
-                                        CraftsMenu.Type.BLOCKS,
-                                        this.plugin.getCache().customBlockRecipes
-                                );
-                            });
-                        }
-                )
-                .build()
-        );
+    /**
+     * Starts loading the content of the plugin.
+     * <br>
+     * The content is loaded by the {@link LoadGraph load graph} on a dedicated
+     * bounded pool, the stages, which read the cache, wait for the
+     * {@link #onEnable() enable}. All recipes are registered in a single batch
+     * on the main thread, after the blocks, items and decorations are loaded.
+     * <br>
+     * The blocks, anomalies and renameable items are read through the
+     * {@link ContentBundle content bundle}, so only the files changed since
+     * the previous start are parsed from the source, and the bundle is saved
+     * when all of them are loaded. When all stages are done, the timing report
+     * with the critical path is logged.
+     *
+     * @return A future, completed with the load report when all stages are
+     *         done
+     */
+    public @NotNull CompletableFuture<LoadReport> loadContent() {
+        final ForkJoinPool pool = createLoadPool();
+        final Executor mainThread = this.plugin::runTask;
+        final LoadGraph graph =
+                LoadGraph.builder()
+                .external(STAGE_ENABLE, this.enableFuture)
+                .stage(STAGE_CONTENT_BUNDLE, this::readContentBundle)
+                .stage(STAGE_DECORATIONS, () -> CustomDecorType.load(this.plugin))
+                .stage(STAGE_ITEMS, () -> CustomItemType.load(this.plugin))
+                .stage(STAGE_BLOCKS, () -> this.loadBlocks(this.contentBundle), STAGE_ENABLE, STAGE_CONTENT_BUNDLE)
+                .stage(STAGE_ANOMALIES, () -> this.loadAnomalies(this.contentBundle), STAGE_ENABLE, STAGE_CONTENT_BUNDLE)
+                .stage(STAGE_RESOURCE_PACKS, this::loadResourcePacks, STAGE_ENABLE)
+                .stage(STAGE_RENAMES, () -> this.loadRenames(this.contentBundle), STAGE_BLOCKS, STAGE_ITEMS, STAGE_DECORATIONS)
+                .stage(STAGE_RECIPES, mainThread, this::registerRecipes, STAGE_BLOCKS, STAGE_ITEMS, STAGE_DECORATIONS)
+                .stage(STAGE_CONTENT_BUNDLE_SAVE, this::saveContentBundle, STAGE_BLOCKS, STAGE_ANOMALIES, STAGE_RENAMES)
+                .build();
+
+        return graph.start(pool)
+                .whenComplete((report, throwable) -> {
+                    pool.shutdown();
+
+                    this.contentBundle = null;
+
+                    if (report != null) {
+                        report.log(this.plugin.getLogger());
+                    }
+                });
     }
 
     public void reloadDefaultVariables() {
@@ -303,24 +352,40 @@ public final class Config {
     }
 
     public void onEnable() {
-        final Cache cache = this.plugin.getCache();
-        final Location mainWorldSpawn = this.plugin.getServer().getWorlds().get(0).getSpawnLocation();
+        try {
+            final Cache cache = this.plugin.getCache();
+            final Location mainWorldSpawn = this.plugin.getServer().getWorlds().get(0).getSpawnLocation();
+
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_WORLD, mainWorldSpawn.getWorld().getName());
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_X, mainWorldSpawn.x());
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_Y, mainWorldSpawn.y());
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_Z, mainWorldSpawn.z());
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_YAW, mainWorldSpawn.getYaw());
+            this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_PITCH, mainWorldSpawn.getPitch());
+
+            this.parseSpawnLocation();
 
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_WORLD, mainWorldSpawn.getWorld().getName());
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_X, mainWorldSpawn.x());
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_Y, mainWorldSpawn.y());
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_Z, mainWorldSpawn.z());
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_YAW, mainWorldSpawn.getYaw());
-        this.setIfNotExists(KEY_SPAWN_LOCATION_SECTION + '.' + KEY_PITCH, mainWorldSpawn.getPitch());
+            final TickScheduler scheduler = this.plugin.getTickScheduler();
 
-        this.parseSpawnLocation();
+            cache.getScheduledTasks().add(scheduler.schedule("anomaly-actions", new MainAnomalyActionTask(this.plugin), 0L, this.anomalyCheckRate));
+            cache.getScheduledTasks().add(scheduler.schedule("anomaly-particles", new AnomalyParticleTask(this.plugin), 0L, this.anomalyParticlesCheckRate));
 
-        cache.getBukkitTasks().add(this.plugin.runTaskTimer(new MainAnomalyActionTask(this.plugin), 0L, this.anomalyCheckRate));
-        cache.getBukkitTasks().add(this.plugin.runTaskTimer(new AnomalyParticleTask(this.plugin), 0L, this.anomalyParticlesCheckRate));
+            this.enableFuture.complete(null);
+        } finally {
+            this.cancelEnable();
+        }
+    }
 
-        this.plugin.runTaskAsync(this::loadResourcePacks);
-        this.plugin.runTaskAsync(this::loadAnomalies);
-        this.plugin.runTaskAsync(this::loadBlocks);
+    /**
+     * Fails the stages of the {@link #loadContent() content load}, which wait
+     * for the {@link #onEnable() enable}, so the load graph finishes even if
+     * the plugin failed to enable. Does nothing if the config is already
+     * enabled.
+     */
+    public void cancelEnable() {
+        this.enableFuture.completeExceptionally(
+                new IllegalStateException("The plugin was disabled before the config was enabled")
+        );
     }
 
     public void reloadYaml() throws ConfigurationException {
@@ -806,12 +871,7 @@ public final class Config {
             );
         } catch (final FatalPackLoadException e) {
             statusHandler.assignStatus(WhoMine.FAILED_LOAD_RESOURCE_PACKS);
-            logger.error(
-                    "Failed to load resource packs due to a fatal error!",
-                    e
-            );
-
-            return;
+            throw new IllegalStateException("Failed to load resource packs due to a fatal error!", e);
         }
 
         CompletableFuture
@@ -820,10 +880,11 @@ public final class Config {
                 .values()
                 .toArray(CompletableFuture[]::new)
         )
-        .thenRun(() -> statusHandler.assignStatus(WhoMine.LOADED_RESOURCE_PACKS));
+        .thenRun(() -> statusHandler.assignStatus(WhoMine.LOADED_RESOURCE_PACKS))
+        .join();
     }
 
-    private void loadAnomalies() {
+    private void loadAnomalies(final @NotNull ContentBundle bundle) {
         final StatusHandler statusHandler = this.plugin.getStatusHandler();
         final Cache cache = this.plugin.getCache();
         final Logger logger = this.plugin.getLogger();
@@ -833,16 +894,19 @@ public final class Config {
         try (final var path = Files.walk(Paths.get(this.getFile().getParent() + '/' + ANOMALIES_FOLDER))) {
             path.parallel()
             .filter(file -> file.getFileName().toString().endsWith(YAML_EXTENSION))
-            .map(Path::toFile)
             .forEach(file -> {
                 try {
-                    final Anomaly anomaly = Anomaly.fromConfig(this.plugin, file);
+                    final Anomaly anomaly = Anomaly.fromConfig(this.plugin, bundle.readYaml(file));
 
                     cache.getAnomalies().put(anomaly.getNamespacedKey(), anomaly);
-                } catch (final IllegalArgumentException e) {
+                } catch (
+                        final IOException
+                        | InvalidConfigurationException
+                        | IllegalArgumentException e
+                ) {
                     logger.log(
                             Level.SEVERE,
-                            "An error occurred while loading anomaly \"" + file.getName() + "\"!",
+                            "An error occurred while loading anomaly \"" + file.getFileName() + "\"!",
                             e
                     );
                 }
@@ -851,26 +915,32 @@ public final class Config {
             statusHandler.assignStatus(WhoMine.LOADED_ANOMALIES);
         } catch (final IOException e) {
             statusHandler.assignStatus(WhoMine.FAILED_LOAD_ANOMALIES);
-            logger.log(
-                    Level.SEVERE,
-                    "An error occurred while loading anomalies!",
-                    e
-            );
+            throw new UncheckedIOException("An error occurred while loading anomalies!", e);
         }
     }
 
-    private void loadBlocks() {
+    private void loadBlocks(final @NotNull ContentBundle bundle) {
         final long start = System.currentTimeMillis();
         final StatusHandler statusHandler = this.plugin.getStatusHandler();
 
         statusHandler.assignStatus(WhoMine.LOADING_BLOCKS);
 
         try (final var pathStream = Files.walk(Paths.get(this.getFile().getParent() + '/' + BLOCKS_FOLDER))) {
+            final var builder = CustomBlockRegistry.builder(this.plugin.getLogger());
+
             pathStream.parallel()
             .filter(file -> file.getFileName().toString().endsWith(JSON_EXTENSION))
-            .map(path -> CustomBlockData.fromFile(this.plugin, path.toFile()))
+            .map(path -> {
+                try {
+                    return CustomBlockData.fromJson(this.plugin, path.toFile(), bundle.readJson(path));
+                } catch (final IOException | JsonParseException e) {
+                    this.plugin.getLogger().log(Level.SEVERE, "Failed to load custom block file: " + path.getFileName(), e);
+                    return null;
+                }
+            })
             .filter(Objects::nonNull)
-            .forEach(CustomBlockRegistry::register);
+            .forEach(builder::add);
+            builder.publish();
 
             statusHandler.assignStatus(WhoMine.LOADED_BLOCKS);
             this.plugin.getComponentLogger().info(
@@ -881,26 +951,34 @@ public final class Config {
             );
         } catch (final IOException e) {
             statusHandler.assignStatus(WhoMine.FAILED_LOAD_BLOCKS);
-            this.plugin.getLogger().log(
-                    Level.SEVERE,
-                    "An error occurred while loading blocks",
-                    e
-            );
+            throw new UncheckedIOException("An error occurred while loading blocks", e);
         }
     }
 
-    private void loadRenames() {
+    private void loadRenames(final @NotNull ContentBundle bundle) {
         final long start = System.currentTimeMillis();
         final StatusHandler statusHandler = this.plugin.getStatusHandler();
 
         statusHandler.assignStatus(WhoMine.LOADING_RENAMEABLES);
 
         try (final var pathStream = Files.walk(Paths.get(this.getFile().getParent() + '/' + ITEMS_FOLDER))) {
+            final var builder = RenameableItemRegistry.builder(this.plugin.getLogger());
+
             pathStream.parallel()
             .filter(file -> file.getFileName().toString().endsWith(YAML_EXTENSION))
-            .map(path -> RenameableItem.fromFile(this.plugin, path.toFile()))
+            .map(path -> {
+                final String fileName = path.getFileName().toString();
+
+                try {
+                    return RenameableItem.fromConfig(this.plugin, fileName, bundle.readYaml(path));
+                } catch (final IOException | InvalidConfigurationException e) {
+                    this.plugin.getLogger().log(Level.SEVERE, "Failed to load " + fileName + "!", e);
+                    return null;
+                }
+            })
             .filter(Objects::nonNull)
-            .forEach(RenameableItemRegistry::register);
+            .forEach(builder::add);
+            builder.publish();
 
             statusHandler.assignStatus(WhoMine.LOADED_RENAMEABLES);
             this.plugin.getComponentLogger().info(
@@ -913,11 +991,66 @@ public final class Config {
             RenamesMenu.update(this.plugin);
         } catch (final IOException e) {
             statusHandler.assignStatus(WhoMine.FAILED_LOAD_RENAMEABLES);
-            this.plugin.getLogger().log(
-                    Level.SEVERE,
-                    "An error occurred while loading renameable items",
-                    e
-            );
+            throw new UncheckedIOException("An error occurred while loading renameable items", e);
+        }
+    }
+
+    private void registerRecipes() {
+        final Cache cache = this.plugin.getCache();
+        final var list = cache.getBlockDataRecipes();
+
+        synchronized (list) {
+            for (final var entry : list) {
+                entry.getKey().registerRecipes(
+                        this.plugin,
+                        entry.getValue()
+                );
+            }
+
+            list.clear();
         }
+
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.BLOCKS,
+                cache.customBlockRecipes
+        );
+        CustomItemType.registerRecipes(this.plugin);
+        CustomDecorType.registerRecipes(this.plugin);
+        CraftsMenu.build(this.plugin);
+
+        CraftMatcher.clear();
+        CraftMatcher.compile(cache.customBlockRecipes);
+        CraftMatcher.compile(cache.customItemRecipes);
+        CraftMatcher.compile(cache.customDecorRecipes);
+    }
+
+    private @NotNull Path getContentBundlePath() {
+        return new File(this.plugin.getDataFolder(), CONTENT_BUNDLE_FILE_NAME).toPath();
+    }
+
+    private void readContentBundle() {
+        this.contentBundle = ContentBundle.read(this.plugin.getLogger(), this.getContentBundlePath());
+    }
+
+    private void saveContentBundle() {
+        final ContentBundle bundle = this.contentBundle;
+
+        if (bundle != null) {
+            bundle.save();
+        }
+    }
+
+    private static @NotNull ForkJoinPool createLoadPool() {
+        return new ForkJoinPool(
+                LOAD_PARALLELISM,
+                pool -> {
+                    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+                    thread.setName("WhoMine-Loader-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false
+        );
     }
 }
@@ -2,9 +2,15 @@ package com.minersstudios.whomine;
 
 import com.minersstudios.whomine.command.api.CommandManager;
 import com.minersstudios.whomine.discord.DiscordManager;
+import com.minersstudios.whomine.inventory.MenuAnimator;
 import com.minersstudios.whomine.inventory.holder.AbstractInventoryHolder;
 import com.minersstudios.whomine.listener.api.ListenerManager;
+import com.minersstudios.whomine.player.OfflinePlayerDataService;
+import com.minersstudios.whomine.player.PlayerStore;
+import com.minersstudios.whomine.player.skin.SkinApplier;
+import com.minersstudios.whomine.player.skin.SkinService;
 import com.minersstudios.whomine.scheduler.TaskExecutor;
+import com.minersstudios.whomine.scheduler.TickScheduler;
 import com.minersstudios.whomine.status.FailureStatus;
 import com.minersstudios.whomine.status.StatusHandler;
 import com.minersstudios.whomine.status.SuccessStatus;
@@ -166,6 +172,48 @@ public interface WhoMine extends Plugin, TaskExecutor {
      */
     @NotNull DiscordManager getDiscordManager();
 
+    /**
+     * Returns the tick scheduler of the plugin
+     *
+     * @return The tick scheduler of the plugin
+     */
+    @NotNull TickScheduler getTickScheduler();
+
+    /**
+     * Returns the menu animator of the plugin
+     *
+     * @return The menu animator of the plugin
+     */
+    @NotNull MenuAnimator getMenuAnimator();
+
+    /**
+     * Returns the skin service of the plugin
+     *
+     * @return The skin service of the plugin
+     */
+    @NotNull SkinService getSkinService();
+
+    /**
+     * Returns the skin applier of the plugin
+     *
+     * @return The skin applier of the plugin
+     */
+    @NotNull SkinApplier getSkinApplier();
+
+    /**
+     * Returns the offline player data service of the plugin
+     *
+     * @return The offline player data service of the plugin
+     */
+    @NotNull OfflinePlayerDataService getOfflinePlayerDataService();
+
+    /**
+     * Returns the player store of the plugin
+     *
+     * @return The player store of the plugin
+     */
+    @NotNull PlayerStore getPlayerStore();
+
     /**
      * Returns an unmodifiable view of the inventory holder map
      *
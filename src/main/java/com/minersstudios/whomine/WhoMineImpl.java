@@ -3,9 +3,8 @@ package com.minersstudios.whomine;
 import com.google.common.base.Charsets;
 import com.minersstudios.whomine.chat.ChatType;
 import com.minersstudios.whomine.command.api.CommandManager;
-import com.minersstudios.whomine.custom.decor.CustomDecorType;
-import com.minersstudios.whomine.custom.item.CustomItemType;
 import com.minersstudios.whomine.discord.DiscordManager;
+import com.minersstudios.whomine.inventory.MenuAnimator;
 import com.minersstudios.whomine.inventory.holder.AbstractInventoryHolder;
 import com.minersstudios.whomine.listener.api.ListenerManager;
 import com.minersstudios.whomine.listener.impl.event.mechanic.DosimeterMechanic;
@@ -17,11 +16,15 @@ import com.minersstudios.whomine.menu.ResourcePackMenu;
 import com.minersstudios.whomine.menu.SkinsMenu;
 import com.minersstudios.whomine.packet.PacketRegistry;
 import com.minersstudios.whomine.packet.PacketType;
+import com.minersstudios.whomine.player.OfflinePlayerDataService;
+import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.PlayerStore;
 import com.minersstudios.whomine.player.collection.PlayerInfoMap;
-import com.minersstudios.whomine.scheduler.task.BanListTask;
-import com.minersstudios.whomine.scheduler.task.MuteMapTask;
+import com.minersstudios.whomine.player.skin.SkinApplier;
+import com.minersstudios.whomine.player.skin.SkinService;
+import com.minersstudios.whomine.scheduler.ExpiryQueue;
+import com.minersstudios.whomine.scheduler.TickScheduler;
 import com.minersstudios.whomine.scheduler.task.PlayerListTask;
-import com.minersstudios.whomine.scheduler.task.SeatsTask;
 import com.minersstudios.whomine.status.StatusHandler;
 import com.minersstudios.whomine.status.StatusWatcher;
 import com.minersstudios.whomine.utility.*;
@@ -33,7 +36,9 @@ import fr.xephi.authme.api.v3.AuthMeApi;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.coreprotect.CoreProtect;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.BanList;
 import org.bukkit.Material;
+import org.bukkit.ban.ProfileBanList;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -51,9 +56,10 @@ import org.jetbrains.annotations.UnmodifiableView;
 import java.io.*;
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -73,6 +79,12 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
     private final ListenerManager listenerManager;
     private final CommandManager commandManager;
     private final DiscordManager discordManager;
+    private final TickScheduler tickScheduler;
+    private final MenuAnimator menuAnimator;
+    private final SkinService skinService;
+    private final SkinApplier skinApplier;
+    private final OfflinePlayerDataService offlinePlayerDataService;
+    private final PlayerStore playerStore;
     private final Map<Class<? extends AbstractInventoryHolder>, AbstractInventoryHolder> inventoryHolderMap;
     private FileConfiguration newConfig;
     private Scoreboard scoreboardHideTags;
@@ -102,6 +114,12 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         this.listenerManager = new ListenerManager(this);
         this.commandManager = new CommandManager(this);
         this.discordManager = new DiscordManager(this);
+        this.tickScheduler = new TickScheduler(this);
+        this.menuAnimator = new MenuAnimator();
+        this.skinService = new SkinService(this);
+        this.skinApplier = new SkinApplier();
+        this.offlinePlayerDataService = new OfflinePlayerDataService(this);
+        this.playerStore = new PlayerStore(this);
         this.inventoryHolderMap = new Object2ObjectOpenHashMap<>();
     }
 
@@ -140,6 +158,36 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         return this.discordManager;
     }
 
+    @Override
+    public @NotNull TickScheduler getTickScheduler() {
+        return this.tickScheduler;
+    }
+
+    @Override
+    public @NotNull MenuAnimator getMenuAnimator() {
+        return this.menuAnimator;
+    }
+
+    @Override
+    public @NotNull SkinService getSkinService() {
+        return this.skinService;
+    }
+
+    @Override
+    public @NotNull SkinApplier getSkinApplier() {
+        return this.skinApplier;
+    }
+
+    @Override
+    public @NotNull OfflinePlayerDataService getOfflinePlayerDataService() {
+        return this.offlinePlayerDataService;
+    }
+
+    @Override
+    public @NotNull PlayerStore getPlayerStore() {
+        return this.playerStore;
+    }
+
     @Override
     public @NotNull @UnmodifiableView Map<Class<? extends AbstractInventoryHolder>, AbstractInventoryHolder> getInventoryHolderMap() {
         return Collections.unmodifiableMap(this.inventoryHolderMap);
@@ -190,6 +238,12 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
 
         this.config.reload();
 
+        try {
+            this.playerStore.open();
+        } catch (final IOException e) {
+            this.getLogger().log(Level.SEVERE, "Failed to open the player store, the player files will be stored in YAML", e);
+        }
+
         TranslationRegistry.bootstrap(this.config.getDefaultLocale());
         initClass(Translations.class);
 
@@ -208,8 +262,7 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         .set("block-updates.disable-noteblock-updates", true)
         .save();
 
-        CompletableFuture.runAsync(() -> CustomDecorType.load(this));
-        CompletableFuture.runAsync(() -> CustomItemType.load(this));
+        this.config.loadContent();
 
         this.statusHandler.assignStatus(LOADED);
         this.getComponentLogger()
@@ -228,6 +281,14 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         this.statusHandler.assignStatus(ENABLING);
 
         this.cache.load();
+
+        // The players, who are already online after a reload, have not
+        // passed through the join listener
+        for (final var player : this.getServer().getOnlinePlayers()) {
+            PlayerInfo.fromOnlinePlayer(this, player).createState(player);
+        }
+
+        this.tickScheduler.start();
         this.discordManager.load();
         this.listenerManager.bootstrap();
         this.commandManager.bootstrap();
@@ -247,12 +308,20 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         this.setupCoreProtect();
         this.setupAuthMe();
         this.setupHideTags();
+        this.seedBanExpirations();
 
         this.runTask(() -> this.cache.worldDark = new WorldDark());
-        this.runTaskTimer(new SeatsTask(this), 0L, 1L);            // 0.05 seconds
-        this.runTaskTimer(new PlayerListTask(this), 6000L, 6000L); // 5 minutes
-        this.runTaskTimer(new MuteMapTask(this), 0L, 50L);         // 2.5 seconds
-        this.runTaskTimer(new BanListTask(this), 0L, 6000L);       // 5 minutes
+        this.tickScheduler.schedule("mute-expiry", this.cache.getMuteMap().getExpiryQueue(), 0L, 1L);
+        this.tickScheduler.schedule("ban-expiry", this.cache.getBanExpiryQueue(), 0L, 1L);
+        this.tickScheduler.schedule("menu-animations", this.menuAnimator, 0L, 1L);
+        this.tickScheduler.schedule("skin-refresh", this.skinApplier, 0L, 1L);
+        this.tickScheduler.scheduleSliced(
+                "player-list",
+                () -> this.getServer().getOnlinePlayers(),
+                new PlayerListTask(this),
+                6000L, 6000L, // 5 minutes
+                TickScheduler.DEFAULT_BUDGET_NANOS
+        );
         this.runTaskTimerAsync(
                 () -> new DosimeterMechanic.DosimeterTask(this).run(),
                 0L, this.config.getDosimeterCheckRate()
@@ -278,10 +347,16 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
 
         this.statusHandler.assignStatus(DISABLING);
 
+        this.config.cancelEnable();
         this.kickAll();
         this.sendServerDisableMessage();
         this.discordManager.unload();
+        this.tickScheduler.stop();
+        this.skinService.shutdown();
+        this.offlinePlayerDataService.shutdown();
+        CoreProtectUtils.close();
         this.cache.unload();
+        this.playerStore.close();
 
         this.statusHandler.assignStatus(DISABLED);
         this.getComponentLogger()
@@ -489,7 +564,7 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
             if (coreProtect == null) {
                 MSLogger.warning("CoreProtectAPI is not running yet");
             } else if (coreProtect.isEnabled()) {
-                CoreProtectUtils.set(coreProtect.getAPI());
+                CoreProtectUtils.set(this.getLogger(), coreProtect.getAPI());
                 MSLogger.fine("CoreProtect connected");
             } else {
                 MSLogger.warning("CoreProtect is not Enabled, actions logging will not be available");
@@ -509,6 +584,30 @@ public final class WhoMineImpl extends JavaPlugin implements WhoMine {
         this.scoreboardHideTagsTeam.setCanSeeFriendlyInvisibles(false);
     }
 
+    /**
+     * Schedules the expirations of the temporary bans from the profile ban
+     * list. It is run once on enable, the bans, made later by the plugin
+     * commands, are scheduled by the {@link PlayerInfo}, and the bans, made
+     * later by the vanilla commands, the console or the other plugins, are
+     * left to the vanilla expiry on login.
+     */
+    private void seedBanExpirations() {
+        final ProfileBanList banList = this.getServer().getBanList(BanList.Type.PROFILE);
+        final ExpiryQueue<UUID> expiryQueue = this.cache.getBanExpiryQueue();
+
+        for (final var banEntry : banList.getEntries()) {
+            final Date expiration = banEntry.getExpiration();
+            final UUID uuid = banEntry.getBanTarget().getId();
+
+            if (
+                    expiration != null
+                    && uuid != null
+            ) {
+                expiryQueue.schedule(uuid, expiration.toInstant());
+            }
+        }
+    }
+
     private void setupAuthMe() {
         final Logger logger = this.getLogger();
         final PluginManager pluginManager = this.getServer().getPluginManager();
@@ -1,8 +1,9 @@
 package com.minersstudios.whomine.chat;
 
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.player.state.PlayerState;
+import com.minersstudios.whomine.player.state.PlayerStateKeys;
 import com.minersstudios.whomine.utility.Font;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Location;
@@ -11,7 +12,6 @@ import org.bukkit.entity.AreaEffectCloud;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
 
@@ -20,23 +20,17 @@ import static net.kyori.adventure.text.Component.text;
 
 public final class ChatBuffer {
     private final @NotNull WhoMine plugin;
-    private final @NotNull Map<UUID, Queue<String>> chatQueue;
 
     public ChatBuffer(final @NotNull WhoMine plugin) {
         this.plugin = plugin;
-        this.chatQueue = new Object2ObjectOpenHashMap<>();
-    }
-
-    public @NotNull @UnmodifiableView Map<UUID, Queue<String>> getChatQueue() {
-        return Collections.unmodifiableMap(this.chatQueue);
     }
 
     public void receiveMessage(
-            final @NotNull Player player,
+            final @NotNull PlayerState state,
             @NotNull String message
     ) {
         if (message.length() <= 30) {
-            queueMessage(player, message + "\n");
+            this.queueMessage(state, message + "\n");
             return;
         }
 
@@ -63,7 +57,7 @@ public final class ChatBuffer {
                     lineCount % 15 == 0
                     || message.isEmpty()
             ) {
-                this.queueMessage(player, stringBuilder + (message.isEmpty() ? "\n" : "...\n"));
+                this.queueMessage(state, stringBuilder + (message.isEmpty() ? "\n" : "...\n"));
                 stringBuilder = new StringBuilder();
             } else {
                 stringBuilder.append("\n");
@@ -94,40 +88,42 @@ public final class ChatBuffer {
     }
 
     private void queueMessage(
-            final @NotNull Player player,
+            final @NotNull PlayerState state,
             final @NotNull String message
     ) {
-        final UUID uuid = player.getUniqueId();
+        final Queue<String> queue = PlayerStateKeys.CHAT_QUEUE.createValue();
 
-        if (!this.chatQueue.containsKey(uuid)) {
-            this.chatQueue.put(uuid, new LinkedList<>());
-            scheduleMessageUpdate(player, uuid, 0);
-        }
+        queue.add(message);
+
+        final Queue<String> previousQueue = state.putIfAbsent(PlayerStateKeys.CHAT_QUEUE, queue);
 
-        this.chatQueue.get(uuid).add(message);
+        if (previousQueue == null) {
+            this.scheduleMessageUpdate(state, queue, 0);
+        } else {
+            previousQueue.add(message);
+        }
     }
 
     private void scheduleMessageUpdate(
-            final @NotNull Player player,
-            final @NotNull UUID uuid,
+            final @NotNull PlayerState state,
+            final @NotNull Queue<String> queue,
             final int delay
     ) {
         this.plugin.runTaskLater(() -> {
+            final Player player = state.getPlayer();
+            final String message = queue.poll();
+
             if (
                     !player.isOnline()
-                    || this.chatQueue.get(uuid).isEmpty()
+                    || message == null
             ) {
-                this.chatQueue.remove(uuid);
+                state.remove(PlayerStateKeys.CHAT_QUEUE, queue);
             } else {
-                final String message = this.chatQueue.get(uuid).poll();
-
-                if (message != null) {
-                    this.scheduleMessageUpdate(
-                            player,
-                            uuid,
-                            spawnMessage(player, message) + 5
-                    );
-                }
+                this.scheduleMessageUpdate(
+                        state,
+                        queue,
+                        spawnMessage(player, message) + 5
+                );
             }
         }, delay);
     }
@@ -5,6 +5,7 @@ import com.minersstudios.whomine.command.api.SlashCommandExecutor;
 import com.minersstudios.whomine.command.api.discord.interaction.CommandHandler;
 import com.minersstudios.whomine.player.PlayerInfo;
 import com.minersstudios.whomine.player.skin.Skin;
+import com.minersstudios.whomine.player.skin.SkinService;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.MSLogger;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
@@ -96,17 +97,17 @@ public final class AddSkinCommand extends SlashCommandExecutor {
                 && valueOption == null
                 && signatureOption == null
         ) {
-            try {
-                final Skin skin = Skin.create(this.getPlugin(), name, urlOption.getAsString());
-
-                if (skin == null) {
-                    handler.send(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
-                } else {
+            this.getPlugin().getSkinService()
+            .create(name, urlOption.getAsString())
+            .whenComplete((skin, throwable) -> {
+                if (throwable == null) {
                     addSkin(handler, playerInfo, skin);
+                } else if (SkinService.isInvalidSkin(throwable)) {
+                    handler.send(DISCORD_SKIN_INVALID_IMG.asString());
+                } else {
+                    handler.send(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
                 }
-            } catch (final IllegalArgumentException ignored) {
-                handler.send(DISCORD_SKIN_INVALID_IMG.asString());
-            }
+            });
         } else if (
                 urlOption == null
                 && valueOption != null
@@ -9,6 +9,7 @@ import com.minersstudios.whomine.command.api.discord.interaction.TabCompleterHan
 import com.minersstudios.whomine.discord.BotHandler;
 import com.minersstudios.whomine.player.PlayerInfo;
 import com.minersstudios.whomine.player.skin.Skin;
+import com.minersstudios.whomine.player.skin.SkinService;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
@@ -85,17 +86,17 @@ public final class EditSkinCommand extends SlashCommandExecutor {
                 && valueOption == null
                 && signatureOption == null
         ) {
-            try {
-                final Skin skin = Skin.create(this.getPlugin(), name, urlOption.getAsString());
-
-                if (skin == null) {
-                    handler.send(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
-                } else {
+            this.getPlugin().getSkinService()
+            .create(name, urlOption.getAsString())
+            .whenComplete((skin, throwable) -> {
+                if (throwable == null) {
                     edit(playerInfo, skinIndex, skin, null, handler);
+                } else if (SkinService.isInvalidSkin(throwable)) {
+                    handler.send(DISCORD_SKIN_INVALID_IMG.asString());
+                } else {
+                    handler.send(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
                 }
-            } catch (final IllegalArgumentException ignored) {
-                handler.send(DISCORD_SKIN_INVALID_IMG.asString());
-            }
+            });
         } else if (
                 urlOption == null
                 && valueOption != null
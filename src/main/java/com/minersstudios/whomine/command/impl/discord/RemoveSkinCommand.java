@@ -65,17 +65,16 @@ public final class RemoveSkinCommand extends SlashCommandExecutor {
 
         final Skin skin = playerInfo.getPlayerFile().getSkin(name);
 
-        if (
-                skin == null
-                || !remove(playerInfo, skin, null, handler)
-        ) {
-            handler.send(
-                    ChatUtils.serializePlainComponent(
-                            DISCORD_COMMAND_SKIN_NOT_FOUND
-                            .asComponent(text(name))
-                    )
-            );
+        if (skin == null) {
+            sendNotFound(handler, name);
+            return;
         }
+
+        this.getPlugin().runTask(() -> {
+            if (!remove(playerInfo, skin, null, handler)) {
+                sendNotFound(handler, name);
+            }
+        });
     }
 
     @Override
@@ -148,4 +147,16 @@ public final class RemoveSkinCommand extends SlashCommandExecutor {
 
         return true;
     }
+
+    private static void sendNotFound(
+            final @NotNull CommandHandler handler,
+            final @NotNull String name
+    ) {
+        handler.send(
+                ChatUtils.serializePlainComponent(
+                        DISCORD_COMMAND_SKIN_NOT_FOUND
+                        .asComponent(text(name))
+                )
+        );
+    }
 }
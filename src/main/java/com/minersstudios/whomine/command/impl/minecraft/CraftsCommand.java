@@ -5,12 +5,15 @@ import com.minersstudios.whomine.command.api.PluginCommandExecutor;
 import com.minersstudios.whomine.command.api.minecraft.CommandData;
 import com.minersstudios.whomine.menu.CraftsMenu;
 import com.minersstudios.whomine.utility.Font;
-import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
 public final class CraftsCommand extends PluginCommandExecutor {
 
     public CraftsCommand(final @NotNull WhoMine plugin) {
@@ -19,11 +22,13 @@ public final class CraftsCommand extends PluginCommandExecutor {
                 CommandData.builder()
                 .name("crafts")
                 .aliases("recipes")
-                .usage(" " + Font.Chars.RED_EXCLAMATION_MARK + " §cИспользуй: /<command>")
+                .usage(" " + Font.Chars.RED_EXCLAMATION_MARK + " §cИспользуй: /<command> [поиск]")
                 .description("Открывает меню с крафтами кастомных предметов/декора/блоков")
                 .playerOnly(true)
                 .commandNode(
-                        LiteralArgumentBuilder.literal("crafts").build()
+                        literal("crafts")
+                        .then(argument("поиск", StringArgumentType.greedyString()))
+                        .build()
                 )
                 .build()
         );
@@ -37,8 +42,10 @@ public final class CraftsCommand extends PluginCommandExecutor {
             final String @NotNull ... args
     ) {
         CraftsMenu.open(
-                CraftsMenu.Type.MAIN,
-                (Player) sender
+                (Player) sender,
+                args.length == 0
+                ? null
+                : args[0]
         );
 
         return true;
@@ -0,0 +1,105 @@
+package com.minersstudios.whomine.command.impl.minecraft.admin.msessentials;
+
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.PlayerStore;
+import com.minersstudios.whomine.utility.MSLogger;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Level;
+
+import static com.minersstudios.whomine.locale.Translations.*;
+import static net.kyori.adventure.text.Component.text;
+
+public final class ExportCommand {
+    private static final String EXPORT_FOLDER = "exports";
+
+    public static boolean runCommand(
+            final @NotNull WhoMine plugin,
+            final @NotNull CommandSender sender,
+            final String @NotNull [] args
+    ) {
+        if (!(sender instanceof ConsoleCommandSender)) {
+            MSLogger.severe(
+                    sender,
+                    ERROR_ONLY_CONSOLE_COMMAND.asTranslatable()
+            );
+
+            return true;
+        }
+
+        final PlayerInfo playerInfo;
+
+        if (args.length > 1) {
+            playerInfo = PlayerInfo.fromString(plugin, args[1]);
+
+            if (playerInfo == null) {
+                MSLogger.severe(
+                        sender,
+                        ERROR_PLAYER_NOT_FOUND.asTranslatable()
+                );
+
+                return true;
+            }
+        } else {
+            playerInfo = null;
+        }
+
+        final Path folder = plugin.getDataFolder().toPath().resolve(EXPORT_FOLDER);
+
+        plugin.runTaskAsync(() -> {
+            final long time = System.currentTimeMillis();
+            final PlayerStore playerStore = plugin.getPlayerStore();
+
+            if (!playerStore.isOpen()) {
+                MSLogger.severe(sender, ERROR_PLAYER_STORE_UNAVAILABLE.asTranslatable());
+                return;
+            }
+
+            try {
+                final int exported;
+
+                if (playerInfo == null) {
+                    exported = playerStore.exportAll(folder);
+                } else {
+                    final UUID uuid = playerInfo.getUuid();
+                    final Path file = folder.resolve(uuid + ".yml");
+
+                    Files.createDirectories(folder);
+
+                    if (!playerStore.export(uuid, file)) {
+                        MSLogger.severe(
+                                sender,
+                                COMMAND_MSESSENTIALS_EXPORT_NOT_FOUND.asTranslatable()
+                                .arguments(text(playerInfo.getNickname()))
+                        );
+                        return;
+                    }
+
+                    exported = 1;
+                }
+
+                MSLogger.fine(
+                        sender,
+                        COMMAND_MSESSENTIALS_EXPORT_SUCCESS.asTranslatable()
+                        .arguments(
+                                text(exported),
+                                text(folder.toString()),
+                                text(System.currentTimeMillis() - time)
+                        )
+                );
+            } catch (final IOException | IllegalStateException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to export the player store to " + folder, e);
+                MSLogger.severe(sender, ERROR_SOMETHING_WENT_WRONG.asTranslatable());
+            }
+        });
+
+        return true;
+    }
+}
@@ -4,6 +4,7 @@ import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.command.api.PluginCommandExecutor;
 import com.minersstudios.whomine.command.api.minecraft.CommandData;
 import com.minersstudios.whomine.utility.Font;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.permissions.PermissionDefault;
@@ -13,9 +14,10 @@ import java.util.Arrays;
 import java.util.List;
 
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
 
 public final class MSEssentialsCommandHandler extends PluginCommandExecutor {
-    private static final List<String> TAB = Arrays.asList("reload", "updateids", "updatemutes");
+    private static final List<String> TAB = Arrays.asList("reload", "updateids", "updatemutes", "export");
 
     public MSEssentialsCommandHandler(final @NotNull WhoMine plugin) {
         super(
@@ -42,6 +44,10 @@ public final class MSEssentialsCommandHandler extends PluginCommandExecutor {
                         .then(literal("reload"))
                         .then(literal("updateids"))
                         .then(literal("updatemutes"))
+                        .then(
+                                literal("export")
+                                .then(argument("айди/никнейм", StringArgumentType.word()))
+                        )
                         .build()
                 )
                 .build()
@@ -60,6 +66,7 @@ public final class MSEssentialsCommandHandler extends PluginCommandExecutor {
                     case "reload" ->      ReloadCommand.runCommand(this.getPlugin(), sender);
                     case "updateids" ->   UpdateIdsCommand.runCommand(this.getPlugin(), sender);
                     case "updatemutes" -> UpdateMutesCommand.runCommand(this.getPlugin(), sender);
+                    case "export" ->      ExportCommand.runCommand(this.getPlugin(), sender, args);
                     default -> false;
                 };
     }
@@ -0,0 +1,73 @@
+package com.minersstudios.whomine.command.impl.minecraft.admin.player;
+
+import com.minersstudios.whomine.utility.MSLogger;
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.PlayerStore;
+import net.kyori.adventure.text.TextComponent;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static com.minersstudios.whomine.locale.Translations.*;
+import static net.kyori.adventure.text.Component.text;
+
+public final class AdminAltsCommand {
+
+    public static boolean runCommand(
+            final @NotNull WhoMine plugin,
+            final @NotNull CommandSender sender,
+            final @NotNull PlayerInfo playerInfo
+    ) {
+        plugin.runTaskAsync(() -> {
+            final PlayerStore playerStore = plugin.getPlayerStore();
+
+            if (!playerStore.isOpen()) {
+                MSLogger.severe(sender, ERROR_IP_INDEX_UNAVAILABLE.asTranslatable());
+                return;
+            }
+
+            final Set<UUID> alts = playerInfo.getAlts();
+
+            if (alts.isEmpty()) {
+                MSLogger.fine(
+                        sender,
+                        COMMAND_PLAYER_ALTS_NONE.asTranslatable()
+                        .arguments(
+                                playerInfo.getGrayIDGreenName(),
+                                text(playerInfo.getNickname())
+                        )
+                );
+                return;
+            }
+
+            final TextComponent.Builder list = text();
+
+            for (final var uuid : alts) {
+                final String nickname = playerStore.getNickname(uuid);
+
+                list.append(text("\n    - " + (nickname == null ? "-" : nickname) + " (" + uuid + ')'));
+
+                if (plugin.getServer().getOfflinePlayer(uuid).isBanned()) {
+                    list
+                    .append(text(" : "))
+                    .append(COMMAND_PLAYER_ALTS_BANNED.asTranslatable());
+                }
+            }
+
+            MSLogger.fine(
+                    sender,
+                    COMMAND_PLAYER_ALTS_LIST.asTranslatable()
+                    .arguments(
+                            playerInfo.getGrayIDGreenName(),
+                            text(playerInfo.getNickname()),
+                            list.build()
+                    )
+            );
+        });
+
+        return true;
+    }
+}
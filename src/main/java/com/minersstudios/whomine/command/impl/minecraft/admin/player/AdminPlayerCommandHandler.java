@@ -31,6 +31,7 @@ public final class AdminPlayerCommandHandler extends PluginCommandExecutor {
     private static final List<String> TAB_2 = Arrays.asList(
             "update",
             "info",
+            "alts",
             "first-join",
             "pronouns",
             "game-params",
@@ -106,6 +107,7 @@ public final class AdminPlayerCommandHandler extends PluginCommandExecutor {
                                 argument("айди/никнейм", StringArgumentType.word())
                                 .then(literal("update"))
                                 .then(literal("info"))
+                                .then(literal("alts"))
                                 .then(
                                         literal("pronouns")
                                         .then(literal("he"))
@@ -231,6 +233,7 @@ public final class AdminPlayerCommandHandler extends PluginCommandExecutor {
         return switch (args[1]) {
             case "update" ->      AdminUpdateCommand.runCommand(sender, playerInfo);
             case "info" ->        AdminInfoCommand.runCommand(plugin, sender, playerInfo);
+            case "alts" ->        AdminAltsCommand.runCommand(plugin, sender, playerInfo);
             case "pronouns" ->    AdminPronounsCommand.runCommand(sender, args, playerInfo);
             case "game-params" -> AdminGameParamsCommand.runCommand(sender, args, playerInfo);
             case "first-join" ->  AdminFirstJoinCommand.runCommand(plugin, sender, playerInfo);
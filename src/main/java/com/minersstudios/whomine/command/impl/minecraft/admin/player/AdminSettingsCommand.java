@@ -204,13 +204,26 @@ public final class AdminSettingsCommand {
                         final String skinLink = args[5];
 
                         if (
-                                playerFile.hasAvailableSkinSlot()
-                                && !playerFile.containsSkin(skinName)
+                                !playerFile.hasAvailableSkinSlot()
+                                || playerFile.containsSkin(skinName)
                         ) {
-                            try {
-                                final Skin skin = Skin.create(plugin, skinName, skinLink);
+                            sendAddSkinError(sender, playerInfo, skinName);
+                            return true;
+                        }
+
+                        plugin.getSkinService()
+                        .create(skinName, skinLink)
+                        .whenCompleteAsync(
+                                (skin, throwable) -> {
+                                    if (
+                                            throwable != null
+                                            || !playerFile.hasAvailableSkinSlot()
+                                            || playerFile.containsSkin(skinName)
+                                    ) {
+                                        sendAddSkinError(sender, playerInfo, skinName);
+                                        return;
+                                    }
 
-                                if (skin != null) {
                                     playerFile.addSkin(skin);
                                     MSLogger.fine(
                                             sender,
@@ -240,22 +253,8 @@ public final class AdminSettingsCommand {
                                                     )
                                             )
                                     ));
-
-                                    return true;
-                                }
-                            } catch (final IllegalArgumentException ignored) {
-                                // fallthrough
-                            }
-                        }
-
-                        MSLogger.severe(
-                                sender,
-                                COMMAND_PLAYER_SETTINGS_ADD_SKIN_ERROR.asTranslatable()
-                                .arguments(
-                                        text(skinName),
-                                        playerInfo.getDefaultName(),
-                                        text(playerInfo.getNickname())
-                                )
+                                },
+                                plugin::runTask
                         );
 
                         return true;
@@ -280,4 +279,20 @@ public final class AdminSettingsCommand {
             }
         }
     }
+
+    private static void sendAddSkinError(
+            final @NotNull CommandSender sender,
+            final @NotNull PlayerInfo playerInfo,
+            final @NotNull String skinName
+    ) {
+        MSLogger.severe(
+                sender,
+                COMMAND_PLAYER_SETTINGS_ADD_SKIN_ERROR.asTranslatable()
+                .arguments(
+                        text(skinName),
+                        playerInfo.getDefaultName(),
+                        text(playerInfo.getNickname())
+                )
+        );
+    }
 }
@@ -21,7 +21,6 @@ public final class ReloadCommand {
             data.unregisterRecipes(plugin);
         }
 
-        CustomBlockRegistry.unregisterAll();
         plugin.getConfiguration().reload();
         MSLogger.fine(
                 sender,
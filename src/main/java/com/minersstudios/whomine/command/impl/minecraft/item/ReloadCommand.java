@@ -4,7 +4,6 @@ import com.minersstudios.whomine.locale.Translations;
 import com.minersstudios.whomine.utility.MSLogger;
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.utility.SharedConstants;
-import com.minersstudios.whomine.custom.item.renameable.RenameableItemRegistry;
 import org.bukkit.Keyed;
 import org.bukkit.Server;
 import org.bukkit.command.CommandSender;
@@ -36,7 +35,6 @@ public final class ReloadCommand {
 
         plugin.getCache().customItemRecipes.clear();
         plugin.getCache().getRenameableMenuItems().clear();
-        RenameableItemRegistry.unregisterAll();
         plugin.getConfiguration().reload();
         MSLogger.fine(
                 sender,
@@ -4,13 +4,16 @@ import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.command.api.PluginCommandExecutor;
 import com.minersstudios.whomine.command.api.minecraft.CommandData;
 import com.minersstudios.whomine.menu.RenamesMenu;
+import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.Font;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
 
 public final class RenamesCommand extends PluginCommandExecutor {
 
@@ -24,10 +27,14 @@ public final class RenamesCommand extends PluginCommandExecutor {
                         "rename",
                         "renameables"
                 )
-                .usage(" " + Font.Chars.RED_EXCLAMATION_MARK + " §cИспользуй: /<command>")
+                .usage(" " + Font.Chars.RED_EXCLAMATION_MARK + " §cИспользуй: /<command> [поиск]")
                 .description("Открывает меню с переименованиями предметов")
                 .playerOnly(true)
-                .commandNode(literal("renames").build())
+                .commandNode(
+                        literal("renames")
+                        .then(argument("поиск", StringArgumentType.greedyString()))
+                        .build()
+                )
                 .build()
         );
     }
@@ -39,7 +46,12 @@ public final class RenamesCommand extends PluginCommandExecutor {
             final @NotNull String label,
             final String @NotNull ... args
     ) {
-        RenamesMenu.open((Player) sender);
+        RenamesMenu.open(
+                (Player) sender,
+                args.length == 0
+                ? null
+                : ChatUtils.extractMessage(args, 0)
+        );
 
         return true;
     }
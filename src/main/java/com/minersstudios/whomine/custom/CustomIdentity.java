@@ -0,0 +1,390 @@
+package com.minersstudios.whomine.custom;
+
+import com.minersstudios.whomine.custom.block.CustomBlockData;
+import com.minersstudios.whomine.custom.block.CustomBlockRegistry;
+import com.minersstudios.whomine.custom.decor.CustomDecorData;
+import com.minersstudios.whomine.custom.decor.CustomDecorType;
+import com.minersstudios.whomine.custom.item.CustomItem;
+import com.minersstudios.whomine.custom.item.CustomItemType;
+import com.minersstudios.whomine.custom.item.damageable.DamageableItem;
+import com.minersstudios.whomine.custom.item.renameable.RenameableItem;
+import com.minersstudios.whomine.custom.item.renameable.RenameableItemRegistry;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.Item;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Identity of the custom block, decor, item or renameable item, which the
+ * item stack belongs to.
+ * <br>
+ * The identity is resolved by {@link #of(ItemStack)} straight from the
+ * persistent data stored in the item's NMS tag, so the item meta and its
+ * persistent data container are not cloned. Only plain Bukkit item stacks,
+ * which are not backed by an NMS item, are still read through their item meta.
+ * <br>
+ * Handlers of a single event usually resolve the same item stack several
+ * times, so the identities resolved on the main thread are cached by the NMS
+ * item stack for the current tick. The cached identity is dropped as soon as
+ * the item or its tag is replaced, which happens on every item meta change.
+ */
+@Immutable
+public final class CustomIdentity {
+    private final String blockKey;
+    private final String decorKey;
+    private final String itemKey;
+    private final String renameableKey;
+    private final int maxDamage;
+    private final int realDamage;
+
+    /** Identity of the item stacks, which have no custom data */
+    public static final CustomIdentity EMPTY = new CustomIdentity(null, null, null, null, -1, -1);
+
+    private static final String BUKKIT_VALUES_TAG = "PublicBukkitValues";
+    private static final String BLOCK_TAG = CustomBlockRegistry.TYPE_NAMESPACED_KEY.toString();
+    private static final String DECOR_TAG = CustomDecorType.TYPE_NAMESPACED_KEY.toString();
+    private static final String ITEM_TAG = CustomItemType.TYPE_NAMESPACED_KEY.toString();
+    private static final String RENAMEABLE_TAG = RenameableItemRegistry.RENAMEABLE_NAMESPACED_KEY.toString();
+    private static final String MAX_DAMAGE_TAG = DamageableItem.MAX_DAMAGE_NAMESPACED_KEY.toString();
+    private static final String REAL_DAMAGE_TAG = DamageableItem.REAL_DAMAGE_NAMESPACED_KEY.toString();
+
+    private static final int MAX_CACHE_SIZE = 256;
+    private static final Map<net.minecraft.world.item.ItemStack, CacheEntry> CACHE = new Reference2ObjectOpenHashMap<>();
+    private static final Field HANDLE_FIELD;
+    private static int cacheTick = -1;
+
+    static {
+        try {
+            HANDLE_FIELD = CraftItemStack.class.getDeclaredField("handle");
+
+            HANDLE_FIELD.setAccessible(true);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed reflectively access the item stack handle", e);
+        }
+    }
+
+    private CustomIdentity(
+            final @Nullable String blockKey,
+            final @Nullable String decorKey,
+            final @Nullable String itemKey,
+            final @Nullable String renameableKey,
+            final int maxDamage,
+            final int realDamage
+    ) {
+        this.blockKey = blockKey;
+        this.decorKey = decorKey;
+        this.itemKey = itemKey;
+        this.renameableKey = renameableKey;
+        this.maxDamage = maxDamage;
+        this.realDamage = realDamage;
+    }
+
+    /**
+     * Resolves the identity of the given item stack
+     *
+     * @param itemStack The item stack to resolve the identity of
+     * @return The identity of the given item stack, or {@link #EMPTY} if the
+     *         item stack is null, air, or has no custom data
+     */
+    public static @NotNull CustomIdentity of(final @Nullable ItemStack itemStack) {
+        if (itemStack == null) {
+            return EMPTY;
+        }
+
+        if (!(itemStack instanceof final CraftItemStack craftItemStack)) {
+            return fromItemMeta(itemStack);
+        }
+
+        final net.minecraft.world.item.ItemStack handle = handle(craftItemStack);
+
+        if (
+                handle == null
+                || handle.isEmpty()
+        ) {
+            return EMPTY;
+        }
+
+        final CompoundTag tag = handle.getTag();
+
+        if (!Bukkit.isPrimaryThread()) {
+            return fromTag(tag);
+        }
+
+        final int tick = Bukkit.getCurrentTick();
+
+        if (
+                tick != cacheTick
+                || CACHE.size() >= MAX_CACHE_SIZE
+        ) {
+            CACHE.clear();
+            cacheTick = tick;
+        }
+
+        final Item item = handle.getItem();
+        final CacheEntry cached = CACHE.get(handle);
+
+        if (
+                cached != null
+                && cached.tag() == tag
+                && cached.item() == item
+        ) {
+            return cached.identity();
+        }
+
+        final CustomIdentity identity = fromTag(tag);
+
+        CACHE.put(handle, new CacheEntry(item, tag, identity));
+        return identity;
+    }
+
+    /**
+     * @return The key of the custom block, or null if the item stack is not a
+     *         custom block item
+     */
+    public @Nullable String getBlockKey() {
+        return this.blockKey;
+    }
+
+    /**
+     * @return The key of the custom decor, or null if the item stack is not a
+     *         custom decor item
+     */
+    public @Nullable String getDecorKey() {
+        return this.decorKey;
+    }
+
+    /**
+     * @return The key of the custom item, or null if the item stack is not a
+     *         custom item
+     */
+    public @Nullable String getItemKey() {
+        return this.itemKey;
+    }
+
+    /**
+     * @return The key of the renameable item, or null if the item stack is not
+     *         a renamed item
+     */
+    public @Nullable String getRenameableKey() {
+        return this.renameableKey;
+    }
+
+    /**
+     * @return The custom block data of the item stack
+     * @see CustomBlockRegistry#fromKey(String)
+     */
+    public @NotNull Optional<CustomBlockData> getBlockData() {
+        return CustomBlockRegistry.fromKey(this.blockKey);
+    }
+
+    /**
+     * @return The custom decor data of the item stack
+     * @see CustomDecorData#fromKey(String)
+     */
+    public @NotNull Optional<CustomDecorData<?>> getDecorData() {
+        return CustomDecorData.fromKey(this.decorKey);
+    }
+
+    /**
+     * @return The custom item of the item stack
+     * @see CustomItem#fromKey(String)
+     */
+    public @NotNull Optional<CustomItem> getCustomItem() {
+        return CustomItem.fromKey(this.itemKey);
+    }
+
+    /**
+     * @return The renameable item of the item stack
+     * @see RenameableItemRegistry#fromKey(String)
+     */
+    public @NotNull Optional<RenameableItem> getRenameableItem() {
+        return RenameableItemRegistry.fromKey(this.renameableKey);
+    }
+
+    /**
+     * @return The custom block data, custom decor data or custom item of the
+     *         item stack, checked in this order
+     */
+    public @NotNull Optional<?> getCustom() {
+        if (this.blockKey != null) {
+            return this.getBlockData();
+        }
+
+        if (this.decorKey != null) {
+            return this.getDecorData();
+        }
+
+        return this.getCustomItem();
+    }
+
+    /**
+     * @return True if the item stack has the custom damage data
+     */
+    public boolean isDamageable() {
+        return this.maxDamage != -1
+                && this.realDamage != -1;
+    }
+
+    /**
+     * @return The custom max damage of the item stack, or -1 if the item stack
+     *         has no custom damage data
+     */
+    public int getMaxDamage() {
+        return this.maxDamage;
+    }
+
+    /**
+     * @return The custom real damage of the item stack, or -1 if the item
+     *         stack has no custom damage data
+     */
+    public int getRealDamage() {
+        return this.realDamage;
+    }
+
+    /**
+     * @return True if the item stack has no custom data
+     */
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * @return A string representation of this identity
+     */
+    @Override
+    public @NotNull String toString() {
+        return "CustomIdentity{" +
+                "blockKey=" + this.blockKey +
+                ", decorKey=" + this.decorKey +
+                ", itemKey=" + this.itemKey +
+                ", renameableKey=" + this.renameableKey +
+                ", maxDamage=" + this.maxDamage +
+                ", realDamage=" + this.realDamage +
+                '}';
+    }
+
+    private static @Nullable net.minecraft.world.item.ItemStack handle(final @NotNull CraftItemStack itemStack) {
+        try {
+            return (net.minecraft.world.item.ItemStack) HANDLE_FIELD.get(itemStack);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Failed reflectively access the item stack handle", e);
+        }
+    }
+
+    private static @NotNull CustomIdentity fromTag(final @Nullable CompoundTag tag) {
+        if (
+                tag == null
+                || !tag.contains(BUKKIT_VALUES_TAG, Tag.TAG_COMPOUND)
+        ) {
+            return EMPTY;
+        }
+
+        final CompoundTag values = tag.getCompound(BUKKIT_VALUES_TAG);
+
+        return create(
+                getString(values, BLOCK_TAG),
+                getString(values, DECOR_TAG),
+                getString(values, ITEM_TAG),
+                getString(values, RENAMEABLE_TAG),
+                getInt(values, MAX_DAMAGE_TAG),
+                getInt(values, REAL_DAMAGE_TAG)
+        );
+    }
+
+    private static @NotNull CustomIdentity fromItemMeta(final @NotNull ItemStack itemStack) {
+        if (!itemStack.hasItemMeta()) {
+            return EMPTY;
+        }
+
+        final ItemMeta itemMeta = itemStack.getItemMeta();
+
+        if (itemMeta == null) {
+            return EMPTY;
+        }
+
+        final PersistentDataContainer container = itemMeta.getPersistentDataContainer();
+
+        return create(
+                getString(container, CustomBlockRegistry.TYPE_NAMESPACED_KEY),
+                getString(container, CustomDecorType.TYPE_NAMESPACED_KEY),
+                getString(container, CustomItemType.TYPE_NAMESPACED_KEY),
+                getString(container, RenameableItemRegistry.RENAMEABLE_NAMESPACED_KEY),
+                getInt(container, DamageableItem.MAX_DAMAGE_NAMESPACED_KEY),
+                getInt(container, DamageableItem.REAL_DAMAGE_NAMESPACED_KEY)
+        );
+    }
+
+    private static @NotNull CustomIdentity create(
+            final @Nullable String blockKey,
+            final @Nullable String decorKey,
+            final @Nullable String itemKey,
+            final @Nullable String renameableKey,
+            final int maxDamage,
+            final int realDamage
+    ) {
+        return blockKey == null
+                && decorKey == null
+                && itemKey == null
+                && renameableKey == null
+                && maxDamage == -1
+                && realDamage == -1
+                ? EMPTY
+                : new CustomIdentity(blockKey, decorKey, itemKey, renameableKey, maxDamage, realDamage);
+    }
+
+    private static @Nullable String getString(
+            final @NotNull CompoundTag values,
+            final @NotNull String key
+    ) {
+        return values.contains(key, Tag.TAG_STRING)
+                ? values.getString(key)
+                : null;
+    }
+
+    private static int getInt(
+            final @NotNull CompoundTag values,
+            final @NotNull String key
+    ) {
+        return values.contains(key, Tag.TAG_INT)
+                ? values.getInt(key)
+                : -1;
+    }
+
+    private static @Nullable String getString(
+            final @NotNull PersistentDataContainer container,
+            final @NotNull NamespacedKey key
+    ) {
+        return container.has(key, PersistentDataType.STRING)
+                ? container.get(key, PersistentDataType.STRING)
+                : null;
+    }
+
+    private static int getInt(
+            final @NotNull PersistentDataContainer container,
+            final @NotNull NamespacedKey key
+    ) {
+        return container.has(key, PersistentDataType.INTEGER)
+                ? container.getOrDefault(key, PersistentDataType.INTEGER, -1)
+                : -1;
+    }
+
+    private record CacheEntry(
+            @NotNull Item item,
+            @Nullable CompoundTag tag,
+            @NotNull CustomIdentity identity
+    ) {}
+}
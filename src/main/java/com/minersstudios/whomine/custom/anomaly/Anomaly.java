@@ -83,7 +83,22 @@ public class Anomaly {
             final @NotNull WhoMine plugin,
             final @NotNull File file
     ) throws IllegalArgumentException {
-        final YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        return fromConfig(plugin, YamlConfiguration.loadConfiguration(file));
+    }
+
+    /**
+     * Loads anomaly from the already loaded config with specified settings
+     *
+     * @param config Anomaly yaml config
+     * @return Loaded anomaly from config
+     * @throws IllegalArgumentException If anomaly config is invalid
+     * @see #fromConfig(WhoMine, File)
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull Anomaly fromConfig(
+            final @NotNull WhoMine plugin,
+            final @NotNull YamlConfiguration config
+    ) throws IllegalArgumentException {
         final String namespacedKeyStr = config.getString("namespaced-key");
 
         if (namespacedKeyStr == null) {
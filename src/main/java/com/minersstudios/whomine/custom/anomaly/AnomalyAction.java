@@ -3,6 +3,8 @@ package com.minersstudios.whomine.custom.anomaly;
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.custom.anomaly.action.AddPotionAction;
 import com.minersstudios.whomine.custom.anomaly.action.SpawnParticlesAction;
+import com.minersstudios.whomine.player.collection.PlayerStateMap;
+import com.minersstudios.whomine.player.state.PlayerState;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -11,7 +13,8 @@ import org.jetbrains.annotations.UnmodifiableView;
 import java.security.SecureRandom;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+
+import static com.minersstudios.whomine.player.state.PlayerStateKeys.ANOMALY_ACTIONS;
 
 /**
  * Anomaly action class. Used to do something when a player is in anomaly zone
@@ -22,7 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public abstract class AnomalyAction {
     protected final WhoMine plugin;
-    protected final Map<Player, Map<AnomalyAction, Long>> actionMap;
+    protected final PlayerStateMap stateMap;
     protected final long time;
     protected final int percentage;
 
@@ -40,7 +43,7 @@ public abstract class AnomalyAction {
             final int percentage
     ) {
         this.plugin = plugin;
-        this.actionMap = plugin.getCache().getPlayerAnomalyActionMap();
+        this.stateMap = plugin.getCache().getPlayerStateMap();
         this.time = time;
         this.percentage = percentage;
     }
@@ -53,10 +56,15 @@ public abstract class AnomalyAction {
     }
 
     /**
-     * @return Map of actions to player's last action time
+     * @param player The player whose actions to get
+     * @return Map of the player's actions to their last action time, or null
+     *         if the player has no actions
      */
-    public final @NotNull @UnmodifiableView Map<Player, Map<AnomalyAction, Long>> getActionMap() {
-        return Collections.unmodifiableMap(this.actionMap);
+    public final @Nullable @UnmodifiableView Map<AnomalyAction, Long> getActionMap(final @NotNull Player player) {
+        final var actions = this.stateMap.get(player, ANOMALY_ACTIONS);
+        return actions == null
+                ? null
+                : Collections.unmodifiableMap(actions);
     }
 
     /**
@@ -89,10 +97,16 @@ public abstract class AnomalyAction {
      *         was no mapping for player
      */
     public final @Nullable Map<AnomalyAction, Long> putAction(final @NotNull Player player) {
-        final var action = this.actionMap.getOrDefault(player, new ConcurrentHashMap<>());
+        final PlayerState state = this.stateMap.get(player);
+
+        if (state == null) {
+            return null;
+        }
+
+        final var previous = state.get(ANOMALY_ACTIONS);
 
-        action.put(this, System.currentTimeMillis());
-        return this.actionMap.put(player, action);
+        state.getOrCreate(ANOMALY_ACTIONS).put(this, System.currentTimeMillis());
+        return previous;
     }
 
     /**
@@ -102,11 +116,10 @@ public abstract class AnomalyAction {
      *               will be removed
      */
     public final void removeAction(final @NotNull Player player) {
-        final var action = this.actionMap.get(player);
+        final var action = this.stateMap.get(player, ANOMALY_ACTIONS);
 
         if (action != null) {
             action.remove(this);
-            this.actionMap.put(player, action);
         }
     }
 
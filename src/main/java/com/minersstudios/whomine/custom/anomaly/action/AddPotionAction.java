@@ -9,6 +9,8 @@ import org.bukkit.potion.PotionEffect;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static com.minersstudios.whomine.player.state.PlayerStateKeys.ANOMALY_ACTIONS;
+
 /**
  * Anomaly potion action class. Used to add potion effects to player when a
  * player is in the anomaly zone, and the time is up and the percentage is
@@ -83,10 +85,11 @@ public class AddPotionAction extends AnomalyAction {
             final @NotNull Player player,
             final @Nullable AnomalyIgnorableItems ignorableItems
     ) {
-        final var timedAction = this.actionMap.get(player);
+        final var timedAction = this.stateMap.get(player, ANOMALY_ACTIONS);
 
         if (
-                timedAction.containsKey(this)
+                timedAction != null
+                && timedAction.containsKey(this)
                 && System.currentTimeMillis() - timedAction.get(this) >= (this.getTime() * 50)
         ) {
             this.removeAction(player);
@@ -3,14 +3,15 @@ package com.minersstudios.whomine.custom.anomaly.task;
 import com.minersstudios.whomine.Config;
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.custom.anomaly.Anomaly;
-import com.minersstudios.whomine.custom.anomaly.AnomalyAction;
 import com.minersstudios.whomine.custom.anomaly.AnomalyBoundingBox;
 import com.minersstudios.whomine.custom.anomaly.action.SpawnParticlesAction;
+import com.minersstudios.whomine.player.collection.PlayerStateMap;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.Map;
+
+import static com.minersstudios.whomine.player.state.PlayerStateKeys.ANOMALY_ACTIONS;
 
 /**
  * Particle anomaly task. This task is used to check if the player is in the
@@ -26,12 +27,12 @@ import java.util.Map;
  */
 public final class AnomalyParticleTask implements Runnable {
     private final WhoMine plugin;
-    private final Map<Player, Map<AnomalyAction, Long>> anomalyActionMap;
+    private final PlayerStateMap stateMap;
     private final Collection<Anomaly> anomalies;
 
     public AnomalyParticleTask(final @NotNull WhoMine plugin) {
         this.plugin = plugin;
-        this.anomalyActionMap = plugin.getCache().getPlayerAnomalyActionMap();
+        this.stateMap = plugin.getCache().getPlayerStateMap();
         this.anomalies = plugin.getCache().getAnomalies().values();
     }
 
@@ -39,15 +40,20 @@ public final class AnomalyParticleTask implements Runnable {
     public void run() {
         if (
                 this.anomalies.isEmpty()
-                || this.anomalyActionMap.isEmpty()
+                || this.stateMap.isEmpty()
         ) {
             return;
         }
 
         this.plugin.runTaskAsync(() -> {
-            for (final var entry : this.anomalyActionMap.entrySet()) {
-                final Player player = entry.getKey();
-                final var actionMap = entry.getValue();
+            for (final var state : this.stateMap.states()) {
+                final var actionMap = state.get(ANOMALY_ACTIONS);
+
+                if (actionMap == null) {
+                    continue;
+                }
+
+                final Player player = state.getPlayer();
 
                 for (final var action : actionMap.keySet()) {
                     if (!(action instanceof SpawnParticlesAction)) {
@@ -6,12 +6,15 @@ import com.minersstudios.whomine.custom.anomaly.Anomaly;
 import com.minersstudios.whomine.custom.anomaly.AnomalyAction;
 import com.minersstudios.whomine.custom.anomaly.AnomalyBoundingBox;
 import com.minersstudios.whomine.custom.anomaly.action.SpawnParticlesAction;
+import com.minersstudios.whomine.player.collection.PlayerStateMap;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
 
+import static com.minersstudios.whomine.player.state.PlayerStateKeys.ANOMALY_ACTIONS;
+
 /**
  * Main anomaly action task. This task is used to check if the player is in the
  * anomaly zone. When a player is in the anomaly zone, the action will be
@@ -24,25 +27,23 @@ import java.util.Map;
  * @see AnomalyBoundingBox
  */
 public final class MainAnomalyActionTask implements Runnable {
-    private final WhoMine plugin;
-    private final Map<Player, Map<AnomalyAction, Long>> actionMap;
+    private final PlayerStateMap stateMap;
     private final Map<NamespacedKey, Anomaly> anomalyMap;
 
     public MainAnomalyActionTask(final @NotNull WhoMine plugin) {
-        this.plugin = plugin;
-        this.actionMap = plugin.getCache().getPlayerAnomalyActionMap();
+        this.stateMap = plugin.getCache().getPlayerStateMap();
         this.anomalyMap = plugin.getCache().getAnomalies();
     }
 
     @Override
     public void run() {
-        final var onlinePlayers = this.plugin.getServer().getOnlinePlayers();
-
-        if (onlinePlayers.isEmpty()) {
+        if (this.stateMap.isEmpty()) {
             return;
         }
 
-        for (final var player : onlinePlayers) {
+        for (final var state : this.stateMap.states()) {
+            final Player player = state.getPlayer();
+
             for (final var anomaly : this.anomalyMap.values()) {
                 final double radiusInside = anomaly.getBoundingBox().getRadiusInside(player);
 
@@ -50,7 +51,7 @@ public final class MainAnomalyActionTask implements Runnable {
                     continue;
                 }
 
-                var timedAction = this.actionMap.get(player);
+                var timedAction = state.get(ANOMALY_ACTIONS);
                 final var ignorablePlayers = anomaly.getIgnorablePlayers();
 
                 for (final var action : anomaly.getAnomalyActionMap().get(radiusInside)) {
@@ -91,7 +92,7 @@ public final class MainAnomalyActionTask implements Runnable {
                 return;
             }
 
-            this.actionMap.remove(player);
+            state.remove(ANOMALY_ACTIONS);
         }
     }
 }
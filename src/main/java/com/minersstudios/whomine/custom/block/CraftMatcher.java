@@ -0,0 +1,264 @@
+package com.minersstudios.whomine.custom.block;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.Item;
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftInventoryCrafting;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
+import org.bukkit.craftbukkit.v1_20_R3.util.CraftMagicNumbers;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.Recipe;
+import org.bukkit.inventory.ShapedRecipe;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Matcher of the custom blocks in the crafting matrix.
+ * <br>
+ * A custom block may only be used in the recipe, which result has a custom
+ * model data, and in the shaped recipe it must also be one of the
+ * ingredients. The ingredients are compared by their material and custom
+ * model data, which are packed into a single long key, so each recipe is
+ * compiled into a sorted array of the ingredient keys, once it is registered
+ * or first matched.
+ * <br>
+ * The keys of the matrix slots are cached per crafting container and only
+ * the slots, which item or tag was replaced since the last match, are
+ * resolved again.
+ * <br>
+ * This class is not thread-safe, it must be used on the main thread only.
+ */
+public final class CraftMatcher {
+    private static final Map<NamespacedKey, CompiledRecipe> RECIPES = new Object2ObjectOpenHashMap<>();
+    private static final Map<Container, MatrixState> MATRICES = new WeakHashMap<>();
+
+    private static final String CUSTOM_MODEL_DATA_TAG = "CustomModelData";
+    private static final long NOT_CUSTOM_BLOCK = -1L;
+    private static final long NO_CUSTOM_MODEL_DATA = -2L;
+
+    @Contract(" -> fail")
+    private CraftMatcher() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Compiles the recipes and caches them by their keys, replacing the
+     * previously compiled recipes with the same keys
+     *
+     * @param recipes The recipes to compile
+     */
+    public static void compile(final @NotNull Collection<? extends Recipe> recipes) {
+        for (final var recipe : recipes) {
+            if (recipe instanceof final Keyed keyed) {
+                RECIPES.put(keyed.getKey(), CompiledRecipe.of(recipe));
+            }
+        }
+    }
+
+    /**
+     * Removes all compiled recipes and cached matrices
+     */
+    public static void clear() {
+        RECIPES.clear();
+        MATRICES.clear();
+    }
+
+    /**
+     * @return The number of the compiled recipes
+     */
+    public static int size() {
+        return RECIPES.size();
+    }
+
+    /**
+     * Checks whether the custom blocks in the crafting matrix are allowed to
+     * be used in the recipe
+     *
+     * @param inventory The crafting inventory
+     * @param recipe    The recipe, prepared in the inventory
+     * @return True if the matrix has no custom blocks, or all of them are
+     *         allowed to be used in the recipe
+     */
+    public static boolean matches(
+            final @NotNull CraftingInventory inventory,
+            final @NotNull Recipe recipe
+    ) {
+        final CompiledRecipe compiled = getCompiled(recipe);
+
+        for (final var key : resolveMatrix(inventory)) {
+            if (
+                    key != NOT_CUSTOM_BLOCK
+                    && !compiled.allows(key)
+            ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static @NotNull CompiledRecipe getCompiled(final @NotNull Recipe recipe) {
+        if (!(recipe instanceof final Keyed keyed)) {
+            return CompiledRecipe.of(recipe);
+        }
+
+        final NamespacedKey key = keyed.getKey();
+        CompiledRecipe compiled = RECIPES.get(key);
+
+        if (compiled == null) {
+            compiled = CompiledRecipe.of(recipe);
+
+            RECIPES.put(key, compiled);
+        }
+
+        return compiled;
+    }
+
+    private static long @NotNull [] resolveMatrix(final @NotNull CraftingInventory inventory) {
+        if (!(inventory instanceof final CraftInventoryCrafting craftInventory)) {
+            final ItemStack[] matrix = inventory.getMatrix();
+            final long[] keys = new long[matrix.length];
+
+            for (int i = 0; i < matrix.length; ++i) {
+                final ItemStack item = matrix[i];
+
+                keys[i] =
+                        item == null
+                        ? NOT_CUSTOM_BLOCK
+                        : resolveKey(CraftItemStack.asNMSCopy(item));
+            }
+
+            return keys;
+        }
+
+        final Container container = craftInventory.getMatrixInventory();
+        final int size = container.getContainerSize();
+        MatrixState state = MATRICES.get(container);
+
+        if (
+                state == null
+                || state.keys.length != size
+        ) {
+            state = new MatrixState(size);
+
+            MATRICES.put(container, state);
+        }
+
+        for (int i = 0; i < size; ++i) {
+            final net.minecraft.world.item.ItemStack handle = container.getItem(i);
+            final Item item = handle.getItem();
+            final CompoundTag tag = handle.getTag();
+
+            if (
+                    state.handles[i] != handle
+                    || state.items[i] != item
+                    || state.tags[i] != tag
+            ) {
+                state.handles[i] = handle;
+                state.items[i] = item;
+                state.tags[i] = tag;
+                state.keys[i] = resolveKey(handle);
+            }
+        }
+
+        return state.keys;
+    }
+
+    private static long resolveKey(final @NotNull net.minecraft.world.item.ItemStack handle) {
+        if (
+                handle.isEmpty()
+                || !CustomBlockRegistry.isCustomBlock(CraftItemStack.asCraftMirror(handle))
+        ) {
+            return NOT_CUSTOM_BLOCK;
+        }
+
+        final CompoundTag tag = handle.getTag();
+
+        return tag != null && tag.contains(CUSTOM_MODEL_DATA_TAG, Tag.TAG_ANY_NUMERIC)
+                ? key(CraftMagicNumbers.getMaterial(handle.getItem()).ordinal(), tag.getInt(CUSTOM_MODEL_DATA_TAG))
+                : NO_CUSTOM_MODEL_DATA;
+    }
+
+    private static long key(
+            final int materialOrdinal,
+            final int customModelData
+    ) {
+        return ((long) materialOrdinal << 32) | (customModelData & 0xFFFFFFFFL);
+    }
+
+    private record CompiledRecipe(
+            boolean hasCustomResult,
+            long @Nullable [] ingredients
+    ) {
+
+        @SuppressWarnings("deprecation")
+        static @NotNull CompiledRecipe of(final @NotNull Recipe recipe) {
+            final ItemStack result = recipe.getResult();
+            final ItemMeta resultMeta = result.hasItemMeta() ? result.getItemMeta() : null;
+            final boolean hasCustomResult =
+                    resultMeta != null
+                    && resultMeta.hasCustomModelData();
+
+            if (!(recipe instanceof final ShapedRecipe shapedRecipe)) {
+                return new CompiledRecipe(hasCustomResult, null);
+            }
+
+            final var keys = new LongOpenHashSet();
+
+            for (final var ingredient : shapedRecipe.getIngredientMap().values()) {
+                if (
+                        ingredient == null
+                        || !ingredient.hasItemMeta()
+                ) {
+                    continue;
+                }
+
+                final ItemMeta meta = ingredient.getItemMeta();
+
+                if (meta.hasCustomModelData()) {
+                    keys.add(key(ingredient.getType().ordinal(), meta.getCustomModelData()));
+                }
+            }
+
+            final long[] ingredients = keys.toLongArray();
+
+            Arrays.sort(ingredients);
+            return new CompiledRecipe(hasCustomResult, ingredients);
+        }
+
+        boolean allows(final long key) {
+            return this.hasCustomResult
+                    && (
+                            this.ingredients == null
+                            || Arrays.binarySearch(this.ingredients, key) >= 0
+                    );
+        }
+    }
+
+    private static final class MatrixState {
+        final net.minecraft.world.item.ItemStack[] handles;
+        final Item[] items;
+        final CompoundTag[] tags;
+        final long[] keys;
+
+        MatrixState(final int size) {
+            this.handles = new net.minecraft.world.item.ItemStack[size];
+            this.items = new Item[size];
+            this.tags = new CompoundTag[size];
+            this.keys = new long[size];
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.minersstudios.whomine.custom.block.params.settings.Placing;
 import com.minersstudios.whomine.custom.block.params.settings.Tool;
 import com.minersstudios.whomine.inventory.recipe.entry.RecipeEntry;
 import com.minersstudios.whomine.menu.CraftsMenu;
+import com.minersstudios.whomine.utility.ItemUtils;
 import com.minersstudios.whomine.world.sound.SoundGroup;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLists;
@@ -46,6 +47,7 @@ public final class CustomBlockData {
     private final DropSettings dropSettings;
     private final SoundGroup soundGroup;
     private final List<RecipeEntry> recipeEntries;
+    private final ItemStack template;
 
     private static final CustomBlockData DEFAULT = new CustomBlockData(
             //<editor-fold desc="Default note block params" defaultstate="collapsed">
@@ -89,6 +91,7 @@ public final class CustomBlockData {
         this.dropSettings = dropSettings;
         this.soundGroup = soundGroup;
         this.recipeEntries = new ObjectArrayList<>(recipeEntries);
+        this.template = createTemplate(this.key, dropSettings);
     }
 
     /**
@@ -155,6 +158,32 @@ public final class CustomBlockData {
         return blockFile.getData();
     }
 
+    /**
+     * Loads the custom block data from the already parsed json tree of the
+     * specified file
+     *
+     * @param file The file of the custom block data
+     * @param json The parsed json tree of the file, it may be modified
+     * @return The custom block data loaded from the json tree, or null if an
+     *         error occurred
+     * @see CustomBlockFile#create(WhoMine, File, JsonElement)
+     */
+    public static @Nullable CustomBlockData fromJson(
+            final @NotNull WhoMine plugin,
+            final @NotNull File file,
+            final @NotNull JsonElement json
+    ) {
+        final CustomBlockFile blockFile = CustomBlockFile.create(plugin, file, json);
+
+        if (blockFile == null) {
+            plugin.getLogger().severe("Failed to load custom block file: " + file.getName());
+
+            return null;
+        }
+
+        return blockFile.getData();
+    }
+
     /**
      * @return Default custom block data with the following parameters:
      *     <br> - key: "default"
@@ -231,22 +260,15 @@ public final class CustomBlockData {
      * Creates an ItemStack based on the custom block data parameters. The
      * ItemStack will have the custom block data key stored in its persistent
      * data container.
+     * <br>
+     * The item stack is built once, when the custom block data is created,
+     * this method only returns a copy of it.
      *
      * @return The new ItemStack based on the custom block data parameters
      * @see CustomBlockRegistry#TYPE_NAMESPACED_KEY
      */
     public @NotNull ItemStack craftItemStack() {
-        final ItemStack itemStack = this.dropSettings.getItem();
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        itemMeta.getPersistentDataContainer().set(
-                CustomBlockRegistry.TYPE_NAMESPACED_KEY,
-                PersistentDataType.STRING,
-                this.key
-        );
-        itemStack.setItemMeta(itemMeta);
-
-        return itemStack;
+        return this.template.clone();
     }
 
     /**
@@ -310,4 +332,21 @@ public final class CustomBlockData {
             }
         }
     }
+
+    private static @NotNull ItemStack createTemplate(
+            final @NotNull String key,
+            final @NotNull DropSettings dropSettings
+    ) {
+        final ItemStack template = ItemUtils.asTemplate(dropSettings.getItem());
+        final ItemMeta itemMeta = template.getItemMeta();
+
+        itemMeta.getPersistentDataContainer().set(
+                CustomBlockRegistry.TYPE_NAMESPACED_KEY,
+                PersistentDataType.STRING,
+                key
+        );
+        template.setItemMeta(itemMeta);
+
+        return template;
+    }
 }
@@ -1,28 +1,42 @@
 package com.minersstudios.whomine.custom.block;
 
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.custom.block.params.PlacingType;
+import com.minersstudios.whomine.registry.SnapshotBuilder;
+import com.minersstudios.whomine.registry.SnapshotHolder;
 import com.minersstudios.whomine.utility.SharedConstants;
 import com.minersstudios.whomine.custom.block.params.NoteBlockData;
 import com.minersstudios.whomine.utility.ChatUtils;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.NoteBlockInstrument;
+import org.bukkit.Instrument;
+import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.NoteBlock;
+import org.bukkit.craftbukkit.v1_20_R3.block.data.CraftBlockData;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
+import java.util.logging.Logger;
+
+import static net.minecraft.world.level.block.state.properties.BlockStateProperties.NOTE;
+import static net.minecraft.world.level.block.state.properties.BlockStateProperties.NOTEBLOCK_INSTRUMENT;
+import static net.minecraft.world.level.block.state.properties.BlockStateProperties.POWERED;
 
 /**
  * The CustomBlockRegistry class is responsible for managing and storing custom
@@ -32,17 +46,23 @@ import java.util.*;
  * block data based on different criteria, such as the custom block's key, hash
  * code, or block data.
  * <br>
- * The CustomBlockRegistry uses one concurrent map to store all the registered
- * custom block data associated with the corresponding hash code of the
- * {@link NoteBlockData} of the custom block. And another concurrent map to
- * store the registered keys associated with the corresponding hash code of the
- * {@link NoteBlockData} of the custom block. The {@link #HASH_CODE_MAP} is a
- * main map that stores all the registered custom block data. The 
- * {@link #KEY_MAP} is used to store the registered keys and associated hash
- * codes.
+ * All registered custom block data are stored in an immutable
+ * {@link Snapshot}, which is published through the {@link #SNAPSHOT} holder.
+ * The snapshot contains a map of the custom block data associated with the
+ * corresponding hash code of the {@link NoteBlockData} of the custom block,
+ * a map of the registered keys associated with the corresponding hash codes,
+ * and the state table. The state table is a dense array with a slot for every
+ * possible note block state, indexed by the packed instrument, note and
+ * powered state, so the lookups by the note block state never lock or
+ * allocate.
+ * <br>
+ * The custom block data loaded from the files are collected by the
+ * {@link #builder() builder}, which swaps in a whole new snapshot at once, so
+ * the lookups running during the loading or reloading see either the old or
+ * the new registry, but never a partially loaded one.
  * <br>
  * All recipes by default are registered after all custom blocks, items, and
- * decorations are registered. This is to avoid problems related to dependencies 
+ * decorations are registered. This is to avoid problems related to dependencies
  * between other plugins and custom items, decorations, and blocks.
  * <br>
  * Make sure to use the provided methods and their respective Optional return
@@ -52,7 +72,7 @@ import java.util.*;
  * Example usage:
  * <pre>{@code
  * // Register a custom block data
- * CustomBlockRegistry.registerData(customBlockData);
+ * CustomBlockRegistry.register(customBlockData);
  *
  * // Retrieve custom block data using key
  * Optional<CustomBlockData> customBlockData =
@@ -78,12 +98,14 @@ import java.util.*;
 public final class CustomBlockRegistry {
     public static final NamespacedKey TYPE_NAMESPACED_KEY = new NamespacedKey(SharedConstants.MSBLOCK_NAMESPACE, "type");
 
-    private static final Int2ObjectMap<CustomBlockData> HASH_CODE_MAP = new Int2ObjectOpenHashMap<>();
-    private static final Map<String, IntSet> KEY_MAP = new Object2ObjectOpenHashMap<>();
+    /** The number of notes a note block can play */
+    public static final int NOTE_COUNT = 25;
+    /** The number of possible note block states */
+    public static final int STATE_COUNT = NoteBlockInstrument.values().length * NOTE_COUNT * 2;
 
-    static {
-        register(CustomBlockData.defaultData());
-    }
+    private static final int[] INSTRUMENT_INDICES = createInstrumentIndices();
+    private static final SnapshotHolder<Snapshot> SNAPSHOT =
+            new SnapshotHolder<>(Snapshot.create(List.of(CustomBlockData.defaultData())));
 
     @Contract(" -> fail")
     private CustomBlockRegistry() throws AssertionError {
@@ -91,74 +113,87 @@ public final class CustomBlockRegistry {
     }
 
     /**
-     * @return An unmodifiable view of the hash codes of all registered custom 
+     * Creates a new builder, which collects the custom block data and
+     * replaces all registered custom block data with them on
+     * {@link SnapshotBuilder#publish() publish}. The
+     * {@link CustomBlockData#defaultData() default data} is always added to
+     * the builder. The custom block data can be added from any thread.
+     * <br>
+     * The custom block data, whose key or note block data is already used by
+     * another custom block data, is logged to the given logger and skipped,
+     * while the rest of the custom block data is still published.
+     *
+     * @param logger The logger to log the skipped custom block data to
+     * @return A new builder of the registry
+     */
+    public static @NotNull SnapshotBuilder<CustomBlockData, ?> builder(final @NotNull Logger logger) {
+        return new SnapshotBuilder<CustomBlockData, Snapshot>(SNAPSHOT, dataList -> Snapshot.create(dataList, logger))
+                .add(CustomBlockData.defaultData());
+    }
+
+    /**
+     * @return An unmodifiable set of the hash codes of all registered custom
      *         block data (NoteBlockData)
-     * @see #HASH_CODE_MAP
      */
-    public static @NotNull @UnmodifiableView Set<Integer> hashCodeSet() {
-        return Collections.unmodifiableSet(HASH_CODE_MAP.keySet());
+    public static @NotNull @Unmodifiable Set<Integer> hashCodeSet() {
+        return SNAPSHOT.get().hashCodeMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of the keys of all registered custom 
-     *         block data
-     * @see #KEY_MAP
+     * @return An unmodifiable set of the keys of all registered custom block
+     *         data
      */
-    public static @NotNull @UnmodifiableView Set<String> keySet() {
-        return Collections.unmodifiableSet(KEY_MAP.keySet());
+    public static @NotNull @Unmodifiable Set<String> keySet() {
+        return SNAPSHOT.get().keyMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of all registered custom block data
-     * @see #HASH_CODE_MAP
+     * @return An unmodifiable collection of all registered custom block data
      */
-    public static @NotNull @UnmodifiableView Collection<CustomBlockData> customBlockDataCollection() {
-        return Collections.unmodifiableCollection(HASH_CODE_MAP.values());
+    public static @NotNull @Unmodifiable Collection<CustomBlockData> customBlockDataCollection() {
+        return SNAPSHOT.get().dataList;
     }
 
     /**
      * Gets the {@link CustomBlockData} from the given hash code of the
-     * {@link NoteBlockData}. It will get the custom block data from the
-     * {@link #HASH_CODE_MAP}.
+     * {@link NoteBlockData}
      *
      * @param hashCode The hash code to get the {@link CustomBlockData} from
      * @return An {@link Optional} containing the {@link CustomBlockData}
      *         or an {@link Optional#empty()} if the given hash code is not
      *         associated with any custom block data
-     * @see #HASH_CODE_MAP
      */
     public static @NotNull Optional<CustomBlockData> fromHashCode(final int hashCode) {
-        return Optional.ofNullable(HASH_CODE_MAP.get(hashCode));
+        return Optional.ofNullable(SNAPSHOT.get().hashCodeMap.get(hashCode));
     }
 
     /**
-     * Gets the {@link CustomBlockData} from the given custom block data key. It 
-     * will get the hash code from the {@link #KEY_MAP}, then get the custom
-     * block data from the {@link #HASH_CODE_MAP}.
+     * Gets the {@link CustomBlockData} from the given custom block data key
      *
-     * @param key The custom block data key to get the {@link CustomBlockData} 
+     * @param key The custom block data key to get the {@link CustomBlockData}
      *            from, must not be blank
      * @return An {@link Optional} containing the {@link CustomBlockData}
-     *         or an {@link Optional#empty()} if the given key is not associated 
+     *         or an {@link Optional#empty()} if the given key is not associated
      *         with any custom block data
-     * @see #KEY_MAP
-     * @see #fromHashCode(int)
      */
     public static @NotNull Optional<CustomBlockData> fromKey(final @Nullable String key) {
-        return ChatUtils.isBlank(key)
+        if (ChatUtils.isBlank(key)) {
+            return Optional.empty();
+        }
+
+        final Snapshot snapshot = SNAPSHOT.get();
+        final IntSet hashCodes = snapshot.keyMap.get(key.toLowerCase(Locale.ENGLISH));
+
+        return hashCodes == null
+                || hashCodes.isEmpty()
                 ? Optional.empty()
-                : Optional.ofNullable(KEY_MAP.get(key.toLowerCase(Locale.ENGLISH)))
-                .flatMap(
-                        hashCodes -> hashCodes.isEmpty()
-                                ? Optional.empty()
-                                : fromHashCode(hashCodes.iterator().nextInt())
-                );
+                : Optional.ofNullable(snapshot.hashCodeMap.get(hashCodes.iterator().nextInt()));
     }
 
     /**
      * Gets the {@link CustomBlockData} from the given block data. It will check
      * if the given block data is an instance of {@link NoteBlock} and if it is,
-     * it will get the custom block data from the {@link NoteBlock} by calling 
+     * it will get the custom block data from the {@link NoteBlock} by calling
      * {@link #fromNoteBlock(NoteBlock)} method.
      *
      * @param blockData The block data to get the {@link CustomBlockData} from,
@@ -176,91 +211,102 @@ public final class CustomBlockRegistry {
     }
 
     /**
-     * Gets the {@link CustomBlockData} from the given note block. It will get
-     * the {@link NoteBlockData} from the note block, by calling
-     * {@link NoteBlockData#from(NoteBlock)} method, and then it will
-     * get the custom block data from the note block data, by calling
-     * {@link #fromNoteBlockData(NoteBlockData)} method.
+     * Gets the {@link CustomBlockData} from the given note block
      *
      * @param noteBlock The note block to get the {@link CustomBlockData} from
      * @return An {@link Optional} containing the {@link CustomBlockData},
      *         or an {@link Optional#empty()} if the given note block is not
      *         associated with any custom block data
-     * @see NoteBlockData#from(NoteBlock)
-     * @see #fromNoteBlockData(NoteBlockData)
+     * @see #getByNoteBlock(NoteBlock)
      */
     public static @NotNull Optional<CustomBlockData> fromNoteBlock(final @NotNull NoteBlock noteBlock) {
-        return fromNoteBlockData(NoteBlockData.from(noteBlock));
+        return Optional.ofNullable(getByNoteBlock(noteBlock));
+    }
+
+    /**
+     * Gets the {@link CustomBlockData} from the given block data without
+     * wrapping it in an {@link Optional}
+     *
+     * @param blockData The block data to get the {@link CustomBlockData} from
+     * @return The {@link CustomBlockData}, or null if the given block data is
+     *         not an instance of {@link NoteBlock} or is not associated with
+     *         any custom block data
+     * @see #getByNoteBlock(NoteBlock)
+     */
+    public static @Nullable CustomBlockData getByBlockData(final @NotNull BlockData blockData) {
+        return blockData instanceof final NoteBlock noteBlock
+                ? getByNoteBlock(noteBlock)
+                : null;
+    }
+
+    /**
+     * Gets the {@link CustomBlockData} from the given note block without
+     * wrapping it in an {@link Optional}. The custom block data is read from
+     * the state table by the index of the note block state, so this method
+     * does not allocate.
+     *
+     * @param noteBlock The note block to get the {@link CustomBlockData} from
+     * @return The {@link CustomBlockData}, or null if the given note block is
+     *         not associated with any custom block data
+     */
+    public static @Nullable CustomBlockData getByNoteBlock(final @NotNull NoteBlock noteBlock) {
+        return SNAPSHOT.get().stateTable[stateIndex(((CraftBlockData) noteBlock).getState())];
     }
 
     /**
-     * Gets the {@link CustomBlockData} from the given note block data. It will
-     * check the hash code of the note block data, and if it is registered, it
-     * will get the {@link CustomBlockData} from the hash code by calling
-     * {@link #fromHashCode(int)} method.
+     * Gets the {@link CustomBlockData} from the given note block data
      *
-     * @param noteBlockData The note block data get the {@link CustomBlockData} 
+     * @param noteBlockData The note block data get the {@link CustomBlockData}
      *                      from
      * @return An {@link Optional} containing the {@link CustomBlockData}
      *         or an {@link Optional#empty()} if the given note block data
      *         is not associated with any custom block data
-     * @see NoteBlockData#hashCode()
-     * @see #fromHashCode(int)
      */
     public static @NotNull Optional<CustomBlockData> fromNoteBlockData(final @NotNull NoteBlockData noteBlockData) {
-        return fromHashCode(noteBlockData.hashCode());
+        return Optional.ofNullable(SNAPSHOT.get().stateTable[stateIndex(noteBlockData)]);
     }
 
     /**
      * Gets the {@link CustomBlockData} from the given item stack. It will check
-     * the item stack's persistent data container for the 
-     * {@link #TYPE_NAMESPACED_KEY} key, and if it has it, it will get the 
+     * the item stack's persistent data container for the
+     * {@link #TYPE_NAMESPACED_KEY} key, and if it has it, it will get the
      * custom block data from the key by calling {@link #fromKey(String)} method.
      *
      * @param itemStack The item stack to get the {@link CustomBlockData} from
      * @return An {@link Optional} containing the {@link CustomBlockData}, or an
      *         {@link Optional#empty()} if the key from the item stack's
-     *         persistent data container is not associated with any custom block 
+     *         persistent data container is not associated with any custom block
      *         data
      * @see #TYPE_NAMESPACED_KEY
      * @see #fromKey(String)
      */
     public static @NotNull Optional<CustomBlockData> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
-        
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(TYPE_NAMESPACED_KEY, PersistentDataType.STRING)
-                );
+        return fromKey(CustomIdentity.of(itemStack).getBlockKey());
     }
 
     /**
      * @param hashCode The hash code of the note block data to check
-     * @return True if the {@link #HASH_CODE_MAP} contains the hash code
+     * @return True if the hash code is registered
      */
     public static boolean containsHashCode(final int hashCode) {
-        return HASH_CODE_MAP.containsKey(hashCode);
+        return SNAPSHOT.get().hashCodeMap.containsKey(hashCode);
     }
 
     /**
      * @param key The key to check
-     * @return True if the {@link #KEY_MAP} contains the key
-     *         and key is not blank or null (case-insensitive)
+     * @return True if the key is registered and key is not blank or null
+     *         (case-insensitive)
      */
     @Contract("null -> false")
     public static boolean containsKey(final @Nullable String key) {
         return ChatUtils.isNotBlank(key)
-                && KEY_MAP.containsKey(key.toLowerCase(Locale.ENGLISH));
+                && SNAPSHOT.get().keyMap.containsKey(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
      * @param customBlockData The custom block data to check
-     * @return True if the {@link #HASH_CODE_MAP} contains the hash code of the 
-     *         note block data associated with the custom block data
+     * @return True if any of the note block data associated with the custom
+     *         block data is registered
      */
     @Contract("null -> false")
     public static boolean containsCustomBlockData(final @Nullable CustomBlockData customBlockData) {
@@ -268,31 +314,19 @@ public final class CustomBlockRegistry {
             return false;
         }
 
-        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
+        final CustomBlockData[] stateTable = SNAPSHOT.get().stateTable;
 
-        if (placingType instanceof final PlacingType.Default normal) {
-            return containsHashCode(normal.getNoteBlockData().hashCode());
-        } else if (placingType instanceof final PlacingType.Directional directional) {
-            for (final var noteBlockData : directional.getMap().values()) {
-                if (containsHashCode(noteBlockData.hashCode())) {
-                    return true;
-                }
-            }
-        } else if (placingType instanceof final PlacingType.Orientable orientable) {
-            for (final var noteBlockData : orientable.getMap().values()) {
-                if (containsHashCode(noteBlockData.hashCode())) {
-                    return true;
-                }
+        for (final var noteBlockData : noteBlockDataCollection(customBlockData)) {
+            if (stateTable[stateIndex(noteBlockData)] != null) {
+                return true;
             }
-        } else {
-            throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
         }
 
         return false;
     }
 
     /**
-     * Checks if the item stack is a custom block by verifying if it has a valid 
+     * Checks if the item stack is a custom block by verifying if it has a valid
      * custom block data key associated with it
      *
      * @param itemStack The item stack to check
@@ -306,8 +340,8 @@ public final class CustomBlockRegistry {
     }
 
     /**
-     * Checks if the block is a custom block by verifying if its block data is 
-     * an instance of {@link NoteBlock} and if it has a valid custom block data 
+     * Checks if the block is a custom block by verifying if its block data is
+     * an instance of {@link NoteBlock} and if it has a valid custom block data
      * associated with it
      *
      * @param block The block to check
@@ -321,152 +355,275 @@ public final class CustomBlockRegistry {
     }
 
     /**
-     * Checks if the block data is a custom block by verifying if it is an 
-     * instance of {@link NoteBlock} and if it has a valid custom block data 
+     * Checks if the block data is a custom block by verifying if it is an
+     * instance of {@link NoteBlock} and if it has a valid custom block data
      * associated with it
      *
      * @param blockData The block data to check
      * @return True if the block data is a custom block
-     * @see #fromNoteBlock(NoteBlock)
+     * @see #getByNoteBlock(NoteBlock)
      */
     @Contract("null -> false")
     public static boolean isCustomBlock(final @Nullable BlockData blockData) {
-        return blockData instanceof NoteBlock noteBlock
-                && fromNoteBlock(noteBlock).isPresent();
+        return blockData instanceof final NoteBlock noteBlock
+                && getByNoteBlock(noteBlock) != null;
     }
 
     /**
-     * @return True if the data map is empty
-     * @see #HASH_CODE_MAP
+     * @return True if there are no registered custom block data
      */
     public static boolean isEmpty() {
-        return HASH_CODE_MAP.isEmpty();
+        return SNAPSHOT.get().dataList.isEmpty();
     }
 
     /**
-     * @return The size of the data map
-     * @see #HASH_CODE_MAP
+     * @return The number of registered custom block data
      */
     public static int size() {
-        return HASH_CODE_MAP.size();
+        return SNAPSHOT.get().dataList.size();
     }
 
     /**
-     * Registers the custom block data to the data map. The key and hash code
-     * are all used to register the custom block data. If the custom block data
-     * have the note block data, the note block data's hash code is used to 
-     * register the custom block data in the data maps, otherwise the block
-     * {@link PlacingType.Directional} or {@link PlacingType.Orientable} is used
-     * to generate the hash code of the note block data. Make sure that one of
-     * the note block data, block face map, or block axis map is not null.
+     * Registers the custom block data. If the custom block data have the note
+     * block data, the note block data is used to register the custom block
+     * data, otherwise the block {@link PlacingType.Directional} or
+     * {@link PlacingType.Orientable} is used to get the note block data.
+     * <br>
+     * This method publishes a new snapshot with the given custom block data
+     * added, use the {@link #builder()} to register many custom block data at
+     * once.
      *
      * @param customBlockData The custom block data to register
-     * @throws IllegalArgumentException If the custom block data is already 
+     * @throws IllegalArgumentException If the custom block data is already
      *                                  registered, or if the custom block data
      *                                  has an unknown placing type
      * @see CustomBlockData
-     * @see #KEY_MAP
-     * @see #HASH_CODE_MAP
      */
-    public static synchronized void register(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
-        final String key = customBlockData.getKey();
-        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
+    public static void register(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        SNAPSHOT.update(snapshot -> {
+            final var list = new ObjectArrayList<>(snapshot.dataList);
 
-        if (placingType instanceof final PlacingType.Default normal) {
-            register(
-                    customBlockData,
-                    normal.getNoteBlockData().hashCode(),
-                    key
-            );
-        } else if (placingType instanceof final PlacingType.Directional directional) {
-            directional.getMap().forEach(
-                    (blockFace, data) -> register(
-                            customBlockData,
-                            data.hashCode(),
-                            key
-                    )
-            );
-        } else if (placingType instanceof final PlacingType.Orientable orientable) {
-            orientable.getMap().forEach(
-                    (blockAxis, data) -> register(
-                            customBlockData,
-                            data.hashCode(),
-                            key
-                    )
-            );
-        } else {
-            throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
-        }
+            list.add(customBlockData);
+            return Snapshot.create(list);
+        });
     }
 
     /**
-     * Unregister a custom block data from the data map
+     * Unregister a custom block data.
+     * <br>
+     * This method publishes a new snapshot with the given custom block data
+     * removed.
      *
      * @param customBlockData The custom block data to unregister
-     * @throws IllegalArgumentException If the key, or hash code is not 
+     * @throws IllegalArgumentException If the custom block data is not
      *                                  registered
      */
-    public static synchronized void unregister(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
-        final String key = customBlockData.getKey().toLowerCase(Locale.ENGLISH);
-        final int hashCode = customBlockData.hashCode();
+    public static void unregister(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        SNAPSHOT.update(snapshot -> {
+            final var list = new ObjectArrayList<>(snapshot.dataList);
 
-        if (!containsKey(key)) {
-            throw new IllegalArgumentException("The key " + key + " is not registered! See " + key + " custom block data!");
-        }
+            if (!list.remove(customBlockData)) {
+                throw new IllegalArgumentException("The custom block data " + customBlockData.getKey() + " is not registered!");
+            }
+
+            return Snapshot.create(list);
+        });
+    }
+
+    /**
+     * Unregisters all custom block data. After this method is called, the
+     * custom block registry will be empty.
+     */
+    public static void unregisterAll() {
+        SNAPSHOT.publish(Snapshot.create(List.of()));
+    }
+
+    /**
+     * @param customBlockData The custom block data
+     * @return All note block data of the custom block data
+     * @throws IllegalArgumentException If the custom block data has an
+     *                                  unknown placing type
+     */
+    private static @NotNull Collection<NoteBlockData> noteBlockDataCollection(final @NotNull CustomBlockData customBlockData) throws IllegalArgumentException {
+        final PlacingType placingType = customBlockData.getBlockSettings().getPlacing().getType();
 
-        if (!containsHashCode(hashCode)) {
-            throw new IllegalArgumentException("The hash code " + hashCode + " is not registered! See " + key + " custom block data!");
+        if (placingType instanceof final PlacingType.Default normal) {
+            return List.of(normal.getNoteBlockData());
+        } else if (placingType instanceof final PlacingType.Directional directional) {
+            return directional.getMap().values();
+        } else if (placingType instanceof final PlacingType.Orientable orientable) {
+            return orientable.getMap().values();
         }
 
-        KEY_MAP.remove(key);
-        HASH_CODE_MAP.remove(hashCode);
+        throw new IllegalArgumentException("Unknown placing type: " + placingType.getClass().getName());
     }
 
     /**
-     * Unregisters all custom block data and recipes by clearing all maps and
-     * lists used to store them. After this method is called, the custom block 
-     * registry will be empty.
+     * @param state The note block state
+     * @return The index of the note block state in the state table
      */
-    public static synchronized void unregisterAll() {
-        KEY_MAP.clear();
-        HASH_CODE_MAP.clear();
+    private static int stateIndex(final @NotNull BlockState state) {
+        return stateIndex(
+                state.getValue(NOTEBLOCK_INSTRUMENT).ordinal(),
+                state.getValue(NOTE),
+                state.getValue(POWERED)
+        );
     }
 
     /**
-     * Registers the custom block data to the :
-     * <ul>
-     *     <li>{@link #HASH_CODE_MAP}</li>
-     *     <li>{@link #KEY_MAP}</li>
-     * </ul>
-     *
-     * @param customBlockData The custom block data to register
-     * @param hashCode        The hash code of the note block data to register
-     * @param key             The key of the custom block data to register
-     * @throws IllegalArgumentException If the hash code, or key is already 
-     *                                  registered
-     * @see #HASH_CODE_MAP
-     * @see #KEY_MAP
+     * @param noteBlockData The note block data
+     * @return The index of the note block data in the state table
+     */
+    private static int stateIndex(final @NotNull NoteBlockData noteBlockData) {
+        return stateIndex(
+                INSTRUMENT_INDICES[noteBlockData.instrument().ordinal()],
+                noteBlockData.noteId(),
+                noteBlockData.powered()
+        );
+    }
+
+    private static int stateIndex(
+            final int instrument,
+            final int note,
+            final boolean powered
+    ) {
+        return ((instrument * NOTE_COUNT + note) << 1) | (powered ? 1 : 0);
+    }
+
+    /**
+     * @return The array of the internal instrument ordinals, indexed by the
+     *         ordinals of the {@link Instrument}
      */
-    private static synchronized void register(
-            final @NotNull CustomBlockData customBlockData,
-            final int hashCode,
-            final String key
-    ) throws IllegalArgumentException {
-        if (containsCustomBlockData(customBlockData)) {
-            throw new IllegalArgumentException("The custom block data is already registered! See " + key + " custom block data!");
+    private static int @NotNull [] createInstrumentIndices() {
+        final Instrument[] instruments = Instrument.values();
+        final int[] indices = new int[instruments.length];
+        final NoteBlock noteBlock = (NoteBlock) Material.NOTE_BLOCK.createBlockData();
+
+        for (final var instrument : instruments) {
+            noteBlock.setInstrument(instrument);
+
+            indices[instrument.ordinal()] = ((CraftBlockData) noteBlock).getState().getValue(NOTEBLOCK_INSTRUMENT).ordinal();
         }
 
-        if (
-                customBlockData.getBlockSettings().getPlacing().getType() instanceof PlacingType.Default
-                && containsHashCode(hashCode)
+        return indices;
+    }
+
+    /**
+     * Immutable snapshot of the registered custom block data
+     */
+    private static final class Snapshot {
+        final CustomBlockData[] stateTable;
+        final Int2ObjectMap<CustomBlockData> hashCodeMap;
+        final Map<String, IntSet> keyMap;
+        final List<CustomBlockData> dataList;
+
+        private Snapshot(
+                final CustomBlockData @NotNull [] stateTable,
+                final @NotNull Int2ObjectMap<CustomBlockData> hashCodeMap,
+                final @NotNull Map<String, IntSet> keyMap,
+                final @NotNull List<CustomBlockData> dataList
         ) {
-            throw new IllegalArgumentException("The hash code " + hashCode + " is already registered! See " + key + " custom block data!");
+            this.stateTable = stateTable;
+            this.hashCodeMap = hashCodeMap;
+            this.keyMap = keyMap;
+            this.dataList = dataList;
+        }
+
+        /**
+         * Creates a new snapshot of the given custom block data
+         *
+         * @param dataList The custom block data to create the snapshot of
+         * @return A new snapshot
+         * @throws IllegalArgumentException If the key or note block data of
+         *                                  any custom block data is already
+         *                                  used by another custom block data
+         */
+        static @NotNull Snapshot create(final @NotNull List<CustomBlockData> dataList) throws IllegalArgumentException {
+            return create(dataList, null);
+        }
+
+        /**
+         * Creates a new snapshot of the given custom block data
+         *
+         * @param dataList The custom block data to create the snapshot of
+         * @param logger   The logger to log the conflicting custom block data
+         *                 to, or null to throw an exception instead
+         * @return A new snapshot without the conflicting custom block data, if
+         *         the logger is not null
+         * @throws IllegalArgumentException If the logger is null and the key
+         *                                  or note block data of any custom
+         *                                  block data is already used by
+         *                                  another custom block data
+         */
+        static @NotNull Snapshot create(
+                final @NotNull List<CustomBlockData> dataList,
+                final @Nullable Logger logger
+        ) throws IllegalArgumentException {
+            final CustomBlockData[] stateTable = new CustomBlockData[STATE_COUNT];
+            final var hashCodeMap = new Int2ObjectOpenHashMap<CustomBlockData>(dataList.size());
+            final var keyMap = new Object2ObjectOpenHashMap<String, IntSet>(dataList.size());
+            final var registeredList = new ObjectArrayList<CustomBlockData>(dataList.size());
+
+            entries:
+            for (final var customBlockData : dataList) {
+                final String key = customBlockData.getKey();
+
+                if (keyMap.containsKey(key)) {
+                    reject(logger, "The key " + key + " is already registered! See " + key + " custom block data!");
+                    continue;
+                }
+
+                final Collection<NoteBlockData> noteBlockDataCollection;
+
+                try {
+                    noteBlockDataCollection = noteBlockDataCollection(customBlockData);
+                } catch (final IllegalArgumentException e) {
+                    reject(logger, e.getMessage() + " See " + key + " custom block data!");
+                    continue;
+                }
+
+                for (final var noteBlockData : noteBlockDataCollection) {
+                    final CustomBlockData registered = stateTable[stateIndex(noteBlockData)];
+
+                    if (
+                            registered != null
+                            && registered != customBlockData
+                    ) {
+                        reject(logger, "The note block data " + noteBlockData + " is already registered by " + registered.getKey() + "! See " + key + " custom block data!");
+                        continue entries;
+                    }
+                }
+
+                final IntSet hashCodes = new IntOpenHashSet();
+
+                for (final var noteBlockData : noteBlockDataCollection) {
+                    stateTable[stateIndex(noteBlockData)] = customBlockData;
+
+                    hashCodeMap.put(noteBlockData.hashCode(), customBlockData);
+                    hashCodes.add(noteBlockData.hashCode());
+                }
+
+                keyMap.put(key, IntSets.unmodifiable(hashCodes));
+                registeredList.add(customBlockData);
+            }
+
+            return new Snapshot(
+                    stateTable,
+                    Int2ObjectMaps.unmodifiable(hashCodeMap),
+                    Collections.unmodifiableMap(keyMap),
+                    List.copyOf(registeredList)
+            );
         }
 
-        final var hashKeys = KEY_MAP.computeIfAbsent(key, k -> new IntOpenHashSet());
+        private static void reject(
+                final @Nullable Logger logger,
+                final @NotNull String message
+        ) throws IllegalArgumentException {
+            if (logger == null) {
+                throw new IllegalArgumentException(message);
+            }
 
-        hashKeys.add(hashCode);
-        HASH_CODE_MAP.put(hashCode, customBlockData);
-        KEY_MAP.put(key, hashKeys);
+            logger.severe(message + " It will be skipped");
+        }
     }
 }
@@ -134,6 +134,50 @@ public final class CustomBlockFile {
         return null;
     }
 
+    /**
+     * Creates a {@link CustomBlockFile} from the specified file and loads the
+     * {@link CustomBlockData} from the already parsed json tree of the file.
+     * All errors are logged to the console, and null is returned if an error
+     * occurs.
+     *
+     * @param plugin The plugin to load the data for
+     * @param file   The file of the data
+     * @param json   The parsed json tree of the file, it may be modified
+     * @return The loaded {@link CustomBlockFile} from the json tree,
+     *         or null if the file is not a json file,
+     *         or if the json tree is not a valid custom block data
+     * @see #load(WhoMine, JsonElement)
+     */
+    public static @Nullable CustomBlockFile create(
+            final @NotNull WhoMine plugin,
+            final @NotNull File file,
+            final @NotNull JsonElement json
+    ) {
+        final Logger logger = plugin.getLogger();
+
+        try {
+            final CustomBlockFile customBlockFile = new CustomBlockFile(file, null);
+
+            customBlockFile.load(plugin, json);
+
+            return customBlockFile;
+        } catch (final ConfigurationException e) {
+            logger.log(
+                    Level.SEVERE,
+                    "Failed to create a custom block file from json",
+                    e
+            );
+        } catch (final IllegalArgumentException e) {
+            logger.log(
+                    Level.SEVERE,
+                    "The file is not a json file",
+                    e
+            );
+        }
+
+        return null;
+    }
+
     /**
      * @return The {@link Gson} instance used to serialize and deserialize this
      *         custom block file
@@ -173,13 +217,33 @@ public final class CustomBlockFile {
         try {
             this.data = deserialize(
                     plugin,
-                    Files.readString(this.file.toPath(), StandardCharsets.UTF_8)
+                    JsonParser.parseString(Files.readString(this.file.toPath(), StandardCharsets.UTF_8))
             );
         } catch (final Exception e) {
             throw new ConfigurationException("Failed to load custom block data from file: " + path, e);
         }
     }
 
+    /**
+     * Loads the {@link CustomBlockData} from the already parsed json tree of
+     * the file
+     *
+     * @param plugin The plugin to load the data for
+     * @param json   The parsed json tree of the file, it may be modified
+     * @throws ConfigurationException If the json tree is not a valid custom
+     *                                block data
+     */
+    public void load(
+            final @NotNull WhoMine plugin,
+            final @NotNull JsonElement json
+    ) throws ConfigurationException {
+        try {
+            this.data = deserialize(plugin, json);
+        } catch (final Exception e) {
+            throw new ConfigurationException("Failed to load custom block data from json of file: " + this.file.getAbsolutePath(), e);
+        }
+    }
+
     /**
      * Saves the {@link CustomBlockData} to the file
      */
@@ -205,9 +269,9 @@ public final class CustomBlockFile {
 
     private static @NotNull CustomBlockData deserialize(
             final @NotNull WhoMine plugin,
-            final @NotNull String json
+            final @NotNull JsonElement json
     ) {
-        final JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
+        final JsonObject jsonObject = json.getAsJsonObject();
         final JsonElement recipeEntries = jsonObject.get("recipeEntries");
 
         if (recipeEntries != null) {
@@ -135,8 +135,10 @@ public final class CustomDecor {
      *
      * @param destroyer The entity who broke the custom decor
      * @param dropItem  Whether to drop the item
+     * @return True if the custom decor was destroyed, false if the break event
+     *         was cancelled
      */
-    public void destroy(
+    public boolean destroy(
             final @NotNull WhoMine plugin,
             final @NotNull Entity destroyer,
             final boolean dropItem
@@ -145,31 +147,14 @@ public final class CustomDecor {
         destroyer.getServer().getPluginManager().callEvent(event);
 
         if (event.isCancelled()) {
-            return;
+            return false;
         }
 
         final CraftWorld world = (CraftWorld) destroyer.getWorld();
         final MSPosition center = this.msbb.getCenter(world);
 
         if (dropItem) {
-            ItemStack displayItem = this.display.getItemStack();
-
-            if (displayItem == null) {
-                displayItem = this.data.getItem();
-
-                MSLogger.warning("Trying to drop a null item from a custom decor at " + this.display.getLocation());
-            }
-
-            world.dropItemNaturally(
-                    center.toLocation(),
-                    !this.data.isAnyTyped()
-                    || this.data.isDropType()
-                            ? displayItem.clone()
-                            : CustomDecorDataImpl.copyMetaForTypeItem(
-                                    this.data.getItem(),
-                                    displayItem
-                            )
-            );
+            world.dropItemNaturally(center.toLocation(), this.createDropItem());
         }
 
         if (!this.data.getHitBox().getType().isNone()) {
@@ -201,6 +186,31 @@ public final class CustomDecor {
         this.display.remove();
         this.data.getSoundGroup().playBreakSound(center);
         this.getData().doBreakAction(plugin, event);
+
+        return true;
+    }
+
+    /**
+     * Creates the item, which is dropped when this custom decor is destroyed
+     *
+     * @return The drop item of this custom decor
+     */
+    public @NotNull ItemStack createDropItem() {
+        ItemStack displayItem = this.display.getItemStack();
+
+        if (displayItem == null) {
+            displayItem = this.data.getItem();
+
+            MSLogger.warning("Trying to drop a null item from a custom decor at " + this.display.getLocation());
+        }
+
+        return !this.data.isAnyTyped()
+                || this.data.isDropType()
+                ? displayItem.clone()
+                : CustomDecorDataImpl.copyMetaForTypeItem(
+                        this.data.getItem(),
+                        displayItem
+                );
     }
 
     /**
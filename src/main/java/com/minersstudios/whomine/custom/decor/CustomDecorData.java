@@ -1,6 +1,7 @@
 package com.minersstudios.whomine.custom.decor;
 
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.custom.decor.action.DecorBreakAction;
 import com.minersstudios.whomine.custom.decor.action.DecorClickAction;
 import com.minersstudios.whomine.custom.decor.action.DecorPlaceAction;
@@ -23,7 +24,6 @@ import org.bukkit.entity.Interaction;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
@@ -539,7 +539,7 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
     static <D extends CustomDecorData<?>> @NotNull Optional<D> fromClass(final @Nullable Class<D> clazz) {
         return clazz == null
                 ? Optional.empty()
-                : Optional.ofNullable(clazz.cast(CustomDecorType.CLASS_TO_DATA_MAP.get(clazz)));
+                : Optional.ofNullable(clazz.cast(CustomDecorType.dataFromClass(clazz)));
     }
 
     /**
@@ -550,21 +550,7 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
      * @see #fromKey(String)
      */
     static @NotNull Optional<CustomDecorData<?>> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer()
-                        .get(
-                                CustomDecorType.TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+        return fromKey(CustomIdentity.of(itemStack).getDecorKey());
     }
 
     /**
@@ -581,25 +567,9 @@ public interface CustomDecorData<D extends CustomDecorData<D>> extends Keyed {
             final @Nullable ItemStack itemStack,
             final @Nullable Class<D> clazz
     ) {
-        if (
-                itemStack == null
-                || clazz == null
-        ) {
-            return Optional.empty();
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
+        return clazz == null
                 ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer()
-                        .get(
-                                CustomDecorType.TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        ),
-                        clazz
-                );
+                : fromKey(CustomIdentity.of(itemStack).getDecorKey(), clazz);
     }
 
     /**
@@ -99,7 +99,7 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
         this.hitBox = builder.hitBox;
         this.facingSet = builder.facingSet;
         this.soundGroup = builder.soundGroup;
-        this.itemStack = builder.itemStack;
+        this.itemStack = ItemUtils.asTemplate(builder.itemStack);
         this.parameterSet = builder.parameterSet;
         this.sitHeight = builder.sitHeight;
         this.types = builder.types;
@@ -137,7 +137,7 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
         this.hitBox = builder.hitBox;
         this.facingSet = builder.facingSet;
         this.soundGroup = builder.soundGroup;
-        this.itemStack = builder.itemStack;
+        this.itemStack = ItemUtils.asTemplate(builder.itemStack);
         this.parameterSet = builder.parameterSet;
         this.sitHeight = builder.sitHeight;
         this.types = builder.types;
@@ -1997,7 +1997,7 @@ public abstract class CustomDecorDataImpl<D extends CustomDecorData<D>> implemen
 
             final String typedKey = builder.namespacedKey.getKey() + ".type." + key;
             this.namespacedKey = new NamespacedKey(SharedConstants.MSDECOR_NAMESPACE, typedKey);
-            this.itemStack = setTypeKey(itemStack, typedKey);
+            this.itemStack = ItemUtils.asTemplate(setTypeKey(itemStack, typedKey));
         }
 
         @Override
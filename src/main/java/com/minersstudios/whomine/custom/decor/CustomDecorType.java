@@ -2,6 +2,7 @@ package com.minersstudios.whomine.custom.decor;
 
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.annotation.Key;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.custom.decor.registry.christmas.*;
 import com.minersstudios.whomine.custom.decor.registry.decoration.home.*;
 import com.minersstudios.whomine.custom.decor.registry.furniture.chair.*;
@@ -23,24 +24,20 @@ import com.minersstudios.whomine.custom.decor.registry.furniture.lamp.SmallLamp;
 import com.minersstudios.whomine.custom.decor.registry.furniture.table.BigTable;
 import com.minersstudios.whomine.custom.decor.registry.furniture.table.SmallTable;
 import com.minersstudios.whomine.custom.decor.registry.other.Poop;
+import com.minersstudios.whomine.registry.SnapshotBuilder;
+import com.minersstudios.whomine.registry.SnapshotHolder;
 import com.minersstudios.whomine.status.StatusHandler;
-import com.minersstudios.whomine.status.StatusWatcher;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.SharedConstants;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -194,9 +191,7 @@ public enum CustomDecorType {
     public static final String TYPED_KEY_REGEX = "(" + Key.REGEX + ")\\.type\\.(" + Key.REGEX + ")";
     public static final Pattern TYPED_KEY_PATTERN = Pattern.compile(TYPED_KEY_REGEX);
 
-    private static final Map<String, CustomDecorType> KEY_TO_TYPE_MAP = new Object2ObjectOpenHashMap<>();
-    private static final Map<Class<? extends CustomDecorData<?>>, CustomDecorType> CLASS_TO_TYPE_MAP = new Object2ObjectOpenHashMap<>();
-    static final Map<Class<? extends CustomDecorData<?>>, CustomDecorData<?>> CLASS_TO_DATA_MAP = new Object2ObjectOpenHashMap<>();
+    private static final SnapshotHolder<Snapshot> SNAPSHOT = new SnapshotHolder<>(Snapshot.EMPTY);
 
     /**
      * Constructor for CustomDecorType enum values
@@ -217,39 +212,17 @@ public enum CustomDecorType {
      */
     @ApiStatus.Internal
     public static void load(final @NotNull WhoMine plugin) throws IllegalStateException {
-        if (!KEY_TO_TYPE_MAP.isEmpty()) {
+        if (!SNAPSHOT.get().keyToTypeMap.isEmpty()) {
             throw new IllegalStateException("Custom decor types have already been loaded!");
         }
 
         final long startTime = System.currentTimeMillis();
         final StatusHandler statusHandler = plugin.getStatusHandler();
-        final var typesWithRecipes = new ObjectArrayList<CustomDecorType>();
-        final AtomicInteger loaded = new AtomicInteger();
-
-        statusHandler.addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        WhoMine.LOADED_BLOCKS,
-                        WhoMine.LOADED_ITEMS,
-                        WhoMine.LOADED_DECORATIONS
-                )
-                .successRunnable(
-                        () -> plugin.runTask(() -> {
-                            for (final var type : typesWithRecipes) {
-                                type.getCustomDecorData().registerRecipes(plugin);
-                            }
-
-                            CraftsMenu.putCrafts(
-                                    CraftsMenu.Type.DECORS,
-                                    plugin.getCache().customDecorRecipes
-                            );
-                        })
-                )
-                .build()
-        );
+        final CustomDecorType[] types = values();
+        final var builder = new SnapshotBuilder<Map.Entry<CustomDecorType, CustomDecorData<?>>, Snapshot>(SNAPSHOT, Snapshot::create);
 
         statusHandler.assignStatus(WhoMine.LOADING_DECORATIONS);
-        Stream.of(values()).parallel()
+        Stream.of(types).parallel()
         .forEach(type -> {
             final CustomDecorData<?> data;
 
@@ -284,26 +257,45 @@ public enum CustomDecorType {
                 return;
             }
 
-            loaded.incrementAndGet();
-
-            synchronized (CustomDecorType.class) {
-                KEY_TO_TYPE_MAP.put(data.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
-                CLASS_TO_TYPE_MAP.put(type.clazz, type);
-                CLASS_TO_DATA_MAP.put(type.clazz, data);
-                typesWithRecipes.add(type);
-            }
+            builder.add(Map.entry(type, data));
         });
-        typesWithRecipes.sort(Comparator.comparingInt(CustomDecorType::ordinal));
+
+        final Snapshot snapshot = builder.publish();
 
         statusHandler.assignStatus(WhoMine.LOADED_DECORATIONS);
         plugin.getComponentLogger().info(
                 Component.text(
-                        "Loaded " + loaded.get() + " custom decors in " + (System.currentTimeMillis() - startTime) + "ms",
+                        "Loaded " + snapshot.classToDataMap.size() + " custom decors in " + (System.currentTimeMillis() - startTime) + "ms",
                         NamedTextColor.GREEN
                 )
         );
     }
 
+    /**
+     * Registers the recipes of all loaded custom decors and puts them into the
+     * crafts menu. Must be called from the main thread, after the custom
+     * blocks, decors and items are loaded.
+     *
+     * @param plugin The plugin instance
+     */
+    @ApiStatus.Internal
+    public static void registerRecipes(final @NotNull WhoMine plugin) {
+        final Snapshot snapshot = SNAPSHOT.get();
+
+        for (final var type : values()) {
+            final CustomDecorData<?> data = snapshot.classToDataMap.get(type.clazz);
+
+            if (data != null) {
+                data.registerRecipes(plugin);
+            }
+        }
+
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.DECORS,
+                plugin.getCache().customDecorRecipes
+        );
+    }
+
     /**
      * @return The class associated with this custom decor type
      */
@@ -319,7 +311,7 @@ public enum CustomDecorType {
      */
     public @NotNull CustomDecorData<?> getCustomDecorData() throws IllegalStateException {
         checkLoaded();
-        return CLASS_TO_DATA_MAP.get(this.clazz);
+        return SNAPSHOT.get().classToDataMap.get(this.clazz);
     }
 
     /**
@@ -334,7 +326,7 @@ public enum CustomDecorType {
     public <D extends CustomDecorData<?>> @NotNull D getCustomDecorData(final @NotNull Class<D> clazz) throws IllegalArgumentException, IllegalStateException {
         checkLoaded();
         try {
-            return clazz.cast(CLASS_TO_DATA_MAP.get(this.clazz));
+            return clazz.cast(SNAPSHOT.get().classToDataMap.get(this.clazz));
         } catch (final ClassCastException e) {
             throw new IllegalArgumentException(
                     "Custom decor " + this.name() + " is not an instance of " + clazz.getName() + "!",
@@ -353,7 +345,6 @@ public enum CustomDecorType {
      *         or if the given key is null or blank
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
-     * @see #KEY_TO_TYPE_MAP
      */
     @Contract("null -> null")
     public static @Nullable CustomDecorType fromKey(final @Nullable String key) throws IllegalStateException {
@@ -371,7 +362,7 @@ public enum CustomDecorType {
             }
         }
 
-        return KEY_TO_TYPE_MAP.get(key.toLowerCase(Locale.ENGLISH));
+        return SNAPSHOT.get().keyToTypeMap.get(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
@@ -383,21 +374,20 @@ public enum CustomDecorType {
      *         type, or if the given class is null
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
-     * @see #CLASS_TO_TYPE_MAP
      */
     @Contract("null -> null")
     public static @Nullable CustomDecorType fromClass(final @Nullable Class<? extends CustomDecorData<?>> clazz) throws IllegalStateException {
         checkLoaded();
         return clazz == null
                 ? null
-                : CLASS_TO_TYPE_MAP.get(clazz);
+                : SNAPSHOT.get().classToTypeMap.get(clazz);
     }
 
     /**
      * Gets the {@link CustomDecorType} from the given item stack.
      * <br>
      * It will get the namespaced key from the item stack's persistent data
-     * container and then get the custom decor type from {@link #KEY_TO_TYPE_MAP}
+     * container and then get the custom decor type by the key
      *
      * @param itemStack The item stack to get the custom decor type from
      * @return The {@link CustomDecorType} associated with the given item stack
@@ -410,58 +400,41 @@ public enum CustomDecorType {
     @Contract("null -> null")
     public static @Nullable CustomDecorType fromItemStack(final @Nullable ItemStack itemStack) throws IllegalStateException {
         checkLoaded();
-
-        if (itemStack == null) {
-            return null;
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? null
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(
-                                TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+        return fromKey(CustomIdentity.of(itemStack).getDecorKey());
     }
 
     /**
-     * @return An unmodifiable view of the custom decor key set
-     * @see #KEY_TO_TYPE_MAP
+     * @return An unmodifiable custom decor key set
      */
-    public static @NotNull @UnmodifiableView Set<String> keySet() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Set<String> keySet() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableSet(KEY_TO_TYPE_MAP.keySet());
+        return SNAPSHOT.get().keyToTypeMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of a set of custom decor classes that
-     *         implement the CustomDecorData interface
+     * @return An unmodifiable set of custom decor classes that implement the
+     *         CustomDecorData interface
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
-     * @see #CLASS_TO_TYPE_MAP
      */
-    public static @NotNull @UnmodifiableView Set<Class<? extends CustomDecorData<?>>> classSet() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Set<Class<? extends CustomDecorData<?>>> classSet() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableSet(CLASS_TO_TYPE_MAP.keySet());
+        return SNAPSHOT.get().classToTypeMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of a custom decor data instance collection
+     * @return An unmodifiable custom decor data instance collection
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
-     * @see #CLASS_TO_DATA_MAP
      */
-    public static @NotNull @UnmodifiableView Collection<CustomDecorData<?>> customDecors() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Collection<CustomDecorData<?>> customDecors() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableCollection(CLASS_TO_DATA_MAP.values());
+        return SNAPSHOT.get().classToDataMap.values();
     }
 
     /**
      * @param key The key to check
-     * @return True if the {@link #KEY_TO_TYPE_MAP} contains the given key
+     * @return True if the given key is associated with any custom decor type
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
      */
@@ -469,12 +442,13 @@ public enum CustomDecorType {
     public static boolean containsKey(final @Nullable String key) throws IllegalStateException {
         checkLoaded();
         return ChatUtils.isNotBlank(key)
-                && KEY_TO_TYPE_MAP.containsKey(key.toLowerCase(Locale.ENGLISH));
+                && SNAPSHOT.get().keyToTypeMap.containsKey(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
      * @param clazz The class to check
-     * @return True if the {@link #CLASS_TO_TYPE_MAP} contains the given class
+     * @return True if the given class is associated with any custom decor
+     *         type
      * @throws IllegalStateException If custom decor types have not been loaded
      *                               yet
      */
@@ -482,7 +456,7 @@ public enum CustomDecorType {
     public static boolean containsClass(final @Nullable Class<? extends CustomDecorData<?>> clazz) throws IllegalStateException {
         checkLoaded();
         return clazz != null
-                && CLASS_TO_TYPE_MAP.containsKey(clazz);
+                && SNAPSHOT.get().classToTypeMap.containsKey(clazz);
     }
 
     /**
@@ -520,8 +494,60 @@ public enum CustomDecorType {
     }
 
     private static void checkLoaded() throws IllegalStateException {
-        if (KEY_TO_TYPE_MAP.isEmpty()) {
+        if (SNAPSHOT.get().keyToTypeMap.isEmpty()) {
             throw new IllegalStateException("Custom decor types have not been loaded yet!");
         }
     }
+
+    /**
+     * @param clazz The class of the custom decor data
+     * @return The custom decor data instance associated with the given class,
+     *         or null if the given class is not associated with any custom
+     *         decor data
+     */
+    static @Nullable CustomDecorData<?> dataFromClass(final @NotNull Class<?> clazz) {
+        return SNAPSHOT.get().classToDataMap.get(clazz);
+    }
+
+    /**
+     * Immutable snapshot of the loaded custom decor types
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        final Map<String, CustomDecorType> keyToTypeMap;
+        final Map<Class<? extends CustomDecorData<?>>, CustomDecorType> classToTypeMap;
+        final Map<Class<? extends CustomDecorData<?>>, CustomDecorData<?>> classToDataMap;
+
+        private Snapshot(
+                final @NotNull Map<String, CustomDecorType> keyToTypeMap,
+                final @NotNull Map<Class<? extends CustomDecorData<?>>, CustomDecorType> classToTypeMap,
+                final @NotNull Map<Class<? extends CustomDecorData<?>>, CustomDecorData<?>> classToDataMap
+        ) {
+            this.keyToTypeMap = keyToTypeMap;
+            this.classToTypeMap = classToTypeMap;
+            this.classToDataMap = classToDataMap;
+        }
+
+        static @NotNull Snapshot create(final @NotNull List<Map.Entry<CustomDecorType, CustomDecorData<?>>> entries) {
+            final var keyToTypeMap = new HashMap<String, CustomDecorType>(entries.size());
+            final var classToTypeMap = new HashMap<Class<? extends CustomDecorData<?>>, CustomDecorType>(entries.size());
+            final var classToDataMap = new HashMap<Class<? extends CustomDecorData<?>>, CustomDecorData<?>>(entries.size());
+
+            for (final var entry : entries) {
+                final CustomDecorType type = entry.getKey();
+                final CustomDecorData<?> data = entry.getValue();
+
+                keyToTypeMap.put(data.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
+                classToTypeMap.put(type.clazz, type);
+                classToDataMap.put(type.clazz, data);
+            }
+
+            return new Snapshot(
+                    Map.copyOf(keyToTypeMap),
+                    Map.copyOf(classToTypeMap),
+                    Map.copyOf(classToDataMap)
+            );
+        }
+    }
 }
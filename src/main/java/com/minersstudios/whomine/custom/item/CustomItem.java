@@ -1,13 +1,12 @@
 package com.minersstudios.whomine.custom.item;
 
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.inventory.recipe.entry.RecipeEntry;
 import com.minersstudios.whomine.menu.CraftsMenu;
 import org.bukkit.Keyed;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.util.List;
@@ -174,7 +173,7 @@ public interface CustomItem extends Keyed {
 
     /**
      * Gets the {@link CustomItem} from the given custom item key. It will get
-     * the custom item type from the {@code CustomItemType#KEY_TO_TYPE_MAP} and
+     * the custom item type from the loaded custom item types and
      * then get the custom item instance from the returned type using the
      * default {@link CustomItem} class
      *
@@ -191,7 +190,7 @@ public interface CustomItem extends Keyed {
 
     /**
      * Gets the {@link CustomItem} from the given custom item key. It will get
-     * the custom item type from the {@code CustomItemType#KEY_TO_TYPE_MAP} and
+     * the custom item type from the loaded custom item types and
      * then get the custom item instance from the returned type using the given
      * class to cast the custom item instance
      *
@@ -227,8 +226,8 @@ public interface CustomItem extends Keyed {
 
     /**
      * Gets the {@link CustomItem} from the given class. It will get the custom
-     * item instance from the {@code CustomItemType#CLASS_TO_ITEM_MAP} using the
-     * given class to cast the custom item instance
+     * item instance from the loaded {@link CustomItemType custom item types}
+     * using the given class to cast the custom item instance
      *
      * @param clazz The class to get the custom item type from
      * @param <I>   The type of the target class
@@ -240,13 +239,13 @@ public interface CustomItem extends Keyed {
     static <I extends CustomItem> @NotNull Optional<I> fromClass(final @Nullable Class<I> clazz) {
         return clazz == null
                 ? Optional.empty()
-                : Optional.ofNullable(clazz.cast(CustomItemType.CLASS_TO_ITEM_MAP.get(clazz)));
+                : Optional.ofNullable(clazz.cast(CustomItemType.itemFromClass(clazz)));
     }
 
     /**
      * Gets the {@link CustomItem} from the given item stack. It will get the
      * namespaced key from the item stack's persistent data container and then
-     * get the custom item instance from the {@code CustomItemType#KEY_TO_TYPE_MAP}
+     * get the custom item instance from the loaded custom item types
      * using the default {@link CustomItem} class
      *
      * @param itemStack The item stack to get the custom item type from
@@ -262,7 +261,7 @@ public interface CustomItem extends Keyed {
     /**
      * Gets the {@link CustomItem} from the given item stack. It will get the
      * namespaced key from the item stack's persistent data container and then
-     * get the custom item instance from the {@code CustomItemType#KEY_TO_TYPE_MAP}
+     * get the custom item instance from the loaded custom item types
      * using the given class to cast the custom item instance
      *
      * @param itemStack The item stack to get the custom item type from
@@ -278,20 +277,8 @@ public interface CustomItem extends Keyed {
             final @Nullable ItemStack itemStack,
             final @Nullable Class<I> clazz
     ) {
-        if (
-                itemStack == null
-                 || clazz == null
-        ) {
-            return Optional.empty();
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
+        return clazz == null
                 ? Optional.empty()
-                : fromKey(
-                itemMeta.getPersistentDataContainer().get(CustomItemType.TYPE_NAMESPACED_KEY, PersistentDataType.STRING),
-                clazz
-        );
+                : fromKey(CustomIdentity.of(itemStack).getItemKey(), clazz);
     }
 }
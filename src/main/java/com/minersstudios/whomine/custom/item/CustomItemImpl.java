@@ -4,6 +4,7 @@ import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.annotation.Key;
 import com.minersstudios.whomine.inventory.recipe.entry.RecipeEntry;
 import com.minersstudios.whomine.throwable.InvalidRegexException;
+import com.minersstudios.whomine.utility.ItemUtils;
 import com.minersstudios.whomine.utility.SharedConstants;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.Keyed;
@@ -53,10 +54,10 @@ public abstract class CustomItemImpl implements CustomItem, Cloneable {
         }
 
         this.namespacedKey = new NamespacedKey(SharedConstants.MSITEMS_NAMESPACE, key);
-        this.itemStack = itemStack;
+        this.itemStack = ItemUtils.asTemplate(itemStack);
         this.recipeEntries = new ObjectArrayList<>();
 
-        final ItemMeta meta = itemStack.getItemMeta();
+        final ItemMeta meta = this.itemStack.getItemMeta();
         final PersistentDataContainer container = meta.getPersistentDataContainer();
 
         if (!container.has(CustomItemType.TYPE_NAMESPACED_KEY, PersistentDataType.STRING)) {
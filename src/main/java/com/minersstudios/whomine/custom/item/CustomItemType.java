@@ -1,6 +1,7 @@
 package com.minersstudios.whomine.custom.item;
 
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.custom.item.damageable.Damageable;
 import com.minersstudios.whomine.custom.item.registry.*;
 import com.minersstudios.whomine.menu.CraftsMenu;
@@ -10,18 +11,15 @@ import com.minersstudios.whomine.custom.item.registry.hazmat.HazmatHelmet;
 import com.minersstudios.whomine.custom.item.registry.hazmat.HazmatLeggings;
 import com.minersstudios.whomine.custom.item.registry.cards.CardsBicycle;
 import com.minersstudios.whomine.custom.item.registry.cosmetics.LeatherHat;
+import com.minersstudios.whomine.registry.SnapshotBuilder;
+import com.minersstudios.whomine.registry.SnapshotHolder;
 import com.minersstudios.whomine.status.StatusHandler;
-import com.minersstudios.whomine.status.StatusWatcher;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.SharedConstants;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.*;
 
 import java.util.*;
@@ -59,9 +57,7 @@ public enum CustomItemType {
     public static final String TYPE_TAG_NAME = "type";
     public static final NamespacedKey TYPE_NAMESPACED_KEY = new NamespacedKey(SharedConstants.MSITEMS_NAMESPACE, TYPE_TAG_NAME);
 
-    private static final Map<String, CustomItemType> KEY_TO_TYPE_MAP = new Object2ObjectOpenHashMap<>();
-    private static final Map<Class<? extends CustomItem>, CustomItemType> CLASS_TO_TYPE_MAP = new Object2ObjectOpenHashMap<>();
-    static final Map<Class<? extends CustomItem>, CustomItem> CLASS_TO_ITEM_MAP = new Object2ObjectOpenHashMap<>();
+    private static final SnapshotHolder<Snapshot> SNAPSHOT = new SnapshotHolder<>(Snapshot.EMPTY);
 
     /**
      * Constructor for CustomItemType enum values
@@ -82,36 +78,14 @@ public enum CustomItemType {
      */
     @ApiStatus.Internal
     public static void load(final @NotNull WhoMine plugin) throws IllegalStateException {
-        if (!KEY_TO_TYPE_MAP.isEmpty()) {
+        if (!SNAPSHOT.get().keyToTypeMap.isEmpty()) {
             throw new IllegalStateException("Custom item types have already been loaded!");
         }
 
         final long startTime = System.currentTimeMillis();
         final StatusHandler statusHandler = plugin.getStatusHandler();
         final CustomItemType[] types = values();
-        final var typesWithRecipes = new ObjectArrayList<CustomItemType>();
-
-        statusHandler.addWatcher(
-                StatusWatcher.builder()
-                .successStatuses(
-                        WhoMine.LOADED_BLOCKS,
-                        WhoMine.LOADED_DECORATIONS,
-                        WhoMine.LOADED_ITEMS
-                )
-                .successRunnable(
-                        () -> plugin.runTask(() -> {
-                            for (final var item : typesWithRecipes) {
-                                item.getCustomItem().registerRecipes(plugin);
-                            }
-
-                            CraftsMenu.putCrafts(
-                                    CraftsMenu.Type.ITEMS,
-                                    plugin.getCache().customItemRecipes
-                            );
-                        })
-                )
-                .build()
-        );
+        final var builder = new SnapshotBuilder<Map.Entry<CustomItemType, CustomItem>, Snapshot>(SNAPSHOT, Snapshot::create);
 
         statusHandler.assignStatus(WhoMine.LOADING_ITEMS);
         Stream.of(types).parallel()
@@ -134,15 +108,10 @@ public enum CustomItemType {
                 damageable.buildDamageable().saveForItemStack(customItem.getItem());
             }
 
-            synchronized (CustomItemType.class) {
-                KEY_TO_TYPE_MAP.put(customItem.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
-                CLASS_TO_TYPE_MAP.put(type.clazz, type);
-                CLASS_TO_ITEM_MAP.put(type.clazz, customItem);
-                typesWithRecipes.add(type);
-            }
+            builder.add(Map.entry(type, customItem));
         });
-        typesWithRecipes.sort(Comparator.comparingInt(CustomItemType::ordinal));
 
+        builder.publish();
         statusHandler.assignStatus(WhoMine.LOADED_ITEMS);
         plugin.getComponentLogger().info(
                 Component.text(
@@ -152,6 +121,31 @@ public enum CustomItemType {
         );
     }
 
+    /**
+     * Registers the recipes of all loaded custom items and puts them into the
+     * crafts menu. Must be called from the main thread, after the custom
+     * blocks, decors and items are loaded.
+     *
+     * @param plugin The plugin instance
+     */
+    @ApiStatus.Internal
+    public static void registerRecipes(final @NotNull WhoMine plugin) {
+        final Snapshot snapshot = SNAPSHOT.get();
+
+        for (final var type : values()) {
+            final CustomItem customItem = snapshot.classToItemMap.get(type.clazz);
+
+            if (customItem != null) {
+                customItem.registerRecipes(plugin);
+            }
+        }
+
+        CraftsMenu.putCrafts(
+                CraftsMenu.Type.ITEMS,
+                plugin.getCache().customItemRecipes
+        );
+    }
+
     /**
      * @return The class associated with this custom item type
      */
@@ -166,7 +160,7 @@ public enum CustomItemType {
      */
     public @NotNull CustomItem getCustomItem() throws IllegalStateException {
         checkLoaded();
-        return CLASS_TO_ITEM_MAP.get(this.clazz);
+        return SNAPSHOT.get().classToItemMap.get(this.clazz);
     }
 
     /**
@@ -181,7 +175,7 @@ public enum CustomItemType {
     public <I extends CustomItem> @NotNull I getCustomItem(final @NotNull Class<I> clazz) throws IllegalArgumentException, IllegalStateException {
         checkLoaded();
 
-        final CustomItem customItem = CLASS_TO_ITEM_MAP.get(this.clazz);
+        final CustomItem customItem = SNAPSHOT.get().classToItemMap.get(this.clazz);
 
         try {
             return clazz.cast(customItem);
@@ -200,14 +194,13 @@ public enum CustomItemType {
      *         or if the given key is null or blank
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
-     * @see #KEY_TO_TYPE_MAP
      */
     @Contract("null -> null")
     public static @Nullable CustomItemType fromKey(final @Nullable String key) throws IllegalStateException {
         checkLoaded();
         return ChatUtils.isBlank(key)
                 ? null
-                : KEY_TO_TYPE_MAP.get(key.toLowerCase(Locale.ENGLISH));
+                : SNAPSHOT.get().keyToTypeMap.get(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
@@ -219,21 +212,20 @@ public enum CustomItemType {
      *         type, or if the given class is null
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
-     * @see #CLASS_TO_TYPE_MAP
      */
     @Contract("null -> null")
     public static @Nullable CustomItemType fromClass(final @Nullable Class<? extends CustomItem> clazz) throws IllegalStateException {
         checkLoaded();
         return clazz == null
                 ? null
-                : CLASS_TO_TYPE_MAP.get(clazz);
+                : SNAPSHOT.get().classToTypeMap.get(clazz);
     }
 
     /**
      * Gets the {@link CustomItemType} from the given item stack.
      * <br>
      * It will get the namespaced key from the item stack's persistent data
-     * container and then get the custom item type from {@link #KEY_TO_TYPE_MAP}
+     * container and then get the custom item type by the key
      *
      * @param itemStack The item stack to get the custom item type from
      * @return The {@link CustomItemType} associated with the given item stack
@@ -246,32 +238,17 @@ public enum CustomItemType {
     @Contract("null -> null")
     public static @Nullable CustomItemType fromItemStack(final @Nullable ItemStack itemStack) throws IllegalStateException {
         checkLoaded();
-
-        if (itemStack == null) {
-            return null;
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? null
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(
-                                TYPE_NAMESPACED_KEY,
-                                PersistentDataType.STRING
-                        )
-                );
+        return fromKey(CustomIdentity.of(itemStack).getItemKey());
     }
 
     /**
      * @return An unmodifiable view of the custom item key set
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
-     * @see #KEY_TO_TYPE_MAP
      */
-    public static @NotNull @UnmodifiableView Set<String> keySet() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Set<String> keySet() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableSet(KEY_TO_TYPE_MAP.keySet());
+        return SNAPSHOT.get().keyToTypeMap.keySet();
     }
 
     /**
@@ -279,27 +256,25 @@ public enum CustomItemType {
      *         implement the CustomItem interface
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
-     * @see #CLASS_TO_TYPE_MAP
      */
-    public static @NotNull @UnmodifiableView Set<Class<? extends CustomItem>> classSet() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Set<Class<? extends CustomItem>> classSet() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableSet(CLASS_TO_TYPE_MAP.keySet());
+        return SNAPSHOT.get().classToTypeMap.keySet();
     }
 
     /**
      * @return An unmodifiable view of the custom item instances collection
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
-     * @see #CLASS_TO_ITEM_MAP
      */
-    public static @NotNull @UnmodifiableView Collection<CustomItem> customItems() throws IllegalStateException {
+    public static @NotNull @Unmodifiable Collection<CustomItem> customItems() throws IllegalStateException {
         checkLoaded();
-        return Collections.unmodifiableCollection(CLASS_TO_ITEM_MAP.values());
+        return SNAPSHOT.get().classToItemMap.values();
     }
 
     /**
      * @param key The key to check
-     * @return True if the {@link #KEY_TO_TYPE_MAP} contains the given key
+     * @return True if the given key is associated with any custom item type
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
      */
@@ -307,12 +282,12 @@ public enum CustomItemType {
     public static boolean containsKey(final @Nullable String key) throws IllegalStateException {
         checkLoaded();
         return ChatUtils.isNotBlank(key)
-                && KEY_TO_TYPE_MAP.containsKey(key.toLowerCase(Locale.ENGLISH));
+                && SNAPSHOT.get().keyToTypeMap.containsKey(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
      * @param clazz The class to check
-     * @return True if the {@link #CLASS_TO_TYPE_MAP} contains the given class
+     * @return True if the given class is associated with any custom item type
      * @throws IllegalStateException If custom item types have not been loaded
      *                               yet
      */
@@ -320,7 +295,7 @@ public enum CustomItemType {
     public static boolean containsClass(final @Nullable Class<? extends CustomItem> clazz) throws IllegalStateException {
         checkLoaded();
         return clazz != null
-                && CLASS_TO_TYPE_MAP.containsKey(clazz);
+                && SNAPSHOT.get().classToTypeMap.containsKey(clazz);
     }
 
     /**
@@ -330,8 +305,59 @@ public enum CustomItemType {
      *                               yet
      */
     private static void checkLoaded() throws IllegalStateException {
-        if (KEY_TO_TYPE_MAP.isEmpty()) {
+        if (SNAPSHOT.get().keyToTypeMap.isEmpty()) {
             throw new IllegalStateException("Custom item types have not been loaded yet!");
         }
     }
+
+    /**
+     * @param clazz The class of the custom item
+     * @return The custom item instance associated with the given class, or
+     *         null if the given class is not associated with any custom item
+     */
+    static @Nullable CustomItem itemFromClass(final @NotNull Class<? extends CustomItem> clazz) {
+        return SNAPSHOT.get().classToItemMap.get(clazz);
+    }
+
+    /**
+     * Immutable snapshot of the loaded custom item types
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        final Map<String, CustomItemType> keyToTypeMap;
+        final Map<Class<? extends CustomItem>, CustomItemType> classToTypeMap;
+        final Map<Class<? extends CustomItem>, CustomItem> classToItemMap;
+
+        private Snapshot(
+                final @NotNull Map<String, CustomItemType> keyToTypeMap,
+                final @NotNull Map<Class<? extends CustomItem>, CustomItemType> classToTypeMap,
+                final @NotNull Map<Class<? extends CustomItem>, CustomItem> classToItemMap
+        ) {
+            this.keyToTypeMap = keyToTypeMap;
+            this.classToTypeMap = classToTypeMap;
+            this.classToItemMap = classToItemMap;
+        }
+
+        static @NotNull Snapshot create(final @NotNull List<Map.Entry<CustomItemType, CustomItem>> entries) {
+            final var keyToTypeMap = new HashMap<String, CustomItemType>(entries.size());
+            final var classToTypeMap = new HashMap<Class<? extends CustomItem>, CustomItemType>(entries.size());
+            final var classToItemMap = new HashMap<Class<? extends CustomItem>, CustomItem>(entries.size());
+
+            for (final var entry : entries) {
+                final CustomItemType type = entry.getKey();
+                final CustomItem customItem = entry.getValue();
+
+                keyToTypeMap.put(customItem.getKey().getKey().toLowerCase(Locale.ENGLISH), type);
+                classToTypeMap.put(type.clazz, type);
+                classToItemMap.put(type.clazz, customItem);
+            }
+
+            return new Snapshot(
+                    Map.copyOf(keyToTypeMap),
+                    Map.copyOf(classToTypeMap),
+                    Map.copyOf(classToItemMap)
+            );
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.minersstudios.whomine.custom.item.damageable;
 
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.SharedConstants;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
@@ -9,7 +10,6 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
-import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -78,24 +78,16 @@ public class DamageableItem {
      */
     @Contract("null -> null")
     public static @Nullable DamageableItem fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return null;
-        }
-
-        final PersistentDataContainer dataContainer = itemStack.getItemMeta().getPersistentDataContainer();
-
-        if (
-                !dataContainer.has(MAX_DAMAGE_NAMESPACED_KEY)
-                || !dataContainer.has(REAL_DAMAGE_NAMESPACED_KEY)
-        ) {
-            return null;
-        }
-
-        return new DamageableItem(
-                itemStack.getType().getMaxDurability(),
-                dataContainer.getOrDefault(MAX_DAMAGE_NAMESPACED_KEY, PersistentDataType.INTEGER, 0),
-                dataContainer.getOrDefault(REAL_DAMAGE_NAMESPACED_KEY, PersistentDataType.INTEGER, 0)
-        );
+        final CustomIdentity identity = CustomIdentity.of(itemStack);
+
+        return itemStack == null
+                || !identity.isDamageable()
+                ? null
+                : new DamageableItem(
+                        itemStack.getType().getMaxDurability(),
+                        identity.getMaxDamage(),
+                        identity.getRealDamage()
+                );
     }
 
     /**
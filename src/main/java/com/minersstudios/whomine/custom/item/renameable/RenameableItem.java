@@ -133,17 +133,33 @@ public class RenameableItem {
             final @NotNull WhoMine plugin,
             final @NotNull File file
     ) {
-        final Logger logger = plugin.getLogger();
         final YamlConfiguration renameableItemConfig;
 
         try {
             renameableItemConfig = YamlConfiguration.loadConfiguration(file);
         } catch (final Throwable e) {
-            logger.log(Level.SEVERE, "Failed to load " + file.getName() + "!", e);
+            plugin.getLogger().log(Level.SEVERE, "Failed to load " + file.getName() + "!", e);
             return null;
         }
 
-        final String fileName = file.getName();
+        return fromConfig(plugin, file.getName(), renameableItemConfig);
+    }
+
+    /**
+     * Creates a renameable item instance from the already loaded configuration
+     *
+     * @param fileName             The name of the configuration file, used in
+     *                             the error messages
+     * @param renameableItemConfig The configuration to load from
+     * @return A RenameableItem instance loaded from the configuration, or null
+     *         if loading fails
+     */
+    public static @Nullable RenameableItem fromConfig(
+            final @NotNull WhoMine plugin,
+            final @NotNull String fileName,
+            final @NotNull YamlConfiguration renameableItemConfig
+    ) {
+        final Logger logger = plugin.getLogger();
         final String key = renameableItemConfig.getString("key");
 
         if (key == null) {
@@ -1,18 +1,25 @@
 package com.minersstudios.whomine.custom.item.renameable;
 
+import com.minersstudios.whomine.custom.CustomIdentity;
+import com.minersstudios.whomine.registry.SnapshotBuilder;
+import com.minersstudios.whomine.registry.SnapshotHolder;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.SharedConstants;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntComparators;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
+import java.util.logging.Logger;
 
 /**
  * The RenameableItemRegistry class is responsible for managing and storing
@@ -20,11 +27,22 @@ import java.util.*;
  * and retrieve renameable items based on different criteria, such as keys,
  * rename entries, or item stacks.
  * <br>
- * The RenameableItemRegistry uses two concurrent maps, one to store items
- * associated with their lowercase keys and another to store rename entries
- * associated with their keys. The keys are used as identifiers for the items,
- * and rename entries are used to look up items based on rename values and item
- * stacks.
+ * The RenameableItemRegistry uses two maps, one to store items associated
+ * with their lowercase keys and another to store rename entries associated
+ * with their keys. The keys are used as identifiers for the items, and rename
+ * entries are used to look up items based on rename values and item stacks.
+ * <br>
+ * The rename entries are also indexed by the material of their item and their
+ * {@link #normalize(String) normalized} rename, so the item is looked up by a
+ * few hash lookups, one for each distinct rename length, no matter how many
+ * rename entries are registered. The normalized renames are also kept sorted,
+ * so the renameable items can be {@link #search(String) searched} by the
+ * case-insensitive prefix of their renames.
+ * <br>
+ * All maps are stored in an immutable {@link Snapshot}, which is published
+ * through the {@link #SNAPSHOT} holder, so the lookups never lock and always
+ * see a consistent registry. The items loaded from the files are collected by
+ * the {@link #builder() builder}, which swaps in a whole new snapshot at once.
  * <br>
  * Make sure to use the provided methods and their respective Optional return
  * types to handle cases where the desired renameable item data might not be
@@ -53,8 +71,7 @@ public final class RenameableItemRegistry {
     public static final String RENAMEABLE_KEY = "renameable";
     public static final NamespacedKey RENAMEABLE_NAMESPACED_KEY = new NamespacedKey(SharedConstants.MSITEMS_NAMESPACE, RENAMEABLE_KEY);
 
-    private static final Map<String, RenameableItem> KEY_MAP = new Object2ObjectOpenHashMap<>();
-    private static final Map<RenameEntry, String> RENAME_ENTRY_MAP = new Object2ObjectOpenHashMap<>();
+    private static final SnapshotHolder<Snapshot> SNAPSHOT = new SnapshotHolder<>(Snapshot.create(List.of()));
 
     @Contract(" -> fail")
     private RenameableItemRegistry() throws AssertionError {
@@ -62,73 +79,80 @@ public final class RenameableItemRegistry {
     }
 
     /**
-     * @return An unmodifiable view of all registered renameable item keys
-     * @see #KEY_MAP
+     * Creates a new builder, which collects the renameable items and replaces
+     * all registered renameable items with them on
+     * {@link SnapshotBuilder#publish() publish}. The renameable items can be
+     * added from any thread.
+     * <br>
+     * The renameable item, whose key or any of the rename entries is already
+     * used by another renameable item, is logged to the given logger and
+     * skipped, while the rest of the renameable items are still published.
+     *
+     * @param logger The logger to log the skipped renameable items to
+     * @return A new builder of the registry
+     */
+    public static @NotNull SnapshotBuilder<RenameableItem, ?> builder(final @NotNull Logger logger) {
+        return new SnapshotBuilder<>(SNAPSHOT, items -> Snapshot.create(items, logger));
+    }
+
+    /**
+     * @return An unmodifiable set of all registered renameable item keys
      */
-    public static @NotNull @UnmodifiableView Set<String> keySet() {
-        return Collections.unmodifiableSet(KEY_MAP.keySet());
+    public static @NotNull @Unmodifiable Set<String> keySet() {
+        return SNAPSHOT.get().keyMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of all registered rename entries
-     * @see #RENAME_ENTRY_MAP
+     * @return An unmodifiable set of all registered rename entries
      */
-    public static @NotNull @UnmodifiableView Set<RenameEntry> renameEntrySet() {
-        return Collections.unmodifiableSet(RENAME_ENTRY_MAP.keySet());
+    public static @NotNull @Unmodifiable Set<RenameEntry> renameEntrySet() {
+        return SNAPSHOT.get().renameEntryMap.keySet();
     }
 
     /**
-     * @return An unmodifiable view of all registered renameable items
-     * @see #KEY_MAP
+     * @return An unmodifiable collection of all registered renameable items
      */
-    public static @NotNull @UnmodifiableView Collection<RenameableItem> renameableItems() {
-        return Collections.unmodifiableCollection(KEY_MAP.values());
+    public static @NotNull @Unmodifiable Collection<RenameableItem> renameableItems() {
+        return SNAPSHOT.get().keyMap.values();
     }
 
     /**
-     * Gets the {@link RenameableItem} from the given key. It will get the item
-     * from the {@link #KEY_MAP}.
+     * Gets the {@link RenameableItem} from the given key
      *
      * @param key The key to get the {@link RenameableItem} from
      * @return An {@link Optional} containing the {@link RenameableItem} or an
      *         {@link Optional#empty()} if the given key is not associated with
      *         any renameable item
-     * @see #KEY_MAP
      */
     public static @NotNull Optional<RenameableItem> fromKey(final @Nullable String key) {
         return ChatUtils.isBlank(key)
                 ? Optional.empty()
-                : Optional.ofNullable(KEY_MAP.get(key.toLowerCase(Locale.ENGLISH)));
+                : Optional.ofNullable(SNAPSHOT.get().keyMap.get(key.toLowerCase(Locale.ENGLISH)));
     }
 
     /**
-     * Gets the {@link RenameableItem} from the given rename entry. It will get
-     * the item from the {@link #RENAME_ENTRY_MAP}
+     * Gets the {@link RenameableItem} from the given rename entry.
+     * <br>
+     * The rename entry matches the registered rename entry if its rename
+     * starts with the registered rename (case-insensitive) and its item is
+     * {@link RenameEntry#isSimilarItem(ItemStack) similar} to the registered
+     * item. If several registered renames match, the longest one wins.
      *
      * @param renameEntry The rename entry to get the RenameableItem from
      * @return An {@link Optional} containing the {@link RenameableItem} or an
      *         {@link Optional#empty()} if the given rename entry is not
      *         associated with any renameable item
-     * @see #RENAME_ENTRY_MAP
      */
     public static @NotNull Optional<RenameableItem> fromRenameEntry(final @Nullable RenameEntry renameEntry) {
-        if (renameEntry == null) {
-            return Optional.empty();
-        }
-
-        for (final var entry : RENAME_ENTRY_MAP.entrySet()) {
-            if (entry.getKey().equals(renameEntry)) {
-                return fromKey(entry.getValue());
-            }
-        }
-
-        return Optional.empty();
+        return renameEntry == null
+                ? Optional.empty()
+                : Optional.ofNullable(SNAPSHOT.get().find(renameEntry));
     }
 
     /**
      * Gets the {@link RenameableItem} from the given rename value and item
      * stack. It will create a {@link RenameEntry} from the given rename value
-     * and item stack and get the item from the {@link #RENAME_ENTRY_MAP}.
+     * and item stack and get the item by the rename entry.
      *
      * @param rename    The rename value to get the {@link RenameableItem}
      * @param itemStack The item stack to get the {@link RenameableItem}
@@ -144,6 +168,45 @@ public final class RenameableItemRegistry {
         return fromRenameEntry(RenameEntry.create(rename, itemStack));
     }
 
+    /**
+     * Searches the renameable items by the given query. The renameable item
+     * matches the query if any of its renames starts with the query
+     * (case-insensitive).
+     *
+     * @param query The query to search by
+     * @return An unmodifiable list of the matching renameable items in the
+     *         order of their renames, or all registered renameable items if
+     *         the query is null or blank
+     */
+    public static @NotNull @Unmodifiable List<RenameableItem> search(final @Nullable String query) {
+        final Snapshot snapshot = SNAPSHOT.get();
+
+        if (ChatUtils.isBlank(query)) {
+            return List.copyOf(snapshot.keyMap.values());
+        }
+
+        final String prefix = normalize(query);
+        final var found = new ObjectLinkedOpenHashSet<RenameableItem>();
+
+        final var matches = snapshot.sortedRenames.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        for (final var renameableItems : matches.values()) {
+            found.addAll(renameableItems);
+        }
+
+        return List.copyOf(found);
+    }
+
+    /**
+     * Normalizes the given rename for the case-insensitive lookups
+     *
+     * @param rename The rename to normalize
+     * @return The normalized rename
+     */
+    public static @NotNull String normalize(final @NotNull String rename) {
+        return rename.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Gets the {@link RenameableItem} from the given item stack. It will check
      * the item stack's persistent data container for the
@@ -160,46 +223,36 @@ public final class RenameableItemRegistry {
      * @see #fromKey(String)
      */
     public static @NotNull Optional<RenameableItem> fromItemStack(final @Nullable ItemStack itemStack) {
-        if (itemStack == null) {
-            return Optional.empty();
-        }
-
-        final ItemMeta itemMeta = itemStack.getItemMeta();
-
-        return itemMeta == null
-                ? Optional.empty()
-                : fromKey(
-                        itemMeta.getPersistentDataContainer().get(RENAMEABLE_NAMESPACED_KEY, PersistentDataType.STRING)
-                );
+        return fromKey(CustomIdentity.of(itemStack).getRenameableKey());
     }
 
     /**
      * @param key The key to check
-     * @return True if the {@link #KEY_MAP} contains the given key and key is
-     *         not blank or null (case-insensitive)
+     * @return True if the given key is registered and key is not blank or
+     *         null (case-insensitive)
      */
     @Contract("null -> false")
     public static boolean containsKey(final @Nullable String key) {
         return ChatUtils.isNotBlank(key)
-                && KEY_MAP.containsKey(key.toLowerCase(Locale.ENGLISH));
+                && SNAPSHOT.get().keyMap.containsKey(key.toLowerCase(Locale.ENGLISH));
     }
 
     /**
      * @param renameEntry The rename entry to check
-     * @return True if the {@link #RENAME_ENTRY_MAP} contains the given rename
-     *         entry and rename entry is not null
+     * @return True if the given rename entry is registered and rename entry
+     *         is not null
      */
     @Contract("null -> false")
     public static boolean containsRenameEntry(final @Nullable RenameEntry renameEntry) {
         return renameEntry != null
-                && RENAME_ENTRY_MAP.containsKey(renameEntry);
+                && SNAPSHOT.get().find(renameEntry) != null;
     }
 
     /**
      * @param rename    The rename value to check
      * @param itemStack The item stack to check
-     * @return True if the {@link #RENAME_ENTRY_MAP} contains the given rename
-     *         value and item stack and rename value and item stack are not null
+     * @return True if the given rename value and item stack are registered and
+     *         rename value and item stack are not null
      * @see #containsRenameEntry(RenameEntry)
      */
     @Contract("null, null -> false")
@@ -212,8 +265,8 @@ public final class RenameableItemRegistry {
 
     /**
      * @param renameCollection The rename collection to check
-     * @return True if the {@link #RENAME_ENTRY_MAP} contains any of the given
-     *         rename collection's entries and rename collection is not null
+     * @return True if any of the given rename collection's entries is
+     *         registered and rename collection is not null
      * @see #containsRename(String, ItemStack)
      */
     @Contract("null -> false")
@@ -233,13 +286,13 @@ public final class RenameableItemRegistry {
 
     /**
      * @param renameableItem The renameable item to check
-     * @return True if the {@link #KEY_MAP} contains the given renameable item
-     *         and renameable item is not null
+     * @return True if the given renameable item is registered and renameable
+     *         item is not null
      */
     @Contract("null -> false")
     public static boolean containsRenameableItem(final @Nullable RenameableItem renameableItem) {
         return renameableItem != null
-                && KEY_MAP.containsValue(renameableItem);
+                && SNAPSHOT.get().keyMap.containsValue(renameableItem);
     }
 
     /**
@@ -256,82 +309,236 @@ public final class RenameableItemRegistry {
     }
 
     /**
-     * @return True if the {@link #KEY_MAP} is empty
+     * @return True if there are no registered renameable items
      */
     public static boolean isEmpty() {
-        return KEY_MAP.isEmpty();
+        return SNAPSHOT.get().keyMap.isEmpty();
     }
 
     /**
-     * @return The size of the {@link #KEY_MAP}
+     * @return The number of registered renameable items
      */
     public static int keysSize() {
-        return KEY_MAP.size();
+        return SNAPSHOT.get().keyMap.size();
     }
 
     /**
-     * @return The size of the {@link #RENAME_ENTRY_MAP}
+     * @return The number of registered rename entries
      */
     public static int renameEntriesSize() {
-        return RENAME_ENTRY_MAP.size();
+        return SNAPSHOT.get().renameEntryMap.size();
     }
 
     /**
-     * Registers the given renameable item to the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Registers the given renameable item.
+     * <br>
+     * This method publishes a new snapshot with the given renameable item
+     * added, use the {@link #builder()} to register many renameable items at
+     * once.
      *
      * @param renameableItem The renameable item to register
      * @throws IllegalArgumentException If the key or any of the rename entries
      *                                  are already registered
      */
-    public static synchronized void register(final @NotNull RenameableItem renameableItem) throws IllegalArgumentException {
-        final String key = renameableItem.getKey();
-        final RenameCollection renameCollection = renameableItem.getRenames();
-
-        if (containsKey(key)) {
-            throw new IllegalArgumentException("Key " + key + " is already registered");
-        }
-
-        if (containsAnyFromSet(renameCollection)) {
-            throw new IllegalArgumentException("Renames for key " + key + " are already registered");
-        }
+    public static void register(final @NotNull RenameableItem renameableItem) throws IllegalArgumentException {
+        SNAPSHOT.update(snapshot -> {
+            final var list = new ObjectArrayList<>(snapshot.keyMap.values());
 
-        KEY_MAP.put(key, renameableItem);
-        renameCollection.entrySet().forEach(
-                rename -> RENAME_ENTRY_MAP.put(rename, key)
-        );
+            list.add(renameableItem);
+            return Snapshot.create(list);
+        });
     }
 
     /**
-     * Unregisters the given renameable item from the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Unregisters the given renameable item.
+     * <br>
+     * This method publishes a new snapshot with the given renameable item
+     * removed.
      *
      * @param renameableItem The renameable item to unregister
-     * @throws IllegalArgumentException If the key or any of the rename entries
-     *                                  are not registered
+     * @throws IllegalArgumentException If the renameable item is not
+     *                                  registered
      */
-    public static synchronized void unregister(final @NotNull RenameableItem renameableItem) throws IllegalArgumentException {
-        final String key = renameableItem.getKey();
-        final RenameCollection renameCollection = renameableItem.getRenames();
+    public static void unregister(final @NotNull RenameableItem renameableItem) throws IllegalArgumentException {
+        SNAPSHOT.update(snapshot -> {
+            final var list = new ObjectArrayList<>(snapshot.keyMap.values());
 
-        if (!containsKey(key)) {
-            throw new IllegalArgumentException("Key " + key + " is not registered");
-        }
+            if (!list.remove(renameableItem)) {
+                throw new IllegalArgumentException("Key " + renameableItem.getKey() + " is not registered");
+            }
 
-        if (!containsAnyFromSet(renameCollection)) {
-            throw new IllegalArgumentException("Renames for key " + key + " are not registered");
-        }
+            return Snapshot.create(list);
+        });
+    }
 
-        KEY_MAP.remove(key);
-        renameCollection.entrySet().forEach(RENAME_ENTRY_MAP::remove);
+    /**
+     * Unregisters all renameable items
+     */
+    public static void unregisterAll() {
+        SNAPSHOT.publish(Snapshot.create(List.of()));
     }
 
     /**
-     * Unregisters all renameable items from the {@link #KEY_MAP} and
-     * {@link #RENAME_ENTRY_MAP}
+     * Immutable snapshot of the registered renameable items
      */
-    public static synchronized void unregisterAll() {
-        KEY_MAP.clear();
-        RENAME_ENTRY_MAP.clear();
+    private static final class Snapshot {
+        final Map<String, RenameableItem> keyMap;
+        final Map<RenameEntry, String> renameEntryMap;
+        final Map<IndexKey, List<IndexedEntry>> renameIndex;
+        final int[] renameLengths;
+        final NavigableMap<String, List<RenameableItem>> sortedRenames;
+
+        private Snapshot(
+                final @NotNull Map<String, RenameableItem> keyMap,
+                final @NotNull Map<RenameEntry, String> renameEntryMap,
+                final @NotNull Map<IndexKey, List<IndexedEntry>> renameIndex,
+                final int @NotNull [] renameLengths,
+                final @NotNull NavigableMap<String, List<RenameableItem>> sortedRenames
+        ) {
+            this.keyMap = keyMap;
+            this.renameEntryMap = renameEntryMap;
+            this.renameIndex = renameIndex;
+            this.renameLengths = renameLengths;
+            this.sortedRenames = sortedRenames;
+        }
+
+        /**
+         * Finds the renameable item of the given rename entry. Each registered
+         * rename length is checked from the longest to the shortest, so the
+         * lookup costs one hash lookup per distinct rename length.
+         *
+         * @param renameEntry The rename entry to find the renameable item of
+         * @return The renameable item, or null if the given rename entry is
+         *         not associated with any renameable item
+         */
+        @Nullable RenameableItem find(final @NotNull RenameEntry renameEntry) {
+            final String rename = normalize(renameEntry.getRename());
+            final ItemStack item = renameEntry.getItem();
+            final Material type = item.getType();
+
+            for (final int length : this.renameLengths) {
+                if (length > rename.length()) {
+                    continue;
+                }
+
+                final var candidates = this.renameIndex.get(new IndexKey(type, rename.substring(0, length)));
+
+                if (candidates == null) {
+                    continue;
+                }
+
+                for (final var candidate : candidates) {
+                    if (candidate.entry().isSimilarItem(item)) {
+                        return candidate.item();
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Creates a new snapshot of the given renameable items
+         *
+         * @param items The renameable items to create the snapshot of
+         * @return A new snapshot
+         * @throws IllegalArgumentException If the key or any of the rename
+         *                                  entries of any renameable item are
+         *                                  already used by another renameable
+         *                                  item
+         */
+        static @NotNull Snapshot create(final @NotNull List<RenameableItem> items) throws IllegalArgumentException {
+            return create(items, null);
+        }
+
+        /**
+         * Creates a new snapshot of the given renameable items
+         *
+         * @param items  The renameable items to create the snapshot of
+         * @param logger The logger to log the conflicting renameable items to,
+         *               or null to throw an exception instead
+         * @return A new snapshot without the conflicting renameable items, if
+         *         the logger is not null
+         * @throws IllegalArgumentException If the logger is null and the key
+         *                                  or any of the rename entries of any
+         *                                  renameable item are already used by
+         *                                  another renameable item
+         */
+        static @NotNull Snapshot create(
+                final @NotNull List<RenameableItem> items,
+                final @Nullable Logger logger
+        ) throws IllegalArgumentException {
+            final var keyMap = new Object2ObjectOpenHashMap<String, RenameableItem>(items.size());
+            final var renameEntryMap = new Object2ObjectOpenHashMap<RenameEntry, String>();
+            final var renameIndex = new Object2ObjectOpenHashMap<IndexKey, List<IndexedEntry>>();
+            final var renameLengths = new IntAVLTreeSet(IntComparators.OPPOSITE_COMPARATOR);
+            final var sortedRenames = new TreeMap<String, List<RenameableItem>>();
+
+            entries:
+            for (final var renameableItem : items) {
+                final String key = renameableItem.getKey();
+
+                if (keyMap.containsKey(key)) {
+                    reject(logger, "Key " + key + " is already registered");
+                    continue;
+                }
+
+                for (final var rename : renameableItem.getRenames().entrySet()) {
+                    if (renameEntryMap.containsKey(rename)) {
+                        reject(logger, "Renames for key " + key + " are already registered");
+                        continue entries;
+                    }
+                }
+
+                keyMap.put(key, renameableItem);
+
+                for (final var rename : renameableItem.getRenames().entrySet()) {
+                    renameEntryMap.put(rename, key);
+
+                    final String normalized = normalize(rename.getRename());
+
+                    renameIndex.computeIfAbsent(
+                            new IndexKey(rename.getItem().getType(), normalized),
+                            k -> new ObjectArrayList<>()
+                    ).add(new IndexedEntry(rename, renameableItem));
+                    renameLengths.add(normalized.length());
+
+                    final var sortedItems = sortedRenames.computeIfAbsent(normalized, k -> new ObjectArrayList<>());
+
+                    if (!sortedItems.contains(renameableItem)) {
+                        sortedItems.add(renameableItem);
+                    }
+                }
+            }
+
+            return new Snapshot(
+                    Collections.unmodifiableMap(keyMap),
+                    Collections.unmodifiableMap(renameEntryMap),
+                    renameIndex,
+                    renameLengths.toIntArray(),
+                    Collections.unmodifiableNavigableMap(sortedRenames)
+            );
+        }
+
+        private static void reject(
+                final @Nullable Logger logger,
+                final @NotNull String message
+        ) throws IllegalArgumentException {
+            if (logger == null) {
+                throw new IllegalArgumentException(message);
+            }
+
+            logger.severe(message + ", it will be skipped");
+        }
     }
+
+    private record IndexKey(
+            @NotNull Material type,
+            @NotNull String rename
+    ) {}
+
+    private record IndexedEntry(
+            @NotNull RenameEntry entry,
+            @NotNull RenameableItem item
+    ) {}
 }
@@ -8,6 +8,7 @@ import com.minersstudios.whomine.command.impl.discord.RemoveSkinCommand;
 import com.minersstudios.whomine.player.PlayerFile;
 import com.minersstudios.whomine.player.PlayerInfo;
 import com.minersstudios.whomine.player.skin.Skin;
+import com.minersstudios.whomine.player.skin.SkinService;
 import net.dv8tion.jda.api.entities.EmbedType;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
@@ -173,11 +174,37 @@ public final class BotHandler {
     }
 
     private void reply(@NotNull String reply) {
-        this.message.reply(reply).queue();
+        reply(this.message, reply);
     }
 
     private void replyEmbed(@NotNull String reply) {
-        this.message.replyEmbeds(craftEmbed(reply)).queue();
+        replyEmbed(this.message, reply);
+    }
+
+    private static void reply(
+            final @NotNull Message message,
+            final @NotNull String reply
+    ) {
+        message.reply(reply).queue();
+    }
+
+    private static void replyEmbed(
+            final @NotNull Message message,
+            final @NotNull String reply
+    ) {
+        message.replyEmbeds(craftEmbed(reply)).queue();
+    }
+
+    private static void replySkinFailure(
+            final @NotNull Message message,
+            final @NotNull Throwable throwable
+    ) {
+        reply(
+                message,
+                SkinService.isInvalidSkin(throwable)
+                ? DISCORD_SKIN_INVALID_IMG.asString()
+                : DISCORD_SKIN_SERVICE_UNAVAILABLE.asString()
+        );
     }
 
     private boolean isCodeFlooding() {
@@ -304,35 +331,41 @@ public final class BotHandler {
         }
 
         if (playerFile.hasAvailableSkinSlot()) {
-            final Skin skin = Skin.create(this.plugin, skinName, link);
+            final Message message = this.message;
+            final PlayerInfo playerInfo = this.playerInfo;
 
-            if (skin == null) {
-                this.reply(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
+            this.plugin.getSkinService()
+            .create(skinName, link)
+            .whenComplete((skin, throwable) -> {
+                if (throwable != null) {
+                    replySkinFailure(message, throwable);
 
-                return;
-            }
+                    return;
+                }
 
-            playerFile.addSkin(skin);
-            this.replyEmbed(
-                    serializePlainComponent(
-                            DISCORD_SKIN_SUCCESSFULLY_ADDED
-                            .asComponent(
-                                    text(skinName),
-                                    this.playerInfo.getDefaultName(),
-                                    text(this.playerInfo.getNickname())
-                            )
-                    )
-            );
+                playerFile.addSkin(skin);
+                replyEmbed(
+                        message,
+                        serializePlainComponent(
+                                DISCORD_SKIN_SUCCESSFULLY_ADDED
+                                .asComponent(
+                                        text(skinName),
+                                        playerInfo.getDefaultName(),
+                                        text(playerInfo.getNickname())
+                                )
+                        )
+                );
 
-            final Player player = this.playerInfo.getOnlinePlayer();
+                final Player player = playerInfo.getOnlinePlayer();
 
-            if (player != null) {
-                MSLogger.fine(
-                        player,
-                        DISCORD_SKIN_SUCCESSFULLY_ADDED_MINECRAFT.asTranslatable()
-                        .arguments(text(skinName))
-                );
-            }
+                if (player != null) {
+                    MSLogger.fine(
+                            player,
+                            DISCORD_SKIN_SUCCESSFULLY_ADDED_MINECRAFT.asTranslatable()
+                            .arguments(text(skinName))
+                    );
+                }
+            });
         } else {
             this.plugin.runTask(this::handleShowSkinListTask);
 
@@ -353,23 +386,12 @@ public final class BotHandler {
             final @NotNull String skinName
     ) {
         final PlayerFile playerFile = this.playerInfo.getPlayerFile();
-        final Player player = this.playerInfo.getOnlinePlayer();
 
         this.waitingReplyTask = () -> {
             final String reply = this.messageString.toLowerCase(Locale.ROOT);
 
             if (reply.equals(VARIANT_YES)) {
-                if (this.editSkin(link, skinName, playerFile, playerFile.getSkinIndex(skinName))) {
-                    return true;
-                }
-
-                if (player != null) {
-                    MSLogger.fine(
-                            player,
-                            DISCORD_SKIN_SUCCESSFULLY_EDITED_MINECRAFT.asTranslatable()
-                            .arguments(text(skinName))
-                    );
-                }
+                this.editSkin(link, skinName, playerFile, playerFile.getSkinIndex(skinName));
             } else if (reply.equals(VARIANT_NO)) {
                 this.reply(DISCORD_SKIN_VARIANT_NO_REPLY.asString());
             } else {
@@ -499,26 +521,26 @@ public final class BotHandler {
                     return true;
                 }
                 case 1 -> {
-                    try {
-                        final Skin skin = Skin.create(
-                                this.plugin,
-                                skinName,
-                                attachments.get(0).getUrl()
-                        );
-
-                        return skin != null
-                                && EditSkinCommand.edit(
-                                        this.playerInfo,
-                                        playerFile.getSkinIndex(editableSkin),
-                                        skin,
-                                        this.message,
-                                        null
-                                );
-                    } catch (final Throwable ignored) {
-                        this.reply(DISCORD_SKIN_INVALID_IMG.asString());
-
-                        return false;
-                    }
+                    final Message message = this.message;
+                    final PlayerInfo playerInfo = this.playerInfo;
+
+                    this.plugin.getSkinService()
+                    .create(skinName, attachments.get(0).getUrl())
+                    .whenComplete((skin, throwable) -> {
+                        if (throwable != null) {
+                            replySkinFailure(message, throwable);
+                        } else {
+                            EditSkinCommand.edit(
+                                    playerInfo,
+                                    playerFile.getSkinIndex(editableSkin),
+                                    skin,
+                                    message,
+                                    null
+                            );
+                        }
+                    });
+
+                    return true;
                 }
                 default -> {
                     this.reply(DISCORD_SKIN_ONLY_ONE_IMG.asString());
@@ -591,33 +613,47 @@ public final class BotHandler {
         };
     }
 
-    private boolean editSkin(
-            @NotNull String link,
-            @NotNull String skinName,
-            @NotNull PlayerFile playerFile,
-            int skinIndex
+    private void editSkin(
+            final @NotNull String link,
+            final @NotNull String skinName,
+            final @NotNull PlayerFile playerFile,
+            final int skinIndex
     ) {
-        final Skin skin = Skin.create(this.plugin, skinName, link);
+        final Message message = this.message;
+        final PlayerInfo playerInfo = this.playerInfo;
 
-        if (skin == null) {
-            this.reply(DISCORD_SKIN_SERVICE_UNAVAILABLE.asString());
+        this.plugin.getSkinService()
+        .create(skinName, link)
+        .whenComplete((skin, throwable) -> {
+            if (throwable != null) {
+                replySkinFailure(message, throwable);
 
-            return true;
-        }
+                return;
+            }
 
-        playerFile.setSkin(skinIndex, skin);
-        this.replyEmbed(
-                serializePlainComponent(
-                        DISCORD_SKIN_SUCCESSFULLY_EDITED
-                        .asComponent(
-                                text(skinName),
-                                this.playerInfo.getDefaultName(),
-                                text(this.playerInfo.getNickname())
-                        )
-                )
-        );
+            playerFile.setSkin(skinIndex, skin);
+            replyEmbed(
+                    message,
+                    serializePlainComponent(
+                            DISCORD_SKIN_SUCCESSFULLY_EDITED
+                            .asComponent(
+                                    text(skinName),
+                                    playerInfo.getDefaultName(),
+                                    text(playerInfo.getNickname())
+                            )
+                    )
+            );
 
-        return false;
+            final Player player = playerInfo.getOnlinePlayer();
+
+            if (player != null) {
+                MSLogger.fine(
+                        player,
+                        DISCORD_SKIN_SUCCESSFULLY_EDITED_MINECRAFT.asTranslatable()
+                        .arguments(text(skinName))
+                );
+            }
+        });
     }
 
     public static @NotNull MessageEmbed craftEmbed(final @NotNull String description) {
@@ -2,6 +2,7 @@ package com.minersstudios.whomine.inventory;
 
 import com.minersstudios.whomine.inventory.action.InventoryAction;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
@@ -26,12 +27,20 @@ import java.util.Map;
  * CustomInventoryImpl is an abstract class that provides a base implementation
  * for custom inventories. It extends CraftInventoryCustom and implements the
  * CustomInventory interface.
+ * <br>
+ * The buttons are stored as a layout, which is shared between the inventory
+ * and all its {@link #clone() copies}, and a small overlay of each copy with
+ * the slots, which were changed after the copy was made. The layout is never
+ * modified once it is shared, so the copies are cheap and the actions are
+ * dispatched against the inventory itself, without copying it.
  *
  * @param <S> Self-type, the specific implementation of the custom inventory.
  */
 @SuppressWarnings({ "unused", "UnusedReturnValue", "unchecked" })
 abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInventoryCustom implements CustomInventory {
     protected @NotNull Int2ObjectMap<InventoryButton> buttons;
+    protected @Nullable Int2ObjectMap<InventoryButton> overlay;
+    protected boolean isLayoutShared;
     protected @Nullable InventoryAction<InventoryOpenEvent> openAction;
     protected @Nullable InventoryAction<InventoryCloseEvent> closeAction;
     protected @Nullable InventoryAction<InventoryClickEvent> clickAction;
@@ -41,6 +50,21 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
 
     protected static final int LAST_SLOT = 53;
 
+    private static final Unsafe UNSAFE;
+    private static final long INVENTORY_OFFSET;
+
+    static {
+        try {
+            final Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+
+            UNSAFE = (Unsafe) unsafeField.get(null);
+            INVENTORY_OFFSET = UNSAFE.objectFieldOffset(CraftInventory.class.getDeclaredField("inventory"));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected CustomInventoryImpl(
             final @NotNull Component title,
             final @Range(from = 1, to = 6) int verticalSize
@@ -64,7 +88,17 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
 
     @Override
     public @NotNull Map<Integer, InventoryButton> buttons() {
-        return this.buttons;
+        if (
+                this.overlay == null
+                || this.overlay.isEmpty()
+        ) {
+            return Int2ObjectMaps.unmodifiable(this.buttons);
+        }
+
+        final var buttons = new Int2ObjectOpenHashMap<>(this.buttons);
+
+        buttons.putAll(this.overlay);
+        return Int2ObjectMaps.unmodifiable(buttons);
     }
 
     @Override
@@ -75,12 +109,15 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
 
     @Override
     public boolean hasButtons() {
-        return !this.buttons.isEmpty();
+        return !this.buttons.isEmpty()
+                || (this.overlay != null && !this.overlay.isEmpty());
     }
 
     @Override
     public @Nullable InventoryButton buttonAt(final @Range(from = 0, to = LAST_SLOT) int slot) {
-        return this.buttons.getOrDefault(slot, null);
+        return this.overlay != null && this.overlay.containsKey(slot)
+                ? this.overlay.get(slot)
+                : this.buttons.getOrDefault(slot, null);
     }
 
     @Override
@@ -89,7 +126,17 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
             final @Nullable InventoryButton button
     ) throws IllegalArgumentException {
         this.validateSlot(slot);
-        this.buttons.put(slot, button);
+
+        if (this.isLayoutShared) {
+            if (this.overlay == null) {
+                this.overlay = new Int2ObjectOpenHashMap<>(4);
+            }
+
+            this.overlay.put(slot, button);
+        } else {
+            this.buttons.put(slot, button);
+        }
+
         this.setItem(
                 slot,
                 button == null
@@ -158,28 +205,28 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
     @Override
     public void doOpenAction(final @NotNull InventoryOpenEvent event) {
         if (this.openAction != null) {
-            this.openAction.doAction(event, this.clone());
+            this.openAction.doAction(event, this);
         }
     }
 
     @Override
     public void doCloseAction(final @NotNull InventoryCloseEvent event) {
         if (this.closeAction != null) {
-            this.closeAction.doAction(event, this.clone());
+            this.closeAction.doAction(event, this);
         }
     }
 
     @Override
     public void doClickAction(final @NotNull InventoryClickEvent event) {
         if (this.clickAction != null) {
-            this.clickAction.doAction(event, this.clone());
+            this.clickAction.doAction(event, this);
         }
     }
 
     @Override
     public void doBottomClickAction(final @NotNull InventoryClickEvent event) {
         if (this.bottomClickAction != null) {
-            this.bottomClickAction.doAction(event, this.clone());
+            this.bottomClickAction.doAction(event, this);
         }
     }
 
@@ -195,20 +242,31 @@ abstract class CustomInventoryImpl<S extends CustomInventory> extends CraftInven
         }
     }
 
+    /**
+     * Creates a copy of this inventory with its own container, for example,
+     * to show the per-viewer changes.
+     * <br>
+     * The copy shares the button layout with this inventory, only the buttons
+     * set after the copy was made are stored in its own overlay, so neither
+     * this inventory nor the copy can change the buttons of the other one.
+     *
+     * @return A copy of this inventory
+     */
     @Override
     public @NotNull S clone() {
         try {
             final var clone = (CustomInventoryImpl<S>) super.clone();
             final Container newContainer = new CraftInventoryCustom(null, this.getSize(), this.title()).getInventory();
-            final Field inventoryField = CraftInventory.class.getDeclaredField("inventory");
 
-            final Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
-            unsafeField.setAccessible(true);
+            UNSAFE.putObject(clone, INVENTORY_OFFSET, newContainer);
 
-            final Unsafe unsafe = (Unsafe) unsafeField.get(null);
-            unsafe.putObject(clone, unsafe.objectFieldOffset(inventoryField), newContainer);
+            this.isLayoutShared = true;
+            clone.isLayoutShared = true;
+            clone.overlay =
+                    this.overlay == null
+                    ? null
+                    : new Int2ObjectOpenHashMap<>(this.overlay);
 
-            clone.buttons = new Int2ObjectOpenHashMap<>(this.buttons);
             clone.setContents(this.getContents());
 
             return (S) clone;
@@ -4,6 +4,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -16,13 +17,22 @@ import java.util.List;
  * Builder for paged inventory with elements. Element slots are slots where
  * elements are located. Elements are buttons that change when the page index
  * changes, all elements are located in the element slots.
+ * <br>
+ * The elements are stored as a single list, shared by all pages, and the
+ * bounds of each page are computed from the element slots on demand. The
+ * pages are created on the first view and cached, the cache keeps only
+ * {@link #maxCachedPages() the limited number} of the recently viewed pages.
  *
  * @see CustomInventory
  * @see PagedCustomInventory
  */
 public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPagedInventory> implements PagedCustomInventory {
-    protected final @NotNull ArrayListMultimap<Integer, InventoryButton> elements;
+    protected final @NotNull List<InventoryButton> elements;
     protected final int[] elementSlots;
+    protected int maxCachedPages;
+
+    /** The default maximum number of the cached pages */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 8;
 
     /**
      * Inventory with elements and pages
@@ -39,7 +49,8 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
         super(title, verticalSize);
 
         this.elementSlots = elementSlots;
-        this.elements = ArrayListMultimap.create();
+        this.elements = new ObjectArrayList<>();
+        this.maxCachedPages = DEFAULT_MAX_CACHED_PAGES;
     }
 
     /**
@@ -58,7 +69,15 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
      */
     @Contract(" -> new")
     public @NotNull Multimap<Integer, InventoryButton> elements() {
-        return ArrayListMultimap.create(this.elements);
+        final Multimap<Integer, InventoryButton> multimap = ArrayListMultimap.create();
+
+        synchronized (this.pages) {
+            for (int i = 0; i < this.elements.size(); ++i) {
+                multimap.put(i / this.elementSlots.length, this.elements.get(i));
+            }
+        }
+
+        return multimap;
     }
 
     /**
@@ -70,22 +89,12 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
      * @return This inventory
      */
     public @NotNull ElementPagedInventory elements(final @NotNull List<InventoryButton> elements) {
-        final int size = elements.size();
-
-        this.elements.clear();
-        this.setPagesCount((int) Math.ceil((double) size / this.elementSlots.length));
-
-        for (int page = 0; page < this.pagesCount; ++page) {
-            for (int element = 0; element < this.elementSlots.length; ++element) {
-                final int index = element + (page * this.elementSlots.length);
-
-                if (index >= size) break;
-
-                this.elements.put(page, elements.get(index));
-            }
+        synchronized (this.pages) {
+            this.elements.clear();
+            this.elements.addAll(elements);
+            this.pages.clear();
         }
 
-        this.updatePages();
         this.buttons(this.getPageContents(this.page));
 
         return this;
@@ -101,25 +110,97 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
         return this.elementSlots.clone();
     }
 
+    /**
+     * @return The maximum number of the cached pages
+     */
+    public int maxCachedPages() {
+        return this.maxCachedPages;
+    }
+
+    /**
+     * Sets the maximum number of the cached pages, the least recently viewed
+     * pages are removed from the cache when it is exceeded
+     *
+     * @param maxCachedPages New maximum number of the cached pages
+     * @return This inventory
+     */
+    public @NotNull ElementPagedInventory maxCachedPages(final @Range(from = 1, to = Integer.MAX_VALUE) int maxCachedPages) {
+        synchronized (this.pages) {
+            this.maxCachedPages = maxCachedPages;
+
+            this.trimPages();
+        }
+
+        return this;
+    }
+
     /**
      * @param page Page index
      * @return Elements of the page
      */
     public @NotNull Int2ObjectMap<InventoryButton> getPageContents(final int page) {
         final var buttons = new Int2ObjectOpenHashMap<InventoryButton>(this.elementSlots.length);
-        final var buttonList = this.elements.get(page);
+        final int from = page * this.elementSlots.length;
 
-        for (int i = 0; i < buttonList.size(); ++i) {
-            buttons.put(this.elementSlots[i], buttonList.get(i));
-        }
+        synchronized (this.pages) {
+            final int size = this.elements.size();
 
-        for (final int slot : this.elementSlots) {
-            buttons.putIfAbsent(slot, null);
+            for (int i = 0; i < this.elementSlots.length; ++i) {
+                final int index = from + i;
+
+                buttons.put(
+                        this.elementSlots[i],
+                        index < size
+                        ? this.elements.get(index)
+                        : null
+                );
+            }
         }
 
         return buttons;
     }
 
+    /**
+     * @return Pages size, computed from the number of the elements
+     */
+    @Override
+    public int getPagesCount() {
+        return (this.elements.size() + this.elementSlots.length - 1) / this.elementSlots.length;
+    }
+
+    /**
+     * Gets the page with the specified index, creating it on the first view
+     *
+     * @param page Page index
+     * @return Page at specified index or null if there is no page
+     */
+    @Override
+    public @Nullable ElementPagedInventory getPage(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
+        if (
+                page < 0
+                || page >= this.getPagesCount()
+        ) {
+            return null;
+        }
+
+        synchronized (this.pages) {
+            final ElementPagedInventory cached = this.pages.getAndMoveToLast(page);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            final ElementPagedInventory pagedInventory = this.createPage(page);
+
+            if (pagedInventory != null) {
+                this.pages.putAndMoveToLast(page, pagedInventory);
+                this.trimPages();
+            }
+
+            return pagedInventory;
+        }
+    }
+
     /**
      * Creates an inventory page with the specified index and content
      *
@@ -127,7 +208,7 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
      * @return Page of the inventory
      */
     public @Nullable ElementPagedInventory createPage(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
-        if (page >= this.pagesCount) {
+        if (page >= this.getPagesCount()) {
             return null;
         }
 
@@ -136,32 +217,39 @@ public class ElementPagedInventory extends PagedCustomInventoryImpl<ElementPaged
         pagedInventory.setPageIndex(page);
         pagedInventory.buttons(this.getPageContents(page));
 
+        if (this.hasStaticButtons()) {
+            this.applyStaticButtons(pagedInventory);
+        }
+
         return pagedInventory;
     }
 
     /**
      * Updates the pages of the inventory
      * <br>
-     * <b>Warning:</b> This method is expensive and should only be called when
-     *                 necessary
+     * The cached pages are removed, and the pages are created again on the
+     * next view
      */
     public void updatePages() {
-        this.pages.clear();
-
-        for (int page = 0; page < this.pagesCount; ++page) {
-            this.pages.put(page, this.createPage(page));
+        synchronized (this.pages) {
+            this.pages.clear();
         }
-
-        this.updateStaticButtons();
     }
 
     /**
      * Sets the page count of the inventory
+     * <br>
+     * The page count of this inventory is computed from the number of the
+     * elements, so this method does nothing
      *
      * @param pagesCount New page count
      */
     @Override
-    protected void setPagesCount(final @Range(from = 0, to = Integer.MAX_VALUE) int pagesCount) {
-        this.pagesCount = pagesCount;
+    protected void setPagesCount(final @Range(from = 0, to = Integer.MAX_VALUE) int pagesCount) {}
+
+    private void trimPages() {
+        while (this.pages.size() > this.maxCachedPages) {
+            this.pages.removeFirst();
+        }
     }
 }
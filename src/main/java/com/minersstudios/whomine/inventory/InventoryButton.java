@@ -113,7 +113,7 @@ public class InventoryButton implements Cloneable {
             final @NotNull CustomInventory customInventory
     ) {
         if (this.clickAction != null) {
-            this.clickAction.doAction(event, customInventory.clone());
+            this.clickAction.doAction(event, customInventory);
         }
     }
 
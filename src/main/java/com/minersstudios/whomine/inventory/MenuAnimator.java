@@ -0,0 +1,272 @@
+package com.minersstudios.whomine.inventory;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftPlayer;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Animator of the menu slots.
+ * <br>
+ * The menus register the animated slots of the opened inventory with the
+ * precomputed {@link Frames frames}, and the animator, which runs every tick,
+ * advances all animations and sends only the slot update packets to their
+ * viewers. The inventory itself is not modified, so the current frame of the
+ * slot should be got from the {@link #frameIndex(Player, int) animator}.
+ * <br>
+ * The animations of the viewer are removed when the viewer closes the
+ * inventory, opens another one or leaves the server.
+ * <br>
+ * This class is not thread-safe, it must be used on the main thread only.
+ */
+public final class MenuAnimator implements Runnable {
+    private final Map<UUID, Viewer> viewers;
+    private long tick;
+
+    /**
+     * Constructs a new menu animator
+     */
+    public MenuAnimator() {
+        this.viewers = new Object2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * Precomputes the frames of the animation
+     *
+     * @param items The items of the frames
+     * @return The frames of the animation
+     * @throws IllegalArgumentException If the items are empty
+     */
+    @Contract("_ -> new")
+    public static @NotNull Frames frames(final @NotNull List<ItemStack> items) throws IllegalArgumentException {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Frames must not be empty");
+        }
+
+        final int size = items.size();
+        final var copies = new ItemStack[size];
+        final var handles = new net.minecraft.world.item.ItemStack[size];
+
+        for (int i = 0; i < size; ++i) {
+            copies[i] = items.get(i).clone();
+            handles[i] = CraftItemStack.asNMSCopy(copies[i]);
+        }
+
+        return new Frames(List.of(copies), handles);
+    }
+
+    /**
+     * Starts the animation of the slot in the inventory, opened by the
+     * player. The animation starts from the first frame, which must already be
+     * set in the slot, and the previous animation of the slot is replaced.
+     * <br>
+     * If the player has the animations of another inventory, they are removed.
+     *
+     * @param player    The player, who has opened the inventory
+     * @param inventory The inventory, opened by the player
+     * @param slot      The slot to animate
+     * @param frames    The frames of the animation, nothing is animated if
+     *                  there is only one frame
+     * @param period    The number of ticks between the frames
+     */
+    public void animate(
+            final @NotNull Player player,
+            final @NotNull Inventory inventory,
+            final @Range(from = 0, to = Integer.MAX_VALUE) int slot,
+            final @NotNull Frames frames,
+            final @Range(from = 1, to = Long.MAX_VALUE) long period
+    ) {
+        if (frames.size() < 2) {
+            return;
+        }
+
+        Viewer viewer = this.viewers.get(player.getUniqueId());
+
+        if (
+                viewer == null
+                || viewer.inventory != inventory
+        ) {
+            viewer = new Viewer(player, inventory);
+
+            this.viewers.put(player.getUniqueId(), viewer);
+        }
+
+        viewer.animations.put(slot, new Animation(frames, period, this.tick));
+    }
+
+    /**
+     * Stops all animations of the player
+     *
+     * @param player The player to stop the animations of
+     */
+    public void stop(final @NotNull Player player) {
+        this.viewers.remove(player.getUniqueId());
+    }
+
+    /**
+     * Gets the index of the current frame of the slot, animated for the player
+     *
+     * @param player The player, who has opened the inventory
+     * @param slot   The animated slot
+     * @return The index of the current frame, or -1 if the slot is not
+     *         animated for the player
+     */
+    public int frameIndex(
+            final @NotNull Player player,
+            final int slot
+    ) {
+        final Viewer viewer = this.viewers.get(player.getUniqueId());
+
+        if (viewer == null) {
+            return -1;
+        }
+
+        final Animation animation = viewer.animations.get(slot);
+
+        return animation == null ? -1 : animation.frame;
+    }
+
+    /**
+     * @return The number of the players with the animations
+     */
+    public int size() {
+        return this.viewers.size();
+    }
+
+    /**
+     * Advances all animations and sends the changed frames to their viewers
+     */
+    @Override
+    public void run() {
+        final long tick = ++this.tick;
+
+        if (this.viewers.isEmpty()) {
+            return;
+        }
+
+        final var iterator = this.viewers.values().iterator();
+
+        while (iterator.hasNext()) {
+            final Viewer viewer = iterator.next();
+            final Player player = viewer.player;
+
+            if (
+                    !player.isOnline()
+                    || player.getOpenInventory().getTopInventory() != viewer.inventory
+            ) {
+                iterator.remove();
+                continue;
+            }
+
+            final ServerPlayer serverPlayer = ((CraftPlayer) player).getHandle();
+            final AbstractContainerMenu menu = serverPlayer.containerMenu;
+
+            for (final var entry : viewer.animations.int2ObjectEntrySet()) {
+                final Animation animation = entry.getValue();
+
+                if ((tick - animation.startTick) % animation.period != 0L) {
+                    continue;
+                }
+
+                animation.frame = (animation.frame + 1) % animation.frames.size();
+
+                serverPlayer.connection.send(
+                        new ClientboundContainerSetSlotPacket(
+                                menu.containerId,
+                                menu.incrementStateId(),
+                                entry.getIntKey(),
+                                animation.frames.handles[animation.frame]
+                        )
+                );
+            }
+        }
+    }
+
+    /**
+     * Precomputed frames of the animation
+     */
+    public static final class Frames {
+        private final List<ItemStack> items;
+        private final net.minecraft.world.item.ItemStack[] handles;
+
+        private Frames(
+                final @NotNull List<ItemStack> items,
+                final net.minecraft.world.item.ItemStack @NotNull [] handles
+        ) {
+            this.items = items;
+            this.handles = handles;
+        }
+
+        /**
+         * @return The number of the frames
+         */
+        public int size() {
+            return this.items.size();
+        }
+
+        /**
+         * Gets the item of the frame, it must not be modified
+         *
+         * @param index The index of the frame
+         * @return The item of the frame
+         */
+        public @NotNull ItemStack get(final int index) {
+            return this.items.get(index);
+        }
+
+        /**
+         * @return An unmodifiable list of the frame items, they must not be
+         *         modified
+         */
+        public @NotNull @Unmodifiable List<ItemStack> items() {
+            return this.items;
+        }
+    }
+
+    private static final class Viewer {
+        final Player player;
+        final Inventory inventory;
+        final Int2ObjectMap<Animation> animations;
+
+        Viewer(
+                final @NotNull Player player,
+                final @NotNull Inventory inventory
+        ) {
+            this.player = player;
+            this.inventory = inventory;
+            this.animations = new Int2ObjectOpenHashMap<>(2);
+        }
+    }
+
+    private static final class Animation {
+        final Frames frames;
+        final long period;
+        final long startTick;
+        int frame;
+
+        Animation(
+                final @NotNull Frames frames,
+                final long period,
+                final long startTick
+        ) {
+            this.frames = frames;
+            this.period = period;
+            this.startTick = startTick;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.minersstudios.whomine.inventory;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.kyori.adventure.text.Component;
@@ -24,7 +25,7 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
     protected int page;
     protected int pagesCount;
     protected final @NotNull Int2ObjectMap<StaticInventoryButton> staticButtons;
-    protected final @NotNull Int2ObjectMap<S> pages;
+    protected final @NotNull Int2ObjectLinkedOpenHashMap<S> pages;
 
     protected PagedCustomInventoryImpl(
             final @NotNull Component title,
@@ -33,7 +34,7 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
         super(title, verticalSize);
 
         this.staticButtons = new Int2ObjectOpenHashMap<>(this.size);
-        this.pages = new Int2ObjectOpenHashMap<>();
+        this.pages = new Int2ObjectLinkedOpenHashMap<>();
     }
 
     @Override
@@ -62,7 +63,7 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
     public @Nullable InventoryButton buttonAt(final @Range(from = 0, to = Integer.MAX_VALUE) int slot) {
         final StaticInventoryButton staticButton = this.staticButtons.get(slot);
         return staticButton == null
-                ? this.buttons.getOrDefault(slot, null)
+                ? super.buttonAt(slot)
                 : staticButton.getButton(this);
     }
 
@@ -83,7 +84,9 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
 
     @Override
     public @Nullable S getPage(final @Range(from = 0, to = Integer.MAX_VALUE) int page) {
-        return this.pages.getOrDefault(page, null);
+        synchronized (this.pages) {
+            return this.pages.getOrDefault(page, null);
+        }
     }
 
     @Override
@@ -98,7 +101,7 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
     @Override
     public int getNextPageIndex() {
         final int next = this.page + 1;
-        return next >= this.pagesCount ? -1 : next;
+        return next >= this.getPagesCount() ? -1 : next;
     }
 
     @Override
@@ -124,9 +127,13 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
         var pagedInventory = this.clone();
 
         pagedInventory.setPageIndex(page);
-        this.pages.put(page, pagedInventory);
+
+        synchronized (this.pages) {
+            this.pages.put(page, pagedInventory);
+            this.setPagesCount(this.pages.size());
+        }
+
         this.updateStaticButtons(page);
-        this.setPagesCount(this.pages.size());
         return pagedInventory;
     }
 
@@ -136,17 +143,9 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
             return;
         }
 
-        for (final var entry : this.staticButtons.int2ObjectEntrySet()) {
-            final int slot = entry.getIntKey();
-            final StaticInventoryButton button = entry.getValue();
-
+        synchronized (this.pages) {
             for (final var pagedInventory : this.pages.values()) {
-                pagedInventory.setItem(
-                        slot,
-                        button == null
-                        ? ItemStack.empty()
-                        : button.getButton(pagedInventory).item()
-                );
+                this.applyStaticButtons(pagedInventory);
             }
         }
     }
@@ -154,13 +153,14 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
     @Override
     public void updateStaticButtons(@Range(from = 0, to = Integer.MAX_VALUE) int page) {
         if (this.hasStaticButtons()) {
-            final S pagedInventory = this.pages.get(page);
+            final S pagedInventory;
 
-            for (final var entry : this.staticButtons.int2ObjectEntrySet()) {
-                pagedInventory.setItem(
-                        entry.getIntKey(),
-                        entry.getValue().getButton(pagedInventory).item()
-                );
+            synchronized (this.pages) {
+                pagedInventory = this.pages.get(page);
+            }
+
+            if (pagedInventory != null) {
+                this.applyStaticButtons(pagedInventory);
             }
         }
     }
@@ -173,4 +173,22 @@ abstract class PagedCustomInventoryImpl<S extends PagedCustomInventoryImpl<S>> e
             player.openInventory(pagedInventory);
         }
     }
+
+    /**
+     * Sets the items of the static buttons in the specified page
+     *
+     * @param pagedInventory Page to set the static buttons in
+     */
+    protected void applyStaticButtons(final @NotNull S pagedInventory) {
+        for (final var entry : this.staticButtons.int2ObjectEntrySet()) {
+            final StaticInventoryButton button = entry.getValue();
+
+            pagedInventory.setItem(
+                    entry.getIntKey(),
+                    button == null
+                    ? ItemStack.empty()
+                    : button.getButton(pagedInventory).item()
+            );
+        }
+    }
 }
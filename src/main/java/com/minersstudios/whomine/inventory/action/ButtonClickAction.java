@@ -14,7 +14,10 @@ public interface ButtonClickAction {
      * Do action when button is clicked
      *
      * @param event           Click event that triggered the action
-     * @param singleInventory Custom inventory that is involved in this event
+     * @param singleInventory Custom inventory that is involved in this event,
+     *                        it may be shared by several viewers, so the
+     *                        per-viewer changes must be made on its
+     *                        {@link CustomInventory#clone() copy}
      */
     void doAction(
             final @NotNull InventoryClickEvent event,
@@ -26,7 +26,10 @@ public interface InventoryAction<E extends Event> {
      * Performs action when an event is triggered
      *
      * @param event           Event that triggered the action
-     * @param customInventory Custom inventory that is involved in this event
+     * @param customInventory Custom inventory that is involved in this event,
+     *                        it may be shared by several viewers, so the
+     *                        per-viewer changes must be made on its
+     *                        {@link CustomInventory#clone() copy}
      */
     void doAction(
             final @NotNull E event,
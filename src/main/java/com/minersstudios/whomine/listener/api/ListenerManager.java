@@ -15,6 +15,7 @@ import com.minersstudios.whomine.listener.impl.event.mechanic.*;
 import com.minersstudios.whomine.listener.impl.event.player.*;
 import com.minersstudios.whomine.listener.impl.event.server.ServerCommandListener;
 import com.minersstudios.whomine.listener.impl.packet.player.PlayerActionListener;
+import com.minersstudios.whomine.listener.impl.packet.player.PlayerRotationListener;
 import com.minersstudios.whomine.listener.impl.packet.player.PlayerUpdateSignListener;
 import com.minersstudios.whomine.listener.impl.packet.player.SwingArmListener;
 import com.minersstudios.whomine.packet.PacketEvent;
@@ -366,6 +367,7 @@ public final class ListenerManager {
 
         //<editor-fold desc="Packet listeners" defaultstate="collapsed">
         new PlayerActionListener(this.plugin).register();
+        new PlayerRotationListener(this.plugin).register();
         new PlayerUpdateSignListener(this.plugin).register();
         new SwingArmListener(this.plugin).register();
         //</editor-fold>
@@ -4,6 +4,7 @@ import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.chat.ChatType;
 import com.minersstudios.whomine.listener.api.EventListener;
 import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.state.PlayerState;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.utility.MSLogger;
 import com.minersstudios.whomine.utility.MessageUtils;
@@ -98,7 +99,12 @@ public final class AsyncChatListener extends EventListener {
             }
         } else {
             MessageUtils.sendMessageToChat(playerInfo, player.getLocation(), ChatType.LOCAL, text(message));
-            plugin.getCache().getChatBuffer().receiveMessage(player, message + " ");
+
+            final PlayerState state = playerInfo.getState();
+
+            if (state != null) {
+                plugin.getCache().getChatBuffer().receiveMessage(state, message + " ");
+            }
         }
     }
 }
@@ -3,6 +3,7 @@ package com.minersstudios.whomine.listener.impl.event.inventory;
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.inventory.CustomInventory;
 import com.minersstudios.whomine.listener.api.EventListener;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.jetbrains.annotations.NotNull;
@@ -15,6 +16,10 @@ public final class InventoryCloseListener extends EventListener {
 
     @EventHandler
     public void onInventoryClose(final @NotNull InventoryCloseEvent event) {
+        if (event.getPlayer() instanceof final Player player) {
+            this.getPlugin().getMenuAnimator().stop(player);
+        }
+
         if (event.getInventory() instanceof final CustomInventory customInventory) {
             customInventory.doCloseAction(event);
         }
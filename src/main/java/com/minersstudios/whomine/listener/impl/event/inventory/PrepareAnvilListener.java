@@ -60,9 +60,9 @@ public final class PrepareAnvilListener extends EventListener {
             } else if (custom instanceof final CustomBlockData data) {
                 customStack = data.craftItemStack();
             } else if (custom instanceof final CustomItem item) {
-                customStack = item.getItem().clone();
+                customStack = item.getItem();
             } else if (custom instanceof final CustomDecorData<?> data) {
-                customStack = data.getItem().clone();
+                customStack = data.getItem();
             }
 
             assert customStack != null;
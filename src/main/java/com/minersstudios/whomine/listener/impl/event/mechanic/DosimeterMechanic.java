@@ -5,6 +5,8 @@ import com.minersstudios.whomine.custom.anomaly.Anomaly;
 import com.minersstudios.whomine.custom.item.CustomItem;
 import com.minersstudios.whomine.custom.item.registry.Dosimeter;
 import com.minersstudios.whomine.listener.api.EventListener;
+import com.minersstudios.whomine.player.collection.PlayerStateMap;
+import com.minersstudios.whomine.player.state.PlayerState;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.bukkit.Location;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.minersstudios.whomine.player.state.PlayerStateKeys.DOSIMETER_SLOT;
 import static net.kyori.adventure.text.Component.text;
 
 public final class DosimeterMechanic extends EventListener {
@@ -35,22 +38,28 @@ public final class DosimeterMechanic extends EventListener {
 
     @EventHandler
     public void onPlayerSwapHandItems(final @NotNull PlayerSwapHandItemsEvent event) {
-        final Player player = event.getPlayer();
-        final var players = this.getPlugin().getCache().getDosimeterPlayers();
-        final EquipmentSlot equipmentSlot = players.get(player);
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(event.getPlayer());
+
+        if (state == null) {
+            return;
+        }
+
+        final EquipmentSlot equipmentSlot = state.get(DOSIMETER_SLOT);
 
         if (equipmentSlot != null) {
-            players.put(player, equipmentSlot == EquipmentSlot.HAND ? EquipmentSlot.OFF_HAND : EquipmentSlot.HAND);
+            state.set(DOSIMETER_SLOT, equipmentSlot == EquipmentSlot.HAND ? EquipmentSlot.OFF_HAND : EquipmentSlot.HAND);
         }
     }
 
     @EventHandler
     public void onPlayerItemHeld(final @NotNull PlayerItemHeldEvent event) {
         final Player player = event.getPlayer();
-        final var players = this.getPlugin().getCache().getDosimeterPlayers();
-        final EquipmentSlot equipmentSlot = players.get(player);
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player);
 
-        if (equipmentSlot == EquipmentSlot.HAND) {
+        if (
+                state != null
+                && state.get(DOSIMETER_SLOT) == EquipmentSlot.HAND
+        ) {
             final ItemStack dosimeterItem = player.getInventory().getItem(event.getPreviousSlot());
 
             CustomItem.fromItemStack(dosimeterItem, Dosimeter.class)
@@ -61,7 +70,7 @@ public final class DosimeterMechanic extends EventListener {
 
                 copy.setItem(dosimeterItem);
                 copy.setEnabled(false);
-                players.remove(player);
+                state.remove(DOSIMETER_SLOT);
             });
         }
     }
@@ -76,8 +85,11 @@ public final class DosimeterMechanic extends EventListener {
             return;
         }
 
-        final var players = this.getPlugin().getCache().getDosimeterPlayers();
-        final EquipmentSlot equipmentSlot = players.get(player);
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player);
+        final EquipmentSlot equipmentSlot =
+                state == null
+                ? null
+                : state.get(DOSIMETER_SLOT);
 
         if (equipmentSlot == null) {
             return;
@@ -98,14 +110,14 @@ public final class DosimeterMechanic extends EventListener {
             ) {
                 copy.setItem(clickType.isShiftClick() ? Objects.requireNonNull(event.getCurrentItem()) : dosimeterItem);
                 copy.setEnabled(false);
-                players.remove(player);
+                state.remove(DOSIMETER_SLOT);
 
                 return;
             }
 
             this.getPlugin().runTask(() -> {
                 if (dosimeterItem.equals(playerInventory.getItem(newEquipmentSlot))) {
-                    players.put(player, newEquipmentSlot);
+                    state.set(DOSIMETER_SLOT, newEquipmentSlot);
                 } else if (!dosimeterItem.equals(playerInventory.getItem(equipmentSlot))) {
                     copy.setItem(
                             clickType.isKeyboardClick()
@@ -113,7 +125,7 @@ public final class DosimeterMechanic extends EventListener {
                             : Objects.requireNonNull(event.getCursor())
                     );
                     copy.setEnabled(false);
-                    players.remove(player);
+                    state.remove(DOSIMETER_SLOT);
                 }
             });
         });
@@ -122,8 +134,11 @@ public final class DosimeterMechanic extends EventListener {
     @EventHandler
     public void onPlayerDropItem(final @NotNull PlayerDropItemEvent event) {
         final Player player = event.getPlayer();
-        final var players = this.getPlugin().getCache().getDosimeterPlayers();
-        final EquipmentSlot equipmentSlot = players.get(player);
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player);
+        final EquipmentSlot equipmentSlot =
+                state == null
+                ? null
+                : state.get(DOSIMETER_SLOT);
 
         if (equipmentSlot != null) {
             final ItemStack drop = event.getItemDrop().getItemStack();
@@ -139,7 +154,7 @@ public final class DosimeterMechanic extends EventListener {
 
                 copy.setItem(drop);
                 copy.setEnabled(false);
-                players.remove(player);
+                state.remove(DOSIMETER_SLOT);
             });
         }
     }
@@ -147,7 +162,11 @@ public final class DosimeterMechanic extends EventListener {
     @EventHandler
     public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
         final Player player = event.getPlayer();
-        final EquipmentSlot equipmentSlot = this.getPlugin().getCache().getDosimeterPlayers().remove(player);
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player);
+        final EquipmentSlot equipmentSlot =
+                state == null
+                ? null
+                : state.remove(DOSIMETER_SLOT);
 
         if (equipmentSlot != null) {
             final ItemStack itemStack = player.getInventory().getItem(equipmentSlot);
@@ -188,34 +207,38 @@ public final class DosimeterMechanic extends EventListener {
             copy.setItem(itemInHand);
             copy.setEnabled(!copy.isEnabled());
 
+            final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player);
+
+            if (state == null) {
+                return;
+            }
+
             if (copy.isEnabled()) {
-                this.getPlugin().getCache().getDosimeterPlayers().put(player, hand);
+                state.set(DOSIMETER_SLOT, hand);
             } else {
-                this.getPlugin().getCache().getDosimeterPlayers().remove(player, hand);
+                state.remove(DOSIMETER_SLOT, hand);
             }
         });
     }
 
     public static class DosimeterTask {
         private final WhoMine plugin;
-        private final Map<Player, EquipmentSlot> players;
+        private final PlayerStateMap stateMap;
 
         public DosimeterTask(final @NotNull WhoMine plugin) {
             this.plugin = plugin;
-            this.players = plugin.getCache().getDosimeterPlayers();
+            this.stateMap = plugin.getCache().getPlayerStateMap();
         }
 
         public void run() {
-            if (this.players.isEmpty()) {
-                return;
-            }
+            for (final var state : this.stateMap.states()) {
+                final EquipmentSlot equipmentSlot = state.get(DOSIMETER_SLOT);
 
-            this.players
-            .forEach((player, equipmentSlot) -> {
-                if (!player.isOnline()) {
-                    return;
+                if (equipmentSlot == null) {
+                    continue;
                 }
 
+                final Player player = state.getPlayer();
                 final ItemStack itemStack = player.getInventory().getItem(equipmentSlot);
 
                 if (CustomItem.fromItemStack(itemStack).orElse(null) instanceof final Dosimeter dosimeter) {
@@ -252,12 +275,12 @@ public final class DosimeterMechanic extends EventListener {
                                 .append(text(" мк3в/ч"))
                         );
 
-                        return;
+                        continue;
                     }
                 }
 
-                this.players.remove(player);
-            });
+                state.remove(DOSIMETER_SLOT, equipmentSlot);
+            }
         }
 
         private static @NotNull String radiusToLevel(
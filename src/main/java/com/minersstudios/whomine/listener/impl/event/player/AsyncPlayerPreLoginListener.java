@@ -5,17 +5,23 @@ import com.minersstudios.whomine.listener.api.EventListener;
 import com.minersstudios.whomine.locale.TranslationRegistry;
 import com.minersstudios.whomine.player.PlayerFile;
 import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.PlayerStore;
 import com.minersstudios.whomine.utility.MSLogger;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TranslatableComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.StringJoiner;
+import java.util.UUID;
+
 import static com.minersstudios.whomine.locale.Translations.*;
 import static net.kyori.adventure.text.Component.text;
 import static org.bukkit.event.player.AsyncPlayerPreLoginEvent.Result.*;
@@ -108,6 +114,51 @@ public final class AsyncPlayerPreLoginListener extends EventListener {
                         )
                 );
             }
+
+            this.checkBannedAlts(playerInfo, hostAddress);
+        }
+    }
+
+    private void checkBannedAlts(
+            final @NotNull PlayerInfo playerInfo,
+            final @NotNull String hostAddress
+    ) {
+        final WhoMine plugin = this.getPlugin();
+        final PlayerStore playerStore = plugin.getPlayerStore();
+
+        if (!playerStore.isOpen()) {
+            MSLogger.severe(ERROR_IP_INDEX_UNAVAILABLE.asTranslatable());
+            return;
+        }
+
+        final Server server = plugin.getServer();
+        final UUID uuid = playerInfo.getOfflinePlayer().getUniqueId();
+        final var bannedAlts = new StringJoiner(", ");
+
+        for (final var altUUID : playerStore.findByIp(hostAddress)) {
+            if (altUUID.equals(uuid)) {
+                continue;
+            }
+
+            final OfflinePlayer alt = server.getOfflinePlayer(altUUID);
+
+            if (alt.isBanned()) {
+                final String nickname = playerStore.getNickname(altUUID);
+
+                bannedAlts.add('"' + (nickname == null ? altUUID.toString() : nickname) + '"');
+            }
+        }
+
+        if (bannedAlts.length() != 0) {
+            MSLogger.warning(
+                    INFO_PLAYER_SHARED_IP_WITH_BANNED.asTranslatable()
+                    .arguments(
+                            playerInfo.getGrayIDGoldName(),
+                            text(playerInfo.getNickname()),
+                            text(hostAddress),
+                            text(bannedAlts.toString())
+                    )
+            );
         }
     }
 }
@@ -23,7 +23,7 @@ public final class PlayerDeathListener extends EventListener {
         final Cache cache = this.getPlugin().getCache();
 
         cache.getDiggingMap().removeAll(player);
-        cache.getStepMap().put(player, 0.0d);
+        cache.getFootstepEngine().reset(player);
         event.deathMessage(null);
         playerInfo.unsetSitting();
         MessageUtils.sendDeathMessage(player, player.getKiller());
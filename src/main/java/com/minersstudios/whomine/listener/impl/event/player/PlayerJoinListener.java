@@ -22,6 +22,7 @@ public final class PlayerJoinListener extends EventListener {
         final WhoMine plugin = this.getPlugin();
         final Player player = event.getPlayer();
 
+        PlayerInfo.fromOnlinePlayer(plugin, player).createState(player);
         plugin.runTask(() ->
             ChannelHandler.injectConnection(
                 ((CraftPlayer) event.getPlayer()).getHandle().connection.connection,
@@ -6,6 +6,7 @@ import com.minersstudios.whomine.listener.api.EventListener;
 import com.minersstudios.whomine.player.PlayerInfo;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,11 +22,18 @@ public final class PlayerQuitListener extends EventListener {
         final Cache cache = this.getPlugin().getCache();
 
         cache.getDiggingMap().removeAll(player);
-        cache.getStepMap().remove(player);
+        cache.getFootstepEngine().remove(player);
 
         event.quitMessage(null);
         PlayerInfo
         .fromOnlinePlayer(this.getPlugin(), event.getPlayer())
         .handleQuit();
     }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuitMonitor(final @NotNull PlayerQuitEvent event) {
+        final Player player = event.getPlayer();
+
+        PlayerInfo.fromOnlinePlayer(this.getPlugin(), player).removeState(player);
+    }
 }
@@ -22,7 +22,7 @@ public final class PlayerTeleportListener extends EventListener {
         final PlayerInfo playerInfo = PlayerInfo.fromOnlinePlayer(this.getPlugin(), player);
 
         cache.getDiggingMap().removeAll(player);
-        cache.getStepMap().put(player, 0.0d);
+        cache.getFootstepEngine().reset(player);
 
         if (playerInfo.isSitting()) {
             playerInfo.unsetSitting();
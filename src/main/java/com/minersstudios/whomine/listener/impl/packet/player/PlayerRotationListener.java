@@ -0,0 +1,89 @@
+package com.minersstudios.whomine.listener.impl.packet.player;
+
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.listener.api.PacketListener;
+import com.minersstudios.whomine.packet.PacketEvent;
+import com.minersstudios.whomine.packet.PacketType;
+import com.minersstudios.whomine.player.state.PlayerState;
+import com.minersstudios.whomine.player.state.PlayerStateKeys;
+import net.minecraft.network.protocol.game.ClientboundMoveEntityPacket;
+import net.minecraft.network.protocol.game.ServerboundMovePlayerPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftEntity;
+import org.bukkit.entity.ArmorStand;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rotates the seat of the sitting player to the player's yaw.
+ * <br>
+ * The rotation is sent to the clients only when the yaw of the player has
+ * changed by more than {@link #YAW_THRESHOLD} degrees since the last sent
+ * rotation. The yaw of the seat is also set on the server on the main
+ * thread, so the seat keeps its rotation when it is sent to the players, who
+ * start tracking it later, and when it is saved.
+ */
+public final class PlayerRotationListener extends PacketListener {
+    /** The minimum yaw change in degrees to rotate the seat */
+    public static final float YAW_THRESHOLD = 2.0f;
+
+    public PlayerRotationListener(final @NotNull WhoMine plugin) {
+        super(
+                plugin,
+                PacketType.PLAY_SERVER_SET_PLAYER_ROTATION,
+                PacketType.PLAY_SERVER_SET_PLAYER_POSITION_AND_ROTATION
+        );
+    }
+
+    @Override
+    public void onPacketReceive(final @NotNull PacketEvent event) {
+        final var packet = (ServerboundMovePlayerPacket) event.getPacketContainer().getPacket();
+
+        if (!packet.hasRotation()) {
+            return;
+        }
+
+        final ServerPlayer player = event.getConnection().getPlayer();
+        final PlayerState state = this.getPlugin().getCache().getPlayerStateMap().get(player.getBukkitEntity());
+
+        if (state == null) {
+            return;
+        }
+
+        final ArmorStand seat = state.get(PlayerStateKeys.SEAT);
+
+        if (seat == null) {
+            return;
+        }
+
+        final float yaw = Mth.wrapDegrees(packet.getYRot(player.getYRot()));
+        final Float lastYaw = state.get(PlayerStateKeys.SEAT_YAW);
+
+        if (
+                lastYaw != null
+                && Mth.degreesDifferenceAbs(lastYaw, yaw) <= YAW_THRESHOLD
+        ) {
+            return;
+        }
+
+        state.set(PlayerStateKeys.SEAT_YAW, yaw);
+
+        final Entity handle = ((CraftEntity) seat).getHandle();
+        final var rotationPacket = new ClientboundMoveEntityPacket.Rot(
+                handle.getId(),
+                (byte) Mth.floor(yaw * 256.0f / 360.0f),
+                (byte) 0,
+                handle.onGround()
+        );
+
+        this.getPlugin().runTask(() -> {
+            if (!handle.isRemoved()) {
+                handle.setYRot(yaw);
+                handle.setYHeadRot(yaw);
+                ((ServerLevel) handle.level()).getChunkSource().broadcastAndSend(handle, rotationPacket);
+            }
+        });
+    }
+}
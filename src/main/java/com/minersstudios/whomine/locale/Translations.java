@@ -29,6 +29,7 @@ public final class Translations {
     public static final Translation INFO_PLAYER_FILE_CREATED =                             register("ms.info.player_file_created",                             "Created a player data file : \"{1}\" for \"{0}\"");
     public static final Translation INFO_PLAYER_ITEM_REMOVED =                             register("ms.info.player_item_removed",                             "Player : \"{0}\" has had the item : \n\"{1}\" removed");
     public static final Translation INFO_PLAYER_ADDED_IP =                                 register("ms.info.player_added_ip",                                 "A new IP address has been added for player : \"{0}\" ({1}): \"{2}\"");
+    public static final Translation INFO_PLAYER_SHARED_IP_WITH_BANNED =                    register("ms.info.player_shared_ip_with_banned",                    "Player : \"{0}\" ({1}) has joined from the IP address : \"{2}\", which was used by the banned players : {3}");
     public static final Translation INFO_PLAYER_DEATH_INFO =                               register("ms.info.player_death_info",                               "The world and the coordinates of the player's death : \"{0}\" ({1}) :\n    - World : \"{2}\"\n    - Coordinates : \"{3}\"");
     public static final Translation WARNING_YOU_CANT_DO_THIS_NOW =                         register("ms.warning.you_cant_do_this_now",                         "You can't do this now!");
     public static final Translation ERROR_PLAYER_NOT_ONLINE =                              register("ms.error.player_not_online",                              "This player is not online");
@@ -37,12 +38,15 @@ public final class Translations {
     public static final Translation ERROR_SOMETHING_WENT_WRONG =                           register("ms.error.something_went_wrong",                           "Something went wrong...");
     public static final Translation ERROR_WRONG_FORMAT =                                   register("ms.error.wrong_format",                                   "The entered indicator has an incorrect format!");
     public static final Translation ERROR_ONLY_PLAYER_COMMAND =                            register("ms.error.only_player_command",                            "This command can only be executed by a player!");
+    public static final Translation ERROR_ONLY_CONSOLE_COMMAND =                           register("ms.error.only_console_command",                           "This command can only be executed from the console!");
     public static final Translation ERROR_UNKNOWN_COMMAND =                                register("ms.error.unknown_command",                                "Unknown command!");
     public static final Translation ERROR_NO_PERMISSION =                                  register("ms.error.no_permission",                                  "Sorry, but you don't have permission to run this command");
     public static final Translation ERROR_FLYING_PLAYER =                                  register("ms.error.flying_player",                                  "Flight isn't enabled on this server");
     public static final Translation ERROR_FLYING_VEHICLE =                                 register("ms.error.flying_vehicle",                                 "Vehicle flight isn't enabled on this server");
     public static final Translation ERROR_CONNECTION_THROTTLE =                            register("ms.error.connection_throttle",                            "The connection is in a bad state! Wait before reconnecting");
     public static final Translation ERROR_TOO_MANY_PACKETS =                               register("ms.error.too_many_packets",                               "Too many packets sent");
+    public static final Translation ERROR_IP_INDEX_UNAVAILABLE =                           register("ms.error.ip_index_unavailable",                           "The IP address index is unavailable, because the player store failed to open");
+    public static final Translation ERROR_PLAYER_STORE_UNAVAILABLE =                       register("ms.error.player_store_unavailable",                       "The player store is unavailable, because it failed to open");
     public static final Translation RESOURCE_PACK_ACCEPTED =                               register("ms.resource_pack.accepted",                               "Player : \"{0}\" accepted the resource pack");
     public static final Translation RESOURCE_PACK_DECLINED_CONSOLE =                       register("ms.resource_pack.declined.console",                       "Player : \"{0}\" declined the resource pack");
     public static final Translation RESOURCE_PACK_DECLINED_RECEIVER_TITLE =                register("ms.resource_pack.declined.receiver.title",                "It looks like you didn't accept the resource pack");
@@ -100,9 +104,14 @@ public final class Translations {
     public static final Translation COMMAND_MSESSENTIALS_RELOAD_SUCCESS =                  register("ms.command.msessentials.reload.success",                  "The plugin has been reloaded in {0} ms");
     public static final Translation COMMAND_MSESSENTIALS_UPDATE_IDS_SUCCESS =              register("ms.command.msessentials.update_ids.success",              "The ID list has been successfully reloaded in {0} ms");
     public static final Translation COMMAND_MSESSENTIALS_UPDATE_MUTES_SUCCESS =            register("ms.command.msessentials.update_mutes.success",            "The mute list has been successfully reloaded in {0} ms");
+    public static final Translation COMMAND_MSESSENTIALS_EXPORT_SUCCESS =                  register("ms.command.msessentials.export.success",                  "{0} player records have been exported to \"{1}\" in {2} ms");
+    public static final Translation COMMAND_MSESSENTIALS_EXPORT_NOT_FOUND =                register("ms.command.msessentials.export.not_found",                "The player store has no record of the player : \"{0}\"");
     public static final Translation COMMAND_MSCORE_RELOAD_CONFIG_SUCCESS =                 register("ms.command.mscore.reload_config.success",                 "The configuration has been successfully reloaded in {0} ms");
     public static final Translation COMMAND_PLAYER_UPDATE_SUCCESS =                        register("ms.command.player.update.success",                        "Data for player : \"{0}\" ({1}) has been successfully updated");
     public static final Translation COMMAND_PLAYER_FIRST_JOIN =                            register("ms.command.player.first_join",                            "Player : \"{0}\" ({1}) has joined the server for the first time");
+    public static final Translation COMMAND_PLAYER_ALTS_NONE =                             register("ms.command.player.alts.none",                             "Player : \"{0}\" ({1}) has no accounts with the same IP addresses");
+    public static final Translation COMMAND_PLAYER_ALTS_LIST =                             register("ms.command.player.alts.list",                             "Accounts with the same IP addresses as : \"{0}\" ({1}) :{2}");
+    public static final Translation COMMAND_PLAYER_ALTS_BANNED =                           register("ms.command.player.alts.banned",                           "Banned");
     public static final Translation COMMAND_PLAYER_NAME_ABOUT =                            register("ms.command.player.name.about",                            "Player's name information :\n    - Full name : \"{0}\"\n    - Nickname : \"{1}\"\n    - UUID : \"{2}\"");
     public static final Translation COMMAND_PLAYER_NAME_FULL_RESET_SENDER =                register("ms.command.player.name.full_reset.sender",                "Player : \"{0}\" ({1}) has had their full name reset");
     public static final Translation COMMAND_PLAYER_NAME_FULL_RESET_RECEIVER_TITLE =        register("ms.command.player.name.full_reset.receiver.title",        "You've been kicked from the server");
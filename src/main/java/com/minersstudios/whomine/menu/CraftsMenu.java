@@ -1,18 +1,32 @@
 package com.minersstudios.whomine.menu;
 
+import com.minersstudios.whomine.Config;
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.CustomIdentity;
 import com.minersstudios.whomine.inventory.*;
 import com.minersstudios.whomine.inventory.action.ButtonClickAction;
+import com.minersstudios.whomine.locale.TranslationRegistry;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.inventory.ShapedRecipe;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.Collection;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -30,9 +44,12 @@ public final class CraftsMenu {
     private static final InventoryButton CRAFTS_NEXT_BUTTON_EMPTY;
 
     private static final CustomInventory CATEGORIES_INVENTORY;
-    private static final ElementPagedInventory BLOCKS_INVENTORY;
-    private static final ElementPagedInventory DECORS_INVENTORY;
-    private static final ElementPagedInventory ITEMS_INVENTORY;
+
+    private static final int BACK_SLOT = 31;
+    private static final int[] GRID_SLOTS = { 2, 3, 4, 11, 12, 13, 20, 21, 22 };
+    private static final Map<Type, List<RecipeView>> RECIPES = new EnumMap<>(Type.class);
+
+    private static volatile Snapshot snapshot = Snapshot.EMPTY;
 
     static {
         final InventoryButton blockButton = new InventoryButton()
@@ -144,123 +161,269 @@ public final class CraftsMenu {
                     InventoryButton.playClickSound(player);
                 });
 
-        BLOCKS_INVENTORY = buildCraftsInventory();
-        DECORS_INVENTORY = buildCraftsInventory();
-        ITEMS_INVENTORY = buildCraftsInventory();
     }
 
-    @SuppressWarnings("deprecation")
+    /**
+     * Compiles the view models of the recipes of the specified type, replacing
+     * the previous ones of this type.
+     * <br>
+     * The menu is not changed until the {@link #build(WhoMine) build} is
+     * called after all recipes are registered.
+     *
+     * @param type    The type of the recipes
+     * @param recipes The recipes to show in the menu, only shaped recipes are
+     *                shown
+     * @throws IllegalArgumentException If the type is {@link Type#MAIN}
+     */
     public static void putCrafts(
             final @NotNull Type type,
             final @NotNull Collection<Recipe> recipes
-    ) {
-        final var elements = new ObjectArrayList<InventoryButton>();
-        final ElementPagedInventory customInventory = switch (type) {
-            case BLOCKS -> BLOCKS_INVENTORY;
-            case DECORS -> DECORS_INVENTORY;
-            case ITEMS -> ITEMS_INVENTORY;
-            default -> throw new IllegalStateException("Unexpected value: " + type);
-        };
+    ) throws IllegalArgumentException {
+        if (type == Type.MAIN) {
+            throw new IllegalArgumentException("Unexpected value: " + type);
+        }
 
-        for (final var recipe : recipes) {
-            final ItemStack resultItem = recipe.getResult();
-            final SingleInventory craftInventory =
-                    CustomInventory.single(
-                            MENU_CRAFTS_CRAFT_TITLE.asTranslatable().style(DEFAULT_STYLE),
-                            4
-                    );
+        final var views = new ObjectArrayList<RecipeView>(recipes.size());
 
+        for (final var recipe : recipes) {
             if (recipe instanceof final ShapedRecipe shapedRecipe) {
-                final String[] shapes = shapedRecipe.getShape();
-                int i = 0;
+                views.add(RecipeView.of(type, shapedRecipe));
+            }
+        }
 
-                for (
-                        final var shape
-                        : (
-                                shapes.length == 1
-                                ? new String[] { "   ", shapes[0], "   " }
-                                : shapes
-                        )
-                ) {
-                    for (
-                            final var character
-                            : (
-                                    shape.length() == 1 ? " " + shape + " "
-                                    : shape.length() == 2 ? shape + " "
-                                    : shape
-                            ).toCharArray()
-                    ) {
-                        final ItemStack ingredient = shapedRecipe.getIngredientMap().get(character);
+        synchronized (RECIPES) {
+            RECIPES.put(type, List.copyOf(views));
+        }
+    }
 
-                        if (ingredient == null) {
-                            i++;
-                            continue;
-                        }
+    /**
+     * Builds the menu from the compiled view models.
+     * <br>
+     * The buttons and the titles are rendered once for each configured locale,
+     * so opening the menu and flipping its pages only sends the ready-made
+     * item stacks. The craft inventory of a recipe is rendered when it is
+     * opened for the first time, and is reused after that. The built menu
+     * replaces the previous one at once.
+     *
+     * @param plugin The plugin instance
+     */
+    public static void build(final @NotNull WhoMine plugin) {
+        final Config config = plugin.getConfiguration();
+        final Locale defaultLocale = config.getDefaultLocale();
+        final var locales = new ObjectLinkedOpenHashSet<Locale>();
+        final var recipes = new EnumMap<Type, List<RecipeView>>(Type.class);
+
+        locales.add(defaultLocale);
+        locales.addAll(config.getLocales());
+
+        synchronized (RECIPES) {
+            recipes.putAll(RECIPES);
+        }
 
-                        switch (i) {
-                            case 0 -> craftInventory.setItem(2, ingredient);
-                            case 1 -> craftInventory.setItem(3, ingredient);
-                            case 2 -> craftInventory.setItem(4, ingredient);
-                            case 3 -> craftInventory.setItem(11, ingredient);
-                            case 4 -> craftInventory.setItem(12, ingredient);
-                            case 5 -> craftInventory.setItem(13, ingredient);
-                            case 6 -> craftInventory.setItem(20, ingredient);
-                            case 7 -> craftInventory.setItem(21, ingredient);
-                            case 8 -> craftInventory.setItem(22, ingredient);
-                        }
+        final var inventories = new Object2ObjectOpenHashMap<Locale, Map<Type, ElementPagedInventory>>(locales.size());
+        final var index = new Object2ObjectOpenHashMap<String, List<RecipeView>>();
 
-                        i++;
-                    }
-                }
+        for (final var locale : locales) {
+            final var byType = new EnumMap<Type, ElementPagedInventory>(Type.class);
 
-                craftInventory.setItem(RESULT_SLOT, resultItem);
-
-                elements.add(
-                        new InventoryButton()
-                        .item(resultItem)
-                        .clickAction((buttonEvent, inventory) -> {
-                            if (buttonEvent.getClick().isCreativeAction()) {
-                                return;
-                            }
-
-                            final Player player = (Player) buttonEvent.getWhoClicked();
-
-                            player.openInventory(
-                                    craftInventory
-                                    .buttonAt(
-                                            31,
-                                            new InventoryButton()
-                                            .clickAction((event, inv) -> {
-                                                player.openInventory(inventory);
-                                                InventoryButton.playClickSound(player);
-                                            })
-                                    )
-                            );
-                            InventoryButton.playClickSound(player);
-                        })
+            for (final var entry : recipes.entrySet()) {
+                byType.put(
+                        entry.getKey(),
+                        buildCategory(entry.getValue(), locale)
                 );
             }
+
+            inventories.put(locale, byType);
         }
 
-        customInventory.elements(elements);
+        for (final var views : recipes.values()) {
+            for (final var view : views) {
+                for (final var key : view.searchKeys()) {
+                    index.computeIfAbsent(key, k -> new ObjectArrayList<>()).add(view);
+                }
+            }
+        }
+
+        index.replaceAll((key, views) -> List.copyOf(views));
+
+        snapshot = new Snapshot(
+                defaultLocale,
+                Collections.unmodifiableMap(recipes),
+                inventories,
+                index
+        );
     }
 
+    /**
+     * Gets the view models of the recipes of the specified type
+     *
+     * @param type The type of the recipes
+     * @return An unmodifiable list of the view models of the recipes, in the
+     *         order they are shown in the menu
+     */
+    public static @NotNull @Unmodifiable List<RecipeView> recipes(final @NotNull Type type) {
+        return snapshot.recipes.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Searches the recipes by the key of their result or ingredient.
+     * <br>
+     * The key may be the recipe key, the material key or the key of the custom
+     * block, decor or item, with or without the namespace.
+     *
+     * @param key The key to search by
+     * @return An unmodifiable list of the found recipes
+     */
+    public static @NotNull @Unmodifiable List<RecipeView> search(final @NotNull String key) {
+        return snapshot.index.getOrDefault(key.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * Opens the menu of the specified type, rendered in the locale of the
+     * player, or in the default locale if the player's locale is not
+     * configured
+     *
+     * @param type   The type of the menu
+     * @param player The player to open the menu for
+     */
     public static void open(
             final @NotNull Type type,
             final @NotNull Player player
     ) {
-        (switch (type) {
-            case MAIN -> CATEGORIES_INVENTORY;
-            case BLOCKS -> BLOCKS_INVENTORY;
-            case DECORS -> DECORS_INVENTORY;
-            case ITEMS -> ITEMS_INVENTORY;
-        }).open(player);
+        if (type == Type.MAIN) {
+            CATEGORIES_INVENTORY.open(player);
+            return;
+        }
+
+        final Snapshot snapshot = CraftsMenu.snapshot;
+        var inventories = snapshot.inventories.get(player.locale());
+
+        if (inventories == null) {
+            inventories = snapshot.inventories.get(snapshot.defaultLocale);
+        }
+
+        final ElementPagedInventory inventory =
+                inventories == null
+                ? null
+                : inventories.get(type);
+
+        if (inventory != null) {
+            inventory.open(player);
+        }
+    }
+
+    /**
+     * Opens the menu with only the recipes, found by the given key, rendered
+     * in the locale of the player, or in the default locale if the player's
+     * locale is not configured
+     *
+     * @param player The player to open the menu for
+     * @param key    The key to search the recipes by, if it is null or blank,
+     *               the main menu is opened
+     * @see #search(String)
+     */
+    public static void open(
+            final @NotNull Player player,
+            final @Nullable String key
+    ) {
+        if (
+                key == null
+                || key.isBlank()
+        ) {
+            open(Type.MAIN, player);
+            return;
+        }
+
+        final Snapshot snapshot = CraftsMenu.snapshot;
+        final Locale locale =
+                snapshot.inventories.containsKey(player.locale())
+                ? player.locale()
+                : snapshot.defaultLocale;
+
+        buildCategory(search(key.trim()), locale).open(player);
+    }
+
+    private static @NotNull ElementPagedInventory buildCategory(
+            final @NotNull List<RecipeView> views,
+            final @NotNull Locale locale
+    ) {
+        final ElementPagedInventory category = buildCraftsInventory(locale);
+        final Component craftTitle = MENU_CRAFTS_CRAFT_TITLE.asComponent(locale).style(DEFAULT_STYLE);
+        final int pageSize = category.getElementSlots().length;
+        final var craftInventories = new SingleInventory[views.size()];
+        final var elements = new ObjectArrayList<InventoryButton>(views.size());
+
+        for (int i = 0; i < views.size(); ++i) {
+            final int index = i;
+            final RecipeView view = views.get(i);
+            final ItemStack resultItem = renderItem(view.result(), locale);
+
+            elements.add(
+                    new InventoryButton()
+                    .item(resultItem)
+                    .clickAction((event, inventory) -> {
+                        if (event.getClick().isCreativeAction()) {
+                            return;
+                        }
+
+                        final Player player = (Player) event.getWhoClicked();
+                        SingleInventory craftInventory = craftInventories[index];
+
+                        if (craftInventory == null) {
+                            craftInventory = buildCraftInventory(view, resultItem, craftTitle, category, index / pageSize, locale);
+                            craftInventories[index] = craftInventory;
+                        }
+
+                        player.openInventory(craftInventory);
+                        InventoryButton.playClickSound(player);
+                    })
+            );
+        }
+
+        return category.elements(elements);
+    }
+
+    private static @NotNull SingleInventory buildCraftInventory(
+            final @NotNull RecipeView view,
+            final @NotNull ItemStack resultItem,
+            final @NotNull Component title,
+            final @NotNull ElementPagedInventory category,
+            final int page,
+            final @NotNull Locale locale
+    ) {
+        final SingleInventory craftInventory = CustomInventory.single(title, 4);
+
+        for (final var entry : view.grid().int2ObjectEntrySet()) {
+            craftInventory.setItem(
+                    entry.getIntKey(),
+                    renderItem(entry.getValue(), locale)
+            );
+        }
+
+        craftInventory.setItem(RESULT_SLOT, resultItem);
+        craftInventory.buttonAt(
+                BACK_SLOT,
+                new InventoryButton()
+                .clickAction((event, inventory) -> {
+                    final Player player = (Player) event.getWhoClicked();
+                    final CustomInventory pageInventory = category.getPage(page);
+
+                    player.openInventory(
+                            pageInventory == null
+                            ? category
+                            : pageInventory
+                    );
+                    InventoryButton.playClickSound(player);
+                })
+        );
+
+        return craftInventory;
     }
 
-    private static @NotNull ElementPagedInventory buildCraftsInventory() {
+    private static @NotNull ElementPagedInventory buildCraftsInventory(final @NotNull Locale locale) {
         return CustomInventory
                 .elementPaged(
-                        MENU_CRAFTS_CATEGORY_TITLE.asTranslatable().style(DEFAULT_STYLE),
+                        MENU_CRAFTS_CATEGORY_TITLE.asComponent(locale).style(DEFAULT_STYLE),
                         5,
                         IntStream.range(0, 36).toArray()
                 )
@@ -288,7 +451,163 @@ public final class CraftsMenu {
                 .build();
     }
 
+    private static @NotNull ItemStack renderItem(
+            final @NotNull ItemStack item,
+            final @NotNull Locale locale
+    ) {
+        final ItemStack rendered = item.clone();
+
+        if (!rendered.hasItemMeta()) {
+            return rendered;
+        }
+
+        final ItemMeta meta = rendered.getItemMeta();
+        final Component displayName = meta.displayName();
+        final var lore = meta.lore();
+
+        if (displayName != null) {
+            meta.displayName(TranslationRegistry.renderComponent(displayName, locale));
+        }
+
+        if (lore != null) {
+            lore.replaceAll(line -> TranslationRegistry.renderComponent(line, locale));
+            meta.lore(lore);
+        }
+
+        rendered.setItemMeta(meta);
+        return rendered;
+    }
+
     public enum Type {
         MAIN, BLOCKS, DECORS, ITEMS
     }
+
+    /**
+     * Immutable view model of the shaped recipe, shown in the menu
+     *
+     * @param type   The type of the recipe
+     * @param key    The key of the recipe
+     * @param result The result item, it must not be modified
+     * @param grid   The ingredients by their slots in the craft inventory, they
+     *               must not be modified
+     */
+    public record RecipeView(
+            @NotNull Type type,
+            @NotNull NamespacedKey key,
+            @NotNull ItemStack result,
+            @NotNull @Unmodifiable Int2ObjectMap<ItemStack> grid
+    ) {
+
+        /**
+         * Compiles the view model of the shaped recipe
+         *
+         * @param type   The type of the recipe
+         * @param recipe The shaped recipe
+         * @return The view model of the recipe
+         */
+        @SuppressWarnings("deprecation")
+        @Contract("_, _ -> new")
+        public static @NotNull RecipeView of(
+                final @NotNull Type type,
+                final @NotNull ShapedRecipe recipe
+        ) {
+            final String[] shapes = recipe.getShape();
+            final var ingredients = recipe.getIngredientMap();
+            final var grid = new Int2ObjectOpenHashMap<ItemStack>(GRID_SLOTS.length);
+            int i = 0;
+
+            for (
+                    final var shape
+                    : (
+                            shapes.length == 1
+                            ? new String[] { "   ", shapes[0], "   " }
+                            : shapes
+                    )
+            ) {
+                for (
+                        final var character
+                        : (
+                                shape.length() == 1 ? " " + shape + " "
+                                : shape.length() == 2 ? shape + " "
+                                : shape
+                        ).toCharArray()
+                ) {
+                    final ItemStack ingredient = ingredients.get(character);
+
+                    if (
+                            ingredient != null
+                            && i < GRID_SLOTS.length
+                    ) {
+                        grid.put(GRID_SLOTS[i], ingredient.clone());
+                    }
+
+                    i++;
+                }
+            }
+
+            return new RecipeView(
+                    type,
+                    recipe.getKey(),
+                    recipe.getResult(),
+                    Int2ObjectMaps.unmodifiable(grid)
+            );
+        }
+
+        /**
+         * @return The lowercase keys of the recipe, its result and ingredients
+         *         to search the recipe by
+         */
+        @Contract(" -> new")
+        public @NotNull Set<String> searchKeys() {
+            final var keys = new ObjectOpenHashSet<String>();
+
+            addKey(keys, this.key);
+            addItemKeys(keys, this.result);
+
+            for (final var ingredient : this.grid.values()) {
+                addItemKeys(keys, ingredient);
+            }
+
+            return keys;
+        }
+
+        private static void addItemKeys(
+                final @NotNull Set<String> keys,
+                final @NotNull ItemStack item
+        ) {
+            final CustomIdentity identity = CustomIdentity.of(item);
+
+            addKey(keys, item.getType().getKey());
+
+            for (
+                    final var key
+                    : new String[] {
+                            identity.getBlockKey(),
+                            identity.getDecorKey(),
+                            identity.getItemKey()
+                    }
+            ) {
+                if (key != null) {
+                    keys.add(key.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        private static void addKey(
+                final @NotNull Set<String> keys,
+                final @NotNull NamespacedKey key
+        ) {
+            keys.add(key.toString().toLowerCase(Locale.ROOT));
+            keys.add(key.getKey().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record Snapshot(
+            @NotNull Locale defaultLocale,
+            @NotNull Map<Type, List<RecipeView>> recipes,
+            @NotNull Map<Locale, Map<Type, ElementPagedInventory>> inventories,
+            @NotNull Map<String, List<RecipeView>> index
+    ) {
+        static final Snapshot EMPTY = new Snapshot(Locale.ROOT, Map.of(), Map.of(), Map.of());
+    }
 }
@@ -7,6 +7,7 @@ import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.custom.item.renameable.RenameCollection;
 import com.minersstudios.whomine.custom.item.renameable.RenameableItem;
 import com.minersstudios.whomine.custom.item.renameable.RenameableItemRegistry;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -21,10 +22,11 @@ import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import static com.minersstudios.whomine.inventory.InventoryButton.playClickSound;
@@ -37,11 +39,21 @@ public final class RenamesMenu {
     private static final int CURRENT_RENAMEABLE_ITEM_SLOT = 20;
     private static final int CURRENT_RENAMED_ITEM_SLOT = 24;
     private static final int RED_CROSS_SLOT = 22;
+    private static final long ANIMATION_PERIOD = 25L;
+    private static final int MAX_RENAMED_FRAMES = 256;
 
     private static final ItemStack RED_CROSS_ITEM;
 
+    private static final InventoryButton PREVIOUS_PAGE_BUTTON;
+    private static final InventoryButton PREVIOUS_PAGE_BUTTON_EMPTY;
+    private static final InventoryButton NEXT_PAGE_BUTTON;
+    private static final InventoryButton NEXT_PAGE_BUTTON_EMPTY;
+    private static final InventoryButton BACK_BUTTON;
+
     private static final ElementPagedInventory INVENTORY;
 
+    private static volatile Map<String, InventoryButton> buttonMap = Map.of();
+
     static {
         final Component previousButtonComponent = Translations.MENU_RENAMES_BUTTON_PREVIOUS_PAGE.asComponent().style(ChatUtils.DEFAULT_STYLE);
         final Component nextButtonComponent = Translations.MENU_RENAMES_BUTTON_NEXT_PAGE.asComponent().style(ChatUtils.DEFAULT_STYLE);
@@ -82,7 +94,7 @@ public final class RenamesMenu {
         redCrossMeta.setCustomModelData(5003);
         RED_CROSS_ITEM.setItemMeta(redCrossMeta);
 
-        final InventoryButton previousPageButton = new InventoryButton(previousPageItem, (event, customInventory) -> {
+        PREVIOUS_PAGE_BUTTON = new InventoryButton(previousPageItem, (event, customInventory) -> {
             final PagedCustomInventory paged = (PagedCustomInventory) customInventory;
             final Player player = (Player) event.getWhoClicked();
             final CustomInventory previousPage = paged.getPage(paged.getPreviousPageIndex());
@@ -92,9 +104,9 @@ public final class RenamesMenu {
                 playClickSound(player);
             }
         });
-        final InventoryButton previousPageButtonEmpty = previousPageButton.clone().item(previousPageEmptyItem);
+        PREVIOUS_PAGE_BUTTON_EMPTY = PREVIOUS_PAGE_BUTTON.clone().item(previousPageEmptyItem);
 
-        final InventoryButton nextButton = new InventoryButton(nextPageItem, (event, customInventory) -> {
+        NEXT_PAGE_BUTTON = new InventoryButton(nextPageItem, (event, customInventory) -> {
             final PagedCustomInventory paged = (PagedCustomInventory) customInventory;
             final Player player = (Player) event.getWhoClicked();
             final CustomInventory nextPage = paged.getPage(paged.getNextPageIndex());
@@ -104,9 +116,9 @@ public final class RenamesMenu {
                 playClickSound(player);
             }
         });
-        final InventoryButton nextButtonEmpty = nextButton.clone().item(nextPageEmptyItem);
+        NEXT_PAGE_BUTTON_EMPTY = NEXT_PAGE_BUTTON.clone().item(nextPageEmptyItem);
 
-        final InventoryButton backButton = new InventoryButton()
+        BACK_BUTTON = new InventoryButton()
                 .clickAction((event, customInventory) -> {
                     final Player player = (Player) event.getWhoClicked();
 
@@ -114,32 +126,12 @@ public final class RenamesMenu {
                     playClickSound(player);
                 });
 
-        INVENTORY = CustomInventory
-                .elementPaged(
-                        Translations.MENU_RENAMES_TITLE.asTranslatable().style(ChatUtils.DEFAULT_STYLE),
-                        5,
-                        IntStream.range(0, 36).toArray()
-                )
-                .staticButtonAt(
-                        36,
-                        inventory -> inventory.getPreviousPageIndex() == -1 ? previousPageButtonEmpty : previousPageButton
-                )
-                .staticButtonAt(37, i -> previousPageButtonEmpty)
-                .staticButtonAt(38, i -> previousPageButtonEmpty)
-                .staticButtonAt(39, i -> previousPageButtonEmpty)
-                .staticButtonAt(QUIT_RENAMES_BUTTON_SLOT, i -> backButton)
-                .staticButtonAt(
-                        41,
-                        inventory -> inventory.getNextPageIndex() == -1 ? nextButtonEmpty : nextButton
-                )
-                .staticButtonAt(42, i -> nextButtonEmpty)
-                .staticButtonAt(43, i -> nextButtonEmpty)
-                .staticButtonAt(44, i -> nextButtonEmpty)
-                .build();
+        INVENTORY = createInventory();
     }
 
     public static void update(final @NotNull WhoMine plugin) {
         final var elements = new ObjectArrayList<InventoryButton>();
+        final var buttons = new Object2ObjectOpenHashMap<String, InventoryButton>();
 
         for (final var renameableItem : plugin.getCache().getRenameableMenuItems()) {
             final RenameCollection renameCollection = renameableItem.getRenames();
@@ -149,11 +141,18 @@ public final class RenamesMenu {
 
             assert resultItem != null;
 
+            if (renameableItemStacks.isEmpty()) {
+                continue;
+            }
+
             for (final var rename : renameCollection.renames()) {
                 renames.add(ChatUtils.normalize(rename));
             }
 
-            elements.add(new InventoryButton()
+            final MenuAnimator.Frames renameableFrames = MenuAnimator.frames(renameableItemStacks);
+            final MenuAnimator.Frames renamedFrames = createRenamedFrames(resultItem, renameableItemStacks, renames);
+
+            final InventoryButton button = new InventoryButton()
             .item(resultItem)
             .clickAction((buttonEvent, inventory) -> {
                 if (buttonEvent.getClick().isCreativeAction()) {
@@ -167,8 +166,8 @@ public final class RenamesMenu {
                                 5
                         );
 
-                renameInventory.setItem(RENAMEABLE_ITEM_SLOT, renameableItemStacks.get(0));
-                renameInventory.setItem(RENAMED_ITEM_SLOT, resultItem);
+                renameInventory.setItem(RENAMEABLE_ITEM_SLOT, renameableFrames.get(0));
+                renameInventory.setItem(RENAMED_ITEM_SLOT, renamedFrames.get(0));
                 renameInventory.buttonAt(
                         QUIT_RENAME_BUTTON_SLOT,
                         new InventoryButton()
@@ -178,57 +177,6 @@ public final class RenamesMenu {
                         })
                 );
 
-                if (renameableItemStacks.size() > 1) {
-                    new BukkitRunnable() {
-                        int index = 0;
-
-                        @Override
-                        public void run() {
-                            if (!player.getOpenInventory().getTopInventory().equals(renameInventory)) {
-                                this.cancel();
-                                return;
-                            }
-
-                            final ItemStack newRenameable = renameableItemStacks.get(this.index);
-
-                            resultItem.setType(newRenameable.getType());
-                            renameInventory.setItem(RENAMEABLE_ITEM_SLOT, newRenameable);
-                            renameInventory.setItem(RENAMED_ITEM_SLOT, resultItem);
-
-                            this.index++;
-
-                            if (this.index + 1 > renameableItemStacks.size()) {
-                                this.index = 0;
-                            }
-                        }
-                    }.runTaskTimer(plugin, 0L, 25L);
-                }
-
-                if (renames.size() > 1) {
-                    final ItemMeta meta = resultItem.getItemMeta();
-
-                    new BukkitRunnable() {
-                        int index = 0;
-
-                        @Override
-                        public void run() {
-                            if (!player.getOpenInventory().getTopInventory().equals(renameInventory)) {
-                                this.cancel();
-                                return;
-                            }
-
-                            meta.displayName(ChatUtils.createDefaultStyledText(renames.get(this.index)));
-                            resultItem.setItemMeta(meta);
-                            renameInventory.setItem(RENAMED_ITEM_SLOT, resultItem);
-                            this.index++;
-
-                            if (this.index + 1 > renames.size()) {
-                                this.index = 0;
-                            }
-                        }
-                    }.runTaskTimer(plugin, 0L, 25L);
-                }
-
                 renameInventory.closeAction((e, customInventory) -> {
                     final ItemStack itemStack = customInventory.getItem(CURRENT_RENAMEABLE_ITEM_SLOT);
 
@@ -248,8 +196,8 @@ public final class RenamesMenu {
                     final boolean hasExp = player.getLevel() >= 1 || player.getGameMode() == GameMode.CREATIVE;
 
                     if (slot == CURRENT_RENAMEABLE_ITEM_SLOT) {
-                        final ItemStack secondItem = renameInventory.getItem(RENAMED_ITEM_SLOT);
-                        assert secondItem != null;
+                        final int frame = plugin.getMenuAnimator().frameIndex(player, RENAMED_ITEM_SLOT);
+                        final ItemStack secondItem = renamedFrames.get(Math.max(0, frame));
                         final Component displayName = secondItem.getItemMeta().displayName();
                         assert displayName != null;
                         final String renameText = ChatUtils.serializePlainComponent(displayName);
@@ -298,18 +246,121 @@ public final class RenamesMenu {
                     );
                 });
 
+                final MenuAnimator animator = plugin.getMenuAnimator();
+
                 player.openInventory(renameInventory);
+                animator.animate(player, renameInventory, RENAMEABLE_ITEM_SLOT, renameableFrames, ANIMATION_PERIOD);
+                animator.animate(player, renameInventory, RENAMED_ITEM_SLOT, renamedFrames, ANIMATION_PERIOD);
                 playClickSound(player);
-            }));
+            });
+
+            elements.add(button);
+            buttons.put(renameableItem.getKey(), button);
         }
 
         INVENTORY.elements(elements);
+        buttonMap = Map.copyOf(buttons);
     }
 
     public static void open(final @NotNull Player player) {
         INVENTORY.open(player);
     }
 
+    /**
+     * Opens the menu with only the renameable items, which have any rename
+     * starting with the given query (case-insensitive)
+     *
+     * @param player The player to open the menu for
+     * @param query  The search query, if it is null or blank, the full menu is
+     *               opened
+     * @see RenameableItemRegistry#search(String)
+     */
+    public static void open(
+            final @NotNull Player player,
+            final @Nullable String query
+    ) {
+        if (ChatUtils.isBlank(query)) {
+            open(player);
+            return;
+        }
+
+        final var buttons = buttonMap;
+        final var elements = new ObjectArrayList<InventoryButton>();
+
+        for (final var renameableItem : RenameableItemRegistry.search(query)) {
+            final InventoryButton button = buttons.get(renameableItem.getKey());
+
+            if (button != null) {
+                elements.add(button);
+            }
+        }
+
+        createInventory().elements(elements).open(player);
+    }
+
+    private static @NotNull ElementPagedInventory createInventory() {
+        return CustomInventory
+                .elementPaged(
+                        Translations.MENU_RENAMES_TITLE.asTranslatable().style(ChatUtils.DEFAULT_STYLE),
+                        5,
+                        IntStream.range(0, 36).toArray()
+                )
+                .staticButtonAt(
+                        36,
+                        inventory -> inventory.getPreviousPageIndex() == -1 ? PREVIOUS_PAGE_BUTTON_EMPTY : PREVIOUS_PAGE_BUTTON
+                )
+                .staticButtonAt(37, i -> PREVIOUS_PAGE_BUTTON_EMPTY)
+                .staticButtonAt(38, i -> PREVIOUS_PAGE_BUTTON_EMPTY)
+                .staticButtonAt(39, i -> PREVIOUS_PAGE_BUTTON_EMPTY)
+                .staticButtonAt(QUIT_RENAMES_BUTTON_SLOT, i -> BACK_BUTTON)
+                .staticButtonAt(
+                        41,
+                        inventory -> inventory.getNextPageIndex() == -1 ? NEXT_PAGE_BUTTON_EMPTY : NEXT_PAGE_BUTTON
+                )
+                .staticButtonAt(42, i -> NEXT_PAGE_BUTTON_EMPTY)
+                .staticButtonAt(43, i -> NEXT_PAGE_BUTTON_EMPTY)
+                .staticButtonAt(44, i -> NEXT_PAGE_BUTTON_EMPTY)
+                .build();
+    }
+
+    private static @NotNull MenuAnimator.Frames createRenamedFrames(
+            final @NotNull ItemStack resultItem,
+            final @NotNull List<ItemStack> renameableItems,
+            final @NotNull List<String> renames
+    ) {
+        final int itemCount = Math.max(1, renameableItems.size());
+        final int renameCount = Math.max(1, renames.size());
+        int gcd = itemCount;
+
+        for (int b = renameCount; b != 0;) {
+            final int remainder = gcd % b;
+            gcd = b;
+            b = remainder;
+        }
+
+        final int frameCount = (int) Math.min((long) itemCount / gcd * renameCount, MAX_RENAMED_FRAMES);
+        final var frames = new ObjectArrayList<ItemStack>(frameCount);
+
+        for (int i = 0; i < frameCount; ++i) {
+            final ItemStack frame = resultItem.clone();
+
+            if (renameableItems.size() > 1) {
+                frame.setType(renameableItems.get(i % itemCount).getType());
+            }
+
+            if (renames.size() > 1) {
+                final ItemMeta meta = frame.getItemMeta();
+
+                meta.displayName(ChatUtils.createDefaultStyledText(renames.get(i % renameCount)));
+                frame.setItemMeta(meta);
+            }
+
+            frames.add(frame);
+        }
+
+        return MenuAnimator.frames(frames);
+    }
+
     private static void createRenamedItem(
             final @Nullable ItemStack itemStack,
             final @NotNull Inventory inventory,
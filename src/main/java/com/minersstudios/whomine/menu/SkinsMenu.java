@@ -200,7 +200,6 @@ public final class SkinsMenu extends AbstractInventoryHolder {
                             .args(Collections.emptyList());
                         }
 
-                        player.openInventory(inv);
                         InventoryButton.playClickSound(player);
                     })
             );
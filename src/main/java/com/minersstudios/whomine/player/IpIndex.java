@@ -0,0 +1,210 @@
+package com.minersstudios.whomine.player;
+
+import com.google.common.net.InetAddresses;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reverse index of the IP addresses of the players, which maps each IP
+ * address to the UUIDs of the players, who have joined from it.
+ * <br>
+ * The IP addresses are packed into primitives, an IPv4 address into an int
+ * and an IPv6 address into two longs, so the lookup neither parses the
+ * player files nor compares the strings. The IPv4-mapped IPv6 addresses are
+ * indexed as IPv4 addresses.
+ * <br>
+ * The index is maintained by the {@link PlayerStore} on each write of the
+ * player record, and is rebuilt from the store on open. This class is
+ * thread-safe, and its lookups never wait for the I/O of the store.
+ */
+public final class IpIndex {
+    private final Int2ObjectOpenHashMap<Set<UUID>> ipv4;
+    private final Object2ObjectOpenHashMap<Ipv6, Set<UUID>> ipv6;
+
+    /**
+     * Constructs a new empty IP index
+     */
+    public IpIndex() {
+        this.ipv4 = new Int2ObjectOpenHashMap<>();
+        this.ipv6 = new Object2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * @return The number of the indexed IP addresses
+     */
+    public synchronized int size() {
+        return this.ipv4.size() + this.ipv6.size();
+    }
+
+    /**
+     * Adds the player to the IP address
+     *
+     * @param ip   The IP address
+     * @param uuid The UUID of the player
+     * @return True if the player was added, or false if the IP address is
+     *         not valid, or the player was already added to it
+     */
+    @Contract("null, _ -> false")
+    public synchronized boolean add(
+            final @Nullable String ip,
+            final @NotNull UUID uuid
+    ) {
+        final InetAddress address = parse(ip);
+
+        if (address == null) {
+            return false;
+        }
+
+        final byte[] bytes = address.getAddress();
+
+        return address instanceof Inet4Address
+                ? this.ipv4.computeIfAbsent(ByteBuffer.wrap(bytes).getInt(), key -> new ObjectArraySet<>()).add(uuid)
+                : this.ipv6.computeIfAbsent(Ipv6.of(bytes), key -> new ObjectArraySet<>()).add(uuid);
+    }
+
+    /**
+     * Removes the player from the IP address
+     *
+     * @param ip   The IP address
+     * @param uuid The UUID of the player
+     * @return True if the player was removed
+     */
+    @Contract("null, _ -> false")
+    public synchronized boolean remove(
+            final @Nullable String ip,
+            final @NotNull UUID uuid
+    ) {
+        final InetAddress address = parse(ip);
+
+        if (address == null) {
+            return false;
+        }
+
+        final byte[] bytes = address.getAddress();
+
+        if (address instanceof Inet4Address) {
+            final int key = ByteBuffer.wrap(bytes).getInt();
+            final Set<UUID> uuids = this.ipv4.get(key);
+
+            if (
+                    uuids == null
+                    || !uuids.remove(uuid)
+            ) {
+                return false;
+            }
+
+            if (uuids.isEmpty()) {
+                this.ipv4.remove(key);
+            }
+        } else {
+            final Ipv6 key = Ipv6.of(bytes);
+            final Set<UUID> uuids = this.ipv6.get(key);
+
+            if (
+                    uuids == null
+                    || !uuids.remove(uuid)
+            ) {
+                return false;
+            }
+
+            if (uuids.isEmpty()) {
+                this.ipv6.remove(key);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param ip The IP address
+     * @return An unmodifiable copy of the UUIDs of the players, who have
+     *         joined from the IP address
+     */
+    public synchronized @NotNull @Unmodifiable Set<UUID> get(final @Nullable String ip) {
+        final Set<UUID> uuids = this.lookup(parse(ip));
+
+        return uuids == null
+                ? Collections.emptySet()
+                : Set.copyOf(uuids);
+    }
+
+    /**
+     * @param ips  The IP addresses of the player
+     * @param uuid The UUID of the player
+     * @return An unmodifiable set of the UUIDs of the other players, who have
+     *         joined from any of the IP addresses
+     */
+    public synchronized @NotNull @Unmodifiable Set<UUID> getAlts(
+            final @NotNull Collection<String> ips,
+            final @NotNull UUID uuid
+    ) {
+        final var alts = new ObjectOpenHashSet<UUID>();
+
+        for (final var ip : ips) {
+            final Set<UUID> uuids = this.lookup(parse(ip));
+
+            if (uuids != null) {
+                alts.addAll(uuids);
+            }
+        }
+
+        alts.remove(uuid);
+        return Collections.unmodifiableSet(alts);
+    }
+
+    /**
+     * Removes all IP addresses from the index
+     */
+    public synchronized void clear() {
+        this.ipv4.clear();
+        this.ipv6.clear();
+    }
+
+    private @Nullable Set<UUID> lookup(final @Nullable InetAddress address) {
+        if (address == null) {
+            return null;
+        }
+
+        final byte[] bytes = address.getAddress();
+
+        return address instanceof Inet4Address
+                ? this.ipv4.get(ByteBuffer.wrap(bytes).getInt())
+                : this.ipv6.get(Ipv6.of(bytes));
+    }
+
+    private static @Nullable InetAddress parse(final @Nullable String ip) {
+        if (
+                ip == null
+                || !InetAddresses.isInetAddress(ip)
+        ) {
+            return null;
+        }
+
+        return InetAddresses.forString(ip);
+    }
+
+    private record Ipv6(
+            long high,
+            long low
+    ) {
+
+        static @NotNull Ipv6 of(final byte @NotNull [] bytes) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new Ipv6(buffer.getLong(), buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.minersstudios.whomine.player;
+
+import net.minecraft.nbt.CompoundTag;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.UUID;
+
+/**
+ * Read-only snapshot of the offline player data, loaded from the player's
+ * ".dat" file by the {@link OfflinePlayerDataService}.
+ * <br>
+ * The snapshot contains only the inventory, the location, the health and the
+ * air of the player. The changed copies are made by the {@code with*}
+ * methods, and they are written back by the
+ * {@link OfflinePlayerDataService#save(OfflinePlayerData) service}, the
+ * unchanged snapshots are never written. A snapshot is saved only if the file
+ * was not changed since it was loaded.
+ * <br>
+ * The inventory contents are in the same order as the
+ * {@link org.bukkit.inventory.PlayerInventory#getContents() contents} of the
+ * online player's inventory, the items must not be modified.
+ */
+@Immutable
+public final class OfflinePlayerData {
+    private final UUID uuid;
+    private final CompoundTag tag;
+    private final long fileTime;
+    private final long fileSize;
+    private final ItemStack[] inventory;
+    private final UUID worldUUID;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final double health;
+    private final int air;
+    private final boolean modified;
+
+    /** The size of the inventory contents */
+    public static final int INVENTORY_SIZE = 41;
+
+    OfflinePlayerData(
+            final @NotNull UUID uuid,
+            final @NotNull CompoundTag tag,
+            final long fileTime,
+            final long fileSize,
+            final @Nullable ItemStack @NotNull [] inventory,
+            final @Nullable UUID worldUUID,
+            final double x,
+            final double y,
+            final double z,
+            final float yaw,
+            final float pitch,
+            final double health,
+            final int air,
+            final boolean modified
+    ) {
+        this.uuid = uuid;
+        this.tag = tag;
+        this.fileTime = fileTime;
+        this.fileSize = fileSize;
+        this.inventory = inventory;
+        this.worldUUID = worldUUID;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.health = health;
+        this.air = air;
+        this.modified = modified;
+    }
+
+    /**
+     * @return The UUID of the player
+     */
+    public @NotNull UUID getUniqueId() {
+        return this.uuid;
+    }
+
+    /**
+     * @return A copy of the inventory contents of the player
+     */
+    @Contract(" -> new")
+    public @Nullable ItemStack @NotNull [] getInventory() {
+        return this.inventory.clone();
+    }
+
+    /**
+     * @param slot The slot of the inventory contents
+     * @return The item in the slot, or null if the slot is empty
+     */
+    public @Nullable ItemStack getItem(final @Range(from = 0, to = INVENTORY_SIZE - 1) int slot) {
+        return this.inventory[slot];
+    }
+
+    /**
+     * @return The UUID of the world, the player is located in, or null if the
+     *         player data has no world
+     */
+    public @Nullable UUID getWorldUUID() {
+        return this.worldUUID;
+    }
+
+    /**
+     * @return The location of the player, or null if the world of the player
+     *         is not loaded
+     */
+    public @Nullable Location getLocation() {
+        final World world =
+                this.worldUUID == null
+                ? null
+                : Bukkit.getWorld(this.worldUUID);
+
+        return world == null
+                ? null
+                : new Location(world, this.x, this.y, this.z, this.yaw, this.pitch);
+    }
+
+    /**
+     * @return The health of the player
+     */
+    public double getHealth() {
+        return this.health;
+    }
+
+    /**
+     * @return The remaining air of the player
+     */
+    public int getAir() {
+        return this.air;
+    }
+
+    /**
+     * @return True if this snapshot was changed after it was loaded
+     */
+    public boolean isModified() {
+        return this.modified;
+    }
+
+    /**
+     * @param inventory The new inventory contents
+     * @return A changed copy of this snapshot with the specified inventory
+     * @throws IllegalArgumentException If the inventory size is not
+     *                                  {@link #INVENTORY_SIZE}
+     */
+    @Contract("_ -> new")
+    public @NotNull OfflinePlayerData withInventory(final @Nullable ItemStack @NotNull [] inventory) throws IllegalArgumentException {
+        if (inventory.length != INVENTORY_SIZE) {
+            throw new IllegalArgumentException("Inventory size must be " + INVENTORY_SIZE);
+        }
+
+        final var copy = new ItemStack[INVENTORY_SIZE];
+
+        for (int i = 0; i < INVENTORY_SIZE; ++i) {
+            final ItemStack item = inventory[i];
+            copy[i] = item == null ? null : item.clone();
+        }
+
+        return new OfflinePlayerData(
+                this.uuid, this.tag, this.fileTime, this.fileSize,
+                copy,
+                this.worldUUID, this.x, this.y, this.z, this.yaw, this.pitch,
+                this.health, this.air,
+                true
+        );
+    }
+
+    /**
+     * @param location The new location
+     * @return A changed copy of this snapshot with the specified location
+     */
+    @Contract("_ -> new")
+    public @NotNull OfflinePlayerData withLocation(final @NotNull Location location) {
+        return new OfflinePlayerData(
+                this.uuid, this.tag, this.fileTime, this.fileSize,
+                this.inventory,
+                location.getWorld().getUID(),
+                location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch(),
+                this.health, this.air,
+                true
+        );
+    }
+
+    /**
+     * @param health The new health
+     * @return A changed copy of this snapshot with the specified health
+     */
+    @Contract("_ -> new")
+    public @NotNull OfflinePlayerData withHealth(final double health) {
+        return new OfflinePlayerData(
+                this.uuid, this.tag, this.fileTime, this.fileSize,
+                this.inventory,
+                this.worldUUID, this.x, this.y, this.z, this.yaw, this.pitch,
+                health, this.air,
+                true
+        );
+    }
+
+    /**
+     * @param air The new remaining air
+     * @return A changed copy of this snapshot with the specified air
+     */
+    @Contract("_ -> new")
+    public @NotNull OfflinePlayerData withAir(final int air) {
+        return new OfflinePlayerData(
+                this.uuid, this.tag, this.fileTime, this.fileSize,
+                this.inventory,
+                this.worldUUID, this.x, this.y, this.z, this.yaw, this.pitch,
+                this.health, air,
+                true
+        );
+    }
+
+    @NotNull CompoundTag tag() {
+        return this.tag;
+    }
+
+    long fileTime() {
+        return this.fileTime;
+    }
+
+    long fileSize() {
+        return this.fileSize;
+    }
+
+    double x() {
+        return this.x;
+    }
+
+    double y() {
+        return this.y;
+    }
+
+    double z() {
+        return this.z;
+    }
+
+    float yaw() {
+        return this.yaw;
+    }
+
+    float pitch() {
+        return this.pitch;
+    }
+}
@@ -0,0 +1,367 @@
+package com.minersstudios.whomine.player;
+
+import com.minersstudios.whomine.WhoMine;
+import net.minecraft.Util;
+import net.minecraft.nbt.*;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.datafix.DataFixTypes;
+import net.minecraft.util.datafix.DataFixers;
+import net.minecraft.world.level.storage.LevelResource;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Non-blocking service to read and write the offline player data.
+ * <br>
+ * The [uuid].dat file in [level-name]/playerdata folder is read, data-fixed
+ * and parsed on the I/O thread of the service into a read-only
+ * {@link OfflinePlayerData snapshot}, so no fake {@code ServerPlayer} is
+ * constructed and the main thread is not blocked by the disk. The changed
+ * snapshots are applied to a copy of the loaded tag on the main thread and
+ * written on the I/O thread, the unchanged snapshots are never written.
+ * The modification time and the size of the file are kept in the snapshot,
+ * and a snapshot is not written over a file, which was changed since it was
+ * loaded, for example, by the server or by another save.
+ * <br>
+ * All reads and writes are run on a single thread, so they are done in the
+ * order they were requested, and a read, requested after a write, always
+ * sees the written data.
+ */
+public final class OfflinePlayerDataService {
+    private final WhoMine plugin;
+    private final ExecutorService executor;
+
+    private static final String DAT_EXTENSION = ".dat";
+    private static final String DAT_OLD_EXTENSION = ".dat_old";
+    private static final String TMP_EXTENSION = ".dat.tmp";
+    private static final long SHUTDOWN_TIMEOUT = 10L;
+
+    //<editor-fold desc="Tags" defaultstate="collapsed">
+    private static final String INVENTORY_TAG = "Inventory";
+    private static final String SLOT_TAG = "Slot";
+    private static final String POS_TAG = "Pos";
+    private static final String ROTATION_TAG = "Rotation";
+    private static final String HEALTH_TAG = "Health";
+    private static final String AIR_TAG = "Air";
+    private static final String WORLD_UUID_MOST_TAG = "WorldUUIDMost";
+    private static final String WORLD_UUID_LEAST_TAG = "WorldUUIDLeast";
+    //</editor-fold>
+
+    //<editor-fold desc="Inventory slots" defaultstate="collapsed">
+    private static final int STORAGE_SIZE = 36;
+    private static final int ARMOR_SLOT_OFFSET = 100;
+    private static final int ARMOR_INDEX_OFFSET = 36;
+    private static final int ARMOR_SIZE = 4;
+    private static final int OFF_HAND_SLOT = -106;
+    private static final int OFF_HAND_INDEX = 40;
+    //</editor-fold>
+
+    /**
+     * Constructs a new offline player data service
+     *
+     * @param plugin The plugin instance
+     */
+    public OfflinePlayerDataService(final @NotNull WhoMine plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "WhoMine-Offline-Player-Data");
+
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    /**
+     * Loads the offline player data snapshot
+     *
+     * @param offlinePlayer The offline player
+     * @return A future, which completes with the snapshot, or with null if
+     *         the player has no data file
+     * @see #load(UUID)
+     */
+    public @NotNull CompletableFuture<OfflinePlayerData> load(final @NotNull OfflinePlayer offlinePlayer) {
+        return this.load(offlinePlayer.getUniqueId());
+    }
+
+    /**
+     * Loads the offline player data snapshot from the [uuid].dat file, in
+     * [level-name]/playerdata folder.
+     * <br>
+     * <b>NOTE:</b> The snapshot of the online player reflects its last saved
+     * state, not the current one.
+     *
+     * @param uuid The UUID of the player
+     * @return A future, which completes with the snapshot, or with null if
+     *         the player has no data file
+     */
+    public @NotNull CompletableFuture<OfflinePlayerData> load(final @NotNull UUID uuid) {
+        final Path folder = getPlayerDataFolder();
+
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return read(uuid, folder);
+                        } catch (final IOException e) {
+                            throw new CompletionException(e);
+                        }
+                    },
+                    this.executor
+            );
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Saves the changed offline player data snapshot to the [uuid].dat file,
+     * in [level-name]/playerdata folder.
+     * <br>
+     * The changes are applied on the main thread, and the file is written on
+     * the I/O thread. The previous file is kept as [uuid].dat_old.
+     *
+     * @param data The snapshot to save
+     * @return A future, which completes with true if the snapshot was
+     *         written, or with false if it was not changed, and completes
+     *         exceptionally with an {@link IllegalStateException} if the
+     *         player is online, or the file was changed since the snapshot
+     *         was loaded
+     */
+    public @NotNull CompletableFuture<Boolean> save(final @NotNull OfflinePlayerData data) {
+        if (!data.isModified()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        final Path folder = getPlayerDataFolder();
+
+        return CompletableFuture
+                .supplyAsync(() -> applyChanges(data), this.plugin::runTask)
+                .thenApplyAsync(
+                        tag -> {
+                            try {
+                                checkUnchanged(data, folder);
+                                write(data.getUniqueId(), folder, tag);
+                                return true;
+                            } catch (final IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        },
+                        this.executor
+                );
+    }
+
+    /**
+     * Stops the service, waiting for the pending writes to complete
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+
+        try {
+            if (!this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                this.plugin.getLogger().warning("Offline player data was not saved in " + SHUTDOWN_TIMEOUT + " seconds");
+                this.executor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static @NotNull CompoundTag applyChanges(final @NotNull OfflinePlayerData data) throws IllegalStateException {
+        final UUID uuid = data.getUniqueId();
+
+        if (Bukkit.getPlayer(uuid) != null) {
+            throw new IllegalStateException("Player " + uuid + " is online, the offline data can't be saved");
+        }
+
+        final CompoundTag tag = data.tag().copy();
+        final ListTag inventory = new ListTag();
+
+        for (int i = 0; i < OfflinePlayerData.INVENTORY_SIZE; ++i) {
+            final ItemStack item = data.getItem(i);
+
+            if (
+                    item == null
+                    || item.getType().isAir()
+            ) {
+                continue;
+            }
+
+            final CompoundTag itemTag = CraftItemStack.asNMSCopy(item).save(new CompoundTag());
+
+            itemTag.putByte(SLOT_TAG, (byte) toSlot(i));
+            inventory.add(itemTag);
+        }
+
+        tag.put(INVENTORY_TAG, inventory);
+        tag.put(POS_TAG, newDoubleList(data.x(), data.y(), data.z()));
+        tag.put(ROTATION_TAG, newFloatList(data.yaw(), data.pitch()));
+        tag.putFloat(HEALTH_TAG, (float) data.getHealth());
+        tag.putShort(AIR_TAG, (short) data.getAir());
+
+        final UUID worldUUID = data.getWorldUUID();
+
+        if (worldUUID != null) {
+            tag.putLong(WORLD_UUID_MOST_TAG, worldUUID.getMostSignificantBits());
+            tag.putLong(WORLD_UUID_LEAST_TAG, worldUUID.getLeastSignificantBits());
+        }
+
+        return tag;
+    }
+
+    private static @Nullable OfflinePlayerData read(
+            final @NotNull UUID uuid,
+            final @NotNull Path folder
+    ) throws IOException {
+        final Path file = folder.resolve(uuid + DAT_EXTENSION);
+        final BasicFileAttributes attributes;
+        final CompoundTag raw;
+
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            raw = NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+
+        final CompoundTag tag = DataFixTypes.PLAYER.updateToCurrentVersion(
+                DataFixers.getDataFixer(),
+                raw,
+                NbtUtils.getDataVersion(raw, -1)
+        );
+
+        NbtUtils.addCurrentDataVersion(tag);
+
+        final var inventory = new ItemStack[OfflinePlayerData.INVENTORY_SIZE];
+
+        for (final var element : tag.getList(INVENTORY_TAG, Tag.TAG_COMPOUND)) {
+            final CompoundTag itemTag = (CompoundTag) element;
+            final int index = toIndex(itemTag.getByte(SLOT_TAG));
+
+            if (index != -1) {
+                final var handle = net.minecraft.world.item.ItemStack.of(itemTag);
+
+                if (!handle.isEmpty()) {
+                    inventory[index] = CraftItemStack.asBukkitCopy(handle);
+                }
+            }
+        }
+
+        final ListTag pos = tag.getList(POS_TAG, Tag.TAG_DOUBLE);
+        final ListTag rotation = tag.getList(ROTATION_TAG, Tag.TAG_FLOAT);
+        final UUID worldUUID =
+                tag.contains(WORLD_UUID_MOST_TAG, Tag.TAG_LONG)
+                && tag.contains(WORLD_UUID_LEAST_TAG, Tag.TAG_LONG)
+                ? new UUID(tag.getLong(WORLD_UUID_MOST_TAG), tag.getLong(WORLD_UUID_LEAST_TAG))
+                : null;
+
+        return new OfflinePlayerData(
+                uuid, tag,
+                attributes.lastModifiedTime().toMillis(), attributes.size(),
+                inventory,
+                worldUUID,
+                pos.getDouble(0), pos.getDouble(1), pos.getDouble(2),
+                rotation.getFloat(0), rotation.getFloat(1),
+                tag.getFloat(HEALTH_TAG),
+                tag.getShort(AIR_TAG),
+                false
+        );
+    }
+
+    private static void checkUnchanged(
+            final @NotNull OfflinePlayerData data,
+            final @NotNull Path folder
+    ) throws IOException, IllegalStateException {
+        final Path file = folder.resolve(data.getUniqueId() + DAT_EXTENSION);
+        final BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (final NoSuchFileException e) {
+            throw new IllegalStateException("Player data file " + file + " was removed since it was loaded", e);
+        }
+
+        if (
+                attributes.lastModifiedTime().toMillis() != data.fileTime()
+                || attributes.size() != data.fileSize()
+        ) {
+            throw new IllegalStateException("Player data file " + file + " was changed since it was loaded");
+        }
+    }
+
+    private static void write(
+            final @NotNull UUID uuid,
+            final @NotNull Path folder,
+            final @NotNull CompoundTag tag
+    ) throws IOException {
+        final Path tmp = folder.resolve(uuid + TMP_EXTENSION);
+
+        Files.createDirectories(folder);
+        NbtIo.writeCompressed(tag, tmp);
+        Util.safeReplaceFile(
+                folder.resolve(uuid + DAT_EXTENSION),
+                tmp,
+                folder.resolve(uuid + DAT_OLD_EXTENSION)
+        );
+    }
+
+    private static @NotNull Path getPlayerDataFolder() {
+        return MinecraftServer.getServer().getWorldPath(LevelResource.PLAYER_DATA_DIR);
+    }
+
+    private static int toIndex(final int slot) {
+        if (slot >= 0 && slot < STORAGE_SIZE) {
+            return slot;
+        }
+
+        if (slot >= ARMOR_SLOT_OFFSET && slot < ARMOR_SLOT_OFFSET + ARMOR_SIZE) {
+            return slot - ARMOR_SLOT_OFFSET + ARMOR_INDEX_OFFSET;
+        }
+
+        return slot == OFF_HAND_SLOT ? OFF_HAND_INDEX : -1;
+    }
+
+    private static int toSlot(final int index) {
+        if (index < STORAGE_SIZE) {
+            return index;
+        }
+
+        return index == OFF_HAND_INDEX
+                ? OFF_HAND_SLOT
+                : index - ARMOR_INDEX_OFFSET + ARMOR_SLOT_OFFSET;
+    }
+
+    private static @NotNull ListTag newDoubleList(final double @NotNull ... values) {
+        final ListTag list = new ListTag();
+
+        for (final var value : values) {
+            list.add(DoubleTag.valueOf(value));
+        }
+
+        return list;
+    }
+
+    private static @NotNull ListTag newFloatList(final float @NotNull ... values) {
+        final ListTag list = new ListTag();
+
+        for (final var value : values) {
+            list.add(FloatTag.valueOf(value));
+        }
+
+        return list;
+    }
+}
@@ -9,29 +9,40 @@ import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import static com.minersstudios.whomine.locale.Translations.*;
 
 /**
  * Player file with player data, settings, etc.
- * All files stored in the "config/minersstudios/MSEssentials/players" folder.
+ * The player files are stored in the {@link PlayerStore}, the console file
+ * and the files, which are not migrated yet, are stored in the
+ * "config/minersstudios/MSEssentials/players" folder.
  * File name is player {@link UUID}.
  *
  * @see PlayerInfo
+ * @see PlayerStore
  */
 @SuppressWarnings("UnusedReturnValue")
 public final class PlayerFile {
     private final @NotNull WhoMine plugin;
+    private final @NotNull UUID uniqueId;
     private final @NotNull File file;
+    private final @Nullable PlayerStore store;
     private final @NotNull YamlConfiguration config;
+    private final @NotNull AtomicLong saveSequence;
+    private long savedSequence;
 
     private @NotNull PlayerName playerName;
     private @NotNull Pronouns pronouns;
@@ -49,12 +60,17 @@ public final class PlayerFile {
 
     private PlayerFile(
             final @NotNull WhoMine plugin,
+            final @NotNull UUID uniqueId,
             final @NotNull File file,
+            final @Nullable PlayerStore store,
             final @NotNull YamlConfiguration config
     ) {
         this.plugin = plugin;
+        this.uniqueId = uniqueId;
         this.file = file;
+        this.store = store;
         this.config = config;
+        this.saveSequence = new AtomicLong();
 
         this.playerName = PlayerName.create(
                 config.getString("name.nickname",   PLAYER_NAME_NICKNAME.asString()),
@@ -111,14 +127,19 @@ public final class PlayerFile {
             final @NotNull UUID uniqueId,
             final @Nullable String nickname
     ) {
+        final boolean isConsole = "$Console".equals(nickname);
         final File dataFile = new File(
                 plugin.getDataFolder(),
-                "players/" + ("$Console".equals(nickname) ? "console" : uniqueId) + ".yml"
+                "players/" + (isConsole ? "console" : uniqueId) + ".yml"
         );
+        final PlayerStore store = isConsole ? null : plugin.getPlayerStore();
+
         return new PlayerFile(
                 plugin,
+                uniqueId,
                 dataFile,
-                YamlConfiguration.loadConfiguration(dataFile)
+                store,
+                loadYaml(plugin, uniqueId, dataFile, store)
         );
     }
 
@@ -358,6 +379,37 @@ public final class PlayerFile {
         );
     }
 
+    private static @NotNull YamlConfiguration loadYaml(
+            final @NotNull WhoMine plugin,
+            final @NotNull UUID uniqueId,
+            final @NotNull File file,
+            final @Nullable PlayerStore store
+    ) {
+        if (
+                store != null
+                && store.isOpen()
+        ) {
+            try {
+                final String document = store.read(uniqueId);
+
+                if (document != null) {
+                    final YamlConfiguration config = new YamlConfiguration();
+
+                    config.loadFromString(document);
+                    return config;
+                }
+            } catch (final IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(
+                        Level.SEVERE,
+                        "Failed to load player file from the player store : " + uniqueId,
+                        e
+                );
+            }
+        }
+
+        return YamlConfiguration.loadConfiguration(file);
+    }
+
     private static void setLocation(
             final @NotNull ConfigurationSection section,
             final @Nullable Location location
@@ -373,12 +425,65 @@ public final class PlayerFile {
     }
 
     public boolean exists() {
-        return this.file.exists();
+        return this.store != null && this.store.contains(this.uniqueId)
+                || this.file.exists();
     }
 
+    /**
+     * Saves the player file on the calling thread
+     *
+     * @see #saveAsync()
+     */
     public void save() {
+        this.write(this.snapshot());
+    }
+
+    /**
+     * Takes a snapshot of the player file on the calling thread, and writes
+     * it asynchronously. The snapshots are never written in the reverse
+     * order, so an older snapshot never overwrites a newer one.
+     *
+     * @see #save()
+     */
+    public void saveAsync() {
+        final Snapshot snapshot = this.snapshot();
+
+        this.plugin.runTaskAsync(() -> this.write(snapshot));
+    }
+
+    private @NotNull Snapshot snapshot() {
+        return new Snapshot(
+                this.saveSequence.incrementAndGet(),
+                this.config.getString("name.nickname"),
+                List.copyOf(this.ipList),
+                this.firstJoin,
+                this.config.saveToString()
+        );
+    }
+
+    private synchronized void write(final @NotNull Snapshot snapshot) {
+        if (snapshot.sequence() <= this.savedSequence) {
+            return;
+        }
+
+        this.savedSequence = snapshot.sequence();
+
         try {
-            this.config.save(this.file);
+            if (
+                    this.store == null
+                    || !this.store.isOpen()
+            ) {
+                Files.createDirectories(this.file.toPath().toAbsolutePath().getParent());
+                Files.writeString(this.file.toPath(), snapshot.document(), StandardCharsets.UTF_8);
+            } else {
+                this.store.write(
+                        this.uniqueId,
+                        snapshot.nickname(),
+                        snapshot.ipList(),
+                        snapshot.firstJoin(),
+                        snapshot.document()
+                );
+            }
         } catch (final IOException e) {
             this.plugin.getLogger().log(
                     Level.SEVERE,
@@ -422,4 +527,12 @@ public final class PlayerFile {
 
         return skins;
     }
+
+    private record Snapshot(
+            long sequence,
+            @Nullable String nickname,
+            @NotNull List<String> ipList,
+            @NotNull Instant firstJoin,
+            @NotNull String document
+    ) {}
 }
@@ -8,6 +8,8 @@ import com.minersstudios.whomine.locale.Translations;
 import com.minersstudios.whomine.player.collection.MuteMap;
 import com.minersstudios.whomine.player.collection.PlayerInfoMap;
 import com.minersstudios.whomine.player.skin.Skin;
+import com.minersstudios.whomine.player.state.PlayerState;
+import com.minersstudios.whomine.player.state.PlayerStateKeys;
 import com.minersstudios.whomine.utility.MSLogger;
 import com.minersstudios.whomine.utility.BlockUtils;
 import com.minersstudios.whomine.utility.ChatUtils;
@@ -43,11 +45,13 @@ import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
@@ -82,6 +86,7 @@ public final class PlayerInfo {
     private Component grayIDGoldName;
     private Component grayIDGreenName;
     private BukkitTask joinTask;
+    private volatile PlayerState state;
 
     /**
      * Player info constructor
@@ -337,6 +342,15 @@ public final class PlayerInfo {
         return this.playerFile;
     }
 
+    /**
+     * @return An unmodifiable set of the UUIDs of the other players, who have
+     *         joined from any of the IP addresses of this player
+     * @see IpIndex#getAlts(java.util.Collection, UUID)
+     */
+    public @NotNull @Unmodifiable Set<UUID> getAlts() {
+        return this.plugin.getPlayerStore().getIpIndex().getAlts(this.playerFile.getIpList(), this.uuid);
+    }
+
     /**
      * @return Player's {@link PlayerSettings}
      */
@@ -360,6 +374,44 @@ public final class PlayerInfo {
         return this.server;
     }
 
+    /**
+     * @return The state of the online player, or null if the player is
+     *         offline
+     * @see #createState(Player)
+     */
+    public @Nullable PlayerState getState() {
+        return this.state;
+    }
+
+    /**
+     * Creates the state of the player in the
+     * {@link Cache#getPlayerStateMap() player state map}, if it does not
+     * exist, and attaches it to this player info, so it can be read without
+     * a map lookup. Called when the player joins the server.
+     *
+     * @param player The player who joined the server
+     * @return The state of the player
+     */
+    public @NotNull PlayerState createState(final @NotNull Player player) {
+        final PlayerState state = this.plugin.getCache().getPlayerStateMap().create(player);
+
+        this.state = state;
+        return state;
+    }
+
+    /**
+     * Detaches the state of the player from this player info and removes it
+     * from the {@link Cache#getPlayerStateMap() player state map}, cleaning up
+     * all its slots. Called when the player quits the server.
+     *
+     * @param player The player who quit the server
+     */
+    public void removeState(final @NotNull Player player) {
+        this.state = null;
+
+        this.plugin.getCache().getPlayerStateMap().remove(player);
+    }
+
     /**
      * @return Player's id, firstname and lastname with default style
      * @see PlayerName#createDefaultName(int)
@@ -494,7 +546,10 @@ public final class PlayerInfo {
                 armorStand.setCollidable(false);
                 armorStand.setSmall(true);
                 armorStand.addPassenger(player);
-                this.plugin.getCache().getSeats().put(player, armorStand);
+                final PlayerState state = this.createState(player);
+
+                state.remove(PlayerStateKeys.SEAT_YAW);
+                state.set(PlayerStateKeys.SEAT, armorStand);
             }
         );
 
@@ -532,7 +587,16 @@ public final class PlayerInfo {
             return;
         }
 
-        final ArmorStand armorStand = this.plugin.getCache().getSeats().remove(player);
+        final PlayerState state = this.state;
+        final ArmorStand armorStand =
+                state == null
+                ? null
+                : state.remove(PlayerStateKeys.SEAT);
+
+        if (armorStand == null) {
+            return;
+        }
+
         final Location playerLoc = player.getLocation();
         final Location getUpLocation = armorStand.getLocation().add(0.0d, 0.25d, 0.0d);
 
@@ -1165,6 +1229,12 @@ public final class PlayerInfo {
         
         banEntry.setExpiration(expiration);
         banEntry.save();
+
+        if (expiration == null) {
+            this.plugin.getCache().getBanExpiryQueue().cancel(this.uuid);
+        } else {
+            this.plugin.getCache().getBanExpiryQueue().schedule(this.uuid, expiration.toInstant());
+        }
     }
 
     /**
@@ -1203,6 +1273,7 @@ public final class PlayerInfo {
             }
 
             banList.addBan(this.profile, reason, Date.from(date), commandSender.getName());
+            this.plugin.getCache().getBanExpiryQueue().schedule(this.uuid, date);
             this.kick(
                     COMMAND_BAN_MESSAGE_RECEIVER_TITLE.asTranslatable(),
                     COMMAND_BAN_MESSAGE_RECEIVER_SUBTITLE.asTranslatable()
@@ -1236,6 +1307,7 @@ public final class PlayerInfo {
             }
 
             banList.pardon(this.profile);
+            this.plugin.getCache().getBanExpiryQueue().cancel(this.uuid);
             MSLogger.fine(
                     sender,
                     COMMAND_UNBAN_MESSAGE_SENDER.asTranslatable()
@@ -1330,9 +1402,9 @@ public final class PlayerInfo {
      * @return True, if the player is sitting
      */
     public boolean isSitting() {
-        final Player player = this.getOnlinePlayer();
-        return player != null
-                && this.plugin.getCache().getSeats().containsKey(player);
+        final PlayerState state = this.state;
+        return state != null
+                && state.get(PlayerStateKeys.SEAT) != null;
     }
 
     /**
@@ -1469,7 +1541,6 @@ public final class PlayerInfo {
             this.joinTask.cancel();
         }
 
-        this.plugin.getCache().getPlayerAnomalyActionMap().remove(player);
         this.savePlayerDataParams();
 
         if (!this.isInWorldDark()) {
@@ -1854,29 +1925,22 @@ public final class PlayerInfo {
      * player's file if the player is online and not in the {@link WorldDark}
      */
     public void savePlayerDataParams() {
-        final Player player = this.getOnlinePlayer();
-
-        if (
-                player == null
-                || this.isInWorldDark()
-        ) {
-            return;
+        if (this.setPlayerDataParams()) {
+            this.playerFile.save();
         }
+    }
 
-        final double health = player.getHealth();
-        final int air = player.getRemainingAir();
-
-        this.playerFile.setLastLeaveLocation(
-                player.isDead()
-                ? player.getRespawnLocation() != null
-                ? player.getRespawnLocation()
-                : this.plugin.getConfiguration().getSpawnLocation()
-                : player.getLocation()
-        );
-        this.playerFile.setGameMode(player.getGameMode());
-        this.playerFile.setHealth(health == 0.0d ? 20.0d : health);
-        this.playerFile.setAir(air == 0 && player.isDead() ? 300 : air);
-        this.playerFile.save();
+    /**
+     * Sets the player's health, air, game mode and last leave location to the
+     * player's file on the calling thread, and saves the file asynchronously
+     * if the player is online and not in the {@link WorldDark}
+     *
+     * @see PlayerFile#saveAsync()
+     */
+    public void savePlayerDataParamsAsync() {
+        if (this.setPlayerDataParams()) {
+            this.playerFile.saveAsync();
+        }
     }
 
     /**
@@ -1905,6 +1969,18 @@ public final class PlayerInfo {
         return PlayerUtils.loadPlayer(this.offlinePlayer);
     }
 
+    /**
+     * Loads the offline data snapshot of the player without blocking the
+     * main thread
+     *
+     * @return A future, which completes with the offline data snapshot, or
+     *         with null if the player has no data file
+     * @see OfflinePlayerDataService#load(UUID)
+     */
+    public @NotNull CompletableFuture<OfflinePlayerData> loadOfflineData() {
+        return this.plugin.getOfflinePlayerDataService().load(this.uuid);
+    }
+
     /**
      * Sets the player's skin, game mode, health and air. Also teleports the
      * player to the last leave location, and sends the join message to all
@@ -1951,4 +2027,30 @@ public final class PlayerInfo {
             }
         }
     }
+
+    private boolean setPlayerDataParams() {
+        final Player player = this.getOnlinePlayer();
+
+        if (
+                player == null
+                || this.isInWorldDark()
+        ) {
+            return false;
+        }
+
+        final double health = player.getHealth();
+        final int air = player.getRemainingAir();
+
+        this.playerFile.setLastLeaveLocation(
+                player.isDead()
+                ? player.getRespawnLocation() != null
+                ? player.getRespawnLocation()
+                : this.plugin.getConfiguration().getSpawnLocation()
+                : player.getLocation()
+        );
+        this.playerFile.setGameMode(player.getGameMode());
+        this.playerFile.setHealth(health == 0.0d ? 20.0d : health);
+        this.playerFile.setAir(air == 0 && player.isDead() ? 300 : air);
+        return true;
+    }
 }
@@ -0,0 +1,824 @@
+package com.minersstudios.whomine.player;
+
+import com.minersstudios.whomine.Config;
+import com.minersstudios.whomine.WhoMine;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Single-file store of the player records, which replaces the per-player
+ * YAML files in the "players" folder.
+ * <br>
+ * The store is an append-only log of the records. Each record starts with the
+ * fixed and indexed fields of the player (UUID, first join, nickname and IP
+ * list), followed by the full YAML document of the player file. On open, only
+ * the indexed fields are read into the in-memory columns, and the documents
+ * are skipped, so the UUID to offset index and the queries across all players
+ * ({@link #findByIp(String)}, {@link #findByNickname(String)}, etc.) never
+ * parse YAML. The IP addresses are also kept in the {@link IpIndex}, which is
+ * updated on each write. A document is read with a single positional read, when the
+ * player file is loaded.
+ * <br>
+ * A changed record is appended to the end of the store, and the space of the
+ * old one is reclaimed by the {@link #compact() compaction}, which is run on
+ * open and close once the dead records take more space than the live ones.
+ * Each record has a checked length and a CRC32 of its content. A partially
+ * written record at the end of the store is dropped on open, any other
+ * damaged record prevents the store from opening, so no records are lost
+ * silently.
+ * <br>
+ * The YAML files, which are not in the store yet, or were changed after
+ * their record was written, for example, while the store was not open, are
+ * {@link #migrate(Path) migrated} on open, and the files are kept as they
+ * are. Any record may be {@link #export(UUID, Path) exported} back to YAML
+ * for debugging.
+ * <br>
+ * This class is thread-safe.
+ */
+public final class PlayerStore {
+    private final Logger logger;
+    private final Path file;
+    private final Path legacyFolder;
+    private final Object2IntOpenHashMap<UUID> rows;
+    private final ObjectArrayList<UUID> uuids;
+    private final LongArrayList offsets;
+    private final IntArrayList lengths;
+    private final IntArrayList recordSizes;
+    private final LongArrayList firstJoins;
+    private final LongArrayList modifiedTimes;
+    private final ObjectArrayList<String> nicknames;
+    private final ObjectArrayList<String[]> ipLists;
+    private final IpIndex ipIndex;
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+
+    /** The name of the player store file */
+    public static final String FILE_NAME = "players.db";
+
+    private static final int MAGIC = 0x574D5053; // WMPS
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 3;
+    private static final int MIN_RECORD_SIZE = Long.BYTES * 4 + Short.BYTES * 2 + Integer.BYTES;
+    private static final long MIN_COMPACT_SIZE = 1024L * 1024L;
+    private static final String YAML_EXTENSION = ".yml";
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final String[] EMPTY_IP_LIST = new String[0];
+
+    /**
+     * Constructs a new player store, which uses the "players.db" file and
+     * migrates the "players" folder of the plugin
+     *
+     * @param plugin The plugin instance
+     */
+    public PlayerStore(final @NotNull WhoMine plugin) {
+        this(
+                plugin.getLogger(),
+                plugin.getDataFolder().toPath().resolve(FILE_NAME),
+                plugin.getDataFolder().toPath().resolve(Config.PLAYERS_FOLDER)
+        );
+    }
+
+    /**
+     * Constructs a new player store
+     *
+     * @param logger       The logger, used to log the migration and errors
+     * @param file         The store file
+     * @param legacyFolder The folder of the YAML player files to migrate
+     */
+    public PlayerStore(
+            final @NotNull Logger logger,
+            final @NotNull Path file,
+            final @NotNull Path legacyFolder
+    ) {
+        this.logger = logger;
+        this.file = file;
+        this.legacyFolder = legacyFolder;
+        this.rows = new Object2IntOpenHashMap<>();
+        this.uuids = new ObjectArrayList<>();
+        this.offsets = new LongArrayList();
+        this.lengths = new IntArrayList();
+        this.recordSizes = new IntArrayList();
+        this.firstJoins = new LongArrayList();
+        this.modifiedTimes = new LongArrayList();
+        this.nicknames = new ObjectArrayList<>();
+        this.ipLists = new ObjectArrayList<>();
+        this.ipIndex = new IpIndex();
+
+        this.rows.defaultReturnValue(-1);
+    }
+
+    /**
+     * Opens the store, reads its index and migrates the YAML player files,
+     * which are not in the store yet, or were changed after their record was
+     * written
+     *
+     * @throws IOException If an I/O error occurs, or the store has a damaged
+     *                     record, which is not the last one
+     */
+    public synchronized void open() throws IOException {
+        if (this.channel != null) {
+            return;
+        }
+
+        Files.createDirectories(this.file.toAbsolutePath().getParent());
+
+        this.channel = FileChannel.open(
+                this.file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+
+        try {
+            this.readIndex();
+
+            final int migrated = this.migrate(this.legacyFolder);
+
+            if (migrated > 0) {
+                this.logger.info("Migrated " + migrated + " player files to " + this.file.getFileName());
+            }
+
+            this.compactIfNeeded();
+        } catch (final IOException | RuntimeException e) {
+            this.channel.close();
+
+            this.channel = null;
+
+            this.clearRows();
+            throw e;
+        }
+    }
+
+    /**
+     * Compacts the store if needed, and closes it
+     */
+    public synchronized void close() {
+        if (this.channel == null) {
+            return;
+        }
+
+        try {
+            this.compactIfNeeded();
+            this.channel.force(true);
+            this.channel.close();
+        } catch (final IOException e) {
+            this.logger.log(Level.SEVERE, "Failed to close the player store", e);
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    /**
+     * @return True if the store is open
+     */
+    public synchronized boolean isOpen() {
+        return this.channel != null;
+    }
+
+    /**
+     * @return The number of the players in the store
+     */
+    public synchronized int size() {
+        return this.uuids.size();
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return True if the store contains the record of the player
+     */
+    public synchronized boolean contains(final @NotNull UUID uuid) {
+        return this.rows.containsKey(uuid);
+    }
+
+    /**
+     * @return An unmodifiable copy of the UUIDs of all players in the store
+     */
+    public synchronized @NotNull @Unmodifiable List<UUID> getUniqueIds() {
+        return List.copyOf(this.uuids);
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The first join of the player, or null if the store does not
+     *         contain the record of the player
+     */
+    public synchronized @Nullable Instant getFirstJoin(final @NotNull UUID uuid) {
+        final int row = this.rows.getInt(uuid);
+
+        return row == -1 ? null : Instant.ofEpochMilli(this.firstJoins.getLong(row));
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The nickname of the player, or null if the store does not
+     *         contain the record of the player, or the record has no nickname
+     */
+    public synchronized @Nullable String getNickname(final @NotNull UUID uuid) {
+        final int row = this.rows.getInt(uuid);
+
+        return row == -1 ? null : this.nicknames.get(row);
+    }
+
+    /**
+     * @param nickname The nickname of the player, case-insensitive
+     * @return The UUID of the player, or null if there is no player with the
+     *         specified nickname
+     */
+    public synchronized @Nullable UUID findByNickname(final @NotNull String nickname) {
+        for (int row = 0; row < this.nicknames.size(); ++row) {
+            if (nickname.equalsIgnoreCase(this.nicknames.get(row))) {
+                return this.uuids.get(row);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param ip The IP address
+     * @return An unmodifiable set of the UUIDs of the players, who have
+     *         joined from the specified IP address
+     * @see IpIndex#get(String)
+     */
+    public @NotNull @Unmodifiable Set<UUID> findByIp(final @NotNull String ip) {
+        return this.ipIndex.get(ip);
+    }
+
+    /**
+     * @return The reverse IP index of the players in the store
+     */
+    public @NotNull IpIndex getIpIndex() {
+        return this.ipIndex;
+    }
+
+    /**
+     * Reads the YAML document of the player
+     *
+     * @param uuid The UUID of the player
+     * @return The YAML document of the player, or null if the store does not
+     *         contain the record of the player
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized @Nullable String read(final @NotNull UUID uuid) throws IOException, IllegalStateException {
+        this.checkOpen();
+
+        final int row = this.rows.getInt(uuid);
+
+        return row == -1
+                ? null
+                : new String(this.readBody(this.channel, row), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the record of the player, replacing the previous one
+     *
+     * @param uuid      The UUID of the player
+     * @param nickname  The nickname of the player
+     * @param ipList    The IP addresses of the player
+     * @param firstJoin The first join of the player
+     * @param document  The YAML document of the player
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized void write(
+            final @NotNull UUID uuid,
+            final @Nullable String nickname,
+            final @NotNull Collection<String> ipList,
+            final @NotNull Instant firstJoin,
+            final @NotNull String document
+    ) throws IOException, IllegalStateException {
+        this.checkOpen();
+
+        final String[] ips = ipList.toArray(EMPTY_IP_LIST);
+        final byte[] body = document.getBytes(StandardCharsets.UTF_8);
+        final long modified = System.currentTimeMillis();
+        final byte[] record = encode(uuid, firstJoin.toEpochMilli(), modified, nickname, ips, body);
+        final long offset = this.end;
+
+        writeFully(this.channel, ByteBuffer.wrap(record), offset);
+
+        this.end = offset + record.length;
+        this.putRow(uuid, offset + record.length - body.length, body.length, firstJoin.toEpochMilli(), modified, nickname, ips, record.length);
+    }
+
+    /**
+     * Migrates the YAML player files, which are not in the store yet, or were
+     * changed after their record was written. The files are kept as they are.
+     *
+     * @param folder The folder of the YAML player files
+     * @return The number of the migrated player files
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized int migrate(final @NotNull Path folder) throws IOException, IllegalStateException {
+        this.checkOpen();
+
+        if (!Files.isDirectory(folder)) {
+            return 0;
+        }
+
+        int migrated = 0;
+
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, '*' + YAML_EXTENSION)) {
+            for (final var path : stream) {
+                final UUID uuid = parseUUID(path);
+
+                if (uuid == null) {
+                    continue;
+                }
+
+                final int row = this.rows.getInt(uuid);
+
+                if (
+                        row != -1
+                        && Files.getLastModifiedTime(path).toMillis() <= this.modifiedTimes.getLong(row)
+                ) {
+                    continue;
+                }
+
+                final YamlConfiguration config = YamlConfiguration.loadConfiguration(path.toFile());
+
+                this.write(
+                        uuid,
+                        config.getString("name.nickname"),
+                        config.getStringList("ip-list"),
+                        Instant.ofEpochMilli(config.getLong("first-join", System.currentTimeMillis())),
+                        config.saveToString()
+                );
+
+                ++migrated;
+            }
+        }
+
+        return migrated;
+    }
+
+    /**
+     * Exports the YAML document of the player to the file
+     *
+     * @param uuid The UUID of the player
+     * @param path The file to export to
+     * @return True if the record was exported, or false if the store does
+     *         not contain the record of the player
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized boolean export(
+            final @NotNull UUID uuid,
+            final @NotNull Path path
+    ) throws IOException, IllegalStateException {
+        final String document = this.read(uuid);
+
+        if (document == null) {
+            return false;
+        }
+
+        Files.writeString(path, document, StandardCharsets.UTF_8);
+        return true;
+    }
+
+    /**
+     * Exports the YAML documents of all players to the folder, one
+     * "[uuid].yml" file per player
+     *
+     * @param folder The folder to export to
+     * @return The number of the exported records
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized int exportAll(final @NotNull Path folder) throws IOException, IllegalStateException {
+        Files.createDirectories(folder);
+
+        for (final var uuid : this.uuids) {
+            this.export(uuid, folder.resolve(uuid + YAML_EXTENSION));
+        }
+
+        return this.uuids.size();
+    }
+
+    /**
+     * Rewrites the store with the live records only.
+     * <br>
+     * The live records are written to a temporary file, which is synced to
+     * the disk and then atomically moved over the store, so a crash leaves
+     * either the old or the new store. The current file stays in use until
+     * the move succeeds, and if the moved file can't be reopened, the store
+     * is closed.
+     *
+     * @throws IOException           If an I/O error occurs
+     * @throws IllegalStateException If the store is not open
+     */
+    public synchronized void compact() throws IOException, IllegalStateException {
+        this.checkOpen();
+
+        final Path tmp = this.file.resolveSibling(this.file.getFileName() + TMP_EXTENSION);
+        final FileChannel old = this.channel;
+        final var newOffsets = new LongArrayList(this.uuids.size());
+        long position = HEADER_SIZE;
+
+        try (
+                final var output = FileChannel.open(
+                        tmp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE
+                )
+        ) {
+            writeFully(output, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(), 0L);
+
+            for (int row = 0; row < this.uuids.size(); ++row) {
+                final byte[] body = this.readBody(old, row);
+                final byte[] record = encode(
+                        this.uuids.get(row),
+                        this.firstJoins.getLong(row),
+                        this.modifiedTimes.getLong(row),
+                        this.nicknames.get(row),
+                        this.ipLists.get(row),
+                        body
+                );
+
+                writeFully(output, ByteBuffer.wrap(record), position);
+
+                position += record.length;
+
+                newOffsets.add(position - body.length);
+            }
+
+            output.force(true);
+        } catch (final IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        try {
+            Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        final FileChannel reopened;
+
+        try {
+            reopened = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            this.channel = null;
+
+            old.close();
+            throw e;
+        }
+
+        old.close();
+
+        this.channel = reopened;
+        this.end = position;
+        this.liveBytes = position - HEADER_SIZE;
+
+        for (int row = 0; row < newOffsets.size(); ++row) {
+            this.offsets.set(row, newOffsets.getLong(row));
+        }
+    }
+
+    private void readIndex() throws IOException {
+        final long fileSize = this.channel.size();
+
+        if (fileSize < HEADER_SIZE) {
+            this.channel.truncate(0L);
+            writeFully(
+                    this.channel,
+                    ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(),
+                    0L
+            );
+
+            this.end = HEADER_SIZE;
+            return;
+        }
+
+        try (
+                final var input = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(this.file))
+                )
+        ) {
+            if (
+                    input.readInt() != MAGIC
+                    || input.readInt() != VERSION
+            ) {
+                throw new IOException("Unknown player store format : " + this.file);
+            }
+
+            long position = HEADER_SIZE;
+
+            while (position < fileSize) {
+                final long remaining = fileSize - position;
+
+                if (remaining < RECORD_HEADER_SIZE) {
+                    this.dropTail(position, fileSize);
+                    break;
+                }
+
+                final int length = input.readInt();
+                final int lengthCheck = input.readInt();
+                final int crc = input.readInt();
+
+                if (
+                        length != ~lengthCheck
+                        || length < MIN_RECORD_SIZE
+                ) {
+                    if (
+                            length == 0
+                            && lengthCheck == 0
+                            && crc == 0
+                            && isZeroFilled(input, remaining - RECORD_HEADER_SIZE)
+                    ) {
+                        this.dropTail(position, fileSize);
+                        break;
+                    }
+
+                    throw this.damaged(position);
+                }
+
+                if (remaining - RECORD_HEADER_SIZE < length) {
+                    this.dropTail(position, fileSize);
+                    break;
+                }
+
+                final byte[] payload = input.readNBytes(length);
+                final var checksum = new CRC32();
+
+                checksum.update(payload);
+
+                if ((int) checksum.getValue() != crc) {
+                    if (position + RECORD_HEADER_SIZE + length == fileSize) {
+                        this.dropTail(position, fileSize);
+                        break;
+                    }
+
+                    throw this.damaged(position);
+                }
+
+                final var record = new DataInputStream(new ByteArrayInputStream(payload));
+                final UUID uuid = new UUID(record.readLong(), record.readLong());
+                final long firstJoin = record.readLong();
+                final long modified = record.readLong();
+                final String nickname = readNullableUTF(record);
+                final var ips = new String[record.readUnsignedShort()];
+
+                for (int i = 0; i < ips.length; ++i) {
+                    ips[i] = record.readUTF();
+                }
+
+                final int bodyLength = record.readInt();
+                final int recordSize = RECORD_HEADER_SIZE + length;
+
+                position += recordSize;
+
+                this.putRow(uuid, position - bodyLength, bodyLength, firstJoin, modified, nickname, ips, recordSize);
+            }
+
+            this.end = Math.min(position, fileSize);
+        }
+    }
+
+    private void dropTail(
+            final long position,
+            final long fileSize
+    ) throws IOException {
+        this.logger.warning("Dropped " + (fileSize - position) + " bytes of the partially written record in " + this.file.getFileName());
+        this.channel.truncate(position);
+    }
+
+    private @NotNull IOException damaged(final long position) {
+        final String message = "Damaged record at offset " + position + " in " + this.file + ", the player store will not be opened to keep the following records";
+
+        this.logger.severe(message);
+        return new IOException(message);
+    }
+
+    private void clearRows() {
+        this.rows.clear();
+        this.uuids.clear();
+        this.offsets.clear();
+        this.lengths.clear();
+        this.recordSizes.clear();
+        this.firstJoins.clear();
+        this.modifiedTimes.clear();
+        this.nicknames.clear();
+        this.ipLists.clear();
+        this.ipIndex.clear();
+
+        this.end = 0L;
+        this.liveBytes = 0L;
+    }
+
+    private void putRow(
+            final @NotNull UUID uuid,
+            final long bodyOffset,
+            final int bodyLength,
+            final long firstJoin,
+            final long modified,
+            final @Nullable String nickname,
+            final String @NotNull [] ips,
+            final int recordSize
+    ) {
+        int row = this.rows.getInt(uuid);
+
+        if (row == -1) {
+            row = this.uuids.size();
+
+            this.rows.put(uuid, row);
+            this.uuids.add(uuid);
+            this.offsets.add(bodyOffset);
+            this.lengths.add(bodyLength);
+            this.recordSizes.add(recordSize);
+            this.firstJoins.add(firstJoin);
+            this.modifiedTimes.add(modified);
+            this.nicknames.add(nickname);
+            this.ipLists.add(ips);
+        } else {
+            for (final var ip : this.ipLists.get(row)) {
+                this.ipIndex.remove(ip, uuid);
+            }
+
+            this.liveBytes -= this.recordSizes.getInt(row);
+
+            this.offsets.set(row, bodyOffset);
+            this.lengths.set(row, bodyLength);
+            this.recordSizes.set(row, recordSize);
+            this.firstJoins.set(row, firstJoin);
+            this.modifiedTimes.set(row, modified);
+            this.nicknames.set(row, nickname);
+            this.ipLists.set(row, ips);
+        }
+
+        for (final var ip : ips) {
+            this.ipIndex.add(ip, uuid);
+        }
+
+        this.liveBytes += recordSize;
+    }
+
+    private byte @NotNull [] readBody(
+            final @NotNull FileChannel channel,
+            final int row
+    ) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(this.lengths.getInt(row));
+        long position = this.offsets.getLong(row);
+
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+
+            if (read == -1) {
+                throw new EOFException("Unexpected end of the player store : " + this.file);
+            }
+
+            position += read;
+        }
+
+        return buffer.array();
+    }
+
+    private void compactIfNeeded() throws IOException {
+        final long deadBytes = this.end - HEADER_SIZE - this.liveBytes;
+
+        if (
+                deadBytes > MIN_COMPACT_SIZE
+                && deadBytes > this.liveBytes
+        ) {
+            this.compact();
+        }
+    }
+
+    private void checkOpen() throws IllegalStateException {
+        if (this.channel == null) {
+            throw new IllegalStateException("Player store is not open");
+        }
+    }
+
+    private static byte @NotNull [] encode(
+            final @NotNull UUID uuid,
+            final long firstJoin,
+            final long modified,
+            final @Nullable String nickname,
+            final String @NotNull [] ips,
+            final byte @NotNull [] body
+    ) throws IOException {
+        final var bytes = new ByteArrayOutputStream(body.length + 128);
+        final var output = new DataOutputStream(bytes);
+
+        output.writeInt(0);
+        output.writeInt(0);
+        output.writeInt(0);
+        output.writeLong(uuid.getMostSignificantBits());
+        output.writeLong(uuid.getLeastSignificantBits());
+        output.writeLong(firstJoin);
+        output.writeLong(modified);
+        writeNullableUTF(output, nickname);
+        output.writeShort(ips.length);
+
+        for (final var ip : ips) {
+            output.writeUTF(ip);
+        }
+
+        output.writeInt(body.length);
+        output.write(body);
+
+        final byte[] record = bytes.toByteArray();
+        final int length = record.length - RECORD_HEADER_SIZE;
+        final var checksum = new CRC32();
+
+        checksum.update(record, RECORD_HEADER_SIZE, length);
+        ByteBuffer.wrap(record)
+        .putInt(length)
+        .putInt(~length)
+        .putInt((int) checksum.getValue());
+
+        return record;
+    }
+
+    private static boolean isZeroFilled(
+            final @NotNull InputStream input,
+            final long length
+    ) throws IOException {
+        final byte[] buffer = new byte[8192];
+        long remaining = length;
+
+        while (remaining > 0L) {
+            final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+            if (read == -1) {
+                return true;
+            }
+
+            for (int i = 0; i < read; ++i) {
+                if (buffer[i] != 0) {
+                    return false;
+                }
+            }
+
+            remaining -= read;
+        }
+
+        return true;
+    }
+
+    private static void writeNullableUTF(
+            final @NotNull DataOutput output,
+            final @Nullable String string
+    ) throws IOException {
+        output.writeUTF(string == null ? "" : string);
+    }
+
+    private static @Nullable String readNullableUTF(final @NotNull DataInput input) throws IOException {
+        final String string = input.readUTF();
+        return string.isEmpty() ? null : string;
+    }
+
+    private static void writeFully(
+            final @NotNull FileChannel channel,
+            final @NotNull ByteBuffer buffer,
+            final long position
+    ) throws IOException {
+        long offset = position;
+
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static @Nullable UUID parseUUID(final @NotNull Path path) {
+        final String fileName = path.getFileName().toString();
+
+        try {
+            return UUID.fromString(fileName.substring(0, fileName.length() - YAML_EXTENSION.length()));
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.scheduler.ExpiryQueue;
 import com.mojang.util.InstantTypeAdapter;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,12 +33,17 @@ import java.util.logging.Logger;
 /**
  * Mute map with {@link UUID} and its {@link Entry}.
  * All mutes stored in the "config/minersstudios/MSEssentials/muted_players.json" file.
+ * <br>
+ * The expiration of each mute is scheduled in the {@link #getExpiryQueue()
+ * expiry queue}, the player is unmuted when the mute expires.
  *
  * @see Entry
  */
 public final class MuteMap {
+    private final WhoMine plugin;
     private final File file;
     private final Map<UUID, Entry> map;
+    private final ExpiryQueue<UUID> expiryQueue;
     private final Logger logger;
 
     private static final Gson GSON =
@@ -50,12 +57,22 @@ public final class MuteMap {
      * file.
      */
     public MuteMap(final @NotNull WhoMine plugin) {
+        this.plugin = plugin;
         this.file = new File(plugin.getDataFolder(), "muted_players.json");
         this.map = new ConcurrentHashMap<>();
         this.logger = plugin.getLogger();
+        this.expiryQueue = new ExpiryQueue<>(this.logger, this::expire);
         this.reloadMutes();
     }
 
+    /**
+     * @return The expiry queue of the mutes, it must be run every tick on the
+     *         main thread to unmute the players, whose mutes have expired
+     */
+    public @NotNull ExpiryQueue<UUID> getExpiryQueue() {
+        return this.expiryQueue;
+    }
+
     /**
      * Gets mute entry of the player from the map
      *
@@ -93,6 +110,7 @@ public final class MuteMap {
         final UUID uuid = player.getUniqueId();
 
         this.map.put(uuid, Entry.create(created, expiration, reason, source));
+        this.expiryQueue.schedule(uuid, expiration);
         this.saveFile();
     }
 
@@ -106,7 +124,10 @@ public final class MuteMap {
             return;
         }
 
-        this.map.remove(player.getUniqueId());
+        final UUID uuid = player.getUniqueId();
+
+        this.map.remove(uuid);
+        this.expiryQueue.cancel(uuid);
         this.saveFile();
     }
 
@@ -152,6 +173,7 @@ public final class MuteMap {
      */
     public void reloadMutes() {
         this.map.clear();
+        this.expiryQueue.clear();
 
         if (!this.file.exists()) {
             this.createFile();
@@ -170,6 +192,7 @@ public final class MuteMap {
                 jsonMap.forEach((uuid, params) -> {
                     if (params != null && params.isValidate()) {
                         this.map.put(uuid, params);
+                        this.expiryQueue.schedule(uuid, params.getExpiration());
                     } else {
                         this.logger.severe("Failed to read the player params : " + uuid.toString() + " in \"muted_players.json\"");
                     }
@@ -181,6 +204,36 @@ public final class MuteMap {
         }
     }
 
+    /**
+     * Unmutes the player, whose mute has expired
+     *
+     * @param uuid The UUID of the player
+     */
+    private void expire(final @NotNull UUID uuid) {
+        final Entry entry = this.map.get(uuid);
+
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.getExpiration().isAfter(Instant.now())) {
+            this.expiryQueue.schedule(uuid, entry.getExpiration());
+            return;
+        }
+
+        final Server server = this.plugin.getServer();
+        final OfflinePlayer player = server.getOfflinePlayer(uuid);
+        final String name = player.getName();
+
+        if (name != null) {
+            this.plugin.getCache().getPlayerInfoMap()
+            .get(uuid, name)
+            .unmute(server.getConsoleSender());
+        } else {
+            this.remove(player);
+        }
+    }
+
     /**
      * Creates a new "muted_players.json" file
      */
@@ -0,0 +1,140 @@
+package com.minersstudios.whomine.player.collection;
+
+import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.state.PlayerState;
+import com.minersstudios.whomine.player.state.PlayerStateKey;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player state map with {@link UUID} of the online player and its
+ * {@link PlayerState}.
+ * <br>
+ * The state is created with {@link #create(Player)} when the player joins the
+ * server and removed with {@link #remove(Player)} when the player quits, which
+ * also cleans up the state of every subsystem. Both are called through the
+ * {@link PlayerInfo}, which holds the state of its online player, so the
+ * callers, which already hold the player info, use
+ * {@link PlayerInfo#getState()} instead of looking the state up here.
+ *
+ * @see PlayerState
+ * @see PlayerInfo#createState(Player)
+ * @see PlayerInfo#removeState(Player)
+ */
+public final class PlayerStateMap {
+    private final Map<UUID, PlayerState> map;
+
+    public PlayerStateMap() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param player The player
+     * @return The state of the player, or null if the player is not online
+     */
+    @Contract("null -> null")
+    public @Nullable PlayerState get(final @Nullable Player player) {
+        return player == null
+                ? null
+                : this.map.get(player.getUniqueId());
+    }
+
+    /**
+     * @param player The player
+     * @param key    The key of the state slot
+     * @return The value of the state slot, or null if the player is not online
+     *         or the slot is empty
+     */
+    public <T> @Nullable T get(
+            final @Nullable Player player,
+            final @NotNull PlayerStateKey<T> key
+    ) {
+        final PlayerState state = this.get(player);
+        return state == null
+                ? null
+                : state.get(key);
+    }
+
+    /**
+     * Creates the state of the player, if it does not exist
+     *
+     * @param player The player who joined the server
+     * @return The state of the player
+     */
+    public @NotNull PlayerState create(final @NotNull Player player) {
+        return this.map.computeIfAbsent(
+                player.getUniqueId(),
+                uuid -> new PlayerState(player)
+        );
+    }
+
+    /**
+     * Removes the state of the player and cleans up all its slots
+     *
+     * @param player The player who quit the server
+     * @return The removed state, or null if the player had no state
+     * @see PlayerState#clear()
+     */
+    public @Nullable PlayerState remove(final @NotNull Player player) {
+        final PlayerState state = this.map.remove(player.getUniqueId());
+
+        if (state != null) {
+            state.clear();
+        }
+
+        return state;
+    }
+
+    /**
+     * Empties the given slot of all player states
+     *
+     * @param key The key of the state slot
+     */
+    public void removeAll(final @NotNull PlayerStateKey<?> key) {
+        for (final var state : this.map.values()) {
+            state.remove(key);
+        }
+    }
+
+    /**
+     * @return The amount of player states in this map
+     */
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * @return True if this map contains no player states
+     */
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+
+    /**
+     * Removes all the player states from this map and cleans up all their
+     * slots. The map will be empty after this call returns.
+     */
+    public void clear() {
+        for (final var state : this.map.values()) {
+            state.clear();
+        }
+
+        this.map.clear();
+    }
+
+    /**
+     * @return An unmodifiable view of the player states contained in this map
+     */
+    public @NotNull @UnmodifiableView Collection<PlayerState> states() {
+        return Collections.unmodifiableCollection(this.map.values());
+    }
+}
@@ -24,13 +24,13 @@ import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.utility.ChatUtils;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
 import static com.minersstudios.whomine.player.skin.Skin.isValidSkinImg;
@@ -43,7 +43,8 @@ public final class MineSkinResponse {
     private final String body;
 
     private static final Gson GSON = new Gson();
-    private static final String MINE_SKIN_API_URL = "https://api.mineskin.org/generate/url/";
+    static final String MINE_SKIN_UPLOAD_URL = "https://api.mineskin.org/generate/upload";
+    static final int UPLOAD_TIMEOUT = 90000;
 
     private MineSkinResponse(
             final int statusCode,
@@ -54,9 +55,10 @@ public final class MineSkinResponse {
     }
 
     /**
-     * Creates a new MineSkinResponse from a link to a skin image. It uses the
-     * MineSkin API to generate a skin from the image, and returns the response.
-     * If a MineSkin API key is set in the configuration, it will be used.
+     * Creates a new MineSkinResponse from a link to a skin image. The image is
+     * downloaded and validated, then it is uploaded to the MineSkin API to
+     * generate a skin from it, and the response is returned. If a MineSkin API
+     * key is set in the configuration, it will be used.
      *
      * @param plugin The plugin instance
      * @param link   The link to the skin must start with https:// and end with
@@ -64,37 +66,91 @@ public final class MineSkinResponse {
      * @return The response from the MineSkin API
      * @throws IOException if the connection could not be established
      * @throws IllegalArgumentException If the link is not a valid skin image
-     * @see #MINE_SKIN_API_URL
+     * @see #MINE_SKIN_UPLOAD_URL
      */
     @Contract("_, _ -> new")
     public static @NotNull MineSkinResponse fromLink(
             final @NotNull WhoMine plugin,
             final @NotNull String link
     ) throws IOException, IllegalArgumentException {
-        if (!isValidSkinImg(link)) {
+        final byte[] image = Skin.downloadImage(link);
+
+        if (!isValidSkinImg(image)) {
             throw new IllegalArgumentException("The link must be a valid skin image");
         }
 
-        final String requestBody = "url=" + URLEncoder.encode(link, StandardCharsets.UTF_8);
-        final String apiKey = plugin.getConfiguration().getMineSkinApiKey();
-        final HttpURLConnection connection = (HttpURLConnection) new URL(MINE_SKIN_API_URL).openConnection();
+        return upload(
+                MINE_SKIN_UPLOAD_URL,
+                plugin.getConfiguration().getMineSkinApiKey(),
+                image
+        );
+    }
+
+    /**
+     * Creates a new MineSkinResponse from a skin image without validating the
+     * image, which must already be validated by the caller. The image is
+     * uploaded, so the skin is generated from exactly these bytes.
+     *
+     * @param apiUrl The url of the MineSkin "generate/upload" endpoint
+     * @param apiKey The MineSkin API key, or null to send an anonymous request
+     * @param image  The skin image bytes
+     * @return The response from the MineSkin API
+     * @throws IOException if the connection could not be established
+     * @see #upload(String, String, byte[], int)
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull MineSkinResponse upload(
+            final @NotNull String apiUrl,
+            final @Nullable String apiKey,
+            final byte @NotNull [] image
+    ) throws IOException {
+        return upload(apiUrl, apiKey, image, UPLOAD_TIMEOUT);
+    }
+
+    /**
+     * Creates a new MineSkinResponse from a skin image without validating the
+     * image, with the given connect and read timeouts
+     *
+     * @param apiUrl  The url of the MineSkin "generate/upload" endpoint
+     * @param apiKey  The MineSkin API key, or null to send an anonymous
+     *                request
+     * @param image   The skin image bytes
+     * @param timeout The connect and read timeouts in milliseconds
+     * @return The response from the MineSkin API
+     * @throws IOException if the connection could not be established
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull MineSkinResponse upload(
+            final @NotNull String apiUrl,
+            final @Nullable String apiKey,
+            final byte @NotNull [] image,
+            final int timeout
+    ) throws IOException {
+        final String boundary = "WhoMine" + Long.toHexString(System.nanoTime());
+        final HttpURLConnection connection = (HttpURLConnection) new URL(apiUrl).openConnection();
 
         connection.setRequestMethod("POST");
-        connection.setConnectTimeout(90000);
-        connection.setReadTimeout(90000);
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
         connection.setDoInput(true);
         connection.setDoOutput(true);
         connection.setUseCaches(false);
         connection.setRequestProperty("Accept", "application/json");
         connection.setRequestProperty("User-Agent", "WhoMine/MineSkinAPI");
-        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
 
         if (ChatUtils.isNotBlank(apiKey)) {
             connection.setRequestProperty("Authorization", "Bearer " + apiKey);
         }
 
         try (final var output = connection.getOutputStream()) {
-            output.write(requestBody.getBytes(StandardCharsets.UTF_8));
+            output.write((
+                    "--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"skin.png\"\r\n"
+                    + "Content-Type: image/png\r\n\r\n"
+            ).getBytes(StandardCharsets.UTF_8));
+            output.write(image);
+            output.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
         }
 
         connection.connect();
@@ -1,7 +1,6 @@
 package com.minersstudios.whomine.player.skin;
 
 import com.destroystokyo.paper.profile.CraftPlayerProfile;
-import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.utility.ChatUtils;
 import com.minersstudios.whomine.player.PlayerFile;
 import com.mojang.authlib.GameProfile;
@@ -15,25 +14,24 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
-import java.time.Duration;
-import java.time.Instant;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Skin class to create skins from values and signatures or image links. Used in
- * {@link PlayerFile} to store the skin of a player.
+ * Skin class to create skins from values and signatures. Used in
+ * {@link PlayerFile} to store the skin of a player. The skins are created from
+ * the image links by the {@link SkinService}.
  *
  * @see <a href="https://wiki.vg/Mojang_API#UUID_to_Profile_and_Skin.2FCape">Mojang API</a>
  * @see <a href="https://mineskin.org">MineSkin API</a>
@@ -46,22 +44,14 @@ public final class Skin implements ConfigurationSerializable {
     private static final String NAME_REGEX = "[a-zA-ZЀ-ӿ-0-9]{1,32}";
     private static final Pattern NAME_PATTERN = Pattern.compile(NAME_REGEX);
     private static final Pattern DESERIALIZE_PATTERN = Pattern.compile("(name|value|signature)=([^,}]+)");
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newSingleThreadExecutor(Thread::new);
     private static final Logger LOGGER = Logger.getLogger("SkinSystem");
 
-    //<editor-fold defaultstate="collapsed" desc="Error codes">
-    private static final String CODE_FAILED_TO_CREATE_ID =  "failed_to_create_id";
-    private static final String CODE_SKIN_CHANGE_FAILED =   "skin_change_failed";
-    private static final String CODE_NO_ACCOUNT_AVAILABLE = "no_account_available";
-    private static final String CODE_INVALID_API_KEY =      "invalid_api_key";
-    //</editor-fold>
-
-    //<editor-fold defaultstate="collapsed" desc="Error messages">
-    private static final String ERROR_INVALID_API_KEY = "Invalid API Key";
-    private static final String ERROR_CLIENT_NOT_ALLOWED = "Client not allowed";
-    private static final String ERROR_ORIGIN_NOT_ALLOWED = "Origin not allowed";
-    private static final String ERROR_AGENT_NOT_ALLOWED = "Agent not allowed";
-    //</editor-fold>
+    private static final int SKIN_SIZE = 64;
+    private static final int PNG_HEADER_SIZE = 24;
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] IHDR_CHUNK_TYPE = { 'I', 'H', 'D', 'R' };
+    private static final int MAX_IMAGE_SIZE = 1024 * 1024;
+    static final int DOWNLOAD_TIMEOUT = 10000;
 
     private Skin(
             final @NotNull String name,
@@ -106,61 +96,6 @@ public final class Skin implements ConfigurationSerializable {
         return new Skin(name, value, signature);
     }
 
-    /**
-     * Creates a skin from an image link. It will attempt to retrieve the skin
-     * 3 times before giving up. The value and signature generates with the
-     * MineSkinAPI.
-     *
-     * @param plugin Plugin instance
-     * @param name   The name of the skin
-     * @param link   The link to the skin must start with "https://" or "http://"
-     * @return The skin if it was successfully retrieved, otherwise null
-     * @throws IllegalArgumentException If the name or link is invalid or the
-     *                                  image is not 64x64 pixels
-     * @see <a href="https://wiki.vg/Mojang_API#UUID_to_Profile_and_Skin.2FCape">Mojang API</a>
-     * @see <a href="https://mineskin.org">MineSkin API</a>
-     */
-    public static @Nullable Skin create(
-            final @NotNull WhoMine plugin,
-            final @NotNull String name,
-            final @NotNull String link
-    ) throws IllegalArgumentException {
-        if (!matchesNameRegex(name)) {
-            throw new IllegalArgumentException(
-                    "The name must be between 1 and 32 characters long and only contain letters, numbers, and underscores"
-            );
-        }
-
-        final AtomicInteger retryAttempts = new AtomicInteger(0);
-
-        do {
-            final var future =
-                    CompletableFuture
-                    .supplyAsync(() -> handleLink(plugin, name, link), EXECUTOR_SERVICE)
-                    .exceptionally(ignored -> null);
-
-            if (future == null) {
-                throw new IllegalArgumentException(
-                        "The link must be a valid image link"
-                );
-            }
-
-            try {
-                return future.get();
-            } catch (final InterruptedException | ExecutionException e) {
-                LOGGER.log(
-                        Level.SEVERE,
-                        "An error occurred while attempting to retrieve a skin from a link",
-                        e
-                );
-            }
-
-            retryAttempts.incrementAndGet();
-        } while (retryAttempts.get() < 3);
-
-        return null;
-    }
-
     /**
      * @return The name of the skin
      */
@@ -304,146 +239,119 @@ public final class Skin implements ConfigurationSerializable {
     }
 
     /**
+     * Checks whether the link is a valid skin image. The image is downloaded
+     * by {@link #downloadImage(String)}, so the request is bounded in time and
+     * size, the image itself is not decoded.
+     * <br>
+     * <b>NOTE:</b> This method blocks the calling thread, use
+     * {@link SkinService} to create the skins without blocking.
+     *
      * @param link Link to be checked
      * @return True if the link is a valid skin image
+     * @see #isValidSkinImg(byte[])
      */
     public static boolean isValidSkinImg(final @NotNull String link) {
         try {
-            final BufferedImage image = ImageIO.read(new URL(link));
-            return image != null
-                    && image.getWidth() == 64
-                    && image.getHeight() == 64;
-        } catch (final IOException ignored) {
+            return isValidSkinImg(downloadImage(link));
+        } catch (final IOException | IllegalArgumentException ignored) {
             return false;
         }
     }
 
     /**
-     * @param string String to be checked
-     * @return True if string matches {@link #NAME_REGEX}
+     * Checks whether the bytes start with the header of a 64x64 PNG image
+     *
+     * @param image The image bytes, at least its header
+     * @return True if the bytes start with the header of a 64x64 PNG image
      */
-    @Contract("null -> false")
-    public static boolean matchesNameRegex(final @Nullable String string) {
-        return string != null
-                && NAME_PATTERN.matcher(string).matches();
+    public static boolean isValidSkinImg(final byte @NotNull [] image) {
+        if (
+                image.length < PNG_HEADER_SIZE
+                || !Arrays.equals(image, 0, 8, PNG_SIGNATURE, 0, 8)
+                || !Arrays.equals(image, 12, 16, IHDR_CHUNK_TYPE, 0, 4)
+        ) {
+            return false;
+        }
+
+        final ByteBuffer header = ByteBuffer.wrap(image, 16, 8);
+
+        return header.getInt() == SKIN_SIZE
+                && header.getInt() == SKIN_SIZE;
     }
 
     /**
-     * This method will attempt to retrieve the skin 3 times before giving up.
-     * The value and signature generates with the MineSkinAPI. If the response
-     * status code is 200, the skin will be returned.
+     * Downloads the image with the connect and read timeouts of
+     * {@value #DOWNLOAD_TIMEOUT} ms, the images larger than 1 MiB are
+     * rejected
      *
-     * @param plugin Plugin instance
-     * @param name   Name of the skin
-     * @param link   Link to the skin
-     * @return The skin if it was successfully retrieved, otherwise null
-     * @throws IllegalArgumentException If the link is not a valid skin image
+     * @param link The link to the image, must start with "https://" or
+     *             "http://"
+     * @return The image bytes
+     * @throws IOException              If an I/O error occurs
+     * @throws IllegalArgumentException If the link is not a valid image link,
+     *                                  or the image is too large
+     * @see #downloadImage(String, int)
      */
-    private static @Nullable Skin handleLink(
-            final @NotNull WhoMine plugin,
-            final @NotNull String name,
-            final @NotNull String link
-    ) throws IllegalArgumentException {
-        MineSkinResponse response;
-
-        for (int i = 0; true; ++i) {
-            try {
-                response = MineSkinResponse.fromLink(plugin, link);
-                break;
-            } catch (final IOException ignored) {
-                if (i >= 2) {
-                    return null;
-                }
-            }
+    static byte @NotNull [] downloadImage(final @NotNull String link) throws IOException, IllegalArgumentException {
+        return downloadImage(link, DOWNLOAD_TIMEOUT);
+    }
+
+    /**
+     * Downloads the image with the given connect and read timeouts, the
+     * images larger than 1 MiB are rejected
+     *
+     * @param link    The link to the image, must start with "https://" or
+     *                "http://"
+     * @param timeout The connect and read timeouts in milliseconds
+     * @return The image bytes
+     * @throws IOException              If an I/O error occurs
+     * @throws IllegalArgumentException If the link is not a valid image link,
+     *                                  or the image is too large
+     */
+    static byte @NotNull [] downloadImage(
+            final @NotNull String link,
+            final int timeout
+    ) throws IOException, IllegalArgumentException {
+        if (
+                !link.startsWith("https://")
+                && !link.startsWith("http://")
+        ) {
+            throw new IllegalArgumentException("The link must start with \"https://\" or \"http://\"");
         }
 
-        switch (response.getStatusCode()) {
-            case 200 -> {
-                final MineSkinJson.Data.Texture texture = response.getBodyResponse(MineSkinJson.class).data().texture();
-                final String value = texture.value();
-                final String signature = texture.signature();
-
-                try {
-                    return Skin.create(name, value, signature);
-                } catch (final IllegalArgumentException e) {
-                    LOGGER.log(
-                            Level.SEVERE,
-                            "Failed to create skin : '" + name + "' with value : '" + value + "' and signature : '" + signature + "'",
-                            e
-                    );
-                }
-            }
-            case 500, 400 -> {
-                final MineSkinErrorJson errorJson = response.getBodyResponse(MineSkinErrorJson.class);
-                final String errorCode = errorJson.errorCode();
-
-                switch (errorCode) {
-                    case CODE_FAILED_TO_CREATE_ID, CODE_SKIN_CHANGE_FAILED -> {
-                        try {
-                            TimeUnit.SECONDS.sleep(5);
-                        } catch (final InterruptedException e) {
-                            LOGGER.log(
-                                    Level.SEVERE,
-                                    "Failed to sleep thread",
-                                    e
-                            );
-                        }
-                    }
-                    case CODE_NO_ACCOUNT_AVAILABLE -> LOGGER.severe("No account available to create skin");
-                    default -> LOGGER.severe("Unknown MineSkin error: " + errorCode);
-                }
-            }
-            case 403 -> {
-                final MineSkinErrorJson errorJson = response.getBodyResponse(MineSkinErrorJson.class);
-                final String errorCode = errorJson.errorCode();
-                final String error = errorJson.error();
-
-                if (errorCode.equals(CODE_INVALID_API_KEY)) {
-                    LOGGER.severe(
-                            "Api key is not valid! Reason: " + error + " "
-                            + (switch (error) {
-                                case ERROR_INVALID_API_KEY ->    "This api key is not registered on MineSkin!";
-                                case ERROR_CLIENT_NOT_ALLOWED -> "This server ip is not on the api key allowed ips list!";
-                                case ERROR_ORIGIN_NOT_ALLOWED -> "This server origin is not on the api key allowed origin list!";
-                                case ERROR_AGENT_NOT_ALLOWED ->  "This server agent is not on the api key allowed agents list!";
-                                default ->                       "";
-                            })
-                    );
-                }
+        final HttpURLConnection connection = (HttpURLConnection) new URL(link).openConnection();
+
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.setRequestProperty("User-Agent", "WhoMine/SkinService");
+
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IllegalArgumentException("The link must be a valid image link");
             }
-            case 429 -> {
-                final MineSkinDelayErrorJson delayErrorJson = response.getBodyResponse(MineSkinDelayErrorJson.class);
-                final Integer delay = delayErrorJson.delay();
-                final Integer nextRequest = delayErrorJson.nextRequest();
-                long sleepDuration = 2;
-
-                if (delay != null) {
-                    sleepDuration = delay;
-                } else if (nextRequest != null) {
-                    final long duration = Duration.between(
-                            Instant.now(),
-                            Instant.ofEpochSecond(nextRequest)
-                    ).getSeconds();
-
-                    if (duration > 0) {
-                        sleepDuration = duration;
-                    }
-                }
 
-                try {
-                    TimeUnit.SECONDS.sleep(sleepDuration);
-                } catch (final InterruptedException e) {
-                    LOGGER.log(
-                            Level.SEVERE,
-                            "Failed to sleep thread",
-                            e
-                    );
+            try (final InputStream input = connection.getInputStream()) {
+                final byte[] image = input.readNBytes(MAX_IMAGE_SIZE + 1);
+
+                if (image.length > MAX_IMAGE_SIZE) {
+                    throw new IllegalArgumentException("The image is too large");
                 }
+
+                return image;
             }
-            default -> LOGGER.severe("Unknown MineSkin error: " + response.getStatusCode());
+        } finally {
+            connection.disconnect();
         }
+    }
 
-        return null;
+    /**
+     * @param string String to be checked
+     * @return True if string matches {@link #NAME_REGEX}
+     */
+    @Contract("null -> false")
+    public static boolean matchesNameRegex(final @Nullable String string) {
+        return string != null
+                && NAME_PATTERN.matcher(string).matches();
     }
 
     /**
@@ -0,0 +1,248 @@
+package com.minersstudios.whomine.player.skin;
+
+import com.minersstudios.whomine.utility.ChatUtils;
+import com.mojang.authlib.properties.Property;
+import com.mojang.authlib.properties.PropertyMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.*;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.ServerPlayerGameMode;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.minecraft.world.level.biome.BiomeManager;
+import org.bukkit.Bukkit;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerShowEntityEvent;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Engine, which applies the skins of the players.
+ * <br>
+ * The skin is set to the game profile of the player at once, and the player
+ * is refreshed for the viewers on the next run of the applier, which is
+ * scheduled every tick. All skin changes of the same tick are merged, so each
+ * viewer receives a single player info remove and add packet pair for all
+ * changed players instead of a pair per changed player. The pair is built
+ * once and shared by all viewers, which can see all changed players. The
+ * changed players are then shown again to the viewers in their tracking
+ * range, and the changed players receive the respawn packet sequence to
+ * refresh their own skin.
+ * <br>
+ * The skin must be set on the main thread, since the player is ejected from
+ * its vehicle, and the players are refreshed on the main thread too.
+ */
+public final class SkinApplier implements Runnable {
+    private final Set<ServerPlayer> pending;
+
+    private static final String TEXTURES_PROPERTY = "textures";
+
+    /**
+     * Constructs a new skin applier
+     */
+    public SkinApplier() {
+        this.pending = new ObjectLinkedOpenHashSet<>();
+    }
+
+    /**
+     * Sets the skin of the player and schedules the refresh of the player for
+     * all players on the server. If wanted to reset the skin, set both value
+     * and signature to null.
+     * <br>
+     * <b>NOTE:</b> This method must be called on the main thread.
+     *
+     * @param player    Player, whose skin will be set
+     * @param value     Value of the skin
+     * @param signature Signature of the skin
+     */
+    public void apply(
+            final @NotNull Player player,
+            final @Nullable String value,
+            final @Nullable String signature
+    ) {
+        final ServerPlayer serverPlayer = ((CraftPlayer) player).getHandle();
+        final PropertyMap propertyMap = serverPlayer.getGameProfile().getProperties();
+        final Entity vehicle = player.getVehicle();
+
+        if (vehicle != null) {
+            vehicle.eject();
+        }
+
+        propertyMap.removeAll(TEXTURES_PROPERTY);
+
+        if (
+                ChatUtils.isNotBlank(value)
+                && ChatUtils.isNotBlank(signature)
+        ) {
+            propertyMap.put(TEXTURES_PROPERTY, new Property(TEXTURES_PROPERTY, value, signature));
+        }
+
+        if (serverPlayer.sentListPacket) {
+            synchronized (this.pending) {
+                this.pending.add(serverPlayer);
+            }
+        }
+    }
+
+    /**
+     * @return The number of the players, waiting for the refresh
+     */
+    public int size() {
+        synchronized (this.pending) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * Refreshes all players, which skins were changed since the last run
+     */
+    @Override
+    public void run() {
+        final List<ServerPlayer> changed;
+
+        synchronized (this.pending) {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+
+            changed = new ObjectArrayList<>(this.pending.size());
+
+            for (final var serverPlayer : this.pending) {
+                if (!serverPlayer.hasDisconnected()) {
+                    changed.add(serverPlayer);
+                }
+            }
+
+            this.pending.clear();
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        final MinecraftServer server = MinecraftServer.getServer();
+        final PluginManager pluginManager = Bukkit.getPluginManager();
+        final Packet<?> removePacket = createRemovePacket(changed);
+        final Packet<?> addPacket = ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(changed);
+        final var visible = new ObjectArrayList<ServerPlayer>(changed.size());
+
+        for (final var viewer : server.getPlayerList().players) {
+            final CraftPlayer bukkitViewer = viewer.getBukkitEntity();
+            final ChunkMap chunkMap = viewer.serverLevel().getChunkSource().chunkMap;
+
+            visible.clear();
+
+            for (final var serverPlayer : changed) {
+                if (bukkitViewer.canSee(serverPlayer.getBukkitEntity())) {
+                    visible.add(serverPlayer);
+                }
+            }
+
+            if (visible.isEmpty()) {
+                continue;
+            }
+
+            final boolean seesAll = visible.size() == changed.size();
+
+            for (final var serverPlayer : visible) {
+                final ChunkMap.TrackedEntity trackedEntity = chunkMap.entityMap.get(serverPlayer.getId());
+
+                if (trackedEntity != null) {
+                    trackedEntity.removePlayer(viewer);
+                }
+            }
+
+            viewer.connection.send(seesAll ? removePacket : createRemovePacket(visible));
+            viewer.connection.send(seesAll ? addPacket : ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(visible));
+
+            for (final var serverPlayer : visible) {
+                final ChunkMap.TrackedEntity trackedEntity = chunkMap.entityMap.get(serverPlayer.getId());
+
+                if (
+                        trackedEntity != null
+                        && !trackedEntity.seenBy.contains(viewer.connection)
+                ) {
+                    trackedEntity.updatePlayer(viewer);
+                }
+
+                pluginManager.callEvent(
+                        new PlayerShowEntityEvent(
+                                bukkitViewer,
+                                serverPlayer.getBukkitEntity()
+                        )
+                );
+            }
+        }
+
+        for (final var serverPlayer : changed) {
+            refreshSelf(server, serverPlayer);
+        }
+    }
+
+    private static @NotNull Packet<?> createRemovePacket(final @NotNull List<ServerPlayer> players) {
+        final var uuids = new ObjectArrayList<UUID>(players.size());
+
+        for (final var serverPlayer : players) {
+            uuids.add(serverPlayer.getUUID());
+        }
+
+        return new ClientboundPlayerInfoRemovePacket(uuids);
+    }
+
+    private static void refreshSelf(
+            final @NotNull MinecraftServer server,
+            final @NotNull ServerPlayer serverPlayer
+    ) {
+        final CraftPlayer player = serverPlayer.getBukkitEntity();
+        final ServerGamePacketListenerImpl connection = serverPlayer.connection;
+        final ServerLevel serverLevel = serverPlayer.serverLevel();
+        final ServerPlayerGameMode gameMode = serverPlayer.gameMode;
+
+        connection.send(
+                new ClientboundRespawnPacket(
+                        new CommonPlayerSpawnInfo(
+                                serverLevel.dimensionTypeId(),
+                                serverLevel.dimension(),
+                                BiomeManager.obfuscateSeed(serverLevel.getSeed()),
+                                gameMode.getGameModeForPlayer(),
+                                gameMode.getPreviousGameModeForPlayer(),
+                                serverLevel.isDebug(),
+                                serverLevel.isFlat(),
+                                serverPlayer.getLastDeathLocation(),
+                                serverPlayer.getPortalCooldown()
+                        ),
+                        ClientboundRespawnPacket.KEEP_ALL_DATA
+                )
+        );
+        serverPlayer.onUpdateAbilities();
+        connection.teleport(player.getLocation());
+        server.getPlayerList().sendAllPlayerInfo(serverPlayer);
+        connection.send(
+                new ClientboundSetExperiencePacket(
+                        serverPlayer.experienceProgress,
+                        serverPlayer.totalExperience,
+                        serverPlayer.experienceLevel
+                )
+        );
+
+        for (final var mobEffect : serverPlayer.getActiveEffects()) {
+            connection.send(new ClientboundUpdateMobEffectPacket(serverPlayer.getId(), mobEffect));
+        }
+
+        if (player.isOp()) {
+            player.setOp(false);
+            player.setOp(true);
+        }
+    }
+}
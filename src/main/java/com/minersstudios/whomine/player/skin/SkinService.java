@@ -0,0 +1,460 @@
+package com.minersstudios.whomine.player.skin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.minersstudios.whomine.WhoMine;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking service to create skins from image links.
+ * <br>
+ * The image is downloaded once, its dimensions are validated from the PNG
+ * header, and the value and signature of the skin are looked up in the
+ * content-addressed cache by the SHA-256 hash of the image. Only the images,
+ * which are not cached yet, are uploaded to the MineSkin API, so the texture
+ * is always generated from the same bytes, whose hash is its key, even if the
+ * link serves another image later. The generated textures are stored in the
+ * cache folder, one file per image hash, so adding the same skin again costs
+ * only the download.
+ * <br>
+ * The concurrent requests for the same link share a single pipeline. All
+ * requests are run in a bounded pool and fail with a {@link TimeoutException}
+ * after {@link #REQUEST_TIMEOUT}. The download and upload of the request are
+ * bounded by the same deadline, their connect and read timeouts never exceed
+ * the remaining time and the steps, which start after the deadline, fail
+ * at once, so a timed out request does not keep holding the pool threads.
+ *
+ * @see <a href="https://mineskin.org">MineSkin API</a>
+ */
+public final class SkinService {
+    private final Logger logger;
+    private final Path cacheFolder;
+    private final String apiUrl;
+    private final Supplier<String> apiKey;
+    private final Duration requestTimeout;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Texture>> pending;
+    private final Map<String, Texture> textures;
+
+    /** The maximum time of the single request */
+    public static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(3L);
+
+    private static final Gson GSON = new Gson();
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_DELAY = 2L;
+    private static final long FAILED_GENERATION_DELAY = 5L;
+    private static final String CACHE_EXTENSION = ".json";
+
+    //<editor-fold defaultstate="collapsed" desc="Error codes">
+    private static final String CODE_FAILED_TO_CREATE_ID =  "failed_to_create_id";
+    private static final String CODE_SKIN_CHANGE_FAILED =   "skin_change_failed";
+    private static final String CODE_NO_ACCOUNT_AVAILABLE = "no_account_available";
+    private static final String CODE_INVALID_API_KEY =      "invalid_api_key";
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Error messages">
+    private static final String ERROR_INVALID_API_KEY = "Invalid API Key";
+    private static final String ERROR_CLIENT_NOT_ALLOWED = "Client not allowed";
+    private static final String ERROR_ORIGIN_NOT_ALLOWED = "Origin not allowed";
+    private static final String ERROR_AGENT_NOT_ALLOWED = "Agent not allowed";
+    //</editor-fold>
+
+    /**
+     * Constructs a new skin service, which uses the MineSkin API and the
+     * "skins" cache folder of the plugin
+     *
+     * @param plugin The plugin instance
+     */
+    public SkinService(final @NotNull WhoMine plugin) {
+        this(
+                plugin.getLogger(),
+                plugin.getDataFolder().toPath().resolve("skins"),
+                MineSkinResponse.MINE_SKIN_UPLOAD_URL,
+                () -> plugin.getConfiguration().getMineSkinApiKey()
+        );
+    }
+
+    /**
+     * Constructs a new skin service
+     *
+     * @param logger      The logger, used to log the errors of the service
+     * @param cacheFolder The folder of the cached skin textures
+     * @param apiUrl      The url of the MineSkin "generate/upload" endpoint
+     * @param apiKey      The supplier of the MineSkin API key, which may
+     *                    supply null to send anonymous requests
+     */
+    public SkinService(
+            final @NotNull Logger logger,
+            final @NotNull Path cacheFolder,
+            final @NotNull String apiUrl,
+            final @NotNull Supplier<String> apiKey
+    ) {
+        this(logger, cacheFolder, apiUrl, apiKey, REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructs a new skin service with the given request timeout
+     *
+     * @param logger         The logger, used to log the errors of the service
+     * @param cacheFolder    The folder of the cached skin textures
+     * @param apiUrl         The url of the MineSkin "generate/upload" endpoint
+     * @param apiKey         The supplier of the MineSkin API key, which may
+     *                       supply null to send anonymous requests
+     * @param requestTimeout The maximum time of the single request
+     */
+    SkinService(
+            final @NotNull Logger logger,
+            final @NotNull Path cacheFolder,
+            final @NotNull String apiUrl,
+            final @NotNull Supplier<String> apiKey,
+            final @NotNull Duration requestTimeout
+    ) {
+        this.logger = logger;
+        this.cacheFolder = cacheFolder;
+        this.apiUrl = apiUrl;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.executor = new ThreadPoolExecutor(
+                THREADS, THREADS,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "WhoMine-Skin-Service");
+
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.pending = new ConcurrentHashMap<>();
+        this.textures = new ConcurrentHashMap<>();
+
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a skin from an image link.
+     * <br>
+     * The returned future completes exceptionally with an
+     * {@link IllegalArgumentException} if the name or the image is not valid,
+     * or with another exception if the skin could not be generated, use
+     * {@link #isInvalidSkin(Throwable)} to tell them apart.
+     *
+     * @param name The name of the skin
+     * @param link The link to the skin image, must start with "https://" or
+     *             "http://"
+     * @return A future, which completes with the skin
+     */
+    public @NotNull CompletableFuture<Skin> create(
+            final @NotNull String name,
+            final @NotNull String link
+    ) {
+        if (!Skin.matchesNameRegex(name)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException(
+                            "The name must be between 1 and 32 characters long and only contain letters, numbers, and underscores"
+                    )
+            );
+        }
+
+        final CompletableFuture<Texture> future = new CompletableFuture<>();
+        final CompletableFuture<Texture> existing = this.pending.putIfAbsent(link, future);
+
+        if (existing == null) {
+            final long deadline = System.nanoTime() + this.requestTimeout.toNanos();
+
+            this.resolve(link, deadline)
+            .orTimeout(this.requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((texture, throwable) -> {
+                this.pending.remove(link, future);
+
+                if (throwable != null) {
+                    future.completeExceptionally(unwrap(throwable));
+                } else {
+                    future.complete(texture);
+                }
+            });
+        }
+
+        return (existing == null ? future : existing)
+                .thenApply(texture -> Skin.create(name, texture.value(), texture.signature()));
+    }
+
+    /**
+     * Stops the service, the pending requests are not completed
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * @param throwable The failure of the future, returned by
+     *                  {@link #create(String, String)}
+     * @return True if the skin failed because its name or image is not valid,
+     *         false if the skin could not be generated
+     */
+    @Contract("null -> false")
+    public static boolean isInvalidSkin(final @Nullable Throwable throwable) {
+        return unwrap(throwable) instanceof IllegalArgumentException;
+    }
+
+    private @NotNull CompletableFuture<Texture> resolve(
+            final @NotNull String link,
+            final long deadline
+    ) {
+        return this.supply(deadline, timeout -> Skin.downloadImage(link, Math.min(timeout, Skin.DOWNLOAD_TIMEOUT)))
+                .thenCompose(image -> {
+                    if (!Skin.isValidSkinImg(image)) {
+                        throw new IllegalArgumentException("The link must be a valid skin image");
+                    }
+
+                    final String hash = hash(image);
+                    final Texture cached = this.readCached(hash);
+
+                    return cached != null
+                            ? CompletableFuture.completedFuture(cached)
+                            : this.generate(image, 0, deadline)
+                            .thenApply(texture -> {
+                                this.writeCached(hash, texture);
+                                return texture;
+                            });
+                });
+    }
+
+    private @NotNull CompletableFuture<Texture> generate(
+            final byte @NotNull [] image,
+            final int attempt,
+            final long deadline
+    ) {
+        return this.supply(deadline, timeout -> MineSkinResponse.upload(this.apiUrl, this.apiKey.get(), image, Math.min(timeout, MineSkinResponse.UPLOAD_TIMEOUT)))
+                .<CompletableFuture<Texture>>handle((response, throwable) -> {
+                    if (throwable != null) {
+                        return this.retry(image, attempt, deadline, 0L, unwrap(throwable));
+                    }
+
+                    return switch (response.getStatusCode()) {
+                        case 200 -> {
+                            final MineSkinJson.Data.Texture texture = response.getBodyResponse(MineSkinJson.class).data().texture();
+
+                            yield CompletableFuture.completedFuture(new Texture(texture.value(), texture.signature()));
+                        }
+                        case 500, 400 -> {
+                            final String errorCode = response.getBodyResponse(MineSkinErrorJson.class).errorCode();
+
+                            yield switch (errorCode) {
+                                case CODE_FAILED_TO_CREATE_ID, CODE_SKIN_CHANGE_FAILED ->
+                                        this.retry(image, attempt, deadline, FAILED_GENERATION_DELAY, new IOException("MineSkin error: " + errorCode));
+                                case CODE_NO_ACCOUNT_AVAILABLE ->
+                                        CompletableFuture.failedFuture(new IOException("No account available to create skin"));
+                                default ->
+                                        CompletableFuture.failedFuture(new IOException("Unknown MineSkin error: " + errorCode));
+                            };
+                        }
+                        case 403 -> {
+                            final MineSkinErrorJson errorJson = response.getBodyResponse(MineSkinErrorJson.class);
+                            final String error = errorJson.error();
+
+                            if (CODE_INVALID_API_KEY.equals(errorJson.errorCode())) {
+                                this.logger.severe(
+                                        "Api key is not valid! Reason: " + error + " "
+                                        + (switch (error) {
+                                            case ERROR_INVALID_API_KEY ->    "This api key is not registered on MineSkin!";
+                                            case ERROR_CLIENT_NOT_ALLOWED -> "This server ip is not on the api key allowed ips list!";
+                                            case ERROR_ORIGIN_NOT_ALLOWED -> "This server origin is not on the api key allowed origin list!";
+                                            case ERROR_AGENT_NOT_ALLOWED ->  "This server agent is not on the api key allowed agents list!";
+                                            default ->                       "";
+                                        })
+                                );
+                            }
+
+                            yield CompletableFuture.<Texture>failedFuture(new IOException("MineSkin request is forbidden: " + error));
+                        }
+                        case 429 -> this.retry(
+                                image,
+                                attempt,
+                                deadline,
+                                getRetryDelay(response.getBodyResponse(MineSkinDelayErrorJson.class)),
+                                new IOException("Too many MineSkin requests")
+                        );
+                        default -> CompletableFuture.<Texture>failedFuture(new IOException("Unknown MineSkin error: " + response.getStatusCode()));
+                    };
+                })
+                .thenCompose(future -> future);
+    }
+
+    private @NotNull CompletableFuture<Texture> retry(
+            final byte @NotNull [] image,
+            final int attempt,
+            final long deadline,
+            final long delay,
+            final @NotNull Throwable cause
+    ) {
+        if (
+                attempt + 1 >= MAX_ATTEMPTS
+                || cause instanceof IllegalArgumentException
+                || cause instanceof TimeoutException
+        ) {
+            return CompletableFuture.failedFuture(cause);
+        }
+
+        return CompletableFuture
+                .supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.SECONDS))
+                .thenCompose(ignored -> this.generate(image, attempt + 1, deadline));
+    }
+
+    private <T> @NotNull CompletableFuture<T> supply(
+            final long deadline,
+            final @NotNull TimedCall<T> call
+    ) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                        if (remaining <= 0L) {
+                            throw new CompletionException(new TimeoutException("The skin request timed out"));
+                        }
+
+                        try {
+                            return call.call((int) Math.min(remaining, Integer.MAX_VALUE));
+                        } catch (final RuntimeException e) {
+                            throw e;
+                        } catch (final Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    },
+                    this.executor
+            );
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private @Nullable Texture readCached(final @NotNull String hash) {
+        final Texture cached = this.textures.get(hash);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final Path file = this.cacheFolder.resolve(hash + CACHE_EXTENSION);
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            final Texture texture = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), Texture.class);
+
+            if (
+                    texture == null
+                    || texture.value() == null
+                    || texture.signature() == null
+            ) {
+                return null;
+            }
+
+            this.textures.put(hash, texture);
+            return texture;
+        } catch (final IOException | JsonParseException e) {
+            this.logger.log(Level.WARNING, "Failed to read the cached skin texture : " + file, e);
+            return null;
+        }
+    }
+
+    private void writeCached(
+            final @NotNull String hash,
+            final @NotNull Texture texture
+    ) {
+        this.textures.put(hash, texture);
+
+        try {
+            final Path file = this.cacheFolder.resolve(hash + CACHE_EXTENSION);
+            final Path tempFile = this.cacheFolder.resolve(hash + CACHE_EXTENSION + ".tmp");
+
+            Files.createDirectories(this.cacheFolder);
+            Files.writeString(tempFile, GSON.toJson(texture), StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            this.logger.log(Level.WARNING, "Failed to cache the skin texture : " + hash, e);
+        }
+    }
+
+    private static long getRetryDelay(final @NotNull MineSkinDelayErrorJson delayErrorJson) {
+        final Integer delay = delayErrorJson.delay();
+        final Integer nextRequest = delayErrorJson.nextRequest();
+
+        if (delay != null) {
+            return delay;
+        }
+
+        if (nextRequest != null) {
+            final long duration = Duration.between(
+                    Instant.now(),
+                    Instant.ofEpochSecond(nextRequest)
+            ).getSeconds();
+
+            if (duration > 0) {
+                return duration;
+            }
+        }
+
+        return DEFAULT_RETRY_DELAY;
+    }
+
+    private static @NotNull String hash(final byte @NotNull [] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    @Contract("null -> null")
+    private static @Nullable Throwable unwrap(final @Nullable Throwable throwable) {
+        Throwable cause = throwable;
+
+        while (
+                cause instanceof CompletionException
+                || cause instanceof ExecutionException
+        ) {
+            if (cause.getCause() == null) {
+                break;
+            }
+
+            cause = cause.getCause();
+        }
+
+        return cause;
+    }
+
+    @FunctionalInterface
+    private interface TimedCall<T> {
+
+        T call(final int timeout) throws Exception;
+    }
+
+    private record Texture(
+            String value,
+            String signature
+    ) {}
+}
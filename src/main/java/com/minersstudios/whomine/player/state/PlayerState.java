@@ -0,0 +1,171 @@
+package com.minersstudios.whomine.player.state;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-player state container.
+ * <br>
+ * The container is created when the player joins the server and removed when
+ * the player quits. Each subsystem stores its state in its own slot, accessed
+ * by the {@link PlayerStateKey}. When the player quits, all slots are cleared
+ * with {@link #clear()}, so no subsystem keeps the state of the player who
+ * has left the server.
+ * <br>
+ * The slots can be safely accessed from any thread.
+ *
+ * @see PlayerStateKeys
+ */
+public final class PlayerState {
+    private final Player player;
+    private final AtomicReferenceArray<Object> slots;
+
+    /**
+     * Constructs a new empty player state
+     *
+     * @param player The player this state belongs to
+     */
+    public PlayerState(final @NotNull Player player) {
+        this.player = player;
+        this.slots = new AtomicReferenceArray<>(PlayerStateKeys.size());
+    }
+
+    /**
+     * @return The player this state belongs to
+     */
+    public @NotNull Player getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * @param key The key of the slot
+     * @return The value of the slot, or null if the slot is empty
+     */
+    public <T> @Nullable T get(final @NotNull PlayerStateKey<T> key) {
+        return key.cast(this.slots.get(key.index()));
+    }
+
+    /**
+     * Gets the value of the slot, or creates a new one with the key's
+     * initializer if the slot is empty
+     *
+     * @param key The key of the slot
+     * @return The value of the slot
+     * @throws UnsupportedOperationException If the slot is empty and the key
+     *                                       has no initializer
+     * @see PlayerStateKey#createValue()
+     */
+    public <T> @NotNull T getOrCreate(final @NotNull PlayerStateKey<T> key) throws UnsupportedOperationException {
+        final T value = key.cast(this.slots.get(key.index()));
+
+        if (value != null) {
+            return value;
+        }
+
+        final T newValue = key.createValue();
+        final T previousValue = this.putIfAbsent(key, newValue);
+
+        return previousValue == null
+                ? newValue
+                : previousValue;
+    }
+
+    /**
+     * @param key The key of the slot
+     * @return True if the slot is not empty
+     */
+    public boolean has(final @NotNull PlayerStateKey<?> key) {
+        return this.slots.get(key.index()) != null;
+    }
+
+    /**
+     * Sets the value of the slot
+     *
+     * @param key   The key of the slot
+     * @param value The new value of the slot, or null to empty the slot
+     * @return The previous value of the slot, or null if the slot was empty
+     */
+    public <T> @Nullable T set(
+            final @NotNull PlayerStateKey<T> key,
+            final @Nullable T value
+    ) {
+        return key.cast(this.slots.getAndSet(key.index(), value));
+    }
+
+    /**
+     * Sets the value of the slot only if the slot is empty
+     *
+     * @param key   The key of the slot
+     * @param value The new value of the slot
+     * @return The current value of the slot if it was not empty, or null if
+     *         the value was set
+     */
+    public <T> @Nullable T putIfAbsent(
+            final @NotNull PlayerStateKey<T> key,
+            final @NotNull T value
+    ) {
+        final int index = key.index();
+
+        while (true) {
+            if (this.slots.compareAndSet(index, null, value)) {
+                return null;
+            }
+
+            final T currentValue = key.cast(this.slots.get(index));
+
+            if (currentValue != null) {
+                return currentValue;
+            }
+        }
+    }
+
+    /**
+     * Empties the slot
+     *
+     * @param key The key of the slot
+     * @return The previous value of the slot, or null if the slot was empty
+     */
+    public <T> @Nullable T remove(final @NotNull PlayerStateKey<T> key) {
+        return this.set(key, null);
+    }
+
+    /**
+     * Empties the slot only if it contains the given value
+     *
+     * @param key   The key of the slot
+     * @param value The expected value of the slot
+     * @return True if the slot was emptied
+     */
+    public <T> boolean remove(
+            final @NotNull PlayerStateKey<T> key,
+            final @NotNull T value
+    ) {
+        return this.slots.compareAndSet(key.index(), value, null);
+    }
+
+    /**
+     * Empties all slots and cleans up their values
+     *
+     * @see PlayerStateKey#cleanValue(Object)
+     */
+    public void clear() {
+        for (final var key : PlayerStateKeys.keys()) {
+            final Object value = this.slots.getAndSet(key.index(), null);
+
+            if (value != null) {
+                key.cleanValue(value);
+            }
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "PlayerState{" +
+                "player=" + this.player.getName() +
+                ", slots=" + this.slots +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.minersstudios.whomine.player.state;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Represents a typed key of the per-player state slot.
+ * <br>
+ * Each key has its own index in the {@link PlayerState} slot array, so the
+ * state of the player can be accessed with a single array access. All keys are
+ * registered in {@link PlayerStateKeys}.
+ *
+ * @param <T> The type of the state value
+ * @see PlayerState
+ * @see PlayerStateKeys
+ */
+@Immutable
+public final class PlayerStateKey<T> {
+    private final int index;
+    private final String name;
+    private final Supplier<? extends T> initializer;
+    private final Consumer<? super T> cleaner;
+
+    PlayerStateKey(
+            final int index,
+            final @NotNull String name,
+            final @Nullable Supplier<? extends T> initializer,
+            final @Nullable Consumer<? super T> cleaner
+    ) {
+        this.index = index;
+        this.name = name;
+        this.initializer = initializer;
+        this.cleaner = cleaner;
+    }
+
+    /**
+     * @return The index of the slot in the player state
+     */
+    public int index() {
+        return this.index;
+    }
+
+    /**
+     * @return The name of the key
+     */
+    public @NotNull String name() {
+        return this.name;
+    }
+
+    /**
+     * Creates a new initial value of the state slot
+     *
+     * @return The new initial value of the state slot
+     * @throws UnsupportedOperationException If the key has no initializer
+     */
+    public @NotNull T createValue() throws UnsupportedOperationException {
+        if (this.initializer == null) {
+            throw new UnsupportedOperationException("Key " + this.name + " has no initializer");
+        }
+
+        return this.initializer.get();
+    }
+
+    /**
+     * Cleans up the value of the state slot when it is removed from the
+     * player state on quit
+     *
+     * @param value The value to clean up
+     */
+    public void cleanValue(final @NotNull Object value) {
+        if (this.cleaner != null) {
+            this.cleaner.accept(this.cast(value));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return this.index;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object obj) {
+        return obj == this;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "PlayerStateKey{" +
+                "index=" + this.index +
+                ", name=" + this.name +
+                '}';
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable T cast(final @Nullable Object value) {
+        return (T) value;
+    }
+}
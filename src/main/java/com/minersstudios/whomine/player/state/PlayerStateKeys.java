@@ -0,0 +1,78 @@
+package com.minersstudios.whomine.player.state;
+
+import com.minersstudios.whomine.custom.anomaly.AnomalyAction;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.inventory.EquipmentSlot;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Registry of all {@link PlayerStateKey player state keys}.
+ * <br>
+ * The keys are registered once on class initialization, so every
+ * {@link PlayerState} is created with enough slots for all of them.
+ */
+public final class PlayerStateKeys {
+    private static final List<PlayerStateKey<?>> KEYS = new ObjectArrayList<>();
+
+    /** The armor stand the player is sitting on */
+    public static final PlayerStateKey<ArmorStand> SEAT = register(
+            "seat", null,
+            armorStand -> {
+                if (armorStand.isValid()) {
+                    armorStand.remove();
+                }
+            }
+    );
+    /** The yaw of the seat last sent to the clients */
+    public static final PlayerStateKey<Float> SEAT_YAW = register("seat_yaw", null, null);
+    /** The hand the enabled dosimeter is held in */
+    public static final PlayerStateKey<EquipmentSlot> DOSIMETER_SLOT = register("dosimeter_slot", null, null);
+    /** The anomaly actions with the time they were applied to the player */
+    public static final PlayerStateKey<Map<AnomalyAction, Long>> ANOMALY_ACTIONS = register("anomaly_actions", ConcurrentHashMap::new, null);
+    /** The queue of the chat messages to be shown above the player */
+    public static final PlayerStateKey<Queue<String>> CHAT_QUEUE = register("chat_queue", ConcurrentLinkedQueue::new, null);
+
+    @Contract(" -> fail")
+    private PlayerStateKeys() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * @return An unmodifiable list of all registered keys, ordered by their
+     *         indices
+     */
+    public static @NotNull @Unmodifiable List<PlayerStateKey<?>> keys() {
+        return Collections.unmodifiableList(KEYS);
+    }
+
+    /**
+     * @return The number of registered keys
+     */
+    public static int size() {
+        return KEYS.size();
+    }
+
+    private static <T> @NotNull PlayerStateKey<T> register(
+            final @NotNull String name,
+            final @Nullable Supplier<? extends T> initializer,
+            final @Nullable Consumer<? super T> cleaner
+    ) {
+        final var key = new PlayerStateKey<T>(KEYS.size(), name, initializer, cleaner);
+
+        KEYS.add(key);
+        return key;
+    }
+}
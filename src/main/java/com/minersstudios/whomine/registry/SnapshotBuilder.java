@@ -0,0 +1,89 @@
+package com.minersstudios.whomine.registry;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Collects the registry entries during the loading and publishes them as one
+ * new snapshot to the {@link SnapshotHolder}.
+ * <br>
+ * Entries can be added from any thread, for example from a parallel stream.
+ * The current snapshot of the registry stays visible to the readers until
+ * {@link #publish()} swaps in the new one.
+ *
+ * @param <E> The type of the entries
+ * @param <S> The type of the snapshot
+ */
+public final class SnapshotBuilder<E, S> {
+    private final SnapshotHolder<S> holder;
+    private final Function<? super List<E>, ? extends S> factory;
+    private final Queue<E> entries;
+
+    /**
+     * Constructs a new snapshot builder
+     *
+     * @param holder  The holder to publish the snapshot to
+     * @param factory The function, which creates the snapshot from the
+     *                collected entries, may throw an
+     *                {@link IllegalArgumentException} if the entries are
+     *                invalid
+     */
+    public SnapshotBuilder(
+            final @NotNull SnapshotHolder<S> holder,
+            final @NotNull Function<? super List<E>, ? extends S> factory
+    ) {
+        this.holder = holder;
+        this.factory = factory;
+        this.entries = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Adds the entry to the builder
+     *
+     * @param entry The entry to add
+     * @return This builder
+     */
+    @Contract("_ -> this")
+    public @NotNull SnapshotBuilder<E, S> add(final @NotNull E entry) {
+        this.entries.add(entry);
+        return this;
+    }
+
+    /**
+     * @return The number of the added entries
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Creates the snapshot from the added entries
+     *
+     * @return The new snapshot
+     * @throws IllegalArgumentException If the entries are invalid, for
+     *                                  example, if there are duplicate keys
+     */
+    public @NotNull S build() throws IllegalArgumentException {
+        return this.factory.apply(List.copyOf(this.entries));
+    }
+
+    /**
+     * Creates the snapshot from the added entries and publishes it, replacing
+     * the current snapshot of the registry
+     *
+     * @return The published snapshot
+     * @throws IllegalArgumentException If the entries are invalid, for
+     *                                  example, if there are duplicate keys
+     */
+    public @NotNull S publish() throws IllegalArgumentException {
+        final S snapshot = this.build();
+
+        this.holder.publish(snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,59 @@
+package com.minersstudios.whomine.registry;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current immutable snapshot of a registry.
+ * <br>
+ * The snapshot is published through a volatile reference, so the readers
+ * always see a whole, consistent snapshot without any locking. The writers
+ * never modify the published snapshot, they build a new one and swap it in.
+ *
+ * @param <S> The type of the snapshot, must be immutable
+ * @see SnapshotBuilder
+ */
+public final class SnapshotHolder<S> {
+    private volatile S snapshot;
+
+    /**
+     * Constructs a new snapshot holder
+     *
+     * @param initial The initial snapshot
+     */
+    public SnapshotHolder(final @NotNull S initial) {
+        this.snapshot = initial;
+    }
+
+    /**
+     * @return The current snapshot
+     */
+    public @NotNull S get() {
+        return this.snapshot;
+    }
+
+    /**
+     * Replaces the current snapshot with the given one
+     *
+     * @param snapshot The new snapshot
+     */
+    public synchronized void publish(final @NotNull S snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates a new snapshot from the current one and publishes it. The
+     * updates are serialized, so no concurrent update is lost.
+     *
+     * @param updater The function, which creates a new snapshot from the
+     *                current one, must not modify the current snapshot
+     * @return The published snapshot
+     */
+    public synchronized @NotNull S update(final @NotNull UnaryOperator<S> updater) {
+        final S updated = updater.apply(this.snapshot);
+
+        this.snapshot = updated;
+        return updated;
+    }
+}
@@ -0,0 +1,473 @@
+package com.minersstudios.whomine.resource.bundle;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary bundle of the parsed content files.
+ * <br>
+ * The bundle is a single file, which contains the parsed json and yaml trees
+ * of all content files, read on the previous start. It is read at once, and
+ * each content file is then checked against its entry by the size and the last
+ * modification time, or by the checksum of the file, if only the time has
+ * changed. Only the changed files are parsed from the source again.
+ * <br>
+ * The body of the bundle is protected by the SHA-256 hash, so a damaged or
+ * outdated bundle is discarded and rebuilt from the sources. When the bundle
+ * is {@link #save() saved}, it keeps only the entries of the files, which were
+ * read since it was loaded, so the removed files are dropped from it.
+ * <br>
+ * The bundle is thread-safe, the files may be read in parallel.
+ *
+ * @see #read(Logger, Path)
+ */
+public final class ContentBundle {
+    private final Logger logger;
+    private final Path file;
+    private final Path root;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> touched;
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+    private volatile boolean isChanged;
+
+    /** The magic number of the bundle file, "WMCB" */
+    public static final int MAGIC = 0x574D4342;
+    /** The version of the bundle format */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final byte KIND_JSON = 1;
+    private static final byte KIND_YAML = 2;
+
+    private ContentBundle(
+            final @NotNull Logger logger,
+            final @NotNull Path file,
+            final @NotNull Map<String, Entry> entries,
+            final boolean isChanged
+    ) {
+        this.logger = logger;
+        this.file = file;
+        this.root = file.toAbsolutePath().normalize().getParent();
+        this.entries = entries;
+        this.touched = new ConcurrentHashMap<>(Math.max(16, entries.size()));
+        this.hits = new AtomicInteger();
+        this.misses = new AtomicInteger();
+        this.isChanged = isChanged;
+    }
+
+    /**
+     * Reads the content bundle from the specified file.
+     * <br>
+     * If the file does not exist, or it is damaged, or it has another format
+     * version, an empty bundle is returned, which will be filled from the
+     * sources and rewritten on {@link #save()}.
+     *
+     * @param logger The logger to log the problems to
+     * @param file   The bundle file
+     * @return The read content bundle
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ContentBundle read(
+            final @NotNull Logger logger,
+            final @NotNull Path file
+    ) {
+        final byte[] bytes;
+
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (final NoSuchFileException e) {
+            return new ContentBundle(logger, file, Collections.emptyMap(), true);
+        } catch (final IOException e) {
+            logger.log(Level.WARNING, "Failed to read content bundle " + file + ", it will be rebuilt", e);
+            return new ContentBundle(logger, file, Collections.emptyMap(), true);
+        }
+
+        try {
+            return new ContentBundle(logger, file, decodeEntries(bytes), false);
+        } catch (final IOException e) {
+            logger.warning("Content bundle " + file + " is outdated or damaged (" + e.getMessage() + "), it will be rebuilt");
+            return new ContentBundle(logger, file, Collections.emptyMap(), true);
+        }
+    }
+
+    /**
+     * @return The bundle file
+     */
+    public @NotNull Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * @return The number of the files read from this bundle
+     */
+    public int getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * @return The number of the files parsed from the source
+     */
+    public int getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Reads the json tree of the specified file from this bundle, or parses it
+     * from the file, if the file has changed.
+     * <br>
+     * The returned tree is a new instance each time, so it may be modified by
+     * the caller.
+     *
+     * @param source The json file
+     * @return The json tree of the file
+     * @throws IOException        If an I/O error occurs while reading the file
+     * @throws JsonParseException If the file is not a valid json file
+     */
+    public @NotNull JsonElement readJson(final @NotNull Path source) throws IOException, JsonParseException {
+        final String key = this.key(source);
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        final Entry cached = this.find(key, KIND_JSON, source, attributes);
+
+        if (cached != null) {
+            try {
+                final JsonElement element = ContentCodec.readJson(cached.input());
+
+                this.hits.incrementAndGet();
+                return element;
+            } catch (final IOException e) {
+                this.logger.warning("Damaged content bundle entry " + key + ", parsing the source");
+            }
+        }
+
+        final byte[] bytes = Files.readAllBytes(source);
+        final JsonElement element = JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8));
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+        ContentCodec.writeJson(new DataOutputStream(payload), element);
+        this.store(key, attributes, bytes, KIND_JSON, payload.toByteArray());
+
+        return element;
+    }
+
+    /**
+     * Reads the yaml configuration of the specified file from this bundle, or
+     * parses it from the file, if the file has changed.
+     * <br>
+     * The configurations with the values, which can not be stored in the
+     * bundle, are always parsed from the source.
+     *
+     * @param source The yaml file
+     * @return The yaml configuration of the file
+     * @throws IOException                   If an I/O error occurs while
+     *                                       reading the file
+     * @throws InvalidConfigurationException If the file is not a valid yaml
+     *                                       file
+     */
+    public @NotNull YamlConfiguration readYaml(final @NotNull Path source) throws IOException, InvalidConfigurationException {
+        final String key = this.key(source);
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        final Entry cached = this.find(key, KIND_YAML, source, attributes);
+
+        if (cached != null) {
+            try {
+                final YamlConfiguration config = toConfiguration(ContentCodec.readYaml(cached.input()));
+
+                this.hits.incrementAndGet();
+                return config;
+            } catch (final IOException e) {
+                this.logger.warning("Damaged content bundle entry " + key + ", parsing the source");
+            }
+        }
+
+        final byte[] bytes = Files.readAllBytes(source);
+        final YamlConfiguration config = new YamlConfiguration();
+
+        config.loadFromString(new String(bytes, StandardCharsets.UTF_8));
+
+        try {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+            ContentCodec.writeYaml(new DataOutputStream(payload), config.getValues(false));
+            this.store(key, attributes, bytes, KIND_YAML, payload.toByteArray());
+        } catch (final IllegalArgumentException e) {
+            this.misses.incrementAndGet();
+            this.logger.fine("Content file " + key + " is not bundled: " + e.getMessage());
+        }
+
+        return config;
+    }
+
+    /**
+     * Writes this bundle to its file, if any entry has changed since it was
+     * read. The bundle is written to a temporary file first, which then
+     * replaces the bundle file, so a bundle file is never left half-written.
+     * <br>
+     * Only the entries of the files, which were read since the bundle was
+     * loaded, are written.
+     */
+    public void save() {
+        if (
+                !this.isChanged
+                && this.touched.size() == this.entries.size()
+        ) {
+            return;
+        }
+
+        final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+
+        try {
+            Files.write(temp, this.encodeEntries());
+
+            try {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            this.isChanged = false;
+
+            this.logger.info(
+                    "Saved content bundle with " + this.touched.size() + " entries ("
+                    + this.getHits() + " read from the bundle, "
+                    + this.getMisses() + " parsed from the source)"
+            );
+        } catch (final IOException e) {
+            this.logger.log(Level.WARNING, "Failed to save content bundle " + this.file, e);
+
+            try {
+                Files.deleteIfExists(temp);
+            } catch (final IOException ignored) {}
+        }
+    }
+
+    /**
+     * @return A string representation of this bundle
+     */
+    @Override
+    public @NotNull String toString() {
+        return "ContentBundle{" +
+                "file=" + this.file +
+                ", entries=" + this.entries.size() +
+                ", hits=" + this.hits +
+                ", misses=" + this.misses +
+                '}';
+    }
+
+    private @NotNull String key(final @NotNull Path source) {
+        final Path path = source.toAbsolutePath().normalize();
+
+        return (
+                this.root != null
+                && path.startsWith(this.root)
+                ? this.root.relativize(path)
+                : path
+        ).toString().replace('\\', '/');
+    }
+
+    private @Nullable Entry find(
+            final @NotNull String key,
+            final byte kind,
+            final @NotNull Path source,
+            final @NotNull BasicFileAttributes attributes
+    ) throws IOException {
+        final Entry entry = this.entries.get(key);
+
+        if (
+                entry == null
+                || entry.kind != kind
+                || entry.size != attributes.size()
+        ) {
+            return null;
+        }
+
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+
+        if (entry.lastModified == lastModified) {
+            this.touched.put(key, entry);
+            return entry;
+        }
+
+        final byte[] bytes = Files.readAllBytes(source);
+
+        if (entry.checksum != checksum(bytes)) {
+            return null;
+        }
+
+        final Entry updated = new Entry(entry.size, lastModified, entry.checksum, kind, entry.payload);
+
+        this.touched.put(key, updated);
+        this.isChanged = true;
+
+        return updated;
+    }
+
+    private void store(
+            final @NotNull String key,
+            final @NotNull BasicFileAttributes attributes,
+            final byte @NotNull [] source,
+            final byte kind,
+            final byte @NotNull [] payload
+    ) {
+        this.touched.put(
+                key,
+                new Entry(
+                        source.length,
+                        attributes.lastModifiedTime().toMillis(),
+                        checksum(source),
+                        kind,
+                        payload
+                )
+        );
+        this.misses.incrementAndGet();
+        this.isChanged = true;
+    }
+
+    private byte @NotNull [] encodeEntries() throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final DataOutputStream bodyOutput = new DataOutputStream(body);
+
+        bodyOutput.writeInt(this.touched.size());
+
+        for (final var mapEntry : this.touched.entrySet()) {
+            final Entry entry = mapEntry.getValue();
+
+            ContentCodec.writeString(bodyOutput, mapEntry.getKey());
+            bodyOutput.writeLong(entry.size);
+            bodyOutput.writeLong(entry.lastModified);
+            bodyOutput.writeInt(entry.checksum);
+            bodyOutput.writeByte(entry.kind);
+            bodyOutput.writeInt(entry.payload.length);
+            bodyOutput.write(entry.payload);
+        }
+
+        final byte[] bodyBytes = body.toByteArray();
+        final ByteArrayOutputStream bundle = new ByteArrayOutputStream(bodyBytes.length + 48);
+        final DataOutputStream output = new DataOutputStream(bundle);
+
+        output.writeInt(MAGIC);
+        output.writeInt(FORMAT_VERSION);
+        output.write(hash(bodyBytes));
+        output.write(bodyBytes);
+
+        return bundle.toByteArray();
+    }
+
+    private static @NotNull Map<String, Entry> decodeEntries(final byte @NotNull [] bytes) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        if (input.readInt() != MAGIC) {
+            throw new IOException("not a content bundle");
+        }
+
+        final int version = input.readInt();
+
+        if (version != FORMAT_VERSION) {
+            throw new IOException("format version " + version + ", expected " + FORMAT_VERSION);
+        }
+
+        final byte[] expectedHash = new byte[32];
+
+        input.readFully(expectedHash);
+
+        final int bodyOffset = bytes.length - input.available();
+
+        if (!Arrays.equals(expectedHash, hash(Arrays.copyOfRange(bytes, bodyOffset, bytes.length)))) {
+            throw new IOException("hash mismatch");
+        }
+
+        final int count = input.readInt();
+        final var entries = new ConcurrentHashMap<String, Entry>(Math.max(16, count));
+
+        for (int i = 0; i < count; ++i) {
+            final String key = ContentCodec.readString(input);
+            final long size = input.readLong();
+            final long lastModified = input.readLong();
+            final int checksum = input.readInt();
+            final byte kind = input.readByte();
+            final byte[] payload = new byte[input.readInt()];
+
+            input.readFully(payload);
+            entries.put(key, new Entry(size, lastModified, checksum, kind, payload));
+        }
+
+        return entries;
+    }
+
+    private static @NotNull YamlConfiguration toConfiguration(final @Nullable Object tree) throws IOException {
+        if (!(tree instanceof final Map<?, ?> map)) {
+            throw new IOException("Yaml tree is not a map");
+        }
+
+        final YamlConfiguration config = new YamlConfiguration();
+
+        for (final var entry : map.entrySet()) {
+            final String path = (String) entry.getKey();
+
+            if (entry.getValue() instanceof final Map<?, ?> section) {
+                config.createSection(path, section);
+            } else {
+                config.set(path, entry.getValue());
+            }
+        }
+
+        return config;
+    }
+
+    private static int checksum(final byte @NotNull [] bytes) {
+        final CRC32C crc = new CRC32C();
+
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static byte @NotNull [] hash(final byte @NotNull [] bytes) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private record Entry(
+            long size,
+            long lastModified,
+            int checksum,
+            byte kind,
+            byte @NotNull [] payload
+    ) {
+
+        @NotNull DataInputStream input() {
+            return new DataInputStream(new ByteArrayInputStream(this.payload));
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.minersstudios.whomine.resource.bundle;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary codec of the parsed content trees, used by the {@link ContentBundle}.
+ * <br>
+ * The json trees are encoded with their numbers kept as the source text, so
+ * the decoded tree is the same as the one produced by the json parser. The
+ * yaml trees may only contain the maps, lists, strings, numbers, booleans and
+ * nulls, other values are rejected.
+ */
+final class ContentCodec {
+    private static final byte NULL =   0;
+    private static final byte FALSE =  1;
+    private static final byte TRUE =   2;
+    private static final byte INT =    3;
+    private static final byte LONG =   4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte LIST =   7;
+    private static final byte MAP =    8;
+    private static final byte NUMBER = 9;
+
+    @Contract(" -> fail")
+    private ContentCodec() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Encodes the json tree
+     *
+     * @param output  The output to write to
+     * @param element The json tree
+     * @throws IOException If an I/O error occurs
+     */
+    static void writeJson(
+            final @NotNull DataOutput output,
+            final @NotNull JsonElement element
+    ) throws IOException {
+        if (element.isJsonNull()) {
+            output.writeByte(NULL);
+        } else if (element instanceof final JsonPrimitive primitive) {
+            if (primitive.isBoolean()) {
+                output.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (primitive.isNumber()) {
+                output.writeByte(NUMBER);
+                writeString(output, primitive.getAsString());
+            } else {
+                output.writeByte(STRING);
+                writeString(output, primitive.getAsString());
+            }
+        } else if (element instanceof final JsonArray array) {
+            output.writeByte(LIST);
+            output.writeInt(array.size());
+
+            for (final var child : array) {
+                writeJson(output, child);
+            }
+        } else {
+            final JsonObject object = element.getAsJsonObject();
+
+            output.writeByte(MAP);
+            output.writeInt(object.size());
+
+            for (final var entry : object.entrySet()) {
+                writeString(output, entry.getKey());
+                writeJson(output, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Decodes the json tree
+     *
+     * @param input The input to read from
+     * @return The decoded json tree
+     * @throws IOException If an I/O error occurs or the data is malformed
+     */
+    static @NotNull JsonElement readJson(final @NotNull DataInput input) throws IOException {
+        final byte tag = input.readByte();
+
+        return switch (tag) {
+            case NULL -> JsonNull.INSTANCE;
+            case FALSE -> new JsonPrimitive(false);
+            case TRUE -> new JsonPrimitive(true);
+            case NUMBER -> new JsonPrimitive(new LazilyParsedNumber(readString(input)));
+            case STRING -> new JsonPrimitive(readString(input));
+            case LIST -> {
+                final int size = input.readInt();
+                final JsonArray array = new JsonArray(size);
+
+                for (int i = 0; i < size; ++i) {
+                    array.add(readJson(input));
+                }
+
+                yield array;
+            }
+            case MAP -> {
+                final int size = input.readInt();
+                final JsonObject object = new JsonObject();
+
+                for (int i = 0; i < size; ++i) {
+                    object.add(readString(input), readJson(input));
+                }
+
+                yield object;
+            }
+            default -> throw new IOException("Unknown json tag " + tag);
+        };
+    }
+
+    /**
+     * Encodes the yaml tree
+     *
+     * @param output The output to write to
+     * @param value  The yaml tree
+     * @throws IOException              If an I/O error occurs
+     * @throws IllegalArgumentException If the tree contains an unsupported
+     *                                  value
+     */
+    static void writeYaml(
+            final @NotNull DataOutput output,
+            final @Nullable Object value
+    ) throws IOException, IllegalArgumentException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof final Boolean bool) {
+            output.writeByte(bool ? TRUE : FALSE);
+        } else if (value instanceof final Integer integer) {
+            output.writeByte(INT);
+            output.writeInt(integer);
+        } else if (value instanceof final Long longValue) {
+            output.writeByte(LONG);
+            output.writeLong(longValue);
+        } else if (
+                value instanceof Double
+                || value instanceof Float
+        ) {
+            output.writeByte(DOUBLE);
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof final String string) {
+            output.writeByte(STRING);
+            writeString(output, string);
+        } else if (value instanceof final List<?> list) {
+            output.writeByte(LIST);
+            output.writeInt(list.size());
+
+            for (final var child : list) {
+                writeYaml(output, child);
+            }
+        } else if (value instanceof final ConfigurationSection section) {
+            writeYaml(output, section.getValues(false));
+        } else if (value instanceof final Map<?, ?> map) {
+            output.writeByte(MAP);
+            output.writeInt(map.size());
+
+            for (final var entry : map.entrySet()) {
+                writeString(output, String.valueOf(entry.getKey()));
+                writeYaml(output, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported yaml value type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Decodes the yaml tree
+     *
+     * @param input The input to read from
+     * @return The decoded yaml tree
+     * @throws IOException If an I/O error occurs or the data is malformed
+     */
+    static @Nullable Object readYaml(final @NotNull DataInput input) throws IOException {
+        final byte tag = input.readByte();
+
+        return switch (tag) {
+            case NULL -> null;
+            case FALSE -> false;
+            case TRUE -> true;
+            case INT -> input.readInt();
+            case LONG -> input.readLong();
+            case DOUBLE -> input.readDouble();
+            case STRING -> readString(input);
+            case LIST -> {
+                final int size = input.readInt();
+                final var list = new ObjectArrayList<>(size);
+
+                for (int i = 0; i < size; ++i) {
+                    list.add(readYaml(input));
+                }
+
+                yield list;
+            }
+            case MAP -> {
+                final int size = input.readInt();
+                final var map = new Object2ObjectLinkedOpenHashMap<String, Object>(size);
+
+                for (int i = 0; i < size; ++i) {
+                    map.put(readString(input), readYaml(input));
+                }
+
+                yield map;
+            }
+            default -> throw new IOException("Unknown yaml tag " + tag);
+        };
+    }
+
+    static void writeString(
+            final @NotNull DataOutput output,
+            final @NotNull String string
+    ) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static @NotNull String readString(final @NotNull DataInput input) throws IOException {
+        final int length = input.readInt();
+
+        if (length < 0) {
+            throw new IOException("Negative string length " + length);
+        }
+
+        final byte[] bytes = new byte[length];
+
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,186 @@
+package com.minersstudios.whomine.scheduler;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keyed delay queue of the expirations.
+ * <br>
+ * Each key has at most one expiration, scheduling a key again replaces its
+ * previous expiration. The expirations are ordered by their time, so
+ * {@link #run() the check} only looks at the earliest expiration and costs
+ * nothing while there is nothing to expire. When the expiration time comes,
+ * the expire action is called exactly once for the key on the thread, which
+ * runs this queue. The queue is intended to be run every tick by the
+ * {@link TickScheduler}, so the actions are called on the main thread.
+ * <br>
+ * Keys can be scheduled and cancelled from any thread.
+ *
+ * @param <K> The type of the keys
+ */
+public final class ExpiryQueue<K> implements Runnable {
+    private final Logger logger;
+    private final Consumer<? super K> expireAction;
+    private final Map<K, Node<K>> nodeMap;
+    private final PriorityQueue<Node<K>> queue;
+
+    /**
+     * Constructs a new expiry queue
+     *
+     * @param logger       The logger, used to log the errors of the expire
+     *                     action
+     * @param expireAction The action to be called with the expired key
+     */
+    public ExpiryQueue(
+            final @NotNull Logger logger,
+            final @NotNull Consumer<? super K> expireAction
+    ) {
+        this.logger = logger;
+        this.expireAction = expireAction;
+        this.nodeMap = new Object2ObjectOpenHashMap<>();
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(Node::expiration));
+    }
+
+    /**
+     * Schedules the expiration of the key, replacing its previous expiration
+     *
+     * @param key        The key
+     * @param expiration The time when the key expires, if it is already
+     *                   passed, the key expires on the next run
+     */
+    public synchronized void schedule(
+            final @NotNull K key,
+            final @NotNull Instant expiration
+    ) {
+        final Node<K> node = new Node<>(key, expiration.toEpochMilli());
+        final Node<K> previous = this.nodeMap.put(key, node);
+
+        if (previous != null) {
+            this.queue.remove(previous);
+        }
+
+        this.queue.add(node);
+    }
+
+    /**
+     * Cancels the expiration of the key
+     *
+     * @param key The key
+     * @return True if the key had the scheduled expiration
+     */
+    public synchronized boolean cancel(final @NotNull K key) {
+        final Node<K> node = this.nodeMap.remove(key);
+
+        return node != null
+                && this.queue.remove(node);
+    }
+
+    /**
+     * @param key The key
+     * @return The scheduled expiration of the key, or null if the key has no
+     *         scheduled expiration
+     */
+    public synchronized @Nullable Instant getExpiration(final @NotNull K key) {
+        final Node<K> node = this.nodeMap.get(key);
+        return node == null ? null : Instant.ofEpochMilli(node.expiration());
+    }
+
+    /**
+     * @param key The key
+     * @return True if the key has the scheduled expiration
+     */
+    @Contract("null -> false")
+    public synchronized boolean contains(final @Nullable K key) {
+        return key != null
+                && this.nodeMap.containsKey(key);
+    }
+
+    /**
+     * @return The number of the scheduled expirations
+     */
+    public synchronized int size() {
+        return this.nodeMap.size();
+    }
+
+    /**
+     * @return True if there are no scheduled expirations
+     */
+    public synchronized boolean isEmpty() {
+        return this.nodeMap.isEmpty();
+    }
+
+    /**
+     * Cancels all scheduled expirations
+     */
+    public synchronized void clear() {
+        this.nodeMap.clear();
+        this.queue.clear();
+    }
+
+    /**
+     * Calls the expire action for every key, whose expiration time has come.
+     * The action is called outside the lock, so it can schedule or cancel the
+     * keys of this queue.
+     */
+    @Override
+    public void run() {
+        final List<K> expired = this.pollExpired(System.currentTimeMillis());
+
+        if (expired == null) {
+            return;
+        }
+
+        for (final var key : expired) {
+            try {
+                this.expireAction.accept(key);
+            } catch (final Throwable e) {
+                this.logger.log(
+                        Level.SEVERE,
+                        "An error occurred while expiring the key " + key,
+                        e
+                );
+            }
+        }
+    }
+
+    private synchronized @Nullable List<K> pollExpired(final long now) {
+        Node<K> node = this.queue.peek();
+
+        if (
+                node == null
+                || node.expiration() > now
+        ) {
+            return null;
+        }
+
+        final List<K> expired = new ObjectArrayList<>();
+
+        do {
+            this.queue.poll();
+            this.nodeMap.remove(node.key());
+            expired.add(node.key());
+        } while (
+                (node = this.queue.peek()) != null
+                && node.expiration() <= now
+        );
+
+        return expired;
+    }
+
+    private record Node<K>(
+            @NotNull K key,
+            long expiration
+    ) {}
+}
@@ -0,0 +1,107 @@
+package com.minersstudios.whomine.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a periodic task of the {@link TickScheduler}.
+ * <br>
+ * The task is executed on the main thread every {@link #getPeriod() period}
+ * ticks, shifted by the phase chosen by the scheduler, so the periodic tasks
+ * with the same period do not run on the same tick.
+ *
+ * @see TickScheduler#schedule(String, Runnable, long, long)
+ * @see TickScheduler#scheduleSliced(String, java.util.function.Supplier, java.util.function.Consumer, long, long, long)
+ */
+public class ScheduledTask {
+    private final String name;
+    private final Runnable runnable;
+    private final long period;
+    private final long budgetNanos;
+    private final TaskTimings timings;
+    private volatile boolean cancelled;
+    long nextRun;
+
+    ScheduledTask(
+            final @NotNull String name,
+            final @NotNull Runnable runnable,
+            final long period,
+            final long budgetNanos
+    ) throws IllegalArgumentException {
+        if (period < 1L) {
+            throw new IllegalArgumentException("Period must be positive : " + period);
+        }
+
+        this.name = name;
+        this.runnable = runnable;
+        this.period = period;
+        this.budgetNanos = budgetNanos;
+        this.timings = new TaskTimings();
+    }
+
+    /**
+     * @return The name of the task
+     */
+    public final @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The ticks between the task cycles
+     */
+    public final long getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * @return The time budget of a single execution in nanoseconds
+     */
+    public final long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    /**
+     * @return The execution-time histogram of the task
+     */
+    public final @NotNull TaskTimings getTimings() {
+        return this.timings;
+    }
+
+    /**
+     * @return True if the task is cancelled
+     */
+    public final boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Cancels the task, it will be removed from the scheduler on the next
+     * tick
+     */
+    public final void cancel() {
+        this.cancelled = true;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.getClass().getSimpleName() + '{' +
+                "name=" + this.name +
+                ", period=" + this.period +
+                ", budget=" + this.budgetNanos / 1000L + "us" +
+                ", cancelled=" + this.cancelled +
+                ", timings=" + this.timings +
+                '}';
+    }
+
+    /**
+     * Executes the task
+     *
+     * @param deadline The {@link System#nanoTime()} value after which the
+     *                 task should stop its work
+     * @return True if the cycle of the task is finished, false if the task
+     *         should continue on the next tick
+     */
+    boolean execute(final long deadline) {
+        this.runnable.run();
+        return true;
+    }
+}
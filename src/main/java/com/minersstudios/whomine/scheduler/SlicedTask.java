@@ -0,0 +1,72 @@
+package com.minersstudios.whomine.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Represents a periodic task of the {@link TickScheduler}, which processes
+ * the collection of elements, for example online players, and splits the
+ * work across several ticks.
+ * <br>
+ * At the beginning of each cycle, the elements are copied from the source.
+ * Then, each tick, the elements are processed until the time budget of the
+ * task is exhausted, and the rest of them are processed on the next ticks.
+ *
+ * @param <T> The type of the elements
+ * @see TickScheduler#scheduleSliced(String, Supplier, Consumer, long, long, long)
+ */
+public final class SlicedTask<T> extends ScheduledTask {
+    private final Supplier<? extends Collection<? extends T>> source;
+    private final Consumer<? super T> action;
+    private Object[] elements;
+    private int cursor;
+
+    SlicedTask(
+            final @NotNull String name,
+            final @NotNull Supplier<? extends Collection<? extends T>> source,
+            final @NotNull Consumer<? super T> action,
+            final long period,
+            final long budgetNanos
+    ) throws IllegalArgumentException {
+        super(name, () -> {}, period, budgetNanos);
+
+        this.source = source;
+        this.action = action;
+    }
+
+    /**
+     * @return True if the current cycle is not finished yet
+     */
+    public boolean isInProgress() {
+        return this.elements != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    boolean execute(final long deadline) {
+        if (this.elements == null) {
+            this.elements = this.source.get().toArray();
+            this.cursor = 0;
+        }
+
+        final Object[] elements = this.elements;
+
+        while (this.cursor < elements.length) {
+            this.action.accept((T) elements[this.cursor++]);
+
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        if (this.cursor < elements.length) {
+            return false;
+        }
+
+        this.elements = null;
+        return true;
+    }
+}
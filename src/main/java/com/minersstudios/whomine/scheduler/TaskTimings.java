@@ -0,0 +1,142 @@
+package com.minersstudios.whomine.scheduler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Execution-time histogram of a {@link ScheduledTask}.
+ * <br>
+ * Each recorded duration is put into a power-of-two bucket, the bucket with
+ * index {@code i} contains the durations in the range
+ * {@code [2^(i - 1); 2^i)} nanoseconds. The timings are written by the main
+ * thread only and can be read from any thread.
+ */
+public final class TaskTimings {
+    private final AtomicLongArray buckets;
+    private volatile long count;
+    private volatile long totalNanos;
+    private volatile long maxNanos;
+    private volatile long overBudgetCount;
+
+    /** The number of histogram buckets */
+    public static final int BUCKET_COUNT = 32;
+
+    TaskTimings() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+    }
+
+    /**
+     * @return The number of recorded executions
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @return The total execution time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * @return The longest execution time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * @return The average execution time in nanoseconds, or 0 if nothing has
+     *         been recorded yet
+     */
+    public long getAverageNanos() {
+        final long count = this.count;
+        return count == 0L
+                ? 0L
+                : this.totalNanos / count;
+    }
+
+    /**
+     * @return The number of executions that exceeded the task budget
+     */
+    public long getOverBudgetCount() {
+        return this.overBudgetCount;
+    }
+
+    /**
+     * @param index The bucket index
+     * @return The number of executions in the bucket
+     */
+    public long getBucket(final @Range(from = 0, to = BUCKET_COUNT - 1) int index) {
+        return this.buckets.get(index);
+    }
+
+    /**
+     * Returns the upper bound of the bucket that contains the given percentile
+     * of the recorded executions
+     *
+     * @param percentile The percentile, in the range [0; 1]
+     * @return The upper bound of the execution time in nanoseconds
+     */
+    public long getPercentileNanos(final double percentile) {
+        final long target = (long) Math.ceil(this.count * Math.max(0.0d, Math.min(percentile, 1.0d)));
+        long seen = 0L;
+
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += this.buckets.get(i);
+
+            if (seen >= target) {
+                return 1L << i;
+            }
+        }
+
+        return this.maxNanos;
+    }
+
+    /**
+     * Clears all recorded timings
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            this.buckets.set(i, 0L);
+        }
+
+        this.count = 0L;
+        this.totalNanos = 0L;
+        this.maxNanos = 0L;
+        this.overBudgetCount = 0L;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "TaskTimings{" +
+                "count=" + this.count +
+                ", avg=" + this.getAverageNanos() / 1000L + "us" +
+                ", p95=" + this.getPercentileNanos(0.95d) / 1000L + "us" +
+                ", max=" + this.maxNanos / 1000L + "us" +
+                ", overBudget=" + this.overBudgetCount +
+                '}';
+    }
+
+    void record(
+            final long nanos,
+            final long budgetNanos
+    ) {
+        final int bucket = Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1);
+
+        this.buckets.incrementAndGet(bucket);
+        this.count++;
+        this.totalNanos += nanos;
+
+        if (nanos > this.maxNanos) {
+            this.maxNanos = nanos;
+        }
+
+        if (nanos > budgetNanos) {
+            this.overBudgetCount++;
+        }
+    }
+}
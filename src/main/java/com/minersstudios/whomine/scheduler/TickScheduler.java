@@ -0,0 +1,325 @@
+package com.minersstudios.whomine.scheduler;
+
+import com.minersstudios.whomine.WhoMine;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Plugin-level scheduler of the periodic main-thread tasks.
+ * <br>
+ * The scheduler is driven by a single {@link TaskExecutor#runTaskTimer timer}
+ * and runs all registered tasks on the main thread. Each task has its own
+ * time budget, and its phase is chosen on registration, so the periodic tasks
+ * are spread across the ticks instead of running on the same tick. The tasks,
+ * which process the collection of elements, can be registered as
+ * {@link SlicedTask sliced tasks}, their work is split across several ticks
+ * by the time budget.
+ * <br>
+ * Each task records its execution times to the {@link TaskTimings}
+ * histogram.
+ * <br>
+ * Tasks can be scheduled and cancelled from any thread, they are added to the
+ * scheduler on the next tick.
+ *
+ * @see ScheduledTask
+ * @see SlicedTask
+ */
+public final class TickScheduler implements Runnable {
+    private final WhoMine plugin;
+    private final List<ScheduledTask> tasks;
+    private final Queue<ScheduledTask> pendingTasks;
+    private final int[] phaseLoad;
+    private BukkitTask driver;
+    private long currentTick;
+
+    /** Default time budget of a single task execution, 1 millisecond */
+    public static final long DEFAULT_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+    /** The number of ticks over which the task phases are spread */
+    public static final int PHASE_WINDOW = 100;
+
+    /**
+     * Constructs a new tick scheduler
+     *
+     * @param plugin The plugin instance
+     */
+    public TickScheduler(final @NotNull WhoMine plugin) {
+        this.plugin = plugin;
+        this.tasks = new ObjectArrayList<>();
+        this.pendingTasks = new ConcurrentLinkedQueue<>();
+        this.phaseLoad = new int[PHASE_WINDOW];
+    }
+
+    /**
+     * @return The plugin instance
+     */
+    public @NotNull WhoMine getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * @return An unmodifiable list of all active and pending tasks
+     */
+    public @NotNull @Unmodifiable List<ScheduledTask> getTasks() {
+        final var list = new ObjectArrayList<ScheduledTask>(this.tasks.size() + this.pendingTasks.size());
+
+        list.addAll(this.tasks);
+        list.addAll(this.pendingTasks);
+
+        return List.copyOf(list);
+    }
+
+    /**
+     * @return True if the scheduler is running
+     */
+    public boolean isRunning() {
+        return this.driver != null
+                && !this.driver.isCancelled();
+    }
+
+    /**
+     * Starts the scheduler
+     *
+     * @throws IllegalStateException If the scheduler is already running
+     */
+    public void start() throws IllegalStateException {
+        if (this.isRunning()) {
+            throw new IllegalStateException("Tick scheduler is already running");
+        }
+
+        this.driver = this.plugin.runTaskTimer(this, 1L, 1L);
+    }
+
+    /**
+     * Stops the scheduler and cancels all tasks
+     */
+    public void stop() {
+        if (this.driver != null) {
+            this.driver.cancel();
+            this.driver = null;
+        }
+
+        for (final var task : this.tasks) {
+            task.cancel();
+        }
+
+        ScheduledTask task;
+
+        while ((task = this.pendingTasks.poll()) != null) {
+            task.cancel();
+        }
+
+        this.tasks.clear();
+        Arrays.fill(this.phaseLoad, 0);
+    }
+
+    /**
+     * Schedules a periodic task with the {@link #DEFAULT_BUDGET_NANOS default
+     * budget}
+     *
+     * @param name   The name of the task
+     * @param task   The task to be run
+     * @param delay  The minimum ticks to wait before running the task for the
+     *               first time
+     * @param period The ticks to wait between runs
+     * @return The scheduled task
+     * @throws IllegalArgumentException If the period is not positive
+     */
+    public @NotNull ScheduledTask schedule(
+            final @NotNull String name,
+            final @NotNull Runnable task,
+            final long delay,
+            final long period
+    ) throws IllegalArgumentException {
+        return this.schedule(name, task, delay, period, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * Schedules a periodic task
+     *
+     * @param name        The name of the task
+     * @param task        The task to be run
+     * @param delay       The minimum ticks to wait before running the task for
+     *                    the first time
+     * @param period      The ticks to wait between runs
+     * @param budgetNanos The time budget of a single execution in nanoseconds,
+     *                    executions over the budget are counted in the task
+     *                    timings
+     * @return The scheduled task
+     * @throws IllegalArgumentException If the period is not positive
+     */
+    public @NotNull ScheduledTask schedule(
+            final @NotNull String name,
+            final @NotNull Runnable task,
+            final long delay,
+            final long period,
+            final long budgetNanos
+    ) throws IllegalArgumentException {
+        return this.enqueue(new ScheduledTask(name, task, period, budgetNanos), delay);
+    }
+
+    /**
+     * Schedules a periodic task, which processes the elements of the source
+     * collection and splits the work across several ticks
+     *
+     * @param name        The name of the task
+     * @param source      The supplier of the elements, called at the
+     *                    beginning of each cycle
+     * @param action      The action to be performed for each element
+     * @param delay       The minimum ticks to wait before running the task for
+     *                    the first time
+     * @param period      The ticks to wait between the cycles
+     * @param budgetNanos The time budget of the task per tick in nanoseconds
+     * @return The scheduled task
+     * @throws IllegalArgumentException If the period is not positive
+     */
+    public <T> @NotNull SlicedTask<T> scheduleSliced(
+            final @NotNull String name,
+            final @NotNull Supplier<? extends Collection<? extends T>> source,
+            final @NotNull Consumer<? super T> action,
+            final long delay,
+            final long period,
+            final long budgetNanos
+    ) throws IllegalArgumentException {
+        return this.enqueue(new SlicedTask<>(name, source, action, period, budgetNanos), delay);
+    }
+
+    @Override
+    public void run() {
+        final long tick = ++this.currentTick;
+
+        this.drainPending(tick);
+
+        final var iterator = this.tasks.iterator();
+
+        while (iterator.hasNext()) {
+            final ScheduledTask task = iterator.next();
+
+            if (task.isCancelled()) {
+                iterator.remove();
+                this.releasePhase(task);
+                continue;
+            }
+
+            if (task.nextRun > tick) {
+                continue;
+            }
+
+            final long start = System.nanoTime();
+            boolean finished = true;
+
+            try {
+                finished = task.execute(start + task.getBudgetNanos());
+            } catch (final Throwable e) {
+                this.plugin.getLogger().log(
+                        Level.SEVERE,
+                        "An error occurred while running the task " + task.getName(),
+                        e
+                );
+            }
+
+            task.getTimings().record(System.nanoTime() - start, task.getBudgetNanos());
+
+            if (finished) {
+                final long period = task.getPeriod();
+                long nextRun = task.nextRun + period;
+
+                if (nextRun <= tick) {
+                    nextRun += ((tick - nextRun) / period + 1L) * period;
+                }
+
+                task.nextRun = nextRun;
+            }
+        }
+    }
+
+    private <T extends ScheduledTask> @NotNull T enqueue(
+            final @NotNull T task,
+            final long delay
+    ) {
+        task.nextRun = Math.max(delay, 0L);
+
+        this.pendingTasks.add(task);
+        return task;
+    }
+
+    private void drainPending(final long tick) {
+        ScheduledTask task;
+
+        while ((task = this.pendingTasks.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+
+            task.nextRun = this.choosePhase(tick + task.nextRun, task.getPeriod());
+
+            this.tasks.add(task);
+        }
+    }
+
+    private long choosePhase(
+            final long base,
+            final long period
+    ) {
+        final int window = (int) Math.min(period, PHASE_WINDOW);
+        int bestOffset = 0;
+        long bestLoad = Long.MAX_VALUE;
+
+        for (int offset = 0; offset < window; ++offset) {
+            final int firstSlot = (int) ((base + offset) % PHASE_WINDOW);
+            final int step = (int) (period % PHASE_WINDOW);
+            int slot = firstSlot;
+            long load = 0L;
+
+            do {
+                load += this.phaseLoad[slot];
+                slot = (slot + step) % PHASE_WINDOW;
+            } while (slot != firstSlot);
+
+            if (load < bestLoad) {
+                bestLoad = load;
+                bestOffset = offset;
+            }
+        }
+
+        final long firstRun = base + bestOffset;
+
+        this.updatePhase(firstRun, period, 1);
+        return firstRun;
+    }
+
+    private void releasePhase(final @NotNull ScheduledTask task) {
+        this.updatePhase(task.nextRun, task.getPeriod(), -1);
+    }
+
+    /**
+     * Updates the load of the phase slots, which are hit by the task with the
+     * given first run tick and period. All runs of the task hit the same
+     * slots, so any run tick of the task can be used.
+     */
+    private void updatePhase(
+            final long runTick,
+            final long period,
+            final int delta
+    ) {
+        final int firstSlot = (int) (runTick % PHASE_WINDOW);
+        final int step = (int) (period % PHASE_WINDOW);
+        int slot = firstSlot;
+
+        do {
+            this.phaseLoad[slot] = Math.max(this.phaseLoad[slot] + delta, 0);
+            slot = (slot + step) % PHASE_WINDOW;
+        } while (slot != firstSlot);
+    }
+}
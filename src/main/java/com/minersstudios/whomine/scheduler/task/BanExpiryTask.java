@@ -0,0 +1,69 @@
+package com.minersstudios.whomine.scheduler.task;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.scheduler.ExpiryQueue;
+import org.bukkit.BanEntry;
+import org.bukkit.BanList;
+import org.bukkit.Server;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Pardons the player, whose ban has expired.
+ * <br>
+ * The ban is looked up in the {@link BanList.Type#PROFILE profile ban list}
+ * by the UUID of the player, so the bans, made by the other plugins or the
+ * console, are pardoned too. If the ban was extended, it is scheduled again.
+ */
+public final class BanExpiryTask implements Consumer<UUID> {
+    private final WhoMine plugin;
+    private final Server server;
+
+    public BanExpiryTask(final @NotNull WhoMine plugin) {
+        this.plugin = plugin;
+        this.server = plugin.getServer();
+    }
+
+    @Override
+    public void accept(final @NotNull UUID uuid) {
+        final BanList<PlayerProfile> banList = this.server.getBanList(BanList.Type.PROFILE);
+        final BanEntry<PlayerProfile> banEntry = banList.getBanEntry(this.server.createProfile(uuid));
+
+        if (banEntry == null) {
+            return;
+        }
+
+        final Date expiration = banEntry.getExpiration();
+
+        if (expiration == null) {
+            return;
+        }
+
+        final Instant instant = expiration.toInstant();
+
+        if (instant.isAfter(Instant.now())) {
+            final ExpiryQueue<UUID> expiryQueue = this.plugin.getCache().getBanExpiryQueue();
+
+            expiryQueue.schedule(uuid, instant);
+            return;
+        }
+
+        final PlayerProfile profile = banEntry.getBanTarget();
+        final String name =
+                profile.getName() != null
+                ? profile.getName()
+                : this.server.getOfflinePlayer(uuid).getName();
+
+        if (name == null) {
+            banList.pardon(profile);
+            this.plugin.getLogger().info("Pardoned the expired ban of " + uuid);
+        } else {
+            this.plugin.getCache().getPlayerInfoMap().get(uuid, name).pardon(null);
+        }
+    }
+}
@@ -2,37 +2,35 @@ package com.minersstudios.whomine.scheduler.task;
 
 import com.minersstudios.whomine.Cache;
 import com.minersstudios.whomine.WhoMine;
-import com.minersstudios.whomine.player.collection.PlayerInfoMap;
-import com.minersstudios.whomine.world.WorldDark;
-import org.bukkit.Server;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-public final class PlayerListTask implements Runnable {
-    private final Server server;
+import java.util.function.Consumer;
+
+/**
+ * Saves the data params of the online players.
+ * <br>
+ * The task is registered as a sliced task of the
+ * {@link com.minersstudios.whomine.scheduler.TickScheduler}, so the players
+ * are saved across several ticks instead of all at once. The data params
+ * are taken on the main thread, and the files are written asynchronously.
+ */
+public final class PlayerListTask implements Consumer<Player> {
     private final Cache cache;
 
     public PlayerListTask(final @NotNull WhoMine plugin) {
-        this.server = plugin.getServer();
         this.cache = plugin.getCache();
     }
 
     @Override
-    public void run() {
-        final var onlinePlayers = this.server.getOnlinePlayers();
-
-        if (onlinePlayers.isEmpty()) {
-            return;
+    public void accept(final @NotNull Player player) {
+        if (
+                player.isOnline()
+                && !this.cache.getWorldDark().isInWorldDark(player)
+        ) {
+            this.cache.getPlayerInfoMap()
+            .get(player)
+            .savePlayerDataParamsAsync();
         }
-
-        final WorldDark worldDark = this.cache.getWorldDark();
-        final PlayerInfoMap playerInfoMap = this.cache.getPlayerInfoMap();
-
-        onlinePlayers.stream().parallel()
-        .filter(player -> !worldDark.isInWorldDark(player))
-        .forEach(player ->
-                playerInfoMap
-                .get(player)
-                .savePlayerDataParams()
-        );
     }
 }
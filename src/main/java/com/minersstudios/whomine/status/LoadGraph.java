@@ -0,0 +1,352 @@
+package com.minersstudios.whomine.status;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Graph of the loading stages.
+ * <br>
+ * Each stage declares the stages it depends on and starts as soon as all of
+ * them are completed, so the independent stages run in parallel. A stage runs
+ * on the default executor of the graph, unless it is bound to its own
+ * executor, for example, to the main thread. If a stage fails, the stages
+ * depending on it are skipped.
+ * <br>
+ * The graph may also contain the external stages, which are completed by the
+ * given futures, for example, when the plugin is enabled. They let the other
+ * stages wait for the events outside the graph.
+ * <br>
+ * Running the graph produces the {@link LoadReport report} with the timings of
+ * all stages and the critical path of the loading.
+ *
+ * @see #builder()
+ * @see LoadReport
+ */
+@Immutable
+public final class LoadGraph {
+    private final List<Stage> stages;
+
+    private LoadGraph(final @NotNull List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * @return A new builder of the load graph
+     */
+    @Contract(" -> new")
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return An unmodifiable list of the stage names, sorted so that each
+     *         stage goes after its dependencies
+     */
+    public @NotNull @Unmodifiable List<String> stageNames() {
+        final var names = new ObjectArrayList<String>(this.stages.size());
+
+        for (final var stage : this.stages) {
+            names.add(stage.name);
+        }
+
+        return List.copyOf(names);
+    }
+
+    /**
+     * Starts all stages of this graph
+     *
+     * @param defaultExecutor The executor to run the stages on, which are not
+     *                        bound to their own executor
+     * @return A future, completed with the report when all stages are
+     *         completed, failed or skipped
+     */
+    public @NotNull CompletableFuture<LoadReport> start(final @NotNull Executor defaultExecutor) {
+        final long startNanos = System.nanoTime();
+        final var runs = new Object2ObjectLinkedOpenHashMap<String, Run>(this.stages.size());
+
+        for (final var stage : this.stages) {
+            final var dependencies = new CompletableFuture<?>[stage.dependencies.size()];
+
+            for (int i = 0; i < dependencies.length; ++i) {
+                dependencies[i] = runs.get(stage.dependencies.get(i)).future;
+            }
+
+            runs.put(stage.name, new Run(stage, dependencies, defaultExecutor, startNanos));
+        }
+
+        final var futures = new CompletableFuture<?>[runs.size()];
+        int i = 0;
+
+        for (final var run : runs.values()) {
+            futures[i++] = run.future;
+        }
+
+        return CompletableFuture
+                .allOf(futures)
+                .handle((ignored, throwable) -> {
+                    final long endNanos = System.nanoTime();
+                    final var timings = new ObjectArrayList<LoadReport.StageTiming>(runs.size());
+
+                    for (final var run : runs.values()) {
+                        timings.add(run.timing(startNanos));
+                    }
+
+                    return new LoadReport(timings, endNanos - startNanos);
+                });
+    }
+
+    /**
+     * Builder of the load graph
+     */
+    public static final class Builder {
+        private final Map<String, Stage> stageMap;
+
+        private Builder() {
+            this.stageMap = new Object2ObjectLinkedOpenHashMap<>();
+        }
+
+        /**
+         * Adds the stage, which runs on the default executor of the graph
+         *
+         * @param name         The unique name of the stage
+         * @param action       The action of the stage
+         * @param dependencies The names of the stages, which must be completed
+         *                     before this stage starts
+         * @return This builder
+         * @throws IllegalArgumentException If the stage with the same name is
+         *                                  already added
+         */
+        @Contract("_, _, _ -> this")
+        public @NotNull Builder stage(
+                final @NotNull String name,
+                final @NotNull Runnable action,
+                final String @NotNull ... dependencies
+        ) throws IllegalArgumentException {
+            return this.add(new Stage(name, null, action, null, List.of(dependencies)));
+        }
+
+        /**
+         * Adds the stage, which runs on the given executor
+         *
+         * @param name         The unique name of the stage
+         * @param executor     The executor to run the stage on
+         * @param action       The action of the stage
+         * @param dependencies The names of the stages, which must be completed
+         *                     before this stage starts
+         * @return This builder
+         * @throws IllegalArgumentException If the stage with the same name is
+         *                                  already added
+         */
+        @Contract("_, _, _, _ -> this")
+        public @NotNull Builder stage(
+                final @NotNull String name,
+                final @NotNull Executor executor,
+                final @NotNull Runnable action,
+                final String @NotNull ... dependencies
+        ) throws IllegalArgumentException {
+            return this.add(new Stage(name, executor, action, null, List.of(dependencies)));
+        }
+
+        /**
+         * Adds the external stage, which is completed by the given future
+         *
+         * @param name   The unique name of the stage
+         * @param future The future, which completes the stage
+         * @return This builder
+         * @throws IllegalArgumentException If the stage with the same name is
+         *                                  already added
+         */
+        @Contract("_, _ -> this")
+        public @NotNull Builder external(
+                final @NotNull String name,
+                final @NotNull CompletableFuture<?> future
+        ) throws IllegalArgumentException {
+            return this.add(new Stage(name, null, null, future, List.of()));
+        }
+
+        /**
+         * Builds the load graph
+         *
+         * @return A new load graph
+         * @throws IllegalStateException If a stage depends on an unknown stage
+         *                               or the stages have a dependency cycle
+         */
+        @Contract(" -> new")
+        public @NotNull LoadGraph build() throws IllegalStateException {
+            final var sorted = new ObjectArrayList<Stage>(this.stageMap.size());
+            final Set<String> visited = new ObjectOpenHashSet<>();
+            final Set<String> visiting = new ObjectOpenHashSet<>();
+
+            for (final var stage : this.stageMap.values()) {
+                this.visit(stage, visited, visiting, sorted);
+            }
+
+            return new LoadGraph(List.copyOf(sorted));
+        }
+
+        private @NotNull Builder add(final @NotNull Stage stage) throws IllegalArgumentException {
+            if (this.stageMap.putIfAbsent(stage.name, stage) != null) {
+                throw new IllegalArgumentException("Stage " + stage.name + " is already added");
+            }
+
+            return this;
+        }
+
+        private void visit(
+                final @NotNull Stage stage,
+                final @NotNull Set<String> visited,
+                final @NotNull Set<String> visiting,
+                final @NotNull List<Stage> sorted
+        ) throws IllegalStateException {
+            if (visited.contains(stage.name)) {
+                return;
+            }
+
+            if (!visiting.add(stage.name)) {
+                throw new IllegalStateException("Stage " + stage.name + " has a dependency cycle");
+            }
+
+            for (final var dependencyName : stage.dependencies) {
+                final Stage dependency = this.stageMap.get(dependencyName);
+
+                if (dependency == null) {
+                    throw new IllegalStateException(
+                            "Stage " + stage.name + " depends on unknown stage " + dependencyName
+                    );
+                }
+
+                this.visit(dependency, visited, visiting, sorted);
+            }
+
+            visiting.remove(stage.name);
+            visited.add(stage.name);
+            sorted.add(stage);
+        }
+    }
+
+    private record Stage(
+            @NotNull String name,
+            @Nullable Executor executor,
+            @Nullable Runnable action,
+            @Nullable CompletableFuture<?> external,
+            @NotNull List<String> dependencies
+    ) {}
+
+    private static final class Run {
+        final Stage stage;
+        final CompletableFuture<Void> future;
+        volatile LoadReport.State state;
+        volatile long readyNanos;
+        volatile long startNanos;
+        volatile long endNanos;
+        volatile Throwable error;
+
+        Run(
+                final @NotNull Stage stage,
+                final CompletableFuture<?> @NotNull [] dependencies,
+                final @NotNull Executor defaultExecutor,
+                final long graphStartNanos
+        ) {
+            this.stage = stage;
+            this.future = new CompletableFuture<>();
+            this.state = LoadReport.State.PENDING;
+
+            if (stage.external != null) {
+                this.readyNanos = graphStartNanos;
+                this.startNanos = graphStartNanos;
+
+                stage.external.whenComplete((ignored, throwable) -> this.finish(throwable));
+                return;
+            }
+
+            CompletableFuture
+            .allOf(dependencies)
+            .whenComplete((ignored, throwable) -> {
+                this.readyNanos = System.nanoTime();
+
+                if (throwable != null) {
+                    this.state = LoadReport.State.SKIPPED;
+                    this.startNanos = this.readyNanos;
+                    this.endNanos = this.readyNanos;
+
+                    this.future.completeExceptionally(throwable);
+                    return;
+                }
+
+                try {
+                    (stage.executor == null ? defaultExecutor : stage.executor).execute(this::run);
+                } catch (final Throwable e) {
+                    this.startNanos = this.readyNanos;
+
+                    this.finish(e);
+                }
+            });
+        }
+
+        void run() {
+            this.startNanos = System.nanoTime();
+            this.state = LoadReport.State.RUNNING;
+
+            try {
+                this.stage.action.run();
+                this.finish(null);
+            } catch (final Throwable e) {
+                this.finish(e);
+            }
+        }
+
+        void finish(final @Nullable Throwable throwable) {
+            this.endNanos = System.nanoTime();
+
+            if (throwable == null) {
+                this.state = LoadReport.State.COMPLETED;
+
+                this.future.complete(null);
+            } else {
+                final Throwable cause =
+                        throwable instanceof CompletionException
+                        && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+
+                this.error = cause;
+                this.state = LoadReport.State.FAILED;
+
+                this.future.completeExceptionally(cause);
+            }
+        }
+
+        @NotNull LoadReport.StageTiming timing(final long graphStartNanos) {
+            final LoadReport.State state = this.state;
+            final long endNanos =
+                    state == LoadReport.State.PENDING
+                    || state == LoadReport.State.RUNNING
+                    ? System.nanoTime()
+                    : this.endNanos;
+
+            return new LoadReport.StageTiming(
+                    this.stage.name,
+                    this.stage.external != null,
+                    this.stage.dependencies,
+                    state,
+                    this.readyNanos == 0L ? 0L : this.readyNanos - graphStartNanos,
+                    this.startNanos == 0L ? 0L : this.startNanos - graphStartNanos,
+                    endNanos - graphStartNanos,
+                    this.error
+            );
+        }
+    }
+}
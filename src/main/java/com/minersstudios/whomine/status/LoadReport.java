@@ -0,0 +1,236 @@
+package com.minersstudios.whomine.status;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Report of the {@link LoadGraph load graph} run, with the timings of all
+ * stages and the critical path of the loading.
+ * <br>
+ * The critical path is the chain of the stages, which determined the total
+ * time of the loading. It starts from the stage, which ended last, and goes
+ * back through the dependency, which ended last, so cutting the time of the
+ * stages on the critical path is the only way to cut the total time.
+ */
+@Immutable
+public final class LoadReport {
+    private final List<StageTiming> timings;
+    private final long totalNanos;
+    private final List<StageTiming> criticalPath;
+
+    LoadReport(
+            final @NotNull List<StageTiming> timings,
+            final long totalNanos
+    ) {
+        this.timings = List.copyOf(timings);
+        this.totalNanos = totalNanos;
+        this.criticalPath = criticalPath(this.timings);
+    }
+
+    /**
+     * @return An unmodifiable list of the stage timings
+     */
+    public @NotNull @Unmodifiable List<StageTiming> getTimings() {
+        return this.timings;
+    }
+
+    /**
+     * @return The total time of the loading in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * @return An unmodifiable list of the stages on the critical path, from
+     *         the first to the last
+     */
+    public @NotNull @Unmodifiable List<StageTiming> getCriticalPath() {
+        return this.criticalPath;
+    }
+
+    /**
+     * @return True if all stages are completed
+     */
+    public boolean isSuccessful() {
+        for (final var timing : this.timings) {
+            if (timing.state() != State.COMPLETED) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Logs this report, one line per stage, followed by the critical path
+     *
+     * @param logger The logger to log the report to
+     */
+    public void log(final @NotNull Logger logger) {
+        logger.info("Content loaded in " + millis(this.totalNanos) + "ms");
+
+        for (final var timing : this.timings) {
+            final StringBuilder builder =
+                    new StringBuilder("  ")
+                    .append(timing.name())
+                    .append(": ")
+                    .append(timing.state().name().toLowerCase(Locale.ROOT))
+                    .append(' ')
+                    .append(millis(timing.getDurationNanos()))
+                    .append("ms (started at +")
+                    .append(millis(timing.startNanos()))
+                    .append("ms");
+
+            if (!timing.isExternal()) {
+                builder
+                .append(", queued for ")
+                .append(millis(timing.getQueuedNanos()))
+                .append("ms");
+            }
+
+            builder.append(')');
+
+            switch (timing.state()) {
+                case COMPLETED -> logger.info(builder.toString());
+                case FAILED -> logger.log(Level.SEVERE, builder.toString(), timing.error());
+                default -> logger.warning(builder.toString());
+            }
+        }
+
+        logger.info(
+                "Critical path: "
+                + this.criticalPath.stream()
+                .map(timing -> timing.name() + " (" + millis(timing.getDurationNanos()) + "ms)")
+                .collect(Collectors.joining(" -> "))
+        );
+    }
+
+    /**
+     * @return A string representation of this report
+     */
+    @Override
+    public @NotNull String toString() {
+        return "LoadReport{" +
+                "totalMillis=" + millis(this.totalNanos) +
+                ", timings=" + this.timings +
+                ", criticalPath=" + this.criticalPath.stream().map(StageTiming::name).toList() +
+                '}';
+    }
+
+    private static long millis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static @NotNull @Unmodifiable List<StageTiming> criticalPath(final @NotNull List<StageTiming> timings) {
+        if (timings.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Map<String, StageTiming> timingMap =
+                timings.stream()
+                .collect(Collectors.toMap(StageTiming::name, timing -> timing));
+        final var path = new ObjectArrayList<StageTiming>();
+        StageTiming current = null;
+
+        for (final var timing : timings) {
+            if (
+                    current == null
+                    || timing.endNanos() > current.endNanos()
+            ) {
+                current = timing;
+            }
+        }
+
+        while (current != null) {
+            path.add(current);
+
+            StageTiming latest = null;
+
+            for (final var dependencyName : current.dependencies()) {
+                final StageTiming dependency = timingMap.get(dependencyName);
+
+                if (
+                        latest == null
+                        || dependency.endNanos() > latest.endNanos()
+                ) {
+                    latest = dependency;
+                }
+            }
+
+            current = latest;
+        }
+
+        Collections.reverse(path);
+
+        return List.copyOf(path);
+    }
+
+    /**
+     * State of the stage
+     */
+    public enum State {
+        /** The stage is waiting for its dependencies */
+        PENDING,
+        /** The stage is running */
+        RUNNING,
+        /** The stage is completed successfully */
+        COMPLETED,
+        /** The stage has failed */
+        FAILED,
+        /** The stage is skipped, because one of its dependencies has failed */
+        SKIPPED
+    }
+
+    /**
+     * Timing of the stage, all times are in nanoseconds since the start of the
+     * graph
+     *
+     * @param name         The name of the stage
+     * @param isExternal   True if the stage is completed by an external future
+     * @param dependencies The names of the stages, this stage depends on
+     * @param state        The state of the stage
+     * @param readyNanos   The time, when all dependencies were completed
+     * @param startNanos   The time, when the stage started
+     * @param endNanos     The time, when the stage ended
+     * @param error        The error of the stage, or null if it has not failed
+     */
+    public record StageTiming(
+            @NotNull String name,
+            boolean isExternal,
+            @NotNull List<String> dependencies,
+            @NotNull State state,
+            long readyNanos,
+            long startNanos,
+            long endNanos,
+            @Nullable Throwable error
+    ) {
+
+        /**
+         * @return The time the stage took in nanoseconds
+         */
+        public long getDurationNanos() {
+            return this.endNanos - this.startNanos;
+        }
+
+        /**
+         * @return The time the stage waited for the executor after its
+         *         dependencies were completed in nanoseconds
+         */
+        public long getQueuedNanos() {
+            return Math.max(0L, this.startNanos - this.readyNanos);
+        }
+    }
+}
@@ -6,5 +6,6 @@
  * @see com.minersstudios.whomine.status.Status
  * @see com.minersstudios.whomine.status.StatusWatcher
  * @see com.minersstudios.whomine.status.StatusHandler
+ * @see com.minersstudios.whomine.status.LoadGraph
  */
 package com.minersstudios.whomine.status;
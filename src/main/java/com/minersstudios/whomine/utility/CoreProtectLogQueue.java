@@ -0,0 +1,615 @@
+package com.minersstudios.whomine.utility;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.coreprotect.CoreProtectAPI;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous queue of the CoreProtect log records.
+ * <br>
+ * Each block record is captured on the calling thread with a copy of the
+ * location and the material and {@link BlockData} of the block at the moment
+ * of the action, so the logged block is the one the action happened to, even
+ * if the block was changed before the worker got to the record. The records
+ * of the unloaded chunks are dropped instead of loading the chunks. The
+ * records are pushed into a bounded queue and are passed to the
+ * {@link Sink sink} in batches by a single worker thread, in the order they
+ * were submitted.
+ * <br>
+ * When the queue is full, the record is logged on the calling thread instead,
+ * so the records are never dropped and the callers are slowed down until the
+ * worker catches up. The chat messages and commands are always logged on the
+ * calling thread, as the CoreProtect reads the name and the location of the
+ * player when they are logged.
+ * <br>
+ * {@link #close() Closing} the queue stops the worker and logs all remaining
+ * records on the calling thread, the records submitted after that are logged
+ * synchronously. The submission and the closing share one lock, so a record
+ * is either queued before the queue is drained or logged synchronously, and
+ * is never left in the queue after closing.
+ */
+public final class CoreProtectLogQueue implements AutoCloseable {
+    private final Logger logger;
+    private final Sink sink;
+    private final int capacity;
+    private final int batchSize;
+    private final BlockingQueue<Record> queue;
+    private final Thread worker;
+    private final LongAdder submitted;
+    private final LongAdder logged;
+    private final LongAdder rejected;
+    private final LongAdder failed;
+    private final LongAdder overflowed;
+    private final LongAdder dropped;
+    private final LongAdder batches;
+    private final AtomicLong maxPending;
+    private volatile boolean running;
+
+    /** The default capacity of the queue */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /** The default maximum number of records logged in one batch */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long POLL_TIMEOUT_MILLIS = 50L;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * Constructs a new log queue with the default capacity and batch size,
+     * which logs the records to the CoreProtect
+     *
+     * @param logger The logger, used to log the errors of the worker
+     * @param api    The CoreProtect API to log the records to
+     * @see #DEFAULT_CAPACITY
+     * @see #DEFAULT_BATCH_SIZE
+     */
+    public CoreProtectLogQueue(
+            final @NotNull Logger logger,
+            final @NotNull CoreProtectAPI api
+    ) {
+        this(logger, new ApiSink(api), DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new log queue
+     *
+     * @param logger    The logger, used to log the errors of the worker
+     * @param sink      The sink to log the records to
+     * @param capacity  The maximum number of the pending records
+     * @param batchSize The maximum number of records logged in one batch
+     * @throws IllegalArgumentException If the capacity or the batch size is
+     *                                  not positive
+     */
+    public CoreProtectLogQueue(
+            final @NotNull Logger logger,
+            final @NotNull Sink sink,
+            final int capacity,
+            final int batchSize
+    ) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.logger = logger;
+        this.sink = sink;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::work, "WhoMine-CoreProtect-Logger");
+        this.submitted = new LongAdder();
+        this.logged = new LongAdder();
+        this.rejected = new LongAdder();
+        this.failed = new LongAdder();
+        this.overflowed = new LongAdder();
+        this.dropped = new LongAdder();
+        this.batches = new LongAdder();
+        this.maxPending = new AtomicLong();
+
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * @return True if the worker is running and the records are logged
+     *         asynchronously
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Starts the worker thread
+     *
+     * @throws IllegalStateException If the queue is already started
+     */
+    public synchronized void start() throws IllegalStateException {
+        if (this.worker.getState() != Thread.State.NEW) {
+            throw new IllegalStateException("CoreProtect log queue is already started");
+        }
+
+        this.running = true;
+
+        this.worker.start();
+    }
+
+    /**
+     * Submits the placement record of the block. Must be called from the
+     * main thread, right after the block was placed.
+     *
+     * @param user      The username to log as having placed the block
+     * @param location  The location of the block
+     * @param material  The material of the block, or null to use the
+     *                  material of the block data
+     * @param blockData The block data of the block, or null to capture the
+     *                  current block data of the location
+     */
+    public void submitPlacement(
+            final @NotNull String user,
+            final @NotNull Location location,
+            final @Nullable Material material,
+            final @Nullable BlockData blockData
+    ) {
+        final BlockData data = this.captureBlockData(location, blockData);
+
+        if (data != null) {
+            this.submit(new Placement(user, location.clone(), material == null ? data.getMaterial() : material, data));
+        }
+    }
+
+    /**
+     * Submits the removal record of the block. Must be called from the main
+     * thread, right before the block is removed.
+     *
+     * @param user      The username to log as having removed the block
+     * @param location  The location of the block
+     * @param material  The material of the block, or null to use the
+     *                  material of the block data
+     * @param blockData The block data of the block, or null to capture the
+     *                  current block data of the location
+     */
+    public void submitRemoval(
+            final @NotNull String user,
+            final @NotNull Location location,
+            final @Nullable Material material,
+            final @Nullable BlockData blockData
+    ) {
+        final BlockData data = this.captureBlockData(location, blockData);
+
+        if (data != null) {
+            this.submit(new Removal(user, location.clone(), material == null ? data.getMaterial() : material, data));
+        }
+    }
+
+    /**
+     * Submits the interaction record of the block. Must be called from the
+     * main thread.
+     *
+     * @param user     The username to log as having caused the interaction
+     * @param location The location of the interaction
+     */
+    public void submitInteraction(
+            final @NotNull String user,
+            final @NotNull Location location
+    ) {
+        if (this.isLoaded(location)) {
+            this.submit(new Interaction(user, location.clone()));
+        }
+    }
+
+    /**
+     * Logs the chat message on the calling thread
+     *
+     * @param player  The player who sent the message
+     * @param message The message that was sent
+     */
+    public void submitChat(
+            final @NotNull Player player,
+            final @NotNull String message
+    ) {
+        this.submitted.increment();
+        this.log(new Chat(player, message));
+    }
+
+    /**
+     * Logs the command on the calling thread
+     *
+     * @param player  The player who executed the command
+     * @param command The command that was executed
+     */
+    public void submitCommand(
+            final @NotNull Player player,
+            final @NotNull String command
+    ) {
+        this.submitted.increment();
+        this.log(new Command(player, command));
+    }
+
+    /**
+     * Stops the worker and logs all remaining records on the calling thread
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!this.running) {
+                return;
+            }
+
+            this.running = false;
+        }
+
+        this.worker.interrupt();
+
+        try {
+            this.worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.worker.isAlive()) {
+            this.logger.warning("CoreProtect log queue worker did not stop in " + CLOSE_TIMEOUT_MILLIS + "ms");
+        }
+
+        final List<Record> remaining = new ObjectArrayList<>(this.queue.size());
+
+        this.queue.drainTo(remaining);
+
+        for (final var record : remaining) {
+            this.log(record);
+        }
+    }
+
+    /**
+     * @return The current metrics of this queue
+     */
+    public @NotNull Metrics getMetrics() {
+        return new Metrics(
+                this.submitted.sum(),
+                this.logged.sum(),
+                this.rejected.sum(),
+                this.failed.sum(),
+                this.overflowed.sum(),
+                this.dropped.sum(),
+                this.batches.sum(),
+                this.queue.size(),
+                this.maxPending.get(),
+                this.capacity
+        );
+    }
+
+    private boolean isLoaded(final @NotNull Location location) {
+        final World world = location.getWorld();
+
+        if (
+                world == null
+                || !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+        ) {
+            this.submitted.increment();
+            this.dropped.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    private @Nullable BlockData captureBlockData(
+            final @NotNull Location location,
+            final @Nullable BlockData blockData
+    ) {
+        if (!this.isLoaded(location)) {
+            return null;
+        }
+
+        return blockData == null
+                ? location.getBlock().getBlockData()
+                : blockData;
+    }
+
+    private void submit(final @NotNull Record record) {
+        final boolean queued;
+        final boolean overflowed;
+
+        this.submitted.increment();
+
+        synchronized (this) {
+            queued = this.running && this.queue.offer(record);
+            overflowed = this.running && !queued;
+        }
+
+        if (!queued) {
+            if (overflowed) {
+                this.overflowed.increment();
+            }
+
+            this.log(record);
+            return;
+        }
+
+        final long pending = this.queue.size();
+
+        if (pending > this.maxPending.get()) {
+            this.maxPending.accumulateAndGet(pending, Math::max);
+        }
+    }
+
+    private void work() {
+        final List<Record> batch = new ObjectArrayList<>(this.batchSize);
+
+        while (this.running) {
+            try {
+                final Record first = this.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+            } catch (final InterruptedException e) {
+                if (!this.running) {
+                    return;
+                }
+
+                continue;
+            }
+
+            for (final var record : batch) {
+                this.log(record);
+            }
+
+            this.batches.increment();
+            batch.clear();
+        }
+    }
+
+    private void log(final @NotNull Record record) {
+        try {
+            if (record.log(this.sink)) {
+                this.logged.increment();
+            } else {
+                this.rejected.increment();
+            }
+        } catch (final Throwable e) {
+            this.failed.increment();
+            this.logger.log(
+                    Level.SEVERE,
+                    "An error occurred while logging the CoreProtect record " + record,
+                    e
+            );
+        }
+    }
+
+    /**
+     * Sink of the log records, which receives the captured records from the
+     * worker thread. The block records must be logged with the captured
+     * material and block data, as the block may have changed since then.
+     */
+    public interface Sink {
+
+        /**
+         * @param user      The username to log as having placed the block
+         * @param location  The location of the block
+         * @param material  The material of the block
+         * @param blockData The block data of the block after it was placed
+         * @return True if the record was logged
+         */
+        boolean logPlacement(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        );
+
+        /**
+         * @param user      The username to log as having removed the block
+         * @param location  The location of the block
+         * @param material  The material of the block
+         * @param blockData The block data of the block before it was removed
+         * @return True if the record was logged
+         */
+        boolean logRemoval(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        );
+
+        /**
+         * @param user     The username to log as having caused the
+         *                 interaction
+         * @param location The location of the interaction
+         * @return True if the record was logged
+         */
+        boolean logInteraction(
+                final @NotNull String user,
+                final @NotNull Location location
+        );
+
+        /**
+         * @param player  The player who sent the message
+         * @param message The message that was sent
+         * @return True if the record was logged
+         */
+        boolean logChat(
+                final @NotNull Player player,
+                final @NotNull String message
+        );
+
+        /**
+         * @param player  The player who executed the command
+         * @param command The command that was executed
+         * @return True if the record was logged
+         */
+        boolean logCommand(
+                final @NotNull Player player,
+                final @NotNull String command
+        );
+    }
+
+    /**
+     * Metrics of the log queue
+     *
+     * @param submitted  The number of the submitted records
+     * @param logged     The number of the records accepted by the CoreProtect
+     * @param rejected   The number of the records rejected by the CoreProtect,
+     *                   for example, because the logging is disabled in its
+     *                   config
+     * @param failed     The number of the records, which failed with an
+     *                   exception
+     * @param overflowed The number of the records logged on the calling
+     *                   thread, because the queue was full
+     * @param dropped    The number of the block records, which were dropped,
+     *                   because their chunks were not loaded
+     * @param batches    The number of the batches logged by the worker
+     * @param pending    The number of the records currently in the queue
+     * @param maxPending The maximum number of the records, which were in the
+     *                   queue at once
+     * @param capacity   The capacity of the queue
+     */
+    public record Metrics(
+            long submitted,
+            long logged,
+            long rejected,
+            long failed,
+            long overflowed,
+            long dropped,
+            long batches,
+            int pending,
+            long maxPending,
+            int capacity
+    ) {}
+
+    /**
+     * Sink, which passes the captured records to the {@link CoreProtectAPI}
+     */
+    private static final class ApiSink implements Sink {
+        private final CoreProtectAPI api;
+
+        ApiSink(final @NotNull CoreProtectAPI api) {
+            this.api = api;
+        }
+
+        @Override
+        public boolean logPlacement(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        ) {
+            return this.api.logPlacement(user, location, material, blockData);
+        }
+
+        @Override
+        public boolean logRemoval(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        ) {
+            return this.api.logRemoval(user, location, material, blockData);
+        }
+
+        @Override
+        public boolean logInteraction(
+                final @NotNull String user,
+                final @NotNull Location location
+        ) {
+            return this.api.logInteraction(user, location);
+        }
+
+        @Override
+        public boolean logChat(
+                final @NotNull Player player,
+                final @NotNull String message
+        ) {
+            return this.api.logChat(player, message);
+        }
+
+        @Override
+        public boolean logCommand(
+                final @NotNull Player player,
+                final @NotNull String command
+        ) {
+            return this.api.logCommand(player, command);
+        }
+    }
+
+    private sealed interface Record permits Placement, Removal, Interaction, Chat, Command {
+
+        boolean log(final @NotNull Sink sink);
+    }
+
+    private record Placement(
+            @NotNull String user,
+            @NotNull Location location,
+            @NotNull Material material,
+            @NotNull BlockData blockData
+    ) implements Record {
+
+        @Override
+        public boolean log(final @NotNull Sink sink) {
+            return sink.logPlacement(this.user, this.location, this.material, this.blockData);
+        }
+    }
+
+    private record Removal(
+            @NotNull String user,
+            @NotNull Location location,
+            @NotNull Material material,
+            @NotNull BlockData blockData
+    ) implements Record {
+
+        @Override
+        public boolean log(final @NotNull Sink sink) {
+            return sink.logRemoval(this.user, this.location, this.material, this.blockData);
+        }
+    }
+
+    private record Interaction(
+            @NotNull String user,
+            @NotNull Location location
+    ) implements Record {
+
+        @Override
+        public boolean log(final @NotNull Sink sink) {
+            return sink.logInteraction(this.user, this.location);
+        }
+    }
+
+    private record Chat(
+            @NotNull Player player,
+            @NotNull String message
+    ) implements Record {
+
+        @Override
+        public boolean log(final @NotNull Sink sink) {
+            return sink.logChat(this.player, this.message);
+        }
+    }
+
+    private record Command(
+            @NotNull Player player,
+            @NotNull String command
+    ) implements Record {
+
+        @Override
+        public boolean log(final @NotNull Sink sink) {
+            return sink.logCommand(this.player, this.command);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.minersstudios.whomine.utility;
+
+import net.coreprotect.CoreProtectAPI;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * Asynchronous lookups of the CoreProtect database.
+ * <br>
+ * The lookups are run on the given executor and are read page by page with
+ * {@link CoreProtectAPI#performPartialLookup partial lookups}, so the
+ * existence checks stop at the first matching record instead of loading the
+ * whole history of the block.
+ * <br>
+ * The answers of {@link #hasPlaced(String, Block, int, int)} and
+ * {@link #hasRemoved(String, Block, int, int)} are cached by the block position
+ * and the query for the {@link #getTtlMillis() TTL}. The pending lookups are
+ * cached too, so the same question asked several times before the answer
+ * comes runs only one lookup. Only the positive answers are kept after the
+ * lookup completes, since a record, which is logged later, can turn a negative
+ * answer into a positive one, but never the other way around. The logs are
+ * written to the database asynchronously, so no invalidation on submit could
+ * tell when a negative answer becomes stale.
+ */
+public final class CoreProtectLookup {
+    private final CoreProtectAPI api;
+    private final Executor executor;
+    private final long ttlMillis;
+    private final int maxCachedPositions;
+    private final Map<Position, Map<Query, Answer>> cache;
+
+    /** The action id of the removals */
+    public static final int ACTION_REMOVAL = 0;
+    /** The action id of the placements */
+    public static final int ACTION_PLACEMENT = 1;
+    /** The action id of the interactions */
+    public static final int ACTION_INTERACTION = 2;
+
+    /** The default time to live of the cached answers in milliseconds */
+    public static final long DEFAULT_TTL_MILLIS = 5000L;
+    /** The default maximum number of the positions with the cached answers */
+    public static final int DEFAULT_MAX_CACHED_POSITIONS = 4096;
+    /** The default number of the records read per page */
+    public static final int DEFAULT_PAGE_SIZE = 32;
+    private static final int EXISTENCE_PAGE_SIZE = 8;
+
+    /**
+     * Constructs a new lookup with the default TTL and cache size
+     *
+     * @param api      The CoreProtect API to perform the lookups with
+     * @param executor The executor to run the lookups on, must not be the main
+     *                 thread executor
+     * @see #DEFAULT_TTL_MILLIS
+     * @see #DEFAULT_MAX_CACHED_POSITIONS
+     */
+    public CoreProtectLookup(
+            final @NotNull CoreProtectAPI api,
+            final @NotNull Executor executor
+    ) {
+        this(api, executor, DEFAULT_TTL_MILLIS, DEFAULT_MAX_CACHED_POSITIONS);
+    }
+
+    /**
+     * Constructs a new lookup
+     *
+     * @param api                The CoreProtect API to perform the lookups
+     *                           with
+     * @param executor           The executor to run the lookups on, must not
+     *                           be the main thread executor
+     * @param ttlMillis          The time to live of the cached answers in
+     *                           milliseconds, 0 disables the cache
+     * @param maxCachedPositions The maximum number of the positions with the
+     *                           cached answers
+     * @throws IllegalArgumentException If the TTL is negative or the maximum
+     *                                  number of the positions is not positive
+     */
+    public CoreProtectLookup(
+            final @NotNull CoreProtectAPI api,
+            final @NotNull Executor executor,
+            final long ttlMillis,
+            final int maxCachedPositions
+    ) throws IllegalArgumentException {
+        if (ttlMillis < 0L) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+
+        if (maxCachedPositions <= 0) {
+            throw new IllegalArgumentException("Maximum number of cached positions must be positive");
+        }
+
+        this.api = api;
+        this.executor = executor;
+        this.ttlMillis = ttlMillis;
+        this.maxCachedPositions = maxCachedPositions;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return The time to live of the cached answers in milliseconds
+     */
+    public long getTtlMillis() {
+        return this.ttlMillis;
+    }
+
+    /**
+     * @return The number of the positions with the cached answers
+     */
+    public int getCachedPositionCount() {
+        return this.cache.size();
+    }
+
+    /**
+     * Checks asynchronously whether the user has placed the block
+     *
+     * @param user   The username to check
+     * @param block  The block to check
+     * @param time   How far back to check in seconds
+     * @param offset A time offset in seconds, the most recent records within
+     *               it are ignored
+     * @return A future, completed with true if the user has placed the block
+     *         within the time limit
+     * @see CoreProtectAPI#hasPlaced(String, Block, int, int)
+     */
+    public @NotNull CompletableFuture<Boolean> hasPlaced(
+            final @NotNull String user,
+            final @NotNull Block block,
+            final int time,
+            final int offset
+    ) {
+        return this.has(ACTION_PLACEMENT, user, block, time, offset);
+    }
+
+    /**
+     * Checks asynchronously whether the user has removed the block
+     *
+     * @param user   The username to check
+     * @param block  The block to check
+     * @param time   How far back to check in seconds
+     * @param offset A time offset in seconds, the most recent records within
+     *               it are ignored
+     * @return A future, completed with true if the user has removed the block
+     *         within the time limit
+     * @see CoreProtectAPI#hasRemoved(String, Block, int, int)
+     */
+    public @NotNull CompletableFuture<Boolean> hasRemoved(
+            final @NotNull String user,
+            final @NotNull Block block,
+            final int time,
+            final int offset
+    ) {
+        return this.has(ACTION_REMOVAL, user, block, time, offset);
+    }
+
+    /**
+     * Checks asynchronously whether any record of the lookup matches the
+     * predicate. The records are read page by page, and the lookup stops at
+     * the first matching record.
+     *
+     * @param query     The lookup query
+     * @param predicate The predicate to test the records with
+     * @return A future, completed with true if any record matches the
+     *         predicate
+     */
+    public @NotNull CompletableFuture<Boolean> anyMatch(
+            final @NotNull LookupQuery query,
+            final @NotNull Predicate<? super CoreProtectAPI.ParseResult> predicate
+    ) {
+        return CompletableFuture.supplyAsync(
+                () -> this.anyMatchNow(query, predicate, DEFAULT_PAGE_SIZE),
+                this.executor
+        );
+    }
+
+    /**
+     * Returns a lazy iterator over the parsed records of the lookup. The
+     * records are read page by page, only when the iterator reaches the end of
+     * the previous page.
+     * <br>
+     * The iterator performs the database queries on the thread iterating it,
+     * so it must not be iterated on the main thread.
+     *
+     * @param query    The lookup query
+     * @param pageSize The number of the records read per page
+     * @return A lazy iterator over the parsed records of the lookup
+     * @throws IllegalArgumentException If the page size is not positive
+     */
+    public @NotNull Iterator<CoreProtectAPI.ParseResult> iterator(
+            final @NotNull LookupQuery query,
+            final int pageSize
+    ) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        return new PageIterator(this.api, query, pageSize);
+    }
+
+    /**
+     * Invalidates the cached answers of the position
+     *
+     * @param location The location of the position
+     */
+    public void invalidate(final @NotNull Location location) {
+        final World world = location.getWorld();
+
+        if (world != null) {
+            this.cache.remove(new Position(world.getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+        }
+    }
+
+    /**
+     * Invalidates all cached answers
+     */
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    private @NotNull CompletableFuture<Boolean> has(
+            final int actionId,
+            final @NotNull String user,
+            final @NotNull Block block,
+            final int time,
+            final int offset
+    ) {
+        final Location location = block.getLocation();
+        final Position position = new Position(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+        final Query query = new Query(actionId, user.toLowerCase(Locale.ROOT), time, offset);
+
+        if (this.ttlMillis == 0L) {
+            return this.lookupHas(query, position, location);
+        }
+
+        final long now = System.currentTimeMillis();
+        final Map<Query, Answer> answers = this.cachedAnswers(position, now);
+        final Answer cached = answers.get(query);
+
+        if (
+                cached != null
+                && cached.expiration() > now
+        ) {
+            return cached.future();
+        }
+
+        final CompletableFuture<Boolean> future = this.lookupHas(query, position, location);
+        final Answer answer = new Answer(future, now + this.ttlMillis);
+
+        answers.put(query, answer);
+        future.whenComplete(
+                (result, throwable) -> {
+                    if (
+                            throwable != null
+                            || !result
+                    ) {
+                        answers.remove(query, answer);
+                    }
+                }
+        );
+
+        return future;
+    }
+
+    private @NotNull CompletableFuture<Boolean> lookupHas(
+            final @NotNull Query query,
+            final @NotNull Position position,
+            final @NotNull Location location
+    ) {
+        final LookupQuery lookupQuery = new LookupQuery(
+                query.time(),
+                Collections.singletonList(query.user()),
+                null,
+                null,
+                null,
+                Collections.singletonList(query.actionId()),
+                1,
+                location
+        );
+
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    final long offsetTime = System.currentTimeMillis() / 1000L - query.offset();
+
+                    return this.anyMatchNow(
+                            lookupQuery,
+                            result ->
+                                    result.getX() == position.x()
+                                    && result.getY() == position.y()
+                                    && result.getZ() == position.z()
+                                    && result.getTimestamp() / 1000L <= offsetTime
+                                    && query.user().equalsIgnoreCase(result.getPlayer()),
+                            EXISTENCE_PAGE_SIZE
+                    );
+                },
+                this.executor
+        );
+    }
+
+    private boolean anyMatchNow(
+            final @NotNull LookupQuery query,
+            final @NotNull Predicate<? super CoreProtectAPI.ParseResult> predicate,
+            final int pageSize
+    ) {
+        final Iterator<CoreProtectAPI.ParseResult> iterator = new PageIterator(this.api, query, pageSize);
+
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private @NotNull Map<Query, Answer> cachedAnswers(
+            final @NotNull Position position,
+            final long now
+    ) {
+        if (this.cache.size() >= this.maxCachedPositions) {
+            this.cache.values().removeIf(
+                    answers -> {
+                        answers.values().removeIf(answer -> answer.expiration() <= now);
+                        return answers.isEmpty();
+                    }
+            );
+
+            if (this.cache.size() >= this.maxCachedPositions) {
+                this.cache.clear();
+            }
+        }
+
+        return this.cache.computeIfAbsent(position, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Query of the CoreProtect lookup
+     *
+     * @param time           The amount of time to search back in seconds
+     * @param restrictUsers  The usernames to perform the lookup on, can be
+     *                       null if both a radius and a location are
+     *                       specified
+     * @param excludeUsers   The usernames to exclude from the lookup
+     * @param restrictBlocks The EntityType's or Material's to restrict the
+     *                       search to
+     * @param excludeBlocks  The EntityType's or Material's to exclude from the
+     *                       search
+     * @param actionList     The action ids to restrict the search to
+     * @param radius         The radius to restrict the search to, 0 to
+     *                       disable
+     * @param radiusLocation The location to search around, can be null if no
+     *                       radius is specified
+     * @see CoreProtectAPI#performPartialLookup
+     */
+    public record LookupQuery(
+            int time,
+            @Nullable List<String> restrictUsers,
+            @Nullable List<String> excludeUsers,
+            @Nullable List<Object> restrictBlocks,
+            @Nullable List<Object> excludeBlocks,
+            @Nullable List<Integer> actionList,
+            int radius,
+            @Nullable Location radiusLocation
+    ) {}
+
+    private static final class PageIterator implements Iterator<CoreProtectAPI.ParseResult> {
+        final CoreProtectAPI api;
+        final LookupQuery query;
+        final int pageSize;
+        List<String[]> page;
+        int index;
+        int offset;
+        boolean exhausted;
+
+        PageIterator(
+                final @NotNull CoreProtectAPI api,
+                final @NotNull LookupQuery query,
+                final int pageSize
+        ) {
+            this.api = api;
+            this.query = query;
+            this.pageSize = pageSize;
+            this.page = Collections.emptyList();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.index < this.page.size()) {
+                return true;
+            }
+
+            if (this.exhausted) {
+                return false;
+            }
+
+            final List<String[]> next = this.api.performPartialLookup(
+                    this.query.time(),
+                    this.query.restrictUsers(),
+                    this.query.excludeUsers(),
+                    this.query.restrictBlocks(),
+                    this.query.excludeBlocks(),
+                    this.query.actionList(),
+                    this.query.radius(),
+                    this.query.radiusLocation(),
+                    this.offset,
+                    this.pageSize
+            );
+
+            this.page = next == null ? Collections.emptyList() : next;
+            this.index = 0;
+            this.offset += this.pageSize;
+            this.exhausted = this.page.size() < this.pageSize;
+
+            return !this.page.isEmpty();
+        }
+
+        @Override
+        public @NotNull CoreProtectAPI.ParseResult next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.api.parseResult(this.page.get(this.index++));
+        }
+    }
+
+    private record Position(
+            @NotNull UUID worldUUID,
+            int x,
+            int y,
+            int z
+    ) {}
+
+    private record Query(
+            int actionId,
+            @NotNull String user,
+            int time,
+            int offset
+    ) {}
+
+    private record Answer(
+            @NotNull CompletableFuture<Boolean> future,
+            long expiration
+    ) {}
+}
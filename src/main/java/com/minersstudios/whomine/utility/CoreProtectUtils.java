@@ -9,17 +9,34 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
 
 /**
  * Utility class for interacting with the CoreProtect API. This class provides
  * static methods for logging and retrieving block interactions. It uses a
  * singleton pattern to hold a reference to the CoreProtectAPI instance.
+ * <br>
+ * The placements, removals and interactions are captured on the calling
+ * thread and submitted to the {@link CoreProtectLogQueue log queue}, which
+ * passes them to the CoreProtect asynchronously. The queue must be
+ * {@link #close() closed} on disable, so the pending records are flushed.
+ * <br>
+ * The block history checks, which may query the database, are available
+ * asynchronously through the {@link CoreProtectLookup lookup}, see
+ * {@link #hasPlacedAsync(String, Block, int, int)} and
+ * {@link #hasRemovedAsync(String, Block, int, int)}.
  *
  * @see CoreProtectAPI
- * @see #set(CoreProtectAPI)
+ * @see CoreProtectLogQueue
+ * @see CoreProtectLookup
+ * @see #set(Logger, CoreProtectAPI)
  * @see <a href="https://docs.coreprotect.net">CoreProtect Documentation</a>
  * @see <a href="https://github.com/PlayPro/CoreProtect/">CoreProtect GitHub</a>
  */
@@ -27,30 +44,69 @@ public final class CoreProtectUtils {
     private static CoreProtectUtils singleton;
 
     private final CoreProtectAPI api;
+    private final CoreProtectLogQueue logQueue;
+    private final ExecutorService lookupExecutor;
+    private final CoreProtectLookup lookup;
 
-    private CoreProtectUtils(final @NotNull CoreProtectAPI api) {
+    private static final int LOOKUP_THREADS = 2;
+
+    private CoreProtectUtils(
+            final @NotNull Logger logger,
+            final @NotNull CoreProtectAPI api
+    ) {
         this.api = api;
+        this.logQueue = new CoreProtectLogQueue(logger, api);
+        this.lookupExecutor = Executors.newFixedThreadPool(
+                LOOKUP_THREADS,
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "WhoMine-CoreProtect-Lookup");
+
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.lookup = new CoreProtectLookup(api, this.lookupExecutor);
     }
 
     /**
-     * Sets the CoreProtectAPI instance. This method should only be called once.
+     * Sets the CoreProtectAPI instance and starts the log queue. This method
+     * should only be called once.
      *
-     * @param api The CoreProtectAPI instance
+     * @param logger The logger, used to log the errors of the log queue
+     * @param api    The CoreProtectAPI instance
      * @throws IllegalStateException If the CoreProtectAPI instance has already
      *                               been set
      */
-    public static void set(final @NotNull CoreProtectAPI api) throws IllegalStateException {
+    public static void set(
+            final @NotNull Logger logger,
+            final @NotNull CoreProtectAPI api
+    ) throws IllegalStateException {
         if (singleton != null) {
             throw new IllegalStateException("CoreProtectUtils is already initialized");
         }
 
-        singleton = new CoreProtectUtils(api);
+        singleton = new CoreProtectUtils(logger, api);
+
+        singleton.logQueue.start();
+    }
+
+    /**
+     * Closes the log queue, logging all pending records, and stops the lookup
+     * threads. The records submitted after that are logged synchronously.
+     *
+     * @see CoreProtectLogQueue#close()
+     */
+    public static void close() {
+        if (singleton != null) {
+            singleton.logQueue.close();
+            singleton.lookupExecutor.shutdownNow();
+        }
     }
 
     /**
      * @return An Optional containing the CoreProtectAPI instance, or an empty
      *         Optional if it has not been set
-     * @see #set(CoreProtectAPI)
+     * @see #set(Logger, CoreProtectAPI)
      */
     public static @NotNull Optional<CoreProtectAPI> api() {
         return singleton == null
@@ -58,6 +114,26 @@ public final class CoreProtectUtils {
                 : Optional.of(singleton.api);
     }
 
+    /**
+     * @return An Optional containing the log queue, or an empty Optional if
+     *         the CoreProtectAPI instance has not been set
+     */
+    public static @NotNull Optional<CoreProtectLogQueue> logQueue() {
+        return singleton == null
+                ? Optional.empty()
+                : Optional.of(singleton.logQueue);
+    }
+
+    /**
+     * @return An Optional containing the lookup, or an empty Optional if the
+     *         CoreProtectAPI instance has not been set
+     */
+    public static @NotNull Optional<CoreProtectLookup> lookup() {
+        return singleton == null
+                ? Optional.empty()
+                : Optional.of(singleton.lookup);
+    }
+
     /**
      * @return The CoreProtectAPI version, or -1 if it has not been set
      */
@@ -77,6 +153,9 @@ public final class CoreProtectUtils {
     }
 
     /**
+     * Queries the database on the calling thread, use
+     * {@link #hasPlacedAsync(String, Block, int, int)} on the main thread instead.
+     *
      * @param placer The username you're checking to see if they've placed a
      *               block already.
      * @param block  The block you're checking.
@@ -103,6 +182,9 @@ public final class CoreProtectUtils {
     }
 
     /**
+     * Queries the database on the calling thread, use
+     * {@link #hasRemovedAsync(String, Block, int, int)} on the main thread instead.
+     *
      * @param remover The username you're checking to see if they've removed a
      *                block already.
      * @param block   The block you're checking.
@@ -128,22 +210,79 @@ public final class CoreProtectUtils {
                 );
     }
 
+    /**
+     * Checks asynchronously whether the user has placed the block. The
+     * lookup stops at the first matching record, and the positive answer is
+     * cached for a short time.
+     *
+     * @param placer The username you're checking to see if they've placed a
+     *               block already.
+     * @param block  The block you're checking.
+     * @param time   How far back to check. "5" would only check through the
+     *               last 5 seconds of logged blocks.
+     * @param offset A time offset. "2" would ignore the last 2 seconds of most
+     *               recently ignored data. (0 = no offset)
+     * @return A future, completed with true if a user has already placed a
+     *         block at the location within the specified time limit, or
+     *         completed with false if the CoreProtectAPI instance is not set
+     * @see CoreProtectLookup#hasPlaced(String, Block, int, int)
+     */
+    public static @NotNull CompletableFuture<Boolean> hasPlacedAsync(
+            final @NotNull String placer,
+            final @NotNull Block block,
+            final int time,
+            final int offset
+    ) {
+        return singleton == null
+                ? CompletableFuture.completedFuture(false)
+                : singleton.lookup.hasPlaced(placer, block, time, offset);
+    }
+
+    /**
+     * Checks asynchronously whether the user has removed the block. The
+     * lookup stops at the first matching record, and the positive answer is
+     * cached for a short time.
+     *
+     * @param remover The username you're checking to see if they've removed a
+     *                block already.
+     * @param block   The block you're checking.
+     * @param time    How far back to check. "5" would only check through the
+     *                last 5 seconds of logged blocks.
+     * @param offset  A time offset. "2" would ignore the last 2 seconds of most
+     *                recently ignored data. (0 = no offset)
+     * @return A future, completed with true if a user has already removed a
+     *         block at the location within the specified time limit, or
+     *         completed with false if the CoreProtectAPI instance is not set
+     * @see CoreProtectLookup#hasRemoved(String, Block, int, int)
+     */
+    public static @NotNull CompletableFuture<Boolean> hasRemovedAsync(
+            final @NotNull String remover,
+            final @NotNull Block block,
+            final int time,
+            final int offset
+    ) {
+        return singleton == null
+                ? CompletableFuture.completedFuture(false)
+                : singleton.lookup.hasRemoved(remover, block, time, offset);
+    }
+
     /**
      * This will log a chat message as having been sent.
      *
      * @param player  The player who sent the message.
      * @param message The message that was sent.
-     * @return True if the message was logged successfully.
+     * @return True if the message was submitted to the log queue.
      */
     public static boolean logChat(
             final @NotNull Player player,
             final @NotNull String message
     ) {
-        return singleton != null
-                && singleton.api.logChat(
-                        player,
-                        message
-                );
+        if (singleton == null) {
+            return false;
+        }
+
+        singleton.logQueue.submitChat(player, message);
+        return true;
     }
 
     /**
@@ -151,17 +290,18 @@ public final class CoreProtectUtils {
      *
      * @param player  The player who executed the command.
      * @param command The command that was executed.
-     * @return True if the command was logged successfully.
+     * @return True if the command was submitted to the log queue.
      */
     public static boolean logCommand(
             final @NotNull Player player,
             final @NotNull String command
     ) {
-        return singleton != null
-                && singleton.api.logCommand(
-                        player,
-                        command
-                );
+        if (singleton == null) {
+            return false;
+        }
+
+        singleton.logQueue.submitCommand(player, command);
+        return true;
     }
 
     /**
@@ -170,17 +310,18 @@ public final class CoreProtectUtils {
      * @param who      Specify the username to log as having caused the
      *                 interaction.
      * @param location Specify the location of the interaction you're logging.
-     * @return True if the interaction was logged successfully.
+     * @return True if the interaction was submitted to the log queue.
      */
     public static boolean logInteraction(
             final @NotNull String who,
             final @NotNull Location location
     ) {
-        return singleton != null
-                && singleton.api.logInteraction(
-                        who,
-                        location
-                );
+        if (singleton == null) {
+            return false;
+        }
+
+        singleton.logQueue.submitInteraction(who, location);
+        return true;
     }
 
     /**
@@ -209,7 +350,7 @@ public final class CoreProtectUtils {
      *
      * @param placer   Specify the username to log as having placed the block.
      * @param location Specify the location of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logPlacement(String, Location, Material, BlockData)
      */
     public static boolean logPlacement(
@@ -225,7 +366,7 @@ public final class CoreProtectUtils {
      * @param placer    Specify the username to log as having placed the block.
      * @param location  Specify the location of the block you're logging.
      * @param blockData Specify the BlockData of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logPlacement(String, Location, Material, BlockData)
      */
     public static boolean logPlacement(
@@ -242,7 +383,7 @@ public final class CoreProtectUtils {
      * @param placer   Specify the username to log as having placed the block.
      * @param location Specify the location of the block you're logging.
      * @param material Specify the Material of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logPlacement(String, Location, Material, BlockData)
      */
     public static boolean logPlacement(
@@ -260,7 +401,7 @@ public final class CoreProtectUtils {
      * @param location  Specify the location of the block you're logging.
      * @param material  Specify the Material of the block you're logging.
      * @param blockData Specify the BlockData of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      */
     public static boolean logPlacement(
             final @NotNull String placer,
@@ -268,13 +409,13 @@ public final class CoreProtectUtils {
             final @Nullable Material material,
             final @Nullable BlockData blockData
     ) {
-        return singleton != null
-                && singleton.api.logPlacement(
-                        placer,
-                        location,
-                        material,
-                        blockData
-                );
+        if (singleton == null) {
+            return false;
+        }
+
+        singleton.logQueue.submitPlacement(placer, location, material, blockData);
+        singleton.lookup.invalidate(location);
+        return true;
     }
 
     /**
@@ -283,7 +424,7 @@ public final class CoreProtectUtils {
      *
      * @param remover  Specify the username to log as having removed the block.
      * @param location Specify the location of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logRemoval(String, Location, Material, BlockData)
      */
     public static boolean logRemoval(
@@ -300,7 +441,7 @@ public final class CoreProtectUtils {
      * @param remover   Specify the username to log as having removed the block.
      * @param location  Specify the location of the block you're logging.
      * @param blockData Specify the BlockData of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logRemoval(String, Location, Material, BlockData)
      */
     public static boolean logRemoval(
@@ -318,7 +459,7 @@ public final class CoreProtectUtils {
      * @param remover  Specify the username to log as having removed the block.
      * @param location Specify the location of the block you're logging.
      * @param material Specify the Material of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      * @see #logRemoval(String, Location, Material, BlockData)
      */
     public static boolean logRemoval(
@@ -337,7 +478,7 @@ public final class CoreProtectUtils {
      * @param location  Specify the location of the block you're logging.
      * @param material  Specify the Material of the block you're logging.
      * @param blockData Specify the BlockData of the block you're logging.
-     * @return True if the block was logged successfully.
+     * @return True if the block was submitted to the log queue.
      */
     public static boolean logRemoval(
             final @NotNull String remover,
@@ -345,13 +486,48 @@ public final class CoreProtectUtils {
             final @Nullable Material material,
             final @Nullable BlockData blockData
     ) {
-        return singleton != null
-                && singleton.api.logRemoval(
-                        remover,
-                        location,
-                        material,
-                        blockData
-                );
+        if (singleton == null) {
+            return false;
+        }
+
+        singleton.logQueue.submitRemoval(remover, location, material, blockData);
+        singleton.lookup.invalidate(location);
+        return true;
+    }
+
+    /**
+     * This will log the blocks as being removed/broken, with their current
+     * materials and block data. Call it before the blocks are actually
+     * removed.
+     *
+     * @param remover Specify the username to log as having removed the
+     *                blocks.
+     * @param blocks  Specify the blocks you're logging.
+     * @return The number of the blocks submitted to the log queue.
+     * @see #logRemoval(String, Location, Material, BlockData)
+     */
+    public static int logRemovals(
+            final @NotNull String remover,
+            final @NotNull Collection<? extends Block> blocks
+    ) {
+        if (singleton == null) {
+            return 0;
+        }
+
+        for (final var block : blocks) {
+            final BlockData blockData = block.getBlockData();
+            final Location location = block.getLocation();
+
+            singleton.logQueue.submitRemoval(
+                    remover,
+                    location,
+                    blockData.getMaterial(),
+                    blockData
+            );
+            singleton.lookup.invalidate(location);
+        }
+
+        return blocks.size();
     }
 
     /**
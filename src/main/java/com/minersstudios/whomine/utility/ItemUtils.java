@@ -202,6 +202,22 @@ public final class ItemUtils {
         return true;
     }
 
+    /**
+     * Creates a template copy of the specified item stack.
+     * <br>
+     * The template is backed by the NMS item stack, so its clones copy the NMS
+     * stack and its tag directly, without the item meta round trip of a plain
+     * Bukkit item stack. Use it for the item stacks, which are built once and
+     * then cloned many times.
+     *
+     * @param itemStack The item stack to create the template of
+     * @return The template copy of the specified item stack
+     */
+    @Contract("_ -> new")
+    public static @NotNull ItemStack asTemplate(final @NotNull ItemStack itemStack) {
+        return CraftItemStack.asCraftCopy(itemStack);
+    }
+
     /**
      * Sets the max stack size of the specified material to the specified value
      *
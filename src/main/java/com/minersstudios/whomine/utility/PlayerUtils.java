@@ -5,24 +5,18 @@ import com.destroystokyo.paper.profile.PlayerProfile;
 import com.minersstudios.whomine.WhoMine;
 import com.minersstudios.whomine.inventory.ShulkerBoxMenu;
 import com.minersstudios.whomine.player.PlayerInfo;
+import com.minersstudios.whomine.player.skin.SkinApplier;
 import com.mojang.authlib.GameProfile;
-import com.mojang.authlib.properties.Property;
-import com.mojang.authlib.properties.PropertyMap;
 import net.kyori.adventure.text.Component;
 import net.minecraft.network.protocol.game.*;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ChunkMap;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.server.level.ServerPlayerGameMode;
-import net.minecraft.server.network.ServerGamePacketListenerImpl;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.Container;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.MenuType;
-import net.minecraft.world.level.biome.BiomeManager;
 import org.bukkit.Bukkit;
 import org.bukkit.FluidCollisionMode;
 import org.bukkit.Location;
@@ -36,13 +30,11 @@ import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftInventory;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.event.player.PlayerShowEntityEvent;
 import org.bukkit.util.RayTraceResult;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.UUID;
 import java.util.function.Predicate;
 
@@ -146,6 +138,11 @@ public final class PlayerUtils {
      * <br>
      * <b>NOTE:</b> This will overwrite the players' current inventory, health,
      * motion, etc., with the state of the saved dat file.
+     * <br>
+     * <b>NOTE:</b> The file is read on the calling thread. To read the
+     * inventory, location or health of the offline player, use the
+     * {@link com.minersstudios.whomine.player.OfflinePlayerDataService
+     * offline player data service} instead.
      *
      * @param offlinePlayer Offline player whose data will be loaded
      * @return Online player from offline player
@@ -175,100 +172,21 @@ public final class PlayerUtils {
 
     /**
      * Sets player's skin with specified value and signature. Also updates the
-     * skin for all players on the server. If wanted to reset the skin, set both
-     * value and signature to null.
+     * skin for all players on the server on the next tick. If wanted to reset
+     * the skin, set both value and signature to null. Must be called on the
+     * main thread.
      *
      * @param player    Player, whose skin will be set
      * @param value     Value of the skin
      * @param signature Signature of the skin
+     * @see SkinApplier#apply(Player, String, String)
      */
     public static void setSkin(
             final @NotNull Player player,
             final @Nullable String value,
             final @Nullable String signature
     ) {
-        final MinecraftServer minecraftServer = MinecraftServer.getServer();
-        final Entity vehicle = player.getVehicle();
-        final ServerPlayer serverPlayer = ((CraftPlayer) player).getHandle();
-        final GameProfile gameProfile = serverPlayer.getGameProfile();
-        final PropertyMap propertyMap = gameProfile.getProperties();
-
-        if (vehicle != null) {
-            vehicle.eject();
-        }
-
-        if (propertyMap.containsKey("textures")) {
-            final Property oldProperty = propertyMap.get("textures").iterator().next();
-
-            propertyMap.remove("textures", oldProperty);
-        }
-
-        if (
-                ChatUtils.isNotBlank(value)
-                && ChatUtils.isNotBlank(signature)
-        ) {
-            propertyMap.put("textures", new Property("textures", value, signature));
-        }
-
-        if (!serverPlayer.sentListPacket) {
-            serverPlayer.gameProfile = gameProfile;
-            return;
-        }
-
-        final ServerGamePacketListenerImpl connection = serverPlayer.connection;
-        final ServerLevel serverLevel = serverPlayer.serverLevel();
-        final ServerPlayerGameMode gameMode = serverPlayer.gameMode;
-        final var players = minecraftServer.getPlayerList().players;
-
-        for (final var forWho : players) {
-            if (forWho.getBukkitEntity().canSee(player)) {
-                unregisterEntity(forWho, serverPlayer);
-            }
-        }
-
-        serverPlayer.gameProfile = gameProfile;
-
-        for (final var forWho : players) {
-            if (forWho.getBukkitEntity().canSee(player)) {
-                trackAndShowEntity(forWho, serverPlayer);
-            }
-        }
-
-        connection.send(
-                new ClientboundRespawnPacket(
-                        new CommonPlayerSpawnInfo(
-                                serverLevel.dimensionTypeId(),
-                                serverLevel.dimension(),
-                                BiomeManager.obfuscateSeed(serverLevel.getSeed()),
-                                gameMode.getGameModeForPlayer(),
-                                gameMode.getPreviousGameModeForPlayer(),
-                                serverLevel.isDebug(),
-                                serverLevel.isFlat(),
-                                serverPlayer.getLastDeathLocation(),
-                                serverPlayer.getPortalCooldown()
-                        ),
-                        ClientboundRespawnPacket.KEEP_ALL_DATA
-                )
-        );
-        serverPlayer.onUpdateAbilities();
-        connection.teleport(player.getLocation());
-        minecraftServer.getPlayerList().sendAllPlayerInfo(serverPlayer);
-        connection.send(
-                new ClientboundSetExperiencePacket(
-                        serverPlayer.experienceProgress,
-                        serverPlayer.totalExperience,
-                        serverPlayer.experienceLevel
-                )
-        );
-
-        for (final var mobEffect : serverPlayer.getActiveEffects()) {
-            connection.send(new ClientboundUpdateMobEffectPacket(serverPlayer.getId(), mobEffect));
-        }
-
-        if (player.isOp()) {
-            player.setOp(false);
-            player.setOp(true);
-        }
+        WhoMine.singleton().getSkinApplier().apply(player, value, signature);
     }
 
     /**
@@ -432,47 +350,4 @@ public final class PlayerUtils {
             default -> false;
         };
     }
-
-    private static void unregisterEntity(
-            final @NotNull ServerPlayer forWho,
-            final @NotNull ServerPlayer serverPlayer
-    ) {
-        final ChunkMap.TrackedEntity entry = forWho.serverLevel().getChunkSource().chunkMap.entityMap.get(serverPlayer.getId());
-
-        if (entry != null) {
-            entry.removePlayer(forWho);
-        }
-
-        if (serverPlayer.sentListPacket) {
-            forWho.connection.send(
-                    new ClientboundPlayerInfoRemovePacket(Collections.singletonList(serverPlayer.getUUID()))
-            );
-        }
-    }
-
-    private static void trackAndShowEntity(
-            final @NotNull ServerPlayer forWho,
-            final @NotNull ServerPlayer serverPlayer
-    ) {
-        final ChunkMap.TrackedEntity trackedEntity =
-                forWho.serverLevel().getChunkSource().chunkMap.entityMap.get(serverPlayer.getId());
-
-        forWho.connection.send(
-                ClientboundPlayerInfoUpdatePacket.createPlayerInitializing(Collections.singletonList(serverPlayer))
-        );
-
-        if (
-                trackedEntity != null
-                && !trackedEntity.seenBy.contains(forWho.connection)
-        ) {
-            trackedEntity.updatePlayer(forWho);
-        }
-
-        serverPlayer.getBukkitEntity().getServer().getPluginManager().callEvent(
-                new PlayerShowEntityEvent(
-                        forWho.getBukkitEntity(),
-                        serverPlayer.getBukkitEntity()
-                )
-        );
-    }
 }
@@ -0,0 +1,218 @@
+package com.minersstudios.whomine.world.explosion;
+
+import com.minersstudios.whomine.WhoMine;
+import com.minersstudios.whomine.custom.block.CustomBlockData;
+import com.minersstudios.whomine.custom.block.CustomBlockRegistry;
+import com.minersstudios.whomine.custom.decor.CustomDecor;
+import com.minersstudios.whomine.utility.CoreProtectUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.core.BlockPos;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Processes the custom blocks and decor affected by an explosion in one pass.
+ * <br>
+ * All custom blocks in the blast are resolved first and logged to the
+ * CoreProtect as one batch, then they are removed without the physics updates.
+ * The drops are merged by the {@link #CLUSTER_SIZE clusters} of the exploded
+ * positions, so the identical drops of a cluster are dropped as one stacked
+ * item entity instead of one entity per block.
+ * <br>
+ * The custom decor is looked up by a single entity query over the whole blast
+ * and is destroyed if any of its blocks, or the block under it, is exploded.
+ * The decor drops are merged into the same clusters. The decor can only be
+ * destroyed by the explosions with a source entity, because its break event
+ * requires the breaker.
+ */
+public final class ExplosionProcessor {
+    /** The size of the drop clusters in blocks */
+    public static final int CLUSTER_SIZE = 4;
+    private static final int CLUSTER_SHIFT = Integer.numberOfTrailingZeros(CLUSTER_SIZE);
+
+    @Contract(" -> fail")
+    private ExplosionProcessor() throws AssertionError {
+        throw new AssertionError("Utility class");
+    }
+
+    /**
+     * Processes the custom blocks and decor affected by the explosion
+     *
+     * @param plugin    The plugin instance
+     * @param world     The world of the explosion
+     * @param blockList The blocks exploded by the explosion
+     * @param source    The entity, which caused the explosion, or null if the
+     *                  explosion was caused by a block
+     */
+    public static void process(
+            final @NotNull WhoMine plugin,
+            final @NotNull World world,
+            final @NotNull List<Block> blockList,
+            final @Nullable Entity source
+    ) {
+        if (blockList.isEmpty()) {
+            return;
+        }
+
+        final String causeName = causeName(source);
+        final LongSet explodedPositions = new LongOpenHashSet(blockList.size());
+        final var noteBlocks = new ObjectArrayList<Block>();
+        final var noteBlockData = new ObjectArrayList<CustomBlockData>();
+        final BoundingBox blastBox = BoundingBox.of(blockList.get(0), blockList.get(0));
+
+        for (final var block : blockList) {
+            explodedPositions.add(BlockPos.asLong(block.getX(), block.getY(), block.getZ()));
+            blastBox.union(block);
+
+            if (block.getType() == Material.NOTE_BLOCK) {
+                final CustomBlockData data = CustomBlockRegistry.getByBlockData(block.getBlockData());
+
+                noteBlocks.add(block);
+                noteBlockData.add(data == null ? CustomBlockData.defaultData() : data);
+            }
+        }
+
+        final Long2ObjectMap<Cluster> clusters = new Long2ObjectOpenHashMap<>();
+
+        if (!noteBlocks.isEmpty()) {
+            CoreProtectUtils.logRemovals(causeName, noteBlocks);
+
+            for (int i = 0; i < noteBlocks.size(); ++i) {
+                final Block block = noteBlocks.get(i);
+
+                block.setType(Material.AIR, false);
+                cluster(clusters, world, block.getX(), block.getY(), block.getZ())
+                .add(noteBlockData.get(i).craftItemStack());
+            }
+        }
+
+        if (source != null) {
+            destroyDecor(plugin, world, source, blastBox.expand(1.0d), explodedPositions, clusters);
+        }
+
+        for (final var cluster : clusters.values()) {
+            cluster.drop(world);
+        }
+    }
+
+    private static void destroyDecor(
+            final @NotNull WhoMine plugin,
+            final @NotNull World world,
+            final @NotNull Entity source,
+            final @NotNull BoundingBox blastBox,
+            final @NotNull LongSet explodedPositions,
+            final @NotNull Long2ObjectMap<Cluster> clusters
+    ) {
+        final Set<UUID> processed = new ObjectOpenHashSet<>();
+
+        for (final var entity : world.getNearbyEntities(blastBox, entity -> entity instanceof Interaction)) {
+            final CustomDecor customDecor = CustomDecor.fromInteraction((Interaction) entity).orElse(null);
+
+            if (
+                    customDecor == null
+                    || !processed.add(customDecor.getDisplay().getUniqueId())
+                    || !isCaught(customDecor, explodedPositions)
+                    || !customDecor.destroy(plugin, source, false)
+            ) {
+                continue;
+            }
+
+            final Location center = customDecor.getBoundingBox().getCenter(world).toLocation();
+
+            cluster(clusters, world, center.getBlockX(), center.getBlockY(), center.getBlockZ())
+            .add(customDecor.createDropItem());
+        }
+    }
+
+    private static boolean isCaught(
+            final @NotNull CustomDecor customDecor,
+            final @NotNull LongSet explodedPositions
+    ) {
+        for (final var blockPos : customDecor.getBoundingBox().getBlockPositions()) {
+            if (
+                    explodedPositions.contains(blockPos.asLong())
+                    || explodedPositions.contains(BlockPos.asLong(blockPos.getX(), blockPos.getY() - 1, blockPos.getZ()))
+            ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static @NotNull Cluster cluster(
+            final @NotNull Long2ObjectMap<Cluster> clusters,
+            final @NotNull World world,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        return clusters.computeIfAbsent(
+                BlockPos.asLong(x >> CLUSTER_SHIFT, y >> CLUSTER_SHIFT, z >> CLUSTER_SHIFT),
+                key -> new Cluster(new Location(world, x + 0.5d, y + 0.5d, z + 0.5d))
+        );
+    }
+
+    private static @NotNull String causeName(final @Nullable Entity source) {
+        return source == null
+                ? "#explosion"
+                : "#" + source.getType().getKey().getKey().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static final class Cluster {
+        final Location location;
+        final List<ItemStack> drops;
+
+        Cluster(final @NotNull Location location) {
+            this.location = location;
+            this.drops = new ObjectArrayList<>();
+        }
+
+        void add(final @NotNull ItemStack itemStack) {
+            for (final var drop : this.drops) {
+                if (drop.isSimilar(itemStack)) {
+                    drop.setAmount(drop.getAmount() + itemStack.getAmount());
+                    return;
+                }
+            }
+
+            this.drops.add(itemStack);
+        }
+
+        void drop(final @NotNull World world) {
+            for (final var drop : this.drops) {
+                final int maxStackSize = drop.getMaxStackSize();
+                int amount = drop.getAmount();
+
+                while (amount > 0) {
+                    final ItemStack itemStack = drop.clone();
+                    final int stackAmount = Math.min(amount, maxStackSize);
+
+                    itemStack.setAmount(stackAmount);
+                    world.dropItemNaturally(this.location, itemStack);
+
+                    amount -= stackAmount;
+                }
+            }
+        }
+    }
+}
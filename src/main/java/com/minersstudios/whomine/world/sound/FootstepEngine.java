@@ -0,0 +1,198 @@
+package com.minersstudios.whomine.world.sound;
+
+import com.minersstudios.whomine.custom.block.CustomBlockData;
+import com.minersstudios.whomine.custom.block.CustomBlockRegistry;
+import com.minersstudios.whomine.utility.BlockUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The FootstepEngine class is responsible for playing the custom step sounds
+ * of the blocks the players walk on.
+ * <br>
+ * Each player has its own primitive state, indexed by the entity id of the
+ * player. The state stores the last position of the player, the distance
+ * walked since the last step and the sound group of the block under the
+ * player, which is resolved only when the player steps on another block.
+ * <br>
+ * All methods of this class must be called from the main thread.
+ */
+public final class FootstepEngine {
+    private final Int2ObjectMap<Entry> entryMap = new Int2ObjectOpenHashMap<>();
+
+    /** The distance between two steps */
+    public static final double STEP_DISTANCE = 1.5d;
+    private static final double STEP_BLOCK_OFFSET = 0.15d;
+
+    /**
+     * Handles the movement of the player, and plays the step sound of the
+     * block under the player if the path, walked by the player since the last
+     * step, has reached the step distance
+     *
+     * @param player The player who moved
+     * @param from   The location the player moved from
+     * @param to     The location the player moved to
+     * @see #STEP_DISTANCE
+     */
+    public void handleMove(
+            final @NotNull Player player,
+            final @NotNull Location from,
+            final @NotNull Location to
+    ) {
+        final int id = player.getEntityId();
+        Entry entry = this.entryMap.get(id);
+
+        if (entry == null) {
+            entry = new Entry();
+
+            entry.anchor(from.getX(), from.getY(), from.getZ());
+            this.entryMap.put(id, entry);
+        }
+
+        final double x = to.getX();
+        final double y = to.getY();
+        final double z = to.getZ();
+
+        if (
+                player.getGameMode() == GameMode.SPECTATOR
+                || player.isFlying()
+                || player.isSneaking()
+        ) {
+            entry.anchor(x, y, z);
+            return;
+        }
+
+        final double dx = x - entry.lastX;
+        final double dy = y - entry.lastY;
+        final double dz = z - entry.lastZ;
+
+        entry.lastX = x;
+        entry.lastY = y;
+        entry.lastZ = z;
+        entry.distance += Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (entry.distance < STEP_DISTANCE) {
+            return;
+        }
+
+        entry.distance = 0.0d;
+
+        final SoundGroup soundGroup = entry.soundGroup(
+                to.getWorld(),
+                Location.locToBlock(x),
+                Location.locToBlock(y - STEP_BLOCK_OFFSET),
+                Location.locToBlock(z)
+        );
+
+        if (soundGroup != null) {
+            soundGroup.playStepSound(entry.soundLocation);
+        }
+    }
+
+    /**
+     * Resets the step state of the player, the next step will be counted from
+     * the next movement of the player
+     *
+     * @param player The player whose step state should be reset
+     */
+    public void reset(final @NotNull Player player) {
+        this.remove(player);
+    }
+
+    /**
+     * Removes the step state of the player
+     *
+     * @param player The player whose step state should be removed
+     */
+    public void remove(final @NotNull Player player) {
+        this.entryMap.remove(player.getEntityId());
+    }
+
+    /**
+     * @param player The player to check
+     * @return True if the engine contains the step state of the player
+     */
+    public boolean contains(final @NotNull Player player) {
+        return this.entryMap.containsKey(player.getEntityId());
+    }
+
+    /**
+     * @return The number of players with the step state
+     */
+    public int size() {
+        return this.entryMap.size();
+    }
+
+    /**
+     * Removes the step states of all players
+     */
+    public void clear() {
+        this.entryMap.clear();
+    }
+
+    private static final class Entry {
+        double lastX;
+        double lastY;
+        double lastZ;
+        double distance;
+        World world;
+        int blockX;
+        int blockY;
+        int blockZ;
+        SoundGroup soundGroup;
+        Location soundLocation;
+
+        void anchor(
+                final double x,
+                final double y,
+                final double z
+        ) {
+            this.lastX = x;
+            this.lastY = y;
+            this.lastZ = z;
+            this.distance = 0.0d;
+        }
+
+        @Nullable SoundGroup soundGroup(
+                final @NotNull World world,
+                final int x,
+                final int y,
+                final int z
+        ) {
+            if (
+                    this.world == world
+                    && this.blockX == x
+                    && this.blockY == y
+                    && this.blockZ == z
+            ) {
+                return this.soundGroup;
+            }
+
+            this.world = world;
+            this.blockX = x;
+            this.blockY = y;
+            this.blockZ = z;
+
+            if (BlockUtils.isWoodenSound(world.getType(x, y, z))) {
+                final CustomBlockData customBlockData = CustomBlockRegistry.getByBlockData(world.getBlockData(x, y, z));
+
+                this.soundGroup =
+                        customBlockData == null
+                        ? CustomBlockData.defaultData().getSoundGroup()
+                        : customBlockData.getSoundGroup();
+                this.soundLocation = new Location(world, x + 0.5d, y + 0.5d, z + 0.5d);
+            } else {
+                this.soundGroup = null;
+                this.soundLocation = null;
+            }
+
+            return this.soundGroup;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.minersstudios.whomine.player.skin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the {@link SkinService} against a local HTTP stub, which serves the
+ * skin images and plays the role of the MineSkin "generate/upload" endpoint
+ */
+final class SkinServiceTest {
+    private static final Logger LOGGER = Logger.getLogger("SkinServiceTest");
+    private static final String VALUE = "dmFsdWU=";
+    private static final String SIGNATURE = "c2lnbmF0dXJl";
+    private static final byte[] TEXTURE_RESPONSE = (
+            "{\"data\":{\"texture\":{\"value\":\"" + VALUE + "\",\"signature\":\"" + SIGNATURE + "\"}}}"
+    ).getBytes(StandardCharsets.UTF_8);
+    private static final long WAIT_SECONDS = 5L;
+
+    private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final CountDownLatch hang = new CountDownLatch(1);
+    private volatile CountDownLatch downloadGate = new CountDownLatch(0);
+    private volatile HttpHandler uploadHandler = exchange -> respond(exchange, 200, TEXTURE_RESPONSE);
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private String baseUrl;
+
+    @TempDir
+    Path cacheFolder;
+
+    static {
+        LOGGER.setUseParentHandlers(false);
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.serverExecutor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        this.server.createContext("/skins/", exchange -> {
+            this.downloads.incrementAndGet();
+
+            try {
+                this.downloadGate.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            final byte[] image = this.images.get(exchange.getRequestURI().getPath());
+
+            if (image == null) {
+                respond(exchange, 404, new byte[0]);
+            } else {
+                respond(exchange, 200, image);
+            }
+        });
+        this.server.createContext("/upload", exchange -> {
+            this.uploads.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            this.uploadHandler.handle(exchange);
+        });
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+
+        this.baseUrl = "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.hang.countDown();
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sharesOnePipelineForConcurrentRequestsOfSameLink() throws Exception {
+        final SkinService service = this.service();
+        final String link = this.serve("same", skinImage(1));
+
+        this.downloadGate = new CountDownLatch(1);
+
+        final var first = service.create("first", link);
+        final var second = service.create("second", link);
+
+        this.downloadGate.countDown();
+
+        assertEquals("first", first.get(WAIT_SECONDS, TimeUnit.SECONDS).getName());
+        assertEquals("second", second.get(WAIT_SECONDS, TimeUnit.SECONDS).getName());
+        assertEquals(1, this.downloads.get());
+        assertEquals(1, this.uploads.get());
+    }
+
+    @Test
+    void rejectsImagesWithoutSkinPngHeader() {
+        final SkinService service = this.service();
+        final byte[] wrongSize = skinImage(2);
+
+        ByteBuffer.wrap(wrongSize, 16, 8).putInt(128).putInt(128);
+
+        for (
+                final var link
+                : new String[] {
+                        this.serve("text", "not a png".getBytes(StandardCharsets.UTF_8)),
+                        this.serve("wrong-size", wrongSize)
+                }
+        ) {
+            final var exception = assertThrows(
+                    ExecutionException.class,
+                    () -> service.create("skin", link).get(WAIT_SECONDS, TimeUnit.SECONDS)
+            );
+
+            assertTrue(SkinService.isInvalidSkin(exception));
+        }
+
+        assertEquals(0, this.uploads.get());
+    }
+
+    @Test
+    void usesCachedTextureWithoutUpload() throws Exception {
+        final SkinService service = this.service();
+        final byte[] image = skinImage(3);
+        final Skin generated = service.create("skin", this.serve("original", image)).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(1, this.uploads.get());
+
+        final Skin fromMemory = service.create("skin", this.serve("copy", image)).get(WAIT_SECONDS, TimeUnit.SECONDS);
+        final Skin fromDisk = this.service().create("skin", this.serve("another-copy", image)).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(1, this.uploads.get());
+        assertEquals(3, this.downloads.get());
+        assertEquals(generated.getValue(), fromMemory.getValue());
+        assertEquals(generated.getSignature(), fromDisk.getSignature());
+    }
+
+    @Test
+    void retriesAfterTooManyRequests() throws Exception {
+        final SkinService service = this.service();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        this.uploadHandler = exchange -> {
+            if (attempts.incrementAndGet() == 1) {
+                respond(exchange, 429, "{\"error\":\"Too many requests\",\"delay\":0}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(exchange, 200, TEXTURE_RESPONSE);
+            }
+        };
+
+        final Skin skin = service.create("skin", this.serve("limited", skinImage(4))).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(VALUE, skin.getValue());
+        assertEquals(2, this.uploads.get());
+    }
+
+    @Test
+    void timesOutWithoutHoldingThePool() throws Exception {
+        final SkinService service = new SkinService(
+                LOGGER,
+                this.cacheFolder,
+                this.baseUrl + "/upload",
+                () -> null,
+                Duration.ofMillis(500L)
+        );
+
+        this.uploadHandler = exchange -> {
+            try {
+                this.hang.await(WAIT_SECONDS * 4, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            respond(exchange, 200, TEXTURE_RESPONSE);
+        };
+
+        final var first = service.create("first", this.serve("slow-1", skinImage(5)));
+        final var second = service.create("second", this.serve("slow-2", skinImage(6)));
+
+        for (final var future : new CompletableFuture<?>[] { first, second }) {
+            final var exception = assertThrows(
+                    ExecutionException.class,
+                    () -> future.get(WAIT_SECONDS, TimeUnit.SECONDS)
+            );
+
+            assertInstanceOf(TimeoutException.class, exception.getCause());
+            assertFalse(SkinService.isInvalidSkin(exception));
+        }
+
+        this.uploadHandler = exchange -> respond(exchange, 200, TEXTURE_RESPONSE);
+
+        final Skin skin = service.create("third", this.serve("fast", skinImage(7))).get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(VALUE, skin.getValue());
+    }
+
+    private @NotNull SkinService service() {
+        return new SkinService(
+                LOGGER,
+                this.cacheFolder,
+                this.baseUrl + "/upload",
+                () -> null
+        );
+    }
+
+    private @NotNull String serve(
+            final @NotNull String name,
+            final byte @NotNull [] image
+    ) {
+        final String path = "/skins/" + name + ".png";
+
+        this.images.put(path, image);
+        return this.baseUrl + path;
+    }
+
+    private static byte @NotNull [] skinImage(final int seed) {
+        final ByteBuffer buffer = ByteBuffer.allocate(32);
+
+        buffer.put(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        buffer.putInt(13);
+        buffer.put(new byte[] { 'I', 'H', 'D', 'R' });
+        buffer.putInt(64);
+        buffer.putInt(64);
+        buffer.putInt(seed);
+
+        return buffer.array();
+    }
+
+    private static void respond(
+            final @NotNull HttpExchange exchange,
+            final int status,
+            final byte @NotNull [] body
+    ) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+
+        try (final var output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
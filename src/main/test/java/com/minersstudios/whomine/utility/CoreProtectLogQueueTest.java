@@ -0,0 +1,259 @@
+package com.minersstudios.whomine.utility;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the {@link CoreProtectLogQueue} against a local fake sink, which
+ * records the calls instead of passing them to the CoreProtect
+ */
+final class CoreProtectLogQueueTest {
+    private static final Logger LOGGER = Logger.getLogger("CoreProtectLogQueueTest");
+    private static final String WORKER_NAME = "WhoMine-CoreProtect-Logger";
+    private static final World WORLD = (World) Proxy.newProxyInstance(
+            World.class.getClassLoader(),
+            new Class<?>[] { World.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("isChunkLoaded")) {
+                    return true;
+                }
+
+                throw new AssertionError("The queue must not read the world : " + method.getName());
+            }
+    );
+    private static final BlockData BLOCK_DATA = (BlockData) Proxy.newProxyInstance(
+            BlockData.class.getClassLoader(),
+            new Class<?>[] { BlockData.class },
+            (proxy, method, args) -> {
+                throw new AssertionError("The queue must not read the block data : " + method.getName());
+            }
+    );
+    private static final Location LOCATION = new Location(WORLD, 0.0d, 64.0d, 0.0d);
+
+    @Test
+    void logsInSubmissionOrder() throws InterruptedException {
+        final int count = 1000;
+        final FakeSink sink = new FakeSink(count);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 64, 16);
+
+        queue.start();
+
+        for (int i = 0; i < count; ++i) {
+            if (i % 2 == 0) {
+                queue.submitPlacement("placer-" + i, LOCATION, Material.STONE, BLOCK_DATA);
+            } else {
+                queue.submitRemoval("remover-" + i, LOCATION, Material.STONE, BLOCK_DATA);
+            }
+        }
+
+        assertTrue(sink.latch.await(5L, TimeUnit.SECONDS), "Records were not logged in time");
+        queue.close();
+
+        for (int i = 0; i < count; ++i) {
+            assertEquals((i % 2 == 0 ? "placer-" : "remover-") + i, sink.users.get(i));
+        }
+
+        final CoreProtectLogQueue.Metrics metrics = queue.getMetrics();
+
+        assertEquals(count, metrics.submitted());
+        assertEquals(count, metrics.logged());
+        assertEquals(0L, metrics.failed());
+        assertTrue(metrics.maxPending() <= 64L);
+    }
+
+    @Test
+    void logsSynchronouslyBeforeStart() {
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 1, 1);
+
+        queue.submitInteraction("first", LOCATION);
+
+        assertEquals(List.of("first"), sink.users);
+    }
+
+    @Test
+    void logsOnCallingThreadWhenFull() {
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 1, 1);
+
+        sink.block = true;
+
+        queue.start();
+        queue.submitInteraction("queued", LOCATION);
+        queue.submitInteraction("queued-2", LOCATION);
+        queue.submitInteraction("overflow", LOCATION);
+
+        sink.block = false;
+
+        queue.close();
+
+        final CoreProtectLogQueue.Metrics metrics = queue.getMetrics();
+
+        assertTrue(metrics.overflowed() > 0L, "Full queue must log on the calling thread");
+        assertEquals(3L, metrics.logged());
+        assertEquals(3, sink.users.size());
+    }
+
+    @Test
+    void flushesOnClose() {
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 128, 8);
+
+        queue.start();
+
+        for (int i = 0; i < 100; ++i) {
+            queue.submitPlacement("user", LOCATION, Material.STONE, BLOCK_DATA);
+        }
+
+        queue.close();
+
+        assertEquals(100, sink.users.size());
+        assertEquals(0, queue.getMetrics().pending());
+    }
+
+    @Test
+    void logsSynchronouslyAfterClose() {
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 8, 8);
+
+        queue.start();
+        queue.close();
+        queue.submitRemoval("late", LOCATION, Material.STONE, BLOCK_DATA);
+
+        assertFalse(queue.isRunning());
+        assertEquals(List.of("late"), sink.users);
+    }
+
+    @Test
+    void losesNothingWhenClosedDuringSubmission() throws InterruptedException {
+        final int threadCount = 4;
+        final int perThread = 2000;
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 64, 16);
+        final var started = new CountDownLatch(threadCount);
+        final Thread[] threads = new Thread[threadCount];
+
+        queue.start();
+
+        for (int t = 0; t < threadCount; ++t) {
+            threads[t] = new Thread(() -> {
+                started.countDown();
+
+                for (int i = 0; i < perThread; ++i) {
+                    queue.submitInteraction("user", LOCATION);
+                }
+            });
+            threads[t].start();
+        }
+
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        queue.close();
+
+        for (final var thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10L));
+            assertFalse(thread.isAlive());
+        }
+
+        final CoreProtectLogQueue.Metrics metrics = queue.getMetrics();
+
+        assertEquals((long) threadCount * perThread, metrics.submitted());
+        assertEquals((long) threadCount * perThread, metrics.logged());
+        assertEquals(threadCount * perThread, sink.users.size());
+        assertEquals(0, metrics.pending());
+    }
+
+    @Test
+    void dropsRecordsOfUnloadedChunks() {
+        final FakeSink sink = new FakeSink(0);
+        final var queue = new CoreProtectLogQueue(LOGGER, sink, 8, 8);
+
+        queue.submitInteraction("user", new Location(null, 0.0d, 64.0d, 0.0d));
+
+        final CoreProtectLogQueue.Metrics metrics = queue.getMetrics();
+
+        assertTrue(sink.users.isEmpty());
+        assertEquals(1L, metrics.submitted());
+        assertEquals(1L, metrics.dropped());
+    }
+
+    private static final class FakeSink implements CoreProtectLogQueue.Sink {
+        final List<String> users = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch;
+        volatile boolean block;
+
+        FakeSink(final int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public boolean logPlacement(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        ) {
+            return this.record(user);
+        }
+
+        @Override
+        public boolean logRemoval(
+                final @NotNull String user,
+                final @NotNull Location location,
+                final @NotNull Material material,
+                final @NotNull BlockData blockData
+        ) {
+            return this.record(user);
+        }
+
+        @Override
+        public boolean logInteraction(
+                final @NotNull String user,
+                final @NotNull Location location
+        ) {
+            return this.record(user);
+        }
+
+        @Override
+        public boolean logChat(
+                final @NotNull Player player,
+                final @NotNull String message
+        ) {
+            return this.record(message);
+        }
+
+        @Override
+        public boolean logCommand(
+                final @NotNull Player player,
+                final @NotNull String command
+        ) {
+            return this.record(command);
+        }
+
+        private boolean record(final @NotNull String user) {
+            while (
+                    this.block
+                    && Thread.currentThread().getName().equals(WORKER_NAME)
+            ) {
+                Thread.onSpinWait();
+            }
+
+            this.users.add(user);
+            this.latch.countDown();
+            return true;
+        }
+    }
+}